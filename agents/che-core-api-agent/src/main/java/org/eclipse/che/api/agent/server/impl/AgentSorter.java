@@ -21,8 +21,10 @@ import org.eclipse.che.api.agent.shared.model.AgentKey;
 import org.eclipse.che.commons.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -70,6 +72,44 @@ public class AgentSorter {
         return sorted;
     }
 
+    /**
+     * Sort agents respecting dependencies between them and group them into layers.
+     * Each agent is placed right after the layer of its deepest dependency,
+     * so the agents of the same layer don't depend on each other and can be launched concurrently
+     * once all the agents of the previous layers are launched.
+     *
+     * @see #sort(List)
+     *
+     * @param agentKeys list of agents to sort
+     * @return list of layers, agents of each layer depend only on agents of the previous layers
+     *
+     * @throws AgentException
+     *      if circular dependency found or agent creation failed or other unexpected error
+     */
+    public List<List<AgentKey>> sortInLayers(@Nullable List<String> agentKeys) throws AgentException {
+        List<List<AgentKey>> layers = new ArrayList<>();
+        Map<String, Integer> agentLayers = new HashMap<>();
+
+        for (AgentKey agentKey : sort(agentKeys)) {
+            int layer = 0;
+            for (String dependency : agentRegistry.getAgent(agentKey).getDependencies()) {
+                // dependencies are always sorted before the agent which depends on them
+                Integer dependencyLayer = agentLayers.get(AgentKeyImpl.parse(dependency).getId());
+                if (dependencyLayer != null) {
+                    layer = Math.max(layer, dependencyLayer + 1);
+                }
+            }
+            agentLayers.put(agentKey.getId(), layer);
+
+            if (layer == layers.size()) {
+                layers.add(new ArrayList<>());
+            }
+            layers.get(layer).add(agentKey);
+        }
+
+        return layers;
+    }
+
     private void doSort(AgentKey agentKey, List<AgentKey> sorted, Set<String> pending) throws AgentException {
         String agentId = agentKey.getId();
 
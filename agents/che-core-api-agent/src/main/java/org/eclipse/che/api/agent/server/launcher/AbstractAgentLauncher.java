@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -41,9 +42,12 @@ import static java.lang.String.format;
 /**
  * Launch agent script asynchronously over target instance and wait when it run.
  * The policy of checking if agent is run might be different for agents.
+ * If checker is {@link AgentLaunchingWatcher} launcher waits for the agent
+ * without periodical pinging, otherwise the checker is pinged until agent is launched.
  *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
+ * @see AgentLaunchingWatcher
  * @see AgentLaunchingChecker#DEFAULT
  *
  * @author Anatolii Bazko
@@ -57,6 +61,8 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                                                                     .setDaemon(true)
                                                                     .build());
 
+    private static final AtomicLong savedPings = new AtomicLong();
+
     private final AgentLaunchingChecker agentLaunchingChecker;
     private final long                  agentPingDelayMs;
     private final long                  agentMaxStartTimeMs;
@@ -87,11 +93,21 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
 
             final long pingStartTimestamp = System.currentTimeMillis();
-            while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
-                if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
+            if (agentLaunchingChecker instanceof AgentLaunchingWatcher) {
+                if (((AgentLaunchingWatcher)agentLaunchingChecker).awaitLaunched(agent,
+                                                                                 process,
+                                                                                 machine,
+                                                                                 agentMaxStartTimeMs)) {
+                    logSavedPings(machine, agent, System.currentTimeMillis() - pingStartTimestamp);
                     return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
+                }
+            } else {
+                while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
+                    if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
+                        return;
+                    } else {
+                        Thread.sleep(agentPingDelayMs);
+                    }
                 }
             }
             LOG.error(format("Fail launching agent '%s' in '%s' workspace due to timeout",
@@ -143,6 +159,27 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
         return process;
     }
 
+    /**
+     * Returns the number of agent pings which would be done by launchers
+     * if their agents were checked periodically instead of being watched.
+     * Each ping is a separate machine process, e.g. a docker exec.
+     */
+    public static long getSavedPings() {
+        return savedPings.get();
+    }
+
+    private void logSavedPings(Instance machine, Agent agent, long launchingTimeMs) {
+        // periodical checking pings agent once right after the start and then once per ping delay
+        long saved = launchingTimeMs / Math.max(agentPingDelayMs, 1);
+        long total = savedPings.addAndGet(saved);
+        LOG.info("Agent {} is launched in {}ms, {} pings saved. Workspace ID:{}. Total pings saved: {}",
+                 agent.getId(),
+                 launchingTimeMs,
+                 saved,
+                 machine.getWorkspaceId(),
+                 total);
+    }
+
     @VisibleForTesting
     void logAsErrorAgentStartLogs(Instance machine, String agentName, String logs) {
         if (!logs.isEmpty()) {
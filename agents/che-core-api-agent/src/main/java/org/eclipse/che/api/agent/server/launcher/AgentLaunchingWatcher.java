@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+
+/**
+ * Agent launching checker which is able to wait until agent is launched
+ * without being pinged periodically, e.g. by watching the output of a single
+ * long-lived machine process. {@link AbstractAgentLauncher} prefers
+ * {@link #awaitLaunched} over polling {@link #isLaunched} when checker implements this interface.
+ */
+public interface AgentLaunchingWatcher extends AgentLaunchingChecker {
+
+    /**
+     * Waits until agent is launched.
+     *
+     * @param agent
+     *      the agent is being launched
+     * @param process
+     *      the process is generated by launching the target agent
+     * @param machine
+     *      the machine instance
+     * @param timeoutMs
+     *      maximum time to wait in milliseconds
+     * @return true if agent is launched, false if timeout is reached
+     * @throws MachineException
+     *      if unexpected error is occurred
+     * @throws InterruptedException
+     *      if waiting thread is interrupted
+     */
+    boolean awaitLaunched(Agent agent,
+                          InstanceProcess process,
+                          Instance machine,
+                          long timeoutMs) throws MachineException, InterruptedException;
+}
@@ -10,30 +10,67 @@
  *******************************************************************************/
 package org.eclipse.che.api.agent.server.launcher;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.model.machine.Command;
+import org.eclipse.che.api.core.util.AbstractLineConsumer;
 import org.eclipse.che.api.core.util.ListLineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Verifies if agent started a process with specific name.
  * It is an indicator that process had been finished.
  *
+ * <p>When used as {@link AgentLaunchingWatcher} a single machine process is started
+ * which checks the process inside of the machine until it appears and reports it to
+ * the output, so there is no need to create a new machine process on each check.
+ *
  * @author Anatoliy Bazko
  */
-public class ProcessIsLaunchedChecker implements AgentLaunchingChecker {
+public class ProcessIsLaunchedChecker implements AgentLaunchingWatcher {
+    private static final Logger          LOG      = LoggerFactory.getLogger(ProcessIsLaunchedChecker.class);
+    private static final ExecutorService executor =
+            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLaunchingWatcher-%d")
+                                                                    .setUncaughtExceptionHandler(
+                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                    .setDaemon(true)
+                                                                    .build());
 
     private static final String CHECK_COMMAND = "command -v pidof >/dev/null 2>&1 && {\n" +
                                                 "    pidof %1$s >/dev/null 2>&1 && echo 0 || echo 1\n" +
                                                 "} || {\n" +
                                                 "    ps -fC %1$s >/dev/null 2>&1 && echo 0 || echo 1\n" +
                                                 "}";
+
+    // fractional sleep is not supported by all the images, fall back to a second
+    private static final String WATCH_COMMAND = "while true; do\n" +
+                                                "    if command -v pidof >/dev/null 2>&1; then\n" +
+                                                "        pidof %1$s >/dev/null 2>&1 && break\n" +
+                                                "    else\n" +
+                                                "        ps -fC %1$s >/dev/null 2>&1 && break\n" +
+                                                "    fi\n" +
+                                                "    sleep 0.2 2>/dev/null || sleep 1\n" +
+                                                "done\n" +
+                                                "echo 0";
+
     private final String processNameToWait;
     private       long   counter;
 
@@ -55,4 +92,61 @@ public class ProcessIsLaunchedChecker implements AgentLaunchingChecker {
             throw new MachineException(e.getServiceError());
         }
     }
+
+    @Override
+    public boolean awaitLaunched(Agent agent,
+                                 InstanceProcess process,
+                                 Instance machine,
+                                 long timeoutMs) throws MachineException, InterruptedException {
+        Command command = new CommandImpl(format("Wait for %s", agent.getId()),
+                                          format(WATCH_COMMAND, processNameToWait),
+                                          "test");
+        InstanceProcess watchProcess = machine.createProcess(command, null);
+
+        AtomicBoolean launched = new AtomicBoolean();
+        AtomicReference<MachineException> error = new AtomicReference<>();
+        // released either when the process is found or when watching process is finished
+        CountDownLatch watchLatch = new CountDownLatch(1);
+        executor.execute(ThreadLocalPropagateContext.wrap(() -> {
+            try {
+                watchProcess.start(new AbstractLineConsumer() {
+                    @Override
+                    public void writeLine(String line) {
+                        if (line.endsWith("[STDOUT] 0")) {
+                            launched.set(true);
+                            watchLatch.countDown();
+                        }
+                    }
+                });
+            } catch (ConflictException e) {
+                error.set(new MachineException(e.getServiceError()));
+            } catch (MachineException e) {
+                error.set(e);
+            } finally {
+                watchLatch.countDown();
+            }
+        }));
+
+        try {
+            watchLatch.await(timeoutMs, MILLISECONDS);
+        } finally {
+            if (!launched.get()) {
+                killQuietly(watchProcess);
+            }
+        }
+        if (error.get() != null && !launched.get()) {
+            throw error.get();
+        }
+        return launched.get();
+    }
+
+    private void killQuietly(InstanceProcess watchProcess) {
+        try {
+            if (watchProcess.isAlive()) {
+                watchProcess.kill();
+            }
+        } catch (MachineException e) {
+            LOG.warn("Can't kill process '{}'. Error: {}", watchProcess.getName(), e.getMessage());
+        }
+    }
 }
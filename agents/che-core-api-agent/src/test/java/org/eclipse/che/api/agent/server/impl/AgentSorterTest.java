@@ -75,6 +75,30 @@ public class AgentSorterTest {
         assertEquals(sorted.get(2).getId(), "fqn2");
     }
 
+    @Test
+    public void sortAgentsInLayersRespectingDependencies() throws Exception {
+        List<List<AgentKey>> layers = agentSorter.sortInLayers(Arrays.asList("fqn1", "fqn2", "fqn3"));
+
+        assertEquals(layers.size(), 2);
+        assertEquals(layers.get(0).size(), 1);
+        assertEquals(layers.get(0).get(0).getId(), "fqn3");
+        assertEquals(layers.get(1).size(), 2);
+        assertEquals(layers.get(1).get(0).getId(), "fqn1");
+        assertEquals(layers.get(1).get(1).getId(), "fqn2");
+    }
+
+    @Test
+    public void sortAgentsInLayersByDeepestDependency() throws Exception {
+        when(agent1.getDependencies()).thenReturn(Arrays.asList("fqn2", "fqn3"));
+
+        List<List<AgentKey>> layers = agentSorter.sortInLayers(Arrays.asList("fqn1", "fqn2", "fqn3"));
+
+        assertEquals(layers.size(), 3);
+        assertEquals(layers.get(0).get(0).getId(), "fqn3");
+        assertEquals(layers.get(1).get(0).getId(), "fqn2");
+        assertEquals(layers.get(2).get(0).getId(), "fqn1");
+    }
+
     @Test(expectedExceptions = AgentException.class, expectedExceptionsMessageRegExp = ".*fqn1.*fqn2.*")
     public void sortingShouldFailIfCircularDependenciesFound() throws Exception {
         when(agent1.getDependencies()).thenReturn(singletonList("fqn2"));
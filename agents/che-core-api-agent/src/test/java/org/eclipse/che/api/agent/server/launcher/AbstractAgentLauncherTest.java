@@ -29,6 +29,7 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -59,6 +60,8 @@ public class AbstractAgentLauncherTest {
     private InstanceProcess       process;
     @Mock
     private AgentLaunchingChecker agentChecker;
+    @Mock
+    private AgentLaunchingWatcher agentWatcher;
 
     private AbstractAgentLauncher launcher;
 
@@ -191,6 +194,48 @@ public class AbstractAgentLauncherTest {
         }
     }
 
+    @Test
+    public void shouldWaitForAgentWithWatcherInsteadOfPinging() throws Exception {
+        // given
+        launcher = spy(new TestAgentLauncher(500, 100, agentWatcher));
+        doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        when(agentWatcher.awaitLaunched(any(Agent.class),
+                                        any(InstanceProcess.class),
+                                        any(Instance.class),
+                                        anyLong())).thenReturn(true);
+
+        // when
+        launcher.launch(machine, agent);
+
+        // then
+        verify(agentWatcher).awaitLaunched(any(Agent.class),
+                                           any(InstanceProcess.class),
+                                           any(Instance.class),
+                                           eq(500L));
+        verify(agentWatcher, never()).isLaunched(any(Agent.class),
+                                                 any(InstanceProcess.class),
+                                                 any(Instance.class));
+    }
+
+    @Test(expectedExceptions = AgentStartException.class, expectedExceptionsMessageRegExp = "Fail launching agent .*. Workspace ID:.*")
+    public void shouldKillAgentProcessIfWatcherDoesNotDetectAgentLaunch() throws Exception {
+        // given
+        launcher = spy(new TestAgentLauncher(500, 100, agentWatcher));
+        doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
+        when(agentWatcher.awaitLaunched(any(Agent.class),
+                                        any(InstanceProcess.class),
+                                        any(Instance.class),
+                                        anyLong())).thenReturn(false);
+
+        // when
+        try {
+            launcher.launch(machine, agent);
+        } finally {
+            // then
+            verify(process).kill();
+        }
+    }
+
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "agent launcher test exception")
     public void shouldThrowServerExceptionIfMachineExceptionIsThrownByAgentCheck() throws Exception {
         // given
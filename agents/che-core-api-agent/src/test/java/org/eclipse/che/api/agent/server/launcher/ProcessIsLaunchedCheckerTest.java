@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.core.model.machine.Command;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ProcessIsLaunchedChecker}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ProcessIsLaunchedCheckerTest {
+    @Mock
+    private Instance        machine;
+    @Mock
+    private Agent           agent;
+    @Mock
+    private InstanceProcess agentProcess;
+    @Mock
+    private InstanceProcess watchProcess;
+
+    private ProcessIsLaunchedChecker checker;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        checker = new ProcessIsLaunchedChecker("test-agent");
+
+        when(agent.getId()).thenReturn("org.eclipse.che.test");
+        when(machine.createProcess(any(Command.class), eq(null))).thenReturn(watchProcess);
+    }
+
+    @Test
+    public void shouldReturnTrueWhenWatchingProcessReportsThatProcessIsLaunched() throws Exception {
+        doAnswer(invocation -> {
+            LineConsumer output = (LineConsumer)invocation.getArguments()[0];
+            output.writeLine("[STDOUT] 0");
+            return null;
+        }).when(watchProcess).start(any(LineConsumer.class));
+
+        assertTrue(checker.awaitLaunched(agent, agentProcess, machine, 1000));
+
+        // single machine process is created for the whole waiting
+        verify(machine, times(1)).createProcess(any(Command.class), eq(null));
+        verify(watchProcess, never()).kill();
+    }
+
+    @Test
+    public void shouldReturnFalseAndKillWatchingProcessWhenTimeoutIsReached() throws Exception {
+        CountDownLatch killLatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            killLatch.await();
+            return null;
+        }).when(watchProcess).start(any(LineConsumer.class));
+        doAnswer(invocation -> {
+            killLatch.countDown();
+            return null;
+        }).when(watchProcess).kill();
+        when(watchProcess.isAlive()).thenReturn(true);
+
+        assertFalse(checker.awaitLaunched(agent, agentProcess, machine, 100));
+
+        verify(watchProcess).kill();
+    }
+
+    @Test(expectedExceptions = MachineException.class, expectedExceptionsMessageRegExp = "watch error")
+    public void shouldRethrowErrorOfWatchingProcess() throws Exception {
+        doThrow(new MachineException("watch error")).when(watchProcess).start(any(LineConsumer.class));
+
+        checker.awaitLaunched(agent, agentProcess, machine, 1000);
+    }
+}
@@ -52,6 +52,13 @@ ${SUDO} sh -c "chown $(id -u -n) /projects"
 ### Install packages ###
 ########################
 
+# the agents of the machine are installed concurrently, the package managers can't run
+# at the same time, e.g. apt-get fails if dpkg is locked, so the packages are installed under the lock
+if command -v flock >/dev/null 2>&1 && touch /tmp/.che-agents-packages.lock 2>/dev/null; then
+    exec 9>>/tmp/.che-agents-packages.lock
+    flock 9
+fi
+
 # Red Hat Enterprise Linux 7
 ############################
 if echo ${LINUX_TYPE} | grep -qi "rhel"; then
@@ -126,6 +133,10 @@ else
     exit 1
 fi
 
+# let the other agents install their packages
+flock -u 9 >/dev/null 2>&1
+exec 9>&-
+
 command -v pidof >/dev/null 2>&1 && {
     pidof exec-agent >/dev/null 2>&1 && exit
 } || {
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Result of JSON RPC request that is not available when request handler
+ * returns. Handler returns an instance of this class immediately, so the
+ * thread that processes incoming requests is released, and resolves or
+ * rejects it later. The response is transmitted to the endpoint as soon
+ * as the result is resolved or rejected, only the first call of
+ * {@link #resolve(Object)} or {@link #reject(JsonRpcException)} has
+ * effect.
+ *
+ * @param <R>
+ *         type of result
+ */
+public class JsonRpcDeferredResult<R> {
+    private BiConsumer<R, JsonRpcException> doneConsumer;
+
+    private boolean          done;
+    private R                result;
+    private JsonRpcException error;
+
+    /**
+     * Resolve this result with a value
+     *
+     * @param result
+     *         result value
+     */
+    public void resolve(R result) {
+        complete(result, null);
+    }
+
+    /**
+     * Reject this result with an error that is transmitted to the
+     * endpoint as JSON RPC error object
+     *
+     * @param error
+     *         error
+     */
+    public void reject(JsonRpcException error) {
+        checkNotNull(error, "JSON RPC error must not be null");
+
+        complete(null, error);
+    }
+
+    /**
+     * Shows if this result is resolved or rejected
+     *
+     * @return {@code true} if result is resolved or rejected
+     */
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    synchronized void onDone(BiConsumer<R, JsonRpcException> consumer) {
+        checkNotNull(consumer, "JSON RPC result consumer must not be null");
+        checkState(doneConsumer == null, "JSON RPC result consumer must not be set");
+
+        if (done) {
+            consumer.accept(result, error);
+        } else {
+            doneConsumer = consumer;
+        }
+    }
+
+    private synchronized void complete(R result, JsonRpcException error) {
+        if (done) {
+            return;
+        }
+        this.done = true;
+        this.result = result;
+        this.error = error;
+
+        if (doneConsumer != null) {
+            doneConsumer.accept(result, error);
+        }
+    }
+}
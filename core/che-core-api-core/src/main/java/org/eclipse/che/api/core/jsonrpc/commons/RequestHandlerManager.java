@@ -27,7 +27,7 @@ import java.util.function.Function;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
- * Manages request handlers. There are nine types of such handlers that differs
+ * Manages request handlers. There are eleven types of such handlers that differs
  * by the type and number of incoming parameters and outgoing results:
  * <ul>
  *     <li>{@link NoneToNoneHandler} - to receive a notification w/o parameters</li>
@@ -36,6 +36,10 @@ import static org.slf4j.LoggerFactory.getLogger;
  *     <li>{@link OneToNoneHandler} - to receive a notification with a single parameter</li>
  *     <li>{@link OneToOneHandler} - to receive a request with a single parameter and a single result</li>
  *     <li>{@link OneToManyHandler}- to receive a request with a single parameter and multiple results </li>
+ *     <li>{@link OneToDeferredOneHandler} - to receive a request with a single parameter and a single result
+ *     that is transmitted when it is resolved</li>
+ *     <li>{@link OneToDeferredManyHandler} - to receive a request with a single parameter and multiple results
+ *     that are transmitted when they are resolved</li>
  *     <li>{@link ManyToNoneHandler} - to receive a notification with multiple parameters</li>
  *     <li>{@link ManyToOneHandler} - to receive request with multiple parameters and a single result</li>
  *     <li>{@link ManyToManyHandler} - to receive request with multiple parameters and multiple results</li>
@@ -45,16 +49,18 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class RequestHandlerManager {
     private final static Logger LOGGER = getLogger(RequestHandlerManager.class);
 
-    private final Map<String, Category>          methodToCategory   = new ConcurrentHashMap<>();
-    private final Map<String, OneToOneHandler>   oneToOneHandlers   = new ConcurrentHashMap<>();
-    private final Map<String, OneToManyHandler>  oneToManyHandlers  = new ConcurrentHashMap<>();
-    private final Map<String, OneToNoneHandler>  oneToNoneHandlers  = new ConcurrentHashMap<>();
-    private final Map<String, ManyToOneHandler>  manyToOneHandlers  = new ConcurrentHashMap<>();
-    private final Map<String, ManyToManyHandler> manyToManyHandlers = new ConcurrentHashMap<>();
-    private final Map<String, ManyToNoneHandler> manyToNoneHandlers = new ConcurrentHashMap<>();
-    private final Map<String, NoneToOneHandler>  noneToOneHandlers  = new ConcurrentHashMap<>();
-    private final Map<String, NoneToManyHandler> noneToManyHandlers = new ConcurrentHashMap<>();
-    private final Map<String, NoneToNoneHandler> noneToNoneHandlers = new ConcurrentHashMap<>();
+    private final Map<String, Category>                 methodToCategory          = new ConcurrentHashMap<>();
+    private final Map<String, OneToOneHandler>          oneToOneHandlers          = new ConcurrentHashMap<>();
+    private final Map<String, OneToManyHandler>         oneToManyHandlers         = new ConcurrentHashMap<>();
+    private final Map<String, OneToDeferredOneHandler>  oneToDeferredOneHandlers  = new ConcurrentHashMap<>();
+    private final Map<String, OneToDeferredManyHandler> oneToDeferredManyHandlers = new ConcurrentHashMap<>();
+    private final Map<String, OneToNoneHandler>         oneToNoneHandlers         = new ConcurrentHashMap<>();
+    private final Map<String, ManyToOneHandler>         manyToOneHandlers         = new ConcurrentHashMap<>();
+    private final Map<String, ManyToManyHandler>        manyToManyHandlers        = new ConcurrentHashMap<>();
+    private final Map<String, ManyToNoneHandler>        manyToNoneHandlers        = new ConcurrentHashMap<>();
+    private final Map<String, NoneToOneHandler>         noneToOneHandlers         = new ConcurrentHashMap<>();
+    private final Map<String, NoneToManyHandler>        noneToManyHandlers        = new ConcurrentHashMap<>();
+    private final Map<String, NoneToNoneHandler>        noneToNoneHandlers        = new ConcurrentHashMap<>();
 
     private final WebSocketMessageTransmitter transmitter;
     private final JsonRpcComposer             dtoComposer;
@@ -81,6 +87,22 @@ public class RequestHandlerManager {
         oneToManyHandlers.put(method, new OneToManyHandler<>(pClass, rClass, biFunction));
     }
 
+    public synchronized <P, R> void registerOneToDeferredOne(String method, Class<P> pClass, Class<R> rClass,
+                                                             BiFunction<String, P, JsonRpcDeferredResult<R>> biFunction) {
+        mustNotBeRegistered(method);
+
+        methodToCategory.put(method, Category.ONE_TO_DEFERRED_ONE);
+        oneToDeferredOneHandlers.put(method, new OneToDeferredOneHandler<>(pClass, rClass, biFunction));
+    }
+
+    public synchronized <P, R> void registerOneToDeferredMany(String method, Class<P> pClass, Class<R> rClass,
+                                                              BiFunction<String, P, JsonRpcDeferredResult<List<R>>> biFunction) {
+        mustNotBeRegistered(method);
+
+        methodToCategory.put(method, Category.ONE_TO_DEFERRED_MANY);
+        oneToDeferredManyHandlers.put(method, new OneToDeferredManyHandler<>(pClass, rClass, biFunction));
+    }
+
     public synchronized <P> void registerOneToNone(String method, Class<P> pClass, BiConsumer<String, P> biConsumer) {
         mustNotBeRegistered(method);
 
@@ -146,6 +168,14 @@ public class RequestHandlerManager {
                 OneToManyHandler oneToManyHandler = oneToManyHandlers.get(method);
                 transmitMany(endpointId, requestId, oneToManyHandler.handle(endpointId, params));
                 break;
+            case ONE_TO_DEFERRED_ONE:
+                OneToDeferredOneHandler oneToDeferredOneHandler = oneToDeferredOneHandlers.get(method);
+                transmitDeferredOne(endpointId, requestId, oneToDeferredOneHandler.handle(endpointId, params));
+                break;
+            case ONE_TO_DEFERRED_MANY:
+                OneToDeferredManyHandler oneToDeferredManyHandler = oneToDeferredManyHandlers.get(method);
+                transmitDeferredMany(endpointId, requestId, oneToDeferredManyHandler.handle(endpointId, params));
+                break;
             case MANY_TO_ONE:
                 ManyToOneHandler manyToOneHandler = manyToOneHandlers.get(method);
                 transmitOne(endpointId, requestId, manyToOneHandler.handle(endpointId, params));
@@ -215,9 +245,38 @@ public class RequestHandlerManager {
         transmitter.transmit(endpointId, message);
     }
 
+    private void transmitDeferredOne(String endpointId, String id, JsonRpcDeferredResult<?> deferredResult) {
+        deferredResult.onDone((result, error) -> {
+            if (error == null) {
+                transmitOne(endpointId, id, result);
+            } else {
+                transmitError(endpointId, id, error);
+            }
+        });
+    }
+
+    private <R> void transmitDeferredMany(String endpointId, String id, JsonRpcDeferredResult<List<R>> deferredResult) {
+        deferredResult.onDone((result, error) -> {
+            if (error == null) {
+                transmitMany(endpointId, id, result);
+            } else {
+                transmitError(endpointId, id, error);
+            }
+        });
+    }
+
+    private void transmitError(String endpointId, String id, JsonRpcException e) {
+        JsonRpcError jsonRpcError = new JsonRpcError(e.getCode(), e.getMessage());
+        JsonRpcResponse jsonRpcResponse = new JsonRpcResponse(id, null, jsonRpcError);
+        String message = marshaller.marshall(jsonRpcResponse);
+        transmitter.transmit(endpointId, message);
+    }
+
     public enum Category {
         ONE_TO_ONE,
         ONE_TO_MANY,
+        ONE_TO_DEFERRED_ONE,
+        ONE_TO_DEFERRED_MANY,
         ONE_TO_NONE,
         MANY_TO_ONE,
         MANY_TO_MANY,
@@ -261,6 +320,41 @@ public class RequestHandlerManager {
         }
     }
 
+    private class OneToDeferredOneHandler<P, R> {
+        final private Class<P>                                        pClass;
+        final private Class<R>                                        rClass;
+        final private BiFunction<String, P, JsonRpcDeferredResult<R>> biFunction;
+
+        private OneToDeferredOneHandler(Class<P> pClass, Class<R> rClass, BiFunction<String, P, JsonRpcDeferredResult<R>> biFunction) {
+            this.pClass = pClass;
+            this.rClass = rClass;
+            this.biFunction = biFunction;
+        }
+
+        private JsonRpcDeferredResult<R> handle(String endpointId, JsonRpcParams params) {
+            P dto = dtoComposer.composeOne(params, pClass);
+            return biFunction.apply(endpointId, dto);
+        }
+    }
+
+    private class OneToDeferredManyHandler<P, R> {
+        final private Class<P>                                              pClass;
+        final private Class<R>                                              rClass;
+        final private BiFunction<String, P, JsonRpcDeferredResult<List<R>>> biFunction;
+
+        private OneToDeferredManyHandler(Class<P> pClass, Class<R> rClass,
+                                         BiFunction<String, P, JsonRpcDeferredResult<List<R>>> biFunction) {
+            this.pClass = pClass;
+            this.rClass = rClass;
+            this.biFunction = biFunction;
+        }
+
+        private JsonRpcDeferredResult<List<R>> handle(String endpointId, JsonRpcParams params) {
+            P dto = dtoComposer.composeOne(params, pClass);
+            return biFunction.apply(endpointId, dto);
+        }
+    }
+
     private class OneToNoneHandler<P> {
         final private Class<P>              pClass;
         final private BiConsumer<String, P> biConsumer;
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.commons.reception;
 
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcDeferredResult;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerManager;
 import org.slf4j.Logger;
 
@@ -74,4 +75,34 @@ public class FunctionConfiguratorOneToMany<P, R> {
     public void withFunction(Function<P, List<R>> biFunction) {
         withBiFunction((s, p) -> biFunction.apply(p));
     }
+
+    /**
+     * Define a binary function to be applied, the function returns a
+     * result that is resolved later, the response is transmitted when
+     * it is resolved or rejected
+     *
+     * @param biFunction
+     *         function
+     */
+    public void withDeferredBiFunction(BiFunction<String, P, JsonRpcDeferredResult<List<R>>> biFunction) {
+        checkNotNull(biFunction, "Request function must not be null");
+
+        LOGGER.debug("Configuring incoming request binary deferred: " +
+                     "function for method: " + method + ", " +
+                     "params object class: " + pClass + ", " +
+                     "result list items class: " + rClass);
+
+        handlerManager.registerOneToDeferredMany(method, pClass, rClass, biFunction);
+    }
+
+    /**
+     * Define a function to be applied, the function returns a result
+     * that is resolved later
+     *
+     * @param function
+     *         function
+     */
+    public void withDeferredFunction(Function<P, JsonRpcDeferredResult<List<R>>> function) {
+        withDeferredBiFunction((s, p) -> function.apply(p));
+    }
 }
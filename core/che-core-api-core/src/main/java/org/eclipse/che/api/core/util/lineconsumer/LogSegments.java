@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import com.google.common.io.CountingOutputStream;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+/**
+ * Layout of the segmented log directory shared by {@link SegmentedFileLineConsumer} and {@link SegmentedLogReader}.
+ *
+ * <p>Each segment is named after the number of its first line, e.g. {@code 00000000000000001024.log}.
+ * The segment has a sparse index, e.g. {@code 00000000000000001024.log.idx}, which starts with
+ * the index interval followed by the offsets of each interval-th line of the segment.
+ * Closed segments are compressed into {@code .gz} files, where each interval of lines
+ * is a separate gzip member, so the offsets of the compressed segment index point
+ * to the gzip members and reading may start from any of them.
+ */
+final class LogSegments {
+
+    static final String PLAIN_SUFFIX      = ".log";
+    static final String COMPRESSED_SUFFIX = ".gz";
+    static final String INDEX_SUFFIX      = ".idx";
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{20})(\\.log|\\.gz)");
+
+    static File segmentFile(File dir, long firstLine, boolean compressed) {
+        return new File(dir, format("%020d", firstLine) + (compressed ? COMPRESSED_SUFFIX : PLAIN_SUFFIX));
+    }
+
+    static File indexFile(File dir, long firstLine, boolean compressed) {
+        return new File(dir, segmentFile(dir, firstLine, compressed).getName() + INDEX_SUFFIX);
+    }
+
+    /** Returns sorted numbers of the first lines of the segments in the given directory. */
+    static List<Long> list(File dir) {
+        final TreeSet<Long> firstLines = new TreeSet<>();
+        final String[] names = dir.list();
+        if (names != null) {
+            for (String name : names) {
+                final Matcher matcher = SEGMENT_NAME.matcher(name);
+                if (matcher.matches()) {
+                    firstLines.add(Long.parseLong(matcher.group(1)));
+                }
+            }
+        }
+        return new ArrayList<>(firstLines);
+    }
+
+    /** Removes all the segments of the log. */
+    static void removeAll(File dir) throws IOException {
+        for (long firstLine : list(dir)) {
+            remove(dir, firstLine);
+        }
+    }
+
+    /** Removes the oldest segments so the log contains at most {@code maxSegments} segments. */
+    static void removeOldest(File dir, int maxSegments) throws IOException {
+        final List<Long> firstLines = list(dir);
+        for (int i = 0; i < firstLines.size() - maxSegments; i++) {
+            remove(dir, firstLines.get(i));
+        }
+    }
+
+    private static void remove(File dir, long firstLine) throws IOException {
+        Files.deleteIfExists(segmentFile(dir, firstLine, true).toPath());
+        Files.deleteIfExists(indexFile(dir, firstLine, true).toPath());
+        Files.deleteIfExists(segmentFile(dir, firstLine, false).toPath());
+        Files.deleteIfExists(indexFile(dir, firstLine, false).toPath());
+    }
+
+    /**
+     * Opens the segment stream positioned at the given line of the segment.
+     *
+     * @return the stream or null if the segment doesn't contain the line
+     */
+    static InputStream open(File dir, long firstLine, long lineInSegment) throws IOException {
+        try {
+            return Segment.load(dir, firstLine).open(lineInSegment);
+        } catch (FileNotFoundException x) {
+            // plain segment might be compressed while it was being opened
+            return Segment.load(dir, firstLine).open(lineInSegment);
+        }
+    }
+
+    /** Returns the number of complete lines in the segment. */
+    static long countLines(File dir, long firstLine) throws IOException {
+        final Segment segment = Segment.load(dir, firstLine);
+        if (segment.offsets.length == 0) {
+            return 0;
+        }
+        final long lastIndexed = (long)(segment.offsets.length - 1) * segment.interval;
+        long count = lastIndexed;
+        try (InputStream in = segment.open(lastIndexed)) {
+            if (in != null) {
+                while (skipLine(in)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compresses the closed plain segment, each interval of the segment lines
+     * is compressed into a separate gzip member which offset is written to the index.
+     */
+    static void compress(File dir, long firstLine) throws IOException {
+        final File plain = segmentFile(dir, firstLine, false);
+        final File plainIndex = indexFile(dir, firstLine, false);
+        final File compressed = segmentFile(dir, firstLine, true);
+        final File compressedIndex = indexFile(dir, firstLine, true);
+        final File tmpCompressed = new File(dir, compressed.getName() + ".tmp");
+        final File tmpIndex = new File(dir, compressedIndex.getName() + ".tmp");
+
+        final int interval;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(plainIndex))) {
+            interval = in.readInt();
+        }
+        try (InputStream in = new BufferedInputStream(new FileInputStream(plain));
+             CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(tmpCompressed)));
+             DataOutputStream index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpIndex)))) {
+            index.writeInt(interval);
+            final byte[] buffer = new byte[8192];
+            OutputStream member = null;
+            long lines = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                int start = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n' && ++lines % interval == 0) {
+                        member = write(member, buffer, start, i + 1 - start, out, index);
+                        member.close();
+                        member = null;
+                        start = i + 1;
+                    }
+                }
+                if (start < read) {
+                    member = write(member, buffer, start, read - start, out, index);
+                }
+            }
+            if (member != null) {
+                member.close();
+            }
+        }
+        // compressed segment is visible to readers only when its index is in place
+        Files.move(tmpIndex.toPath(), compressedIndex.toPath(), ATOMIC_MOVE);
+        Files.move(tmpCompressed.toPath(), compressed.toPath(), ATOMIC_MOVE);
+        Files.deleteIfExists(plain.toPath());
+        Files.deleteIfExists(plainIndex.toPath());
+    }
+
+    private static OutputStream write(OutputStream member,
+                                      byte[] buffer,
+                                      int offset,
+                                      int length,
+                                      CountingOutputStream out,
+                                      DataOutputStream index) throws IOException {
+        if (member == null) {
+            index.writeLong(out.getCount());
+            member = new GZIPOutputStream(new UnclosableOutputStream(out));
+        }
+        member.write(buffer, offset, length);
+        return member;
+    }
+
+    /** Reads the next complete line, returns null if there is no complete line. */
+    static String readLine(InputStream in) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                return new String(line.toByteArray(), UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    /** Skips the next complete line, returns false if there is no complete line. */
+    static boolean skipLine(InputStream in) throws IOException {
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LogSegments() {}
+
+    private static class Segment {
+        final File    file;
+        final boolean compressed;
+        final int     interval;
+        final long[]  offsets;
+
+        Segment(File file, boolean compressed, int interval, long[] offsets) {
+            this.file = file;
+            this.compressed = compressed;
+            this.interval = interval;
+            this.offsets = offsets;
+        }
+
+        static Segment load(File dir, long firstLine) throws IOException {
+            boolean compressed = true;
+            File file = segmentFile(dir, firstLine, true);
+            File index = indexFile(dir, firstLine, true);
+            if (!file.exists()) {
+                compressed = false;
+                file = segmentFile(dir, firstLine, false);
+                index = indexFile(dir, firstLine, false);
+            }
+            if (index.length() < Integer.BYTES) {
+                // nothing is flushed to the just created segment yet
+                if (!index.exists()) {
+                    throw new FileNotFoundException(index.getPath());
+                }
+                return new Segment(file, compressed, 1, new long[0]);
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(index)))) {
+                final int interval = in.readInt();
+                final long length = file.length();
+                final long[] offsets = new long[(int)((index.length() - Integer.BYTES) / Long.BYTES)];
+                int count = 0;
+                while (count < offsets.length) {
+                    final long offset = in.readLong();
+                    // the index of the active segment may be flushed ahead of its data
+                    if (!compressed && offset >= length) {
+                        break;
+                    }
+                    offsets[count++] = offset;
+                }
+                return new Segment(file, compressed, interval, Arrays.copyOf(offsets, count));
+            }
+        }
+
+        InputStream open(long lineInSegment) throws IOException {
+            final int entry = (int)(lineInSegment / interval);
+            if (entry >= offsets.length) {
+                return null;
+            }
+            final FileInputStream fileIn = new FileInputStream(file);
+            try {
+                fileIn.getChannel().position(offsets[entry]);
+                final InputStream in = compressed ? new BufferedInputStream(new GZIPInputStream(fileIn, 8192))
+                                                  : new BufferedInputStream(fileIn, 8192);
+                for (long skip = lineInSegment - (long)entry * interval; skip > 0; skip--) {
+                    if (!skipLine(in)) {
+                        in.close();
+                        return null;
+                    }
+                }
+                return in;
+            } catch (IOException x) {
+                fileIn.close();
+                throw x;
+            }
+        }
+    }
+
+    /** Allows to close gzip member stream without closing the segment stream. */
+    private static class UnclosableOutputStream extends FilterOutputStream {
+        UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
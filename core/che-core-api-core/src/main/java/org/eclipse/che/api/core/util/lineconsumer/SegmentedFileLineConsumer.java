@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.core.util.lineconsumer.LogSegments.indexFile;
+import static org.eclipse.che.api.core.util.lineconsumer.LogSegments.segmentFile;
+
+/**
+ * Consumes logs and writes them into a directory of size and time limited segments.
+ * This implementation is thread safe.
+ *
+ * <p>Unlike {@link org.eclipse.che.api.core.util.FileLineConsumer} lines are not flushed one by one,
+ * they are flushed in groups when the size of not flushed lines reaches the limit,
+ * or periodically so readers see the output of slow processes without noticeable delay.
+ *
+ * <p>The active segment is closed when it reaches the size or age limit, closed segments
+ * are compressed in background and only the configured number of the latest segments are kept.
+ * Each segment has a sparse line index, so {@link SegmentedLogReader} can read any range of lines,
+ * or the tail of the log, without reading the log from the beginning.
+ *
+ * @see SegmentedLogReader
+ */
+public class SegmentedFileLineConsumer implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileLineConsumer.class);
+
+    public static final long DEFAULT_MAX_SEGMENT_SIZE   = 16 * 1024 * 1024;
+    public static final long DEFAULT_MAX_SEGMENT_AGE_MS = TimeUnit.HOURS.toMillis(1);
+    public static final int  DEFAULT_MAX_SEGMENTS       = 16;
+    public static final int  DEFAULT_FLUSH_SIZE         = 64 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL_MS  = 1000;
+    public static final int  DEFAULT_INDEX_INTERVAL     = 256;
+
+    private static final byte[] EMPTY_LINE = new byte[0];
+
+    private static final ScheduledExecutorService FLUSHER   =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("SegmentedLogFlusher-%d")
+                                                                                 .setUncaughtExceptionHandler(
+                                                                                         LoggingUncaughtExceptionHandler.getInstance())
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+    private static final ExecutorService          COMPACTOR =
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("SegmentedLogCompactor-%d")
+                                                                        .setUncaughtExceptionHandler(
+                                                                                LoggingUncaughtExceptionHandler.getInstance())
+                                                                        .setDaemon(true)
+                                                                        .build());
+
+    private final File               dir;
+    private final long               maxSegmentSize;
+    private final long               maxSegmentAgeMs;
+    private final int                maxSegments;
+    private final int                flushSize;
+    private final int                indexInterval;
+    private final ScheduledFuture<?> flushTask;
+
+    private OutputStream     segment;
+    private DataOutputStream index;
+    private long             segmentFirstLine;
+    private long             segmentLines;
+    private long             segmentSize;
+    private long             segmentCreationTime;
+    private long             lines;
+    private long             notFlushed;
+    private boolean          isOpen;
+
+    public SegmentedFileLineConsumer(File dir) throws IOException {
+        this(dir,
+             DEFAULT_MAX_SEGMENT_SIZE,
+             DEFAULT_MAX_SEGMENT_AGE_MS,
+             DEFAULT_MAX_SEGMENTS,
+             DEFAULT_FLUSH_SIZE,
+             DEFAULT_FLUSH_INTERVAL_MS,
+             DEFAULT_INDEX_INTERVAL);
+    }
+
+    /**
+     * Creates consumer which writes lines into the given directory, existing log in the directory is removed.
+     *
+     * @param dir
+     *         the directory of the log segments
+     * @param maxSegmentSize
+     *         the size in bytes after which the segment is closed
+     * @param maxSegmentAgeMs
+     *         the age of the segment after which it is closed
+     * @param maxSegments
+     *         how many latest segments to keep
+     * @param flushSize
+     *         the size in bytes of not flushed lines after which they are flushed
+     * @param flushIntervalMs
+     *         how often not flushed lines are flushed
+     * @param indexInterval
+     *         the number of lines between line index entries
+     */
+    public SegmentedFileLineConsumer(File dir,
+                                     long maxSegmentSize,
+                                     long maxSegmentAgeMs,
+                                     int maxSegments,
+                                     int flushSize,
+                                     long flushIntervalMs,
+                                     int indexInterval) throws IOException {
+        if (maxSegments < 1 || indexInterval < 1 || flushSize < 1) {
+            throw new IllegalArgumentException("Max segments, flush size and index interval must be positive");
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create log directory " + dir);
+        }
+        LogSegments.removeAll(dir);
+        this.dir = dir;
+        this.maxSegmentSize = maxSegmentSize;
+        this.maxSegmentAgeMs = maxSegmentAgeMs;
+        this.maxSegments = maxSegments;
+        this.flushSize = flushSize;
+        this.indexInterval = indexInterval;
+        this.isOpen = true;
+        this.flushTask = FLUSHER.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, MILLISECONDS);
+    }
+
+    public File getDirectory() {
+        return dir;
+    }
+
+    public synchronized boolean isOpen() {
+        return isOpen;
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        if (!isOpen) {
+            return;
+        }
+        if (segment == null
+            || segmentSize >= maxSegmentSize
+            || System.currentTimeMillis() - segmentCreationTime >= maxSegmentAgeMs) {
+            rotate();
+        }
+        if (segmentLines % indexInterval == 0) {
+            index.writeLong(segmentSize);
+        }
+        final byte[] bytes = line == null ? EMPTY_LINE : line.getBytes(UTF_8);
+        segment.write(bytes);
+        segment.write('\n');
+        segmentLines++;
+        segmentSize += bytes.length + 1;
+        notFlushed += bytes.length + 1;
+        lines++;
+        if (notFlushed >= flushSize) {
+            flush();
+        }
+    }
+
+    /** Flushes written lines, so they become visible to readers. */
+    public synchronized void flush() throws IOException {
+        if (segment != null) {
+            // data goes first, so the index never points to not flushed lines
+            segment.flush();
+            index.flush();
+            notFlushed = 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (isOpen) {
+            isOpen = false;
+            flushTask.cancel(false);
+            if (segment != null) {
+                closeSegment();
+            }
+        }
+    }
+
+    private synchronized void flushQuietly() {
+        if (isOpen && notFlushed > 0) {
+            try {
+                flush();
+            } catch (IOException x) {
+                LOG.warn("Unable to flush log in '{}'. {}", dir, x.getMessage());
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (segment != null) {
+            closeSegment();
+        }
+        segmentFirstLine = lines;
+        segmentLines = 0;
+        segmentSize = 0;
+        segmentCreationTime = System.currentTimeMillis();
+        // whole flush group is kept in the buffer, so it is written to the file with a single write
+        segment = new BufferedOutputStream(new FileOutputStream(segmentFile(dir, segmentFirstLine, false)), flushSize);
+        index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile(dir, segmentFirstLine, false))));
+        index.writeInt(indexInterval);
+    }
+
+    private void closeSegment() throws IOException {
+        try {
+            segment.close();
+        } finally {
+            index.close();
+        }
+        segment = null;
+        index = null;
+        notFlushed = 0;
+
+        final long closedFirstLine = segmentFirstLine;
+        COMPACTOR.execute(() -> {
+            try {
+                LogSegments.compress(dir, closedFirstLine);
+                LogSegments.removeOldest(dir, maxSegments);
+            } catch (IOException x) {
+                LOG.warn("Unable to compact log segment '{}' in '{}'. {}", closedFirstLine, dir, x.getMessage());
+            }
+        });
+    }
+}
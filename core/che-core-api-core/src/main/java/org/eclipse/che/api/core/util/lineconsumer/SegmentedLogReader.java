@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads the log written by {@link SegmentedFileLineConsumer}, the log may be read
+ * while it is being written. Lines are numbered from 0, lines of the segments removed
+ * by rotation are not available anymore.
+ */
+public class SegmentedLogReader {
+
+    private final File dir;
+
+    public SegmentedLogReader(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Returns true if the log is created, the log of the consumer
+     * which hasn't received any lines yet exists and is empty.
+     */
+    public boolean exists() {
+        return dir.isDirectory();
+    }
+
+    /** Returns the number of the first available line. */
+    public long getFirstLine() {
+        final List<Long> segments = LogSegments.list(dir);
+        return segments.isEmpty() ? 0 : segments.get(0);
+    }
+
+    /** Returns the number of lines written to the log, including the lines which are not available anymore. */
+    public long getLineCount() throws IOException {
+        final List<Long> segments = LogSegments.list(dir);
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        final long lastSegment = segments.get(segments.size() - 1);
+        return lastSegment + LogSegments.countLines(dir, lastSegment);
+    }
+
+    /**
+     * Reads lines starting from the given one, if the line is not available anymore
+     * the lines are read starting from the first available line.
+     *
+     * @param fromLine
+     *         the number of the first line to read
+     * @param count
+     *         the maximum number of lines to read
+     * @return read lines, empty list if there are no such lines
+     */
+    public List<String> readLines(long fromLine, int count) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        final List<Long> segments = LogSegments.list(dir);
+        if (count <= 0 || segments.isEmpty()) {
+            return lines;
+        }
+        long line = Math.max(fromLine, segments.get(0));
+        int idx = segments.size() - 1;
+        while (segments.get(idx) > line) {
+            idx--;
+        }
+        for (; idx < segments.size() && lines.size() < count; idx++) {
+            final long segmentFirstLine = segments.get(idx);
+            if (line < segmentFirstLine) {
+                // some lines are lost, e.g. the segment was not completely written
+                line = segmentFirstLine;
+            }
+            try (InputStream in = LogSegments.open(dir, segmentFirstLine, line - segmentFirstLine)) {
+                if (in != null) {
+                    String next;
+                    while (lines.size() < count && (next = LogSegments.readLine(in)) != null) {
+                        lines.add(next);
+                        line++;
+                    }
+                }
+            } catch (FileNotFoundException x) {
+                // segment is removed by rotation while it's being read, continue with the next one
+            }
+        }
+        return lines;
+    }
+
+    /** Reads up to {@code count} last lines of the log. */
+    public List<String> tail(int count) throws IOException {
+        return readLines(Math.max(0, getLineCount() - count), count);
+    }
+
+    /** Opens reader of the whole available log. */
+    public Reader openReader() {
+        final Iterator<Long> segments = LogSegments.list(dir).iterator();
+        final Enumeration<InputStream> streams = new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return segments.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    final InputStream in = LogSegments.open(dir, segments.next(), 0);
+                    return in != null ? in : new ByteArrayInputStream(new byte[0]);
+                } catch (FileNotFoundException x) {
+                    return new ByteArrayInputStream(new byte[0]);
+                } catch (IOException x) {
+                    throw new UncheckedIOException(x);
+                }
+            }
+        };
+        return new BufferedReader(new InputStreamReader(new SequenceInputStream(streams), UTF_8));
+    }
+}
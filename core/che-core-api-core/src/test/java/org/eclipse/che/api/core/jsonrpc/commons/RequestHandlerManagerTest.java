@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for {@link RequestHandlerManager}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class RequestHandlerManagerTest {
+    static final String ENDPOINT_ID    = "endpoint-id";
+    static final String REQUEST_ID     = "request-id";
+    static final String REQUEST_METHOD = "request-method";
+    static final String PARAMS         = "params";
+    static final String RESULT         = "result";
+    static final String MESSAGE        = "message";
+
+    @Mock
+    WebSocketMessageTransmitter transmitter;
+    @Mock
+    JsonRpcComposer             dtoComposer;
+    @Mock
+    JsonRpcMarshaller           marshaller;
+    @InjectMocks
+    RequestHandlerManager       requestHandlerManager;
+
+    @Mock
+    JsonRpcParams params;
+
+    AtomicReference<JsonRpcDeferredResult<String>> deferredResult;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        deferredResult = new AtomicReference<>();
+
+        when(dtoComposer.composeOne(params, String.class)).thenReturn(PARAMS);
+        when(marshaller.marshall(any(JsonRpcResponse.class))).thenReturn(MESSAGE);
+
+        requestHandlerManager.registerOneToDeferredOne(REQUEST_METHOD, String.class, String.class, (endpointId, params) -> {
+            JsonRpcDeferredResult<String> result = new JsonRpcDeferredResult<>();
+            deferredResult.set(result);
+            return result;
+        });
+    }
+
+    @Test
+    public void shouldNotTransmitDeferredResultBeforeItIsResolved() throws Exception {
+        requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, REQUEST_METHOD, params);
+
+        verify(transmitter, never()).transmit(anyString(), anyString());
+    }
+
+    @Test
+    public void shouldTransmitDeferredResultWhenItIsResolved() throws Exception {
+        requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, REQUEST_METHOD, params);
+
+        deferredResult.get().resolve(RESULT);
+
+        ArgumentCaptor<JsonRpcResponse> captor = ArgumentCaptor.forClass(JsonRpcResponse.class);
+        verify(marshaller).marshall(captor.capture());
+        assertEquals(captor.getValue().getId(), REQUEST_ID);
+        assertEquals(captor.getValue().getResult().getOne(), RESULT);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldTransmitDeferredResultWhichIsResolvedBeforeHandlerReturns() throws Exception {
+        requestHandlerManager.registerOneToDeferredOne("resolved-method", String.class, String.class, (endpointId, params) -> {
+            JsonRpcDeferredResult<String> result = new JsonRpcDeferredResult<>();
+            result.resolve(RESULT);
+            return result;
+        });
+
+        requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, "resolved-method", params);
+
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    }
+
+    @Test
+    public void shouldTransmitErrorWhenDeferredResultIsRejected() throws Exception {
+        requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, REQUEST_METHOD, params);
+
+        deferredResult.get().reject(new JsonRpcException(-32800, "cancelled"));
+        deferredResult.get().resolve(RESULT);
+
+        ArgumentCaptor<JsonRpcResponse> captor = ArgumentCaptor.forClass(JsonRpcResponse.class);
+        verify(marshaller).marshall(captor.capture());
+        assertEquals(captor.getValue().getId(), REQUEST_ID);
+        assertNull(captor.getValue().getResult());
+        assertEquals(captor.getValue().getError().getCode(), -32800);
+        verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    }
+}
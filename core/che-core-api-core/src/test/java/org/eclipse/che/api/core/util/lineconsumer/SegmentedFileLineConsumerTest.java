@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link SegmentedFileLineConsumer} and {@link SegmentedLogReader}.
+ */
+public class SegmentedFileLineConsumerTest {
+
+    private File                      dir;
+    private SegmentedFileLineConsumer consumer;
+    private SegmentedLogReader        reader;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("segmented-log").toFile();
+        // segment is closed after ~100 bytes, each 4 lines are indexed
+        consumer = new SegmentedFileLineConsumer(dir, 100, SECONDS.toMillis(60), 100, 1024, 60_000, 4);
+        reader = new SegmentedLogReader(dir);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        consumer.close();
+        IoUtil.deleteRecursive(dir);
+    }
+
+    @Test
+    public void shouldNotExposeNotFlushedLines() throws Exception {
+        consumer.writeLine("line-0");
+
+        assertEquals(reader.readLines(0, 10), emptyList());
+
+        consumer.flush();
+
+        assertEquals(reader.readLines(0, 10), asList("line-0"));
+    }
+
+    @Test
+    public void shouldReadRangeOfLinesFromActiveAndRotatedSegments() throws Exception {
+        final List<String> written = writeLines(100);
+        consumer.flush();
+
+        assertTrue(LogSegments.list(dir).size() > 1, "Log is rotated");
+        assertEquals(reader.getLineCount(), 100);
+        assertEquals(reader.readLines(0, 100), written);
+        assertEquals(reader.readLines(37, 20), written.subList(37, 57));
+        assertEquals(reader.readLines(95, 20), written.subList(95, 100));
+        assertEquals(reader.readLines(100, 20), emptyList());
+    }
+
+    @Test
+    public void shouldReadTailOfTheLog() throws Exception {
+        final List<String> written = writeLines(50);
+        consumer.flush();
+
+        assertEquals(reader.tail(7), written.subList(43, 50));
+        assertEquals(reader.tail(100), written);
+    }
+
+    @Test
+    public void shouldCompressClosedSegmentsAndKeepThemReadable() throws Exception {
+        final List<String> written = writeLines(100);
+        consumer.close();
+
+        awaitCompression();
+
+        assertEquals(reader.getLineCount(), 100);
+        assertEquals(reader.readLines(0, 100), written);
+        assertEquals(reader.readLines(61, 13), written.subList(61, 74));
+        assertEquals(reader.tail(3), written.subList(97, 100));
+        try (BufferedReader all = new BufferedReader(reader.openReader())) {
+            assertEquals(all.lines().collect(Collectors.toList()), written);
+        }
+    }
+
+    @Test
+    public void shouldKeepOnlyConfiguredNumberOfLatestSegments() throws Exception {
+        consumer.close();
+        consumer = new SegmentedFileLineConsumer(dir, 100, SECONDS.toMillis(60), 2, 1024, 60_000, 4);
+        final List<String> written = writeLines(100);
+        consumer.close();
+
+        awaitCompression();
+        final long deadline = System.currentTimeMillis() + SECONDS.toMillis(10);
+        while (LogSegments.list(dir).size() > 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(LogSegments.list(dir).size(), 2);
+        final long firstLine = reader.getFirstLine();
+        assertTrue(firstLine > 0);
+        assertEquals(reader.readLines(0, 100), written.subList((int)firstLine, 100));
+    }
+
+    @Test
+    public void shouldNotWriteLinesAfterConsumerIsClosed() throws Exception {
+        consumer.writeLine("line-0");
+        consumer.close();
+
+        consumer.writeLine("line-1");
+
+        assertFalse(consumer.isOpen());
+        assertEquals(reader.readLines(0, 10), asList("line-0"));
+    }
+
+    @Test
+    public void shouldExposeEmptyLogBeforeFirstLineIsWritten() throws Exception {
+        assertTrue(reader.exists());
+        assertEquals(reader.getLineCount(), 0);
+        assertEquals(reader.readLines(0, 10), emptyList());
+        assertEquals(reader.tail(10), emptyList());
+        try (BufferedReader log = new BufferedReader(reader.openReader())) {
+            assertEquals(log.read(), -1);
+        }
+    }
+
+    @Test
+    public void shouldNotExistWhenLogIsNotCreated() throws Exception {
+        assertFalse(new SegmentedLogReader(new File(dir, "not-created")).exists());
+    }
+
+    private List<String> writeLines(int count) throws Exception {
+        final List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String line = "line-" + i;
+            consumer.writeLine(line);
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private void awaitCompression() throws Exception {
+        final long deadline = System.currentTimeMillis() + SECONDS.toMillis(10);
+        while (System.currentTimeMillis() < deadline) {
+            final String[] names = dir.list((d, name) -> name.endsWith(LogSegments.PLAIN_SUFFIX));
+            if (names == null || names.length == 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Closed segments are not compressed");
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hits and misses of the cached entity lookups and of the cached query results of a single entity.
+ */
+public class CacheStatistics {
+
+    private final AtomicLong entityHits   = new AtomicLong();
+    private final AtomicLong entityMisses = new AtomicLong();
+    private final AtomicLong queryHits    = new AtomicLong();
+    private final AtomicLong queryMisses  = new AtomicLong();
+
+    public long getEntityHits() {
+        return entityHits.get();
+    }
+
+    public long getEntityMisses() {
+        return entityMisses.get();
+    }
+
+    public long getQueryHits() {
+        return queryHits.get();
+    }
+
+    public long getQueryMisses() {
+        return queryMisses.get();
+    }
+
+    /** Returns the ratio of entity lookups served from the cache, or 0 if there were no lookups. */
+    public double getEntityHitRatio() {
+        return ratio(entityHits.get(), entityMisses.get());
+    }
+
+    /** Returns the ratio of queries served from the cache, or 0 if there were no queries. */
+    public double getQueryHitRatio() {
+        return ratio(queryHits.get(), queryMisses.get());
+    }
+
+    void entityHit() {
+        entityHits.incrementAndGet();
+    }
+
+    void entityMiss() {
+        entityMisses.incrementAndGet();
+    }
+
+    void queryHit() {
+        queryHits.incrementAndGet();
+    }
+
+    void queryMiss() {
+        queryMisses.incrementAndGet();
+    }
+
+    private static double ratio(long hits, long misses) {
+        final long total = hits + misses;
+        return total == 0 ? 0 : (double)hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+               "entityHits=" + entityHits +
+               ", entityMisses=" + entityMisses +
+               ", entityHitRatio=" + String.format("%.2f", getEntityHitRatio()) +
+               ", queryHits=" + queryHits +
+               ", queryMisses=" + queryMisses +
+               ", queryHitRatio=" + String.format("%.2f", getQueryHitRatio()) +
+               '}';
+    }
+}
@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.inject.ConfigurationProperties;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.jpa.JpaCache;
+import org.eclipse.persistence.jpa.JpaEntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Second-level cache of rarely changed entities, such as stacks, recipes or user profiles.
+ *
+ * <p>Entities are kept in the shared cache of the persistence provider, while results
+ * of the queries are cached as lists of entity identifiers which are resolved through
+ * the shared cache, so the cached query never returns an entity state which differs
+ * from the state returned by {@link #find(Class, Object)}.
+ *
+ * <p>Cached query results of the entity are invalidated each time an instance of
+ * the entity is inserted, updated or deleted by this node, DAOs also call {@link #evict(Class, Object)}
+ * after the modifying transaction is committed, so a concurrent query can't cache the state
+ * which is being changed. Changes made by other nodes of the cluster become visible
+ * after the cached values expire, expiration is configured with {@value #EXPIRY_PROPERTY} property.
+ *
+ * <p>Caching is toggled per entity with {@value #ENTITY_PROPERTY_PREFIX}{@code <entity name>} property,
+ * e.g. {@code db.cache.entity.stack=false}, entities which are not configured are cached.
+ * When the cache of the entity is disabled the entity and its queries are always read from the database.
+ * The shared cache of the entity must be enabled in the persistence unit, e.g. with
+ * {@code eclipselink.cache.shared.<entity name>} property, otherwise the entity is not cached.
+ */
+@Singleton
+public class EntityCacheManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheManager.class);
+
+    public static final String ENTITY_PROPERTY_PREFIX       = "db.cache.entity.";
+    public static final String EXPIRY_PROPERTY              = "db.cache.expiry_ms";
+    public static final String QUERY_RESULTS_LIMIT_PROPERTY = "db.cache.query_results.max_size";
+
+    private static final long DEFAULT_EXPIRY_MS              = 60_000;
+    private static final long DEFAULT_QUERY_RESULTS_MAX_SIZE = 1000;
+
+    private static final Map<String, Object> BYPASS_CACHE =
+            Collections.singletonMap("javax.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS);
+
+    private final Provider<EntityManager>              managerProvider;
+    private final Map<String, String>                  properties;
+    private final long                                 expiryMs;
+    private final long                                 queryResultsMaxSize;
+    private final ConcurrentMap<Class<?>, EntityCache> caches;
+
+    @Inject
+    public EntityCacheManager(Provider<EntityManager> managerProvider, ConfigurationProperties configuration) {
+        this.managerProvider = managerProvider;
+        this.properties = configuration.getProperties("db\\.cache\\..+");
+        this.expiryMs = getLong(EXPIRY_PROPERTY, DEFAULT_EXPIRY_MS);
+        this.queryResultsMaxSize = getLong(QUERY_RESULTS_LIMIT_PROPERTY, DEFAULT_QUERY_RESULTS_MAX_SIZE);
+        this.caches = new ConcurrentHashMap<>();
+    }
+
+    /** Returns true if the given entity is cached. */
+    public boolean isEnabled(Class<?> entityClass) {
+        return cacheOf(entityClass).enabled;
+    }
+
+    /**
+     * Finds the entity by its identifier using the current entity manager,
+     * the entity is read from the database only if it is not cached or its cache is disabled.
+     *
+     * @return found entity or null if there is no such entity
+     */
+    public <T> T find(Class<T> entityClass, Object id) {
+        final EntityCache cache = cacheOf(entityClass);
+        final EntityManager manager = managerProvider.get();
+        if (!cache.enabled) {
+            return manager.find(entityClass, id, BYPASS_CACHE);
+        }
+        final JpaCache sharedCache = (JpaCache)manager.getEntityManagerFactory().getCache();
+        if (sharedCache.contains(entityClass, id) && sharedCache.isValid(entityClass, id)) {
+            cache.statistics.entityHit();
+        } else {
+            cache.statistics.entityMiss();
+        }
+        return manager.find(entityClass, id);
+    }
+
+    /**
+     * Returns the results of the query, which are taken from the cache
+     * if the query with the same key was already executed and its results
+     * are not invalidated yet.
+     *
+     * @param entityClass
+     *         the class of the entities returned by the query
+     * @param idFunction
+     *         returns the identifier of the entity
+     * @param queryKey
+     *         the key which identifies the query, its parameters and paging
+     * @param query
+     *         executes the query using the current entity manager
+     */
+    public <T> List<T> getResultList(Class<T> entityClass,
+                                     Function<? super T, ?> idFunction,
+                                     List<?> queryKey,
+                                     Supplier<List<T>> query) {
+        final EntityCache cache = cacheOf(entityClass);
+        if (!cache.enabled) {
+            return query.get();
+        }
+        // generation is read before the query is executed,
+        // so the results of the query which is concurrent with a change are never used
+        final long generation = cache.generation.get();
+        final QueryResult cached = cache.queryResults.getIfPresent(queryKey);
+        if (cached != null && cached.generation == generation) {
+            final List<T> entities = findAll(entityClass, cache, idFunction, cached.ids);
+            if (entities != null) {
+                cache.statistics.queryHit();
+                return entities;
+            }
+        }
+        cache.statistics.queryMiss();
+        final List<T> result = query.get();
+        cache.queryResults.put(queryKey, new QueryResult(generation, result.stream().map(idFunction).collect(toList())));
+        return result;
+    }
+
+    /**
+     * Resolves the identifiers of the cached query result. Entities which are in the shared cache are taken
+     * from it, the rest of them are read from the database with a single query.
+     *
+     * @return entities in the order of the identifiers or null if some of the entities don't exist anymore
+     */
+    private <T> List<T> findAll(Class<T> entityClass, EntityCache cache, Function<? super T, ?> idFunction, List<Object> ids) {
+        final EntityManager manager = managerProvider.get();
+        final JpaCache sharedCache = (JpaCache)manager.getEntityManagerFactory().getCache();
+        final Map<Object, T> found = new HashMap<>();
+        final List<Object> missing = new ArrayList<>();
+        for (Object id : ids) {
+            if (sharedCache.contains(entityClass, id) && sharedCache.isValid(entityClass, id)) {
+                found.put(id, manager.find(entityClass, id));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            final String query = format("SELECT e FROM %s e WHERE e.%s IN :ids", cache.entityName, cache.idAttribute);
+            for (T entity : manager.createQuery(query, entityClass)
+                                   .setParameter("ids", missing)
+                                   .getResultList()) {
+                found.put(idFunction.apply(entity), entity);
+            }
+        }
+        final List<T> entities = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            final T entity = found.get(id);
+            if (entity == null) {
+                return null;
+            }
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    /**
+     * Evicts the entity from the shared cache and invalidates cached query results of the entity.
+     * Should be called after the transaction which modifies the entity is committed.
+     */
+    public void evict(Class<?> entityClass, Object id) {
+        final EntityCache cache = cacheOf(entityClass);
+        if (cache.enabled) {
+            managerProvider.get().getEntityManagerFactory().getCache().evict(entityClass, id);
+            cache.invalidateQueries();
+        }
+    }
+
+    /** Returns the statistics of the given entity cache. */
+    public CacheStatistics getStatistics(Class<?> entityClass) {
+        return cacheOf(entityClass).statistics;
+    }
+
+    /** Returns statistics of all the used caches mapped by entity names. */
+    public Map<String, CacheStatistics> getStatistics() {
+        return caches.values()
+                     .stream()
+                     .collect(toMap(cache -> cache.entityName, cache -> cache.statistics));
+    }
+
+    @PreDestroy
+    public void logStatistics() {
+        for (EntityCache cache : caches.values()) {
+            if (cache.enabled) {
+                LOG.info("Cache statistics of entity '{}': {}", cache.entityName, cache.statistics);
+            }
+        }
+    }
+
+    private EntityCache cacheOf(Class<?> entityClass) {
+        return caches.computeIfAbsent(entityClass, this::createCache);
+    }
+
+    private EntityCache createCache(Class<?> entityClass) {
+        final EntityManager manager = managerProvider.get();
+        final EntityType<?> entityType = manager.getMetamodel().entity(entityClass);
+        final String entityName = entityType.getName();
+        final String enabled = properties.get(ENTITY_PROPERTY_PREFIX + entityName.toLowerCase());
+        final ClassDescriptor descriptor = manager.unwrap(JpaEntityManager.class)
+                                                  .getServerSession()
+                                                  .getDescriptor(entityClass);
+        final boolean shared = descriptor.isSharedIsolation();
+        if (!shared) {
+            LOG.warn("Shared cache of entity '{}' is not configured in persistence unit, the entity is not cached", entityName);
+        }
+        final EntityCache cache = new EntityCache(entityName,
+                                                  getIdAttribute(entityType),
+                                                  shared && (enabled == null || Boolean.parseBoolean(enabled)));
+        if (cache.enabled) {
+            if (expiryMs > 0) {
+                descriptor.setCacheInvalidationPolicy(new TimeToLiveCacheInvalidationPolicy(expiryMs));
+            }
+            descriptor.getEventManager().addListener(new DescriptorEventAdapter() {
+                @Override
+                public void postInsert(DescriptorEvent event) {
+                    cache.invalidateQueries();
+                }
+
+                @Override
+                public void postUpdate(DescriptorEvent event) {
+                    cache.invalidateQueries();
+                }
+
+                @Override
+                public void postDelete(DescriptorEvent event) {
+                    cache.invalidateQueries();
+                }
+            });
+        }
+        LOG.debug("Cache of entity '{}' is {}", entityName, cache.enabled ? "enabled" : "disabled");
+        return cache;
+    }
+
+    private static <T> String getIdAttribute(EntityType<T> entityType) {
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    private long getLong(String name, long defaultValue) {
+        final String value = properties.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException x) {
+            LOG.warn("Value '{}' of property '{}' is not a number, default value '{}' is used", value, name, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private class EntityCache {
+        final String                      entityName;
+        final String                      idAttribute;
+        final boolean                     enabled;
+        final CacheStatistics             statistics;
+        final AtomicLong                  generation;
+        final Cache<List<?>, QueryResult> queryResults;
+
+        EntityCache(String entityName, String idAttribute, boolean enabled) {
+            this.entityName = entityName;
+            this.idAttribute = idAttribute;
+            this.enabled = enabled;
+            this.statistics = new CacheStatistics();
+            this.generation = new AtomicLong();
+            final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(queryResultsMaxSize);
+            if (expiryMs > 0) {
+                builder.expireAfterWrite(expiryMs, MILLISECONDS);
+            }
+            this.queryResults = builder.build();
+        }
+
+        void invalidateQueries() {
+            generation.incrementAndGet();
+            queryResults.invalidateAll();
+        }
+    }
+
+    private static class QueryResult {
+        final long         generation;
+        final List<Object> ids;
+
+        QueryResult(long generation, List<Object> ids) {
+            this.generation = generation;
+            this.ids = ids;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.inject.ConfigurationProperties;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventListener;
+import org.eclipse.persistence.descriptors.DescriptorEventManager;
+import org.eclipse.persistence.jpa.JpaCache;
+import org.eclipse.persistence.jpa.JpaEntityManager;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.inject.Provider;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link EntityCacheManager}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class EntityCacheManagerTest {
+
+    private static final List<?> QUERY_KEY = asList("getAll", 0, 30);
+
+    @Mock
+    private Provider<EntityManager>    managerProvider;
+    @Mock
+    private EntityManager              manager;
+    @Mock
+    private EntityManagerFactory       factory;
+    @Mock
+    private JpaCache                   sharedCache;
+    @Mock
+    private ClassDescriptor            descriptor;
+    @Mock
+    private DescriptorEventManager     eventManager;
+    @Mock
+    private ConfigurationProperties    configuration;
+    @Mock
+    private TypedQuery<TestEntity>     query;
+    @Mock
+    private Supplier<List<TestEntity>> dbQuery;
+
+    private TestEntity entity1;
+    private TestEntity entity2;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        entity1 = new TestEntity("id1");
+        entity2 = new TestEntity("id2");
+
+        when(managerProvider.get()).thenReturn(manager);
+        when(manager.getEntityManagerFactory()).thenReturn(factory);
+        when(factory.getCache()).thenReturn(sharedCache);
+        when(manager.find(TestEntity.class, entity1.id)).thenReturn(entity1);
+        when(manager.find(TestEntity.class, entity2.id)).thenReturn(entity2);
+        when(manager.createQuery(anyString(), eq(TestEntity.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(dbQuery.get()).thenReturn(asList(entity1, entity2));
+
+        final Metamodel metamodel = mock(Metamodel.class);
+        final EntityType entityType = mock(EntityType.class);
+        final Type idType = mock(Type.class);
+        final SingularAttribute idAttribute = mock(SingularAttribute.class);
+        when(manager.getMetamodel()).thenReturn(metamodel);
+        when(metamodel.entity(TestEntity.class)).thenReturn(entityType);
+        when(entityType.getName()).thenReturn("Test");
+        when(entityType.getIdType()).thenReturn(idType);
+        when(idType.getJavaType()).thenReturn(String.class);
+        when(entityType.getId(String.class)).thenReturn(idAttribute);
+        when(idAttribute.getName()).thenReturn("id");
+
+        final JpaEntityManager jpaManager = mock(JpaEntityManager.class);
+        final ServerSession session = mock(ServerSession.class);
+        when(manager.unwrap(JpaEntityManager.class)).thenReturn(jpaManager);
+        when(jpaManager.getServerSession()).thenReturn(session);
+        when(session.getDescriptor(TestEntity.class)).thenReturn(descriptor);
+        when(descriptor.isSharedIsolation()).thenReturn(true);
+        when(descriptor.getEventManager()).thenReturn(eventManager);
+
+        when(configuration.getProperties(anyString())).thenReturn(Collections.emptyMap());
+    }
+
+    @Test
+    public void shouldReadEntitiesAndQueriesFromDatabaseWhenCacheIsDisabled() throws Exception {
+        when(configuration.getProperties(anyString())).thenReturn(ImmutableMap.of("db.cache.entity.test", "false"));
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+
+        cacheManager.find(TestEntity.class, entity1.id);
+        getAll(cacheManager);
+        getAll(cacheManager);
+        cacheManager.evict(TestEntity.class, entity1.id);
+
+        assertFalse(cacheManager.isEnabled(TestEntity.class));
+        verify(manager).find(eq(TestEntity.class), eq(entity1.id), anyMap());
+        verify(dbQuery, times(2)).get();
+        verify(sharedCache, never()).evict(any(Class.class), any());
+        verify(eventManager, never()).addListener(any());
+        assertEquals(cacheManager.getStatistics(TestEntity.class).getQueryHits(), 0);
+    }
+
+    @Test
+    public void shouldNotCacheEntityWhenSharedCacheIsNotConfigured() throws Exception {
+        when(descriptor.isSharedIsolation()).thenReturn(false);
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+
+        getAll(cacheManager);
+        getAll(cacheManager);
+
+        assertFalse(cacheManager.isEnabled(TestEntity.class));
+        verify(dbQuery, times(2)).get();
+    }
+
+    @Test
+    public void shouldResolveCachedQueryResultsThroughSharedCache() throws Exception {
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+        when(sharedCache.contains(any(Class.class), any())).thenReturn(true);
+        when(sharedCache.isValid(any(Class.class), any())).thenReturn(true);
+
+        final List<TestEntity> first = getAll(cacheManager);
+        final List<TestEntity> second = getAll(cacheManager);
+
+        assertTrue(cacheManager.isEnabled(TestEntity.class));
+        assertEquals(first, asList(entity1, entity2));
+        assertEquals(second, asList(entity1, entity2));
+        verify(dbQuery).get();
+        verify(manager, never()).createQuery(anyString(), eq(TestEntity.class));
+    }
+
+    @Test
+    public void shouldReadEntitiesMissingInSharedCacheWithSingleQuery() throws Exception {
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+        when(sharedCache.contains(TestEntity.class, entity1.id)).thenReturn(true);
+        when(sharedCache.isValid(TestEntity.class, entity1.id)).thenReturn(true);
+        final TestEntity entity3 = new TestEntity("id3");
+        when(dbQuery.get()).thenReturn(asList(entity1, entity2, entity3));
+        when(query.getResultList()).thenReturn(asList(entity3, entity2));
+
+        getAll(cacheManager);
+        final List<TestEntity> cached = getAll(cacheManager);
+
+        assertEquals(cached, asList(entity1, entity2, entity3));
+        verify(dbQuery).get();
+        verify(manager).createQuery("SELECT e FROM Test e WHERE e.id IN :ids", TestEntity.class);
+        verify(query).setParameter("ids", asList(entity2.id, entity3.id));
+    }
+
+    @Test
+    public void shouldExecuteQueryAgainWhenCachedEntityDoesNotExistAnymore() throws Exception {
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+        getAll(cacheManager);
+        when(query.getResultList()).thenReturn(Collections.singletonList(entity1));
+        when(dbQuery.get()).thenReturn(Collections.singletonList(entity1));
+
+        final List<TestEntity> result = getAll(cacheManager);
+
+        assertEquals(result, Collections.singletonList(entity1));
+        verify(dbQuery, times(2)).get();
+    }
+
+    @Test
+    public void shouldInvalidateCachedQueriesWhenEntityIsChanged() throws Exception {
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+        when(query.getResultList()).thenReturn(asList(entity1, entity2));
+        getAll(cacheManager);
+        final ArgumentCaptor<DescriptorEventListener> listenerCaptor = ArgumentCaptor.forClass(DescriptorEventListener.class);
+        verify(eventManager).addListener(listenerCaptor.capture());
+        final DescriptorEventListener listener = listenerCaptor.getValue();
+
+        getAll(cacheManager);
+        listener.postInsert(mock(DescriptorEvent.class));
+        getAll(cacheManager);
+        listener.postUpdate(mock(DescriptorEvent.class));
+        getAll(cacheManager);
+        listener.postDelete(mock(DescriptorEvent.class));
+        getAll(cacheManager);
+
+        verify(dbQuery, times(4)).get();
+    }
+
+    @Test
+    public void shouldEvictEntityAndInvalidateCachedQueries() throws Exception {
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+        getAll(cacheManager);
+
+        cacheManager.evict(TestEntity.class, entity1.id);
+        getAll(cacheManager);
+
+        verify(sharedCache).evict(TestEntity.class, entity1.id);
+        verify(dbQuery, times(2)).get();
+    }
+
+    @Test
+    public void shouldNotCacheResultsOfQueryConcurrentWithChange() throws Exception {
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+        when(query.getResultList()).thenReturn(asList(entity1, entity2));
+        when(dbQuery.get()).then(invocation -> {
+            cacheManager.evict(TestEntity.class, entity1.id);
+            return asList(entity1, entity2);
+        });
+
+        getAll(cacheManager);
+        getAll(cacheManager);
+
+        verify(dbQuery, times(2)).get();
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() throws Exception {
+        final EntityCacheManager cacheManager = new EntityCacheManager(managerProvider, configuration);
+        when(sharedCache.contains(TestEntity.class, entity1.id)).thenReturn(true);
+        when(sharedCache.isValid(TestEntity.class, entity1.id)).thenReturn(true);
+        when(query.getResultList()).thenReturn(Collections.singletonList(entity2));
+
+        cacheManager.find(TestEntity.class, entity1.id);
+        cacheManager.find(TestEntity.class, entity2.id);
+        cacheManager.find(TestEntity.class, entity2.id);
+        getAll(cacheManager);
+        getAll(cacheManager);
+        getAll(cacheManager);
+
+        final CacheStatistics statistics = cacheManager.getStatistics(TestEntity.class);
+        assertEquals(statistics.getEntityHits(), 1);
+        assertEquals(statistics.getEntityMisses(), 2);
+        assertEquals(statistics.getQueryHits(), 2);
+        assertEquals(statistics.getQueryMisses(), 1);
+        assertEquals(statistics.getQueryHitRatio(), 2.0 / 3);
+        final Map<String, CacheStatistics> all = cacheManager.getStatistics();
+        assertEquals(all.size(), 1);
+        assertEquals(all.get("Test"), statistics);
+    }
+
+    @Test
+    public void shouldReturnZeroRatioWhenThereWereNoLookups() throws Exception {
+        final CacheStatistics statistics = new CacheStatistics();
+
+        assertEquals(statistics.getEntityHitRatio(), 0.0);
+        assertEquals(statistics.getQueryHitRatio(), 0.0);
+        assertNull(new EntityCacheManager(managerProvider, configuration).getStatistics().get("Test"));
+    }
+
+    private List<TestEntity> getAll(EntityCacheManager cacheManager) {
+        return cacheManager.getResultList(TestEntity.class, entity -> entity.id, QUERY_KEY, dbQuery);
+    }
+
+    private static class TestEntity {
+        final String id;
+
+        TestEntity(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -1172,6 +1172,9 @@ public interface CoreLocalizationConstant extends Messages {
     @Key("consoles.autoScrollButton.tooltip")
     String consolesAutoScrollButtonTooltip();
 
+    @Key("consoles.search.placeholder")
+    String consolesSearchPlaceholder();
+
     @Key("view.processes.command.title")
     String viewProcessesCommandTitle();
 
@@ -23,6 +23,7 @@ public class ConsoleGinModule extends AbstractGinModule {
     @Override
     protected void configure() {
         bind(OutputConsoleView.class).to(OutputConsoleViewImpl.class);
+        bindConstant().annotatedWith(Names.named("console.buffer.depth")).to(10000);
         install(new GinFactoryModuleBuilder()
                         .implement(CommandOutputConsole.class, Names.named("command"), CommandOutputConsolePresenter.class)
                         .implement(OutputConsole.class, Names.named("default"), DefaultOutputConsole.class)
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.console;
+
+/**
+ * Ring buffer of the lines printed to the output console.
+ * Only the last lines are kept, so the output of the long running processes doesn't take more and more memory,
+ * the oldest line is dropped when a new line is added to the full buffer.
+ *
+ * <p>The lines are addressed by the index which starts from the oldest kept line.
+ */
+public class ConsoleLinesBuffer {
+    private final String[] texts;
+    private final String[] colors;
+
+    /** Position of the oldest line in the arrays. */
+    private int  start;
+    private int  size;
+    private long dropped;
+
+    /**
+     * @param depth
+     *         maximum number of the kept lines
+     */
+    public ConsoleLinesBuffer(int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Depth of the buffer must be positive but was " + depth);
+        }
+        this.texts = new String[depth];
+        this.colors = new String[depth];
+    }
+
+    /**
+     * Adds the line to the end of the buffer.
+     *
+     * @param text
+     *         text of the line
+     * @param color
+     *         color of the line or null if the default color is used
+     */
+    public void add(String text, String color) {
+        final int position;
+        if (size < texts.length) {
+            position = (start + size) % texts.length;
+            size++;
+        } else {
+            position = start;
+            start = (start + 1) % texts.length;
+            dropped++;
+        }
+        texts[position] = text;
+        colors[position] = color;
+    }
+
+    /**
+     * Replaces the last line, e.g. when the line is printed after the carriage return.
+     * The line is added if the buffer is empty.
+     */
+    public void replaceLast(String text, String color) {
+        if (size == 0) {
+            add(text, color);
+            return;
+        }
+        final int position = positionOf(size - 1);
+        texts[position] = text;
+        colors[position] = color;
+    }
+
+    /** Returns the number of the kept lines. */
+    public int size() {
+        return size;
+    }
+
+    /** Returns the number of the lines dropped since the buffer was created or cleared. */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    /** Returns the text of the line. */
+    public String getLine(int index) {
+        return texts[positionOf(index)];
+    }
+
+    /** Returns the color of the line or null if the default color is used. */
+    public String getColor(int index) {
+        return colors[positionOf(index)];
+    }
+
+    /** Returns all the kept lines separated by the line breaks. */
+    public String getText() {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            text.append(getLine(i)).append("\r\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Searches the line which contains the query ignoring case.
+     * The search is started from the given line and is continued from the other end of the buffer
+     * when the end is reached.
+     *
+     * @param query
+     *         text to search
+     * @param fromIndex
+     *         index of the line to start from
+     * @param forward
+     *         true to search towards the newest line, false towards the oldest one
+     * @return index of the found line or -1 if no lines contain the query
+     */
+    public int find(String query, int fromIndex, boolean forward) {
+        if (size == 0 || query == null || query.isEmpty()) {
+            return -1;
+        }
+        final String lowerCaseQuery = query.toLowerCase();
+        final int step = forward ? 1 : size - 1;
+        int index = Math.max(0, Math.min(fromIndex, size - 1));
+        for (int i = 0; i < size; i++) {
+            final String text = getLine(index);
+            if (text != null && text.toLowerCase().contains(lowerCaseQuery)) {
+                return index;
+            }
+            index = (index + step) % size;
+        }
+        return -1;
+    }
+
+    /** Removes all the lines. */
+    public void clear() {
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = null;
+            colors[i] = null;
+        }
+        start = 0;
+        size = 0;
+        dropped = 0;
+    }
+
+    private int positionOf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return (start + index) % texts.length;
+    }
+}
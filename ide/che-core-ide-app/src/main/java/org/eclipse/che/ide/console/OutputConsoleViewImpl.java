@@ -11,30 +11,30 @@
 package org.eclipse.che.ide.console;
 
 import com.google.common.base.Strings;
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Element;
-import com.google.gwt.dom.client.Node;
-import com.google.gwt.dom.client.NodeList;
-import com.google.gwt.dom.client.PreElement;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.event.dom.client.KeyCodes;
+import com.google.gwt.event.dom.client.KeyDownEvent;
 import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.regexp.shared.MatchResult;
 import com.google.gwt.regexp.shared.RegExp;
-import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
-import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.ui.Anchor;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.DockLayoutPanel;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.user.client.ui.TextBox;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 import org.eclipse.che.ide.CoreLocalizationConstant;
 import org.eclipse.che.ide.FontAwesome;
@@ -46,6 +46,7 @@ import org.vectomatic.dom.svg.ui.SVGImage;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.gwt.dom.client.Style.Unit.PX;
 import static com.google.gwt.regexp.shared.RegExp.compile;
 import static org.eclipse.che.ide.ui.menu.PositionController.HorizontalAlign.MIDDLE;
 import static org.eclipse.che.ide.ui.menu.PositionController.VerticalAlign.BOTTOM;
@@ -53,6 +54,12 @@ import static org.eclipse.che.ide.ui.menu.PositionController.VerticalAlign.BOTTO
 /**
  * View representation of output console.
  *
+ * <p>The printed lines are kept in the {@link ConsoleLinesBuffer} of the limited depth and only the lines
+ * in the visible part of the console are rendered, the space of the other lines is reserved by the paddings,
+ * so the size of DOM doesn't depend on the size of the output. The lines printed during an animation frame
+ * are rendered at once. When the text is wrapped the lines may have different heights, then the
+ * scroll position is mapped to the lines approximately.
+ *
  * @author Artem Zatsarynnyi
  * @author Vitaliy Guliy
  */
@@ -69,6 +76,15 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
     private static final OutputConsoleViewUiBinder UI_BINDER = GWT.create(OutputConsoleViewUiBinder.class);
 
+    /** Number of the lines rendered above and below the visible ones, so small scrolls don't need rendering. */
+    private static final int OVERSCAN_LINES       = 50;
+    /** Number of the visible lines used while the console isn't shown. */
+    private static final int DEFAULT_VISIBLE_LINES = 100;
+    /** Height of the line used until the height of the rendered line is known. */
+    private static final int DEFAULT_LINE_HEIGHT   = 14;
+
+    private final ConsoleLinesBuffer buffer;
+
     private ActionDelegate delegate;
 
     @UiField
@@ -113,6 +129,9 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     @UiField
     FlowPanel scrollToBottomButton;
 
+    @UiField
+    TextBox searchBox;
+
     /** If true - next printed line should replace the previous one. */
     private boolean carriageReturn;
 
@@ -122,9 +141,26 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     /** Scroll to the bottom immediately when view become visible. */
     private boolean followScheduled = false;
 
+    /** The lines are rendered in the next animation frame. */
+    private boolean renderScheduled;
+
+    /** Wrap the long lines. */
+    private boolean wrapped;
+
+    private int  lineHeight = DEFAULT_LINE_HEIGHT;
+    private int  renderedFirst;
+    private int  renderedLast;
+    private long renderedDropped;
+
+    /** Number of the line found by the search counting the dropped lines too, or -1. */
+    private long foundLine = -1;
+
     @Inject
     public OutputConsoleViewImpl(MachineResources resources,
-                                 CoreLocalizationConstant localization) {
+                                 CoreLocalizationConstant localization,
+                                 @Named("console.buffer.depth") int bufferDepth) {
+        buffer = new ConsoleLinesBuffer(bufferDepth);
+
         initWidget(UI_BINDER.createAndBindUi(this));
 
         reRunProcessButton.add(new SVGImage(resources.reRunIcon()));
@@ -137,6 +173,26 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
         scrollPanel.addDomHandler(this, ScrollEvent.getType());
 
+        // the text which isn't rendered can't be found by the browser, so the console has own search
+        scrollPanel.getElement().setTabIndex(0);
+        scrollPanel.addDomHandler(event -> {
+            if ((event.isControlKeyDown() || event.isMetaKeyDown()) && event.getNativeKeyCode() == 'F') {
+                event.preventDefault();
+                showSearch();
+            }
+        }, KeyDownEvent.getType());
+
+        searchBox.getElement().setAttribute("placeholder", localization.consolesSearchPlaceholder());
+        searchBox.addKeyDownHandler(event -> {
+            if (event.getNativeKeyCode() == KeyCodes.KEY_ENTER) {
+                event.preventDefault();
+                search(searchBox.getValue(), !event.isShiftKeyDown());
+            } else if (event.getNativeKeyCode() == KeyCodes.KEY_ESCAPE) {
+                event.preventDefault();
+                hideSearch();
+            }
+        });
+
         reRunProcessButton.addDomHandler(new ClickHandler() {
             @Override
             public void onClick(ClickEvent event) {
@@ -234,11 +290,13 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
     @Override
     public void wrapText(boolean wrap) {
+        wrapped = wrap;
         if (wrap) {
             consoleLines.getElement().setAttribute("wrap", "");
         } else {
             consoleLines.getElement().removeAttribute("wrap");
         }
+        scheduleRender();
     }
 
     @Override
@@ -249,7 +307,9 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
     @Override
     public void clearConsole() {
-        consoleLines.getElement().setInnerHTML("");
+        buffer.clear();
+        foundLine = -1;
+        render();
     }
 
     @Override
@@ -320,57 +380,19 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     @Override
     public void print(final String text, boolean carriageReturn, String color) {
         if (this.carriageReturn) {
-            Node lastChild = consoleLines.getElement().getLastChild();
-            if (lastChild != null) {
-                lastChild.removeFromParent();
-            }
+            buffer.replaceLast(text, color);
+        } else {
+            buffer.add(text, color);
         }
 
         this.carriageReturn = carriageReturn;
 
-        final SafeHtml colorOutput = new SafeHtml() {
-            @Override
-            public String asString() {
-
-                if (Strings.isNullOrEmpty(text)) {
-                    return " ";
-                }
-
-                for (final Pair<RegExp, String> pair : output2Color) {
-                    final MatchResult matcher = pair.first.exec(text);
-
-                    if (matcher != null) {
-                        return text.replaceAll(matcher.getGroup(1),
-                                               "<span style=\"color: " + pair.second + "\">" + matcher.getGroup(1) + "</span>");
-                    }
-                }
-
-                return text;
-            }
-        };
-
-        PreElement pre = DOM.createElement("pre").cast();
-        pre.setInnerSafeHtml(colorOutput);
-        if (color != null) {
-            pre.getStyle().setColor(color);
-        }
-        consoleLines.getElement().appendChild(pre);
-
-        followOutput();
+        scheduleRender();
     }
 
     @Override
     public String getText() {
-        String text = "";
-        NodeList<Node> nodes = consoleLines.getElement().getChildNodes();
-
-        for (int i = 0; i < nodes.getLength(); i++) {
-            Node node = nodes.getItem(i);
-            Element element = node.cast();
-            text += element.getInnerText() + "\r\n";
-        }
-
-        return text;
+        return buffer.getText();
     }
 
     @Override
@@ -395,6 +417,140 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
         if (delegate != null) {
             delegate.onOutputScrolled(followOutput);
         }
+
+        // render the lines which are scrolled into the view
+        final int firstVisible = scrollPanel.getElement().getScrollTop() / lineHeight;
+        if (firstVisible < renderedFirst || firstVisible + getVisibleLines() > renderedLast) {
+            scheduleRender();
+        }
+    }
+
+    private void scheduleRender() {
+        if (renderScheduled) {
+            return;
+        }
+        renderScheduled = true;
+
+        AnimationScheduler.get().requestAnimationFrame(timestamp -> {
+            renderScheduled = false;
+            render();
+        });
+    }
+
+    /**
+     * Renders the visible lines and reserves the space of the other lines.
+     */
+    private void render() {
+        final Element scrollElement = scrollPanel.getElement();
+
+        // keep the same lines in the view when the oldest lines are dropped
+        final long dropped = buffer.getDroppedCount();
+        if (!followOutput && dropped > renderedDropped) {
+            scrollElement.setScrollTop(Math.max(0, scrollElement.getScrollTop() - (int)(dropped - renderedDropped) * lineHeight));
+        }
+
+        final int total = buffer.size();
+        final int visibleLines = getVisibleLines();
+        final int first = followOutput ? total - visibleLines - OVERSCAN_LINES
+                                       : scrollElement.getScrollTop() / lineHeight - OVERSCAN_LINES;
+        renderedFirst = Math.max(0, Math.min(first, total - visibleLines - OVERSCAN_LINES));
+        renderedLast = Math.min(total, renderedFirst + visibleLines + 2 * OVERSCAN_LINES);
+        renderedDropped = dropped;
+
+        final StringBuilder html = new StringBuilder();
+        for (int i = renderedFirst; i < renderedLast; i++) {
+            html.append("<pre");
+            if (dropped + i == foundLine) {
+                html.append(" found");
+            }
+            final String color = buffer.getColor(i);
+            if (color != null) {
+                html.append(" style=\"color: ").append(color).append('"');
+            }
+            html.append('>').append(colorize(buffer.getLine(i))).append("</pre>");
+        }
+
+        final Element linesElement = consoleLines.getElement();
+        linesElement.setInnerHTML(html.toString());
+        measureLineHeight();
+        linesElement.getStyle().setPaddingTop(renderedFirst * lineHeight, PX);
+        linesElement.getStyle().setPaddingBottom((total - renderedLast) * lineHeight, PX);
+
+        followOutput();
+    }
+
+    /** Measures the height of the rendered line, the height of the wrapped lines isn't the same. */
+    private void measureLineHeight() {
+        final Element firstLine = consoleLines.getElement().getFirstChildElement();
+        if (!wrapped && firstLine != null && firstLine.getOffsetHeight() > 0) {
+            lineHeight = firstLine.getOffsetHeight();
+        }
+    }
+
+    private int getVisibleLines() {
+        final int viewHeight = scrollPanel.getElement().getClientHeight();
+        return viewHeight > 0 ? viewHeight / lineHeight + 1 : DEFAULT_VISIBLE_LINES;
+    }
+
+    private String colorize(String text) {
+        if (Strings.isNullOrEmpty(text)) {
+            return " ";
+        }
+
+        for (final Pair<RegExp, String> pair : output2Color) {
+            final MatchResult matcher = pair.first.exec(text);
+
+            if (matcher != null) {
+                return text.replaceAll(matcher.getGroup(1),
+                                       "<span style=\"color: " + pair.second + "\">" + matcher.getGroup(1) + "</span>");
+            }
+        }
+
+        return text;
+    }
+
+    private void showSearch() {
+        searchBox.setVisible(true);
+        searchBox.setFocus(true);
+        searchBox.selectAll();
+    }
+
+    private void hideSearch() {
+        searchBox.setVisible(false);
+        foundLine = -1;
+        render();
+        scrollPanel.getElement().focus();
+    }
+
+    /**
+     * Searches the next or the previous line with the text in the buffer and scrolls to it.
+     */
+    private void search(String query, boolean forward) {
+        final long dropped = buffer.getDroppedCount();
+        final int from;
+        if (foundLine < dropped) {
+            // start from the visible lines
+            from = forward ? scrollPanel.getElement().getScrollTop() / lineHeight : renderedLast - 1;
+        } else {
+            from = (int)(foundLine - dropped) + (forward ? 1 : buffer.size() - 1);
+        }
+
+        final int index = buffer.find(query, from % Math.max(1, buffer.size()), forward);
+        if (index < 0) {
+            foundLine = -1;
+            render();
+            return;
+        }
+        foundLine = dropped + index;
+
+        followOutput = false;
+        if (delegate != null) {
+            delegate.onOutputScrolled(false);
+        }
+
+        final Element scrollElement = scrollPanel.getElement();
+        scrollElement.setScrollTop(Math.max(0, index * lineHeight - scrollElement.getClientHeight() / 2));
+        render();
     }
 
     /**
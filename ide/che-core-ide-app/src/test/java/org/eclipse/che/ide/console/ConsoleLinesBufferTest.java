@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.console;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for the {@link ConsoleLinesBuffer}
+ */
+public class ConsoleLinesBufferTest {
+
+    private ConsoleLinesBuffer buffer;
+
+    @Before
+    public void setUp() throws Exception {
+        buffer = new ConsoleLinesBuffer(3);
+    }
+
+    @Test
+    public void shouldKeepLastLinesOnly() throws Exception {
+        buffer.add("line 1", null);
+        buffer.add("line 2", "red");
+        buffer.add("line 3", null);
+        buffer.add("line 4", null);
+
+        assertEquals(3, buffer.size());
+        assertEquals(1, buffer.getDroppedCount());
+        assertEquals("line 2", buffer.getLine(0));
+        assertEquals("red", buffer.getColor(0));
+        assertEquals("line 4", buffer.getLine(2));
+        assertEquals("line 2\r\nline 3\r\nline 4\r\n", buffer.getText());
+    }
+
+    @Test
+    public void shouldReplaceLastLine() throws Exception {
+        buffer.replaceLast("progress 10%", null);
+        buffer.replaceLast("progress 20%", "green");
+
+        assertEquals(1, buffer.size());
+        assertEquals("progress 20%", buffer.getLine(0));
+        assertEquals("green", buffer.getColor(0));
+    }
+
+    @Test
+    public void shouldFindLinesIgnoringCaseAndWrapAround() throws Exception {
+        buffer.add("[ERROR] first", null);
+        buffer.add("[INFO] second", null);
+        buffer.add("[error] third", null);
+
+        assertEquals(2, buffer.find("Error", 1, true));
+        assertEquals(0, buffer.find("Error", 1, false));
+        assertEquals(0, buffer.find("first", 2, true));
+        assertEquals(-1, buffer.find("warn", 0, true));
+        assertEquals(-1, buffer.find("", 0, true));
+    }
+
+    @Test
+    public void shouldClearLines() throws Exception {
+        buffer.add("line 1", null);
+        buffer.add("line 2", null);
+        buffer.add("line 3", null);
+        buffer.add("line 4", null);
+
+        buffer.clear();
+        buffer.add("line 5", null);
+
+        assertEquals(1, buffer.size());
+        assertEquals(0, buffer.getDroppedCount());
+        assertEquals("line 5", buffer.getLine(0));
+        assertNull(buffer.getColor(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldNotReturnLineOutOfBuffer() throws Exception {
+        buffer.add("line 1", null);
+
+        buffer.getLine(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateBufferWithoutDepth() throws Exception {
+        new ConsoleLinesBuffer(0);
+    }
+}
@@ -17,6 +17,7 @@ import org.eclipse.che.ide.api.data.tree.Node;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -31,6 +32,11 @@ public class NodeDescriptor {
     private List<NodeDescriptor> children = new ArrayList<>();
     private boolean root;
 
+    /** Cached position in the children of the parent, valid if less than {@link #indexedChildren} of the parent. */
+    private int indexInParent = -1;
+    /** Number of the first children which have the valid cached positions. */
+    private int indexedChildren;
+
     private String domId;
 
     private boolean childrenRendered;
@@ -70,15 +76,37 @@ public class NodeDescriptor {
 
         children.add(actualIndex, child);
         child.parent = this;
+        invalidateIndexes(actualIndex);
     }
 
     public void addChildren(int index, List<NodeDescriptor> children) {
         if (nodeStorage.isSorted()) {
-            getChildren().addAll(children);
-            Collections.sort(getChildren(), nodeStorage.buildFullComparator());
+            // the children are kept sorted, so only the added ones are sorted and then merged
+            final Comparator<NodeDescriptor> comparator = nodeStorage.buildFullComparator();
+            final List<NodeDescriptor> added = new ArrayList<>(children);
+            Collections.sort(added, comparator);
+
+            final List<NodeDescriptor> existed = new ArrayList<>(getChildren());
+            final List<NodeDescriptor> merged = getChildren();
+            merged.clear();
+
+            int firstAdded = -1;
+            int i = 0;
+            int j = 0;
+            while (i < existed.size() || j < added.size()) {
+                if (j < added.size() && (i == existed.size() || comparator.compare(added.get(j), existed.get(i)) < 0)) {
+                    if (firstAdded == -1) {
+                        firstAdded = merged.size();
+                    }
+                    merged.add(added.get(j++));
+                } else {
+                    merged.add(existed.get(i++));
+                }
+            }
+            invalidateIndexes(firstAdded == -1 ? merged.size() : firstAdded);
         } else {
-            int actualIndex = index == 0 ? 0 : (getChildren().indexOf(getChildren().get(index - 1)) + 1);
-            getChildren().addAll(actualIndex, children);
+            getChildren().addAll(index, children);
+            invalidateIndexes(index);
         }
 
         for (NodeDescriptor child : children) {
@@ -88,6 +116,45 @@ public class NodeDescriptor {
 
     public void clear() {
         children.clear();
+        invalidateIndexes(0);
+    }
+
+    /**
+     * Returns the position of the child in the children of this node or -1 if it isn't a child of this node.
+     * The positions are cached, so the children are scanned only after they are changed.
+     */
+    public int indexOf(NodeDescriptor child) {
+        if (child == null || child.parent != this) {
+            return -1;
+        }
+
+        int index = child.indexInParent;
+        if (index >= 0 && index < indexedChildren && index < children.size() && children.get(index) == child) {
+            return index;
+        }
+
+        // the children list might be changed directly, then all the positions are refreshed
+        reindexChildren(index >= 0 && index < indexedChildren ? 0 : indexedChildren);
+
+        index = child.indexInParent;
+        return index >= 0 && index < children.size() && children.get(index) == child ? index : -1;
+    }
+
+    /** Sorts the children by the comparator. */
+    public void sortChildren(Comparator<NodeDescriptor> comparator) {
+        Collections.sort(children, comparator);
+        invalidateIndexes(0);
+    }
+
+    private void invalidateIndexes(int fromIndex) {
+        indexedChildren = Math.min(indexedChildren, fromIndex);
+    }
+
+    private void reindexChildren(int fromIndex) {
+        for (int i = fromIndex; i < children.size(); i++) {
+            children.get(i).indexInParent = i;
+        }
+        indexedChildren = children.size();
     }
 
     public List<NodeDescriptor> getChildren() {
@@ -115,7 +182,14 @@ public class NodeDescriptor {
     }
 
     public void remove(NodeDescriptor descriptor) {
-        children.remove(descriptor);
+        final int index = indexOf(descriptor);
+        if (index != -1) {
+            children.remove(index);
+            invalidateIndexes(index);
+        } else {
+            children.remove(descriptor);
+            invalidateIndexes(0);
+        }
     }
 
     public void reset() {
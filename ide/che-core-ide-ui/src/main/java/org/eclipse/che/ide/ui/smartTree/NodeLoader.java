@@ -184,15 +184,15 @@ public class NodeLoader implements LoaderHandler.HasLoaderHandlers {
             return loadedChildren;
         }
 
+        final Set<Node> existedNodes = new HashSet<>();
+        for (NodeDescriptor nodeDescriptor : existed) {
+            existedNodes.add(nodeDescriptor.getNode());
+        }
+
         Iterable<Node> newItems = Iterables.filter(loadedChildren, new Predicate<Node>() {
             @Override
             public boolean apply(Node loadedChild) {
-                for (NodeDescriptor nodeDescriptor : existed) {
-                    if (nodeDescriptor.getNode().equals(loadedChild)) {
-                        return false;
-                    }
-                }
-                return true;
+                return !existedNodes.contains(loadedChild);
             }
         });
 
@@ -206,16 +206,12 @@ public class NodeLoader implements LoaderHandler.HasLoaderHandlers {
             return Collections.emptyList();
         }
 
+        final Set<Node> loadedNodes = new HashSet<>(loadedChildren);
+
         Iterable<NodeDescriptor> removedItems = Iterables.filter(existed, new Predicate<NodeDescriptor>() {
             @Override
             public boolean apply(NodeDescriptor existedChild) {
-                boolean found = false;
-                for (Node loadedChild : loadedChildren) {
-                    if (existedChild.getNode().equals(loadedChild)) {
-                        found = true;
-                    }
-                }
-                return !found;
+                return !loadedNodes.contains(existedChild.getNode());
             }
         });
 
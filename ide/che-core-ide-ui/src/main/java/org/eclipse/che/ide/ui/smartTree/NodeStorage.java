@@ -10,9 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ui.smartTree;
 
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.HandlerManager;
 import com.google.gwt.event.shared.HandlerRegistration;
@@ -34,7 +31,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -46,6 +42,9 @@ import java.util.Map;
  * such methods like {@link #add(Node)} or {@link #remove(Node)},
  * etc.
  *
+ * <p>The children are kept in the indexed lists of their parents, the positions of the children
+ * are cached by the parents, so the siblings and the indexes are got without scanning the lists.
+ *
  * @author Vlad Zhukovskiy
  */
 public class NodeStorage implements StoreHandlers.HasStoreHandlers {
@@ -179,11 +178,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public List<Node> getAll() {
-        List<NodeDescriptor> allChildren = new LinkedList<>(roots.getChildren());
-        for (int i = 0; i < allChildren.size(); i++) {
-            allChildren.addAll(allChildren.get(i).getChildren());
-        }
-        return unwrap(allChildren);
+        return unwrap(getDescendants(roots));
     }
 
     /**
@@ -194,11 +189,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public List<Node> getAllChildren(Node parent) {
-        List<NodeDescriptor> allChildren = new LinkedList<>(getWrapper(parent).getChildren());
-        for (int i = 0; i < allChildren.size(); i++) {
-            allChildren.addAll(allChildren.get(i).getChildren());
-        }
-        return unwrap(allChildren);
+        return unwrap(getDescendants(getWrapper(parent)));
     }
 
     /**
@@ -207,12 +198,16 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public int getAllItemsCount() {
-        List<NodeDescriptor> allChildren = new LinkedList<>(roots.getChildren());
+        return getDescendants(roots).size();
+    }
+
+    /** Returns the descendants of the node level by level, the same order as it was before. */
+    private List<NodeDescriptor> getDescendants(NodeDescriptor parent) {
+        List<NodeDescriptor> allChildren = new ArrayList<>(parent.getChildren());
         for (int i = 0; i < allChildren.size(); i++) {
             allChildren.addAll(allChildren.get(i).getChildren());
         }
-
-        return allChildren.size();
+        return allChildren;
     }
 
     /**
@@ -222,7 +217,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public Node getChild(int index) {
-        return getRootItems().get(index);
+        return roots.getChildren().get(index).getNode();
     }
 
     /**
@@ -297,11 +292,14 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public Node getNextSibling(Node item) {
-        Node parent = getParent(item);
-        List<Node> children = parent == null ? getRootItems() : getChildren(parent);
-        int index = children.indexOf(item);
-        if (children.size() > (index + 1)) {
-            return children.get(index + 1);
+        NodeDescriptor nodeDescriptor = getWrapper(item);
+        if (nodeDescriptor == null || nodeDescriptor.getParent() == null) {
+            return null;
+        }
+        List<NodeDescriptor> children = nodeDescriptor.getParent().getChildren();
+        int index = nodeDescriptor.getParent().indexOf(nodeDescriptor);
+        if (index != -1 && children.size() > (index + 1)) {
+            return children.get(index + 1).getNode();
         }
         return null;
     }
@@ -313,11 +311,13 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public Node getPreviousSibling(Node item) {
-        Node parent = getParent(item);
-        List<Node> children = parent == null ? getRootItems() : getChildren(parent);
-        int index = children.indexOf(item);
+        NodeDescriptor nodeDescriptor = getWrapper(item);
+        if (nodeDescriptor == null || nodeDescriptor.getParent() == null) {
+            return null;
+        }
+        int index = nodeDescriptor.getParent().indexOf(nodeDescriptor);
         if (index > 0) {
-            return children.get(index - 1);
+            return nodeDescriptor.getParent().getChildren().get(index - 1).getNode();
         }
         return null;
     }
@@ -358,12 +358,11 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      * @return
      */
     public int indexOf(Node item) {
-        Node parent = getParent(item);
-        if (parent == null) {
-            return getRootItems().indexOf(item);
-        } else {
-            return getChildren(parent).indexOf(item);
+        NodeDescriptor nodeDescriptor = getWrapper(item);
+        if (nodeDescriptor == null || nodeDescriptor.getParent() == null) {
+            return -1;
         }
+        return nodeDescriptor.getParent().indexOf(nodeDescriptor);
     }
 
     /**
@@ -402,33 +401,23 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      * @param index
      * @param children
      */
-    public void insert(NodeDescriptor parent, int index, List<Node> children) {
+    public void insert(final NodeDescriptor parent, int index, List<Node> children) {
         int initialCount = parent.getChildren().size();
-        parent.addChildren(index, wrap(children));
+        List<NodeDescriptor> added = wrap(children);
+        parent.addChildren(index, added);
 
         if (initialCount != parent.getChildren().size()) {
-            List<Node> addedChildren = new ArrayList<>();
-            List<NodeDescriptor> currentChildren = parent.getChildren();
+            // added children in the order they are placed in the parent
             if (isSorted()) {
-                int currentChildrenSize = currentChildren.size();
-                for (int i = 0; i < currentChildrenSize; i++) {
-                    int childrenSize = children.size();
-                    for (int j = 0; j < childrenSize; j++) {
-                        Node currentData = currentChildren.get(i).getNode();
-                        Node child = children.get(j);
-                        if (child == currentData) {
-                            addedChildren.add(child);
-                            break;
-                        }
+                added = new ArrayList<>(added);
+                Collections.sort(added, new Comparator<NodeDescriptor>() {
+                    @Override
+                    public int compare(NodeDescriptor o1, NodeDescriptor o2) {
+                        return Integer.compare(parent.indexOf(o1), parent.indexOf(o2));
                     }
-                }
-            } else {
-                for (NodeDescriptor currentChild : currentChildren) {
-                    if (children.contains(currentChild.getNode())) {
-                        addedChildren.add(currentChild.getNode());
-                    }
-                }
+                });
             }
+            List<Node> addedChildren = unwrap(added);
             if (addedChildren.size() != 0) {
                 fireEvent(new StoreAddEvent(index, addedChildren));
             }
@@ -446,21 +435,11 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
      */
     public void insert(NodeDescriptor parent, int index, Node child) {
         int initialCount = parent.getChildren().size();
-        parent.addChild(index, wrap(child));
+        NodeDescriptor added = wrap(child);
+        parent.addChild(index, added);
 
         if (parent.getChildren().size() != initialCount) {
-            int addedIndex = -1;
-            if (isSorted()) {
-                List<NodeDescriptor> childrenModels = parent.getChildren();
-                for (int i = 0; i < childrenModels.size(); i++) {
-                    if (childrenModels.get(i).getNode().equals(child)) {
-                        addedIndex = i;
-                        break;
-                    }
-                }
-            } else {
-                addedIndex = index;
-            }
+            int addedIndex = isSorted() ? parent.indexOf(added) : index;
             // if the change actually occurred, fire an event
             fireEvent(new StoreAddEvent(addedIndex, child));
         }
@@ -471,12 +450,12 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
         if (nodeDescriptor != null) {
             Node parent = getParent(node);
             List<Node> children = getAllChildren(node);
-            int visibleIndex = nodeDescriptor.getParent().getChildren().indexOf(nodeDescriptor);
+            int visibleIndex = nodeDescriptor.getParent().indexOf(nodeDescriptor);
             nodeDescriptor.getParent().remove(nodeDescriptor);
             if (visibleIndex != -1) {
                 fireEvent(new StoreRemoveEvent(visibleIndex, node, parent, children));
             } else {
-                List<NodeDescriptor> descriptors = new LinkedList<>();
+                List<NodeDescriptor> descriptors = new ArrayList<>();
                 descriptors.add(nodeDescriptor);
                 for (int i = 0; i < descriptors.size(); i++) {
                     nodeDescriptor = descriptors.get(i);
@@ -496,7 +475,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
 
     private void removeChildren(NodeDescriptor parent) {
         if (parent.getChildren().size() != 0) {
-            List<NodeDescriptor> models = new LinkedList<>();
+            List<NodeDescriptor> models = new ArrayList<>();
             models.addAll(parent.getChildren());
             parent.clear();
             for (int i = 0; i < models.size(); i++) {
@@ -521,7 +500,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
             roots.addChildren(0, wrap(children));
         } else {
             NodeDescriptor parentNodeDescriptor = getWrapper(parent);
-            List<NodeDescriptor> models = new LinkedList<>();
+            List<NodeDescriptor> models = new ArrayList<>();
             models.addAll(parentNodeDescriptor.getChildren());
             for (int i = 0; i < models.size(); i++) {
                 NodeDescriptor wrapper = models.get(i);
@@ -537,45 +516,6 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
         fireEvent(new StoreDataChangeEvent(parent));
     }
 
-    private List<NodeDescriptor> findRemovedNodes(NodeDescriptor parent, final List<Node> loadedChildren) {
-        List<NodeDescriptor> existed = parent.getChildren();
-
-        if (existed == null || existed.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        Iterable<NodeDescriptor> removedItems = Iterables.filter(existed, new Predicate<NodeDescriptor>() {
-            @Override
-            public boolean apply(NodeDescriptor existedChild) {
-                return !loadedChildren.contains(existedChild.getNode());
-            }
-        });
-
-        return Lists.newArrayList(removedItems);
-    }
-
-    private List<Node> findNewNodes(NodeDescriptor parent, final List<Node> loadedChildren) {
-        final List<NodeDescriptor> existed = parent.getChildren();
-
-        if (existed == null || existed.isEmpty()) {
-            return loadedChildren;
-        }
-
-        Iterable<Node> newItems = Iterables.filter(loadedChildren, new Predicate<Node>() {
-            @Override
-            public boolean apply(Node loadedChild) {
-                for (NodeDescriptor nodeDescriptor : existed) {
-                    if (nodeDescriptor.getNode().equals(loadedChild)) {
-                        return false;
-                    }
-                }
-                return true;
-            }
-        });
-
-        return Lists.newArrayList(newItems);
-    }
-
     private List<NodeDescriptor> convertTreeNodesHelper(List<Node> children) {
         List<NodeDescriptor> nodeDescriptors = new ArrayList<>();
         if (children != null) {
@@ -754,10 +694,10 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
 
     public void applySort(boolean suppressEvent) {
         Comparator<NodeDescriptor> comparator = buildFullComparator();
-        Collections.sort(roots.getChildren(), comparator);
+        roots.sortChildren(comparator);
 
         for (NodeDescriptor descriptor : idToNodeMap.values()) {
-            Collections.sort(descriptor.getChildren(), comparator);
+            descriptor.sortChildren(comparator);
         }
 
         if (!suppressEvent) {
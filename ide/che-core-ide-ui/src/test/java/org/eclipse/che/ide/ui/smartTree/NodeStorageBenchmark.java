@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ui.smartTree;
+
+import org.eclipse.che.ide.api.data.tree.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the operations of {@link NodeStorage} which are made when a folder with many entries,
+ * e.g. 'node_modules', is expanded in the tree: sorted inserts of the children, lookups of the
+ * indexes and the siblings, traversal of all the nodes and removal of the children.
+ *
+ * <p>The storage doesn't need the browser, so the benchmark is run on JVM from the IDE
+ * or with 'java -cp ... NodeStorageBenchmark [children]'.
+ */
+public class NodeStorageBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final int children = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        // warm up
+        for (int i = 0; i < 3; i++) {
+            run(children / 10, false);
+        }
+        run(children, true);
+    }
+
+    private static void run(int count, boolean print) {
+        final List<Node> children = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            children.add(new TestNode("node-" + i));
+        }
+        Collections.shuffle(children, new Random(0));
+
+        final NodeStorage storage = new NodeStorage();
+        storage.addSortInfo(new NodeStorage.StoreSortInfo(TestNode.BY_NAME, SortDir.ASC));
+        final Node parent = new TestNode("parent");
+        storage.add(parent);
+
+        long start = System.nanoTime();
+        storage.add(parent, children.subList(0, count / 2));
+        report(print, "Sorted insert of " + count / 2 + " children at once", start);
+
+        start = System.nanoTime();
+        for (Node child : children.subList(count / 2, count)) {
+            storage.add(parent, child);
+        }
+        report(print, "Sorted insert of " + (count - count / 2) + " children one by one", start);
+
+        start = System.nanoTime();
+        for (Node child : children) {
+            storage.indexOf(child);
+        }
+        report(print, "Index of each child", start);
+
+        start = System.nanoTime();
+        Node sibling = storage.getFirstChild(parent);
+        while (sibling != null) {
+            sibling = storage.getNextSibling(sibling);
+        }
+        report(print, "Walk through the children by next sibling", start);
+
+        start = System.nanoTime();
+        storage.getAll();
+        report(print, "All nodes", start);
+
+        start = System.nanoTime();
+        for (Node child : children.subList(0, count / 10)) {
+            storage.remove(child);
+            storage.indexOf(storage.getLastChild(parent));
+        }
+        report(print, "Removal of " + count / 10 + " children with lookups between them", start);
+    }
+
+    private static void report(boolean print, String operation, long start) {
+        if (print) {
+            System.out.printf("%-60s %6d ms%n", operation, (System.nanoTime() - start) / 1000000);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ui.smartTree;
+
+import org.eclipse.che.ide.api.data.tree.Node;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for the {@link NodeStorage}
+ */
+public class NodeStorageTest {
+
+    private NodeStorage storage;
+    private Node        root;
+
+    @Before
+    public void setUp() throws Exception {
+        storage = new NodeStorage();
+        root = new TestNode("root");
+        storage.add(root);
+    }
+
+    @Test
+    public void shouldReturnIndexesAndSiblings() throws Exception {
+        Node a = new TestNode("a");
+        Node b = new TestNode("b");
+        Node c = new TestNode("c");
+        storage.add(root, Arrays.asList(a, c));
+        storage.insert(root, 1, b);
+
+        assertEquals(Arrays.asList(a, b, c), storage.getChildren(root));
+        assertEquals(0, storage.indexOf(a));
+        assertEquals(1, storage.indexOf(b));
+        assertEquals(2, storage.indexOf(c));
+        assertEquals(b, storage.getNextSibling(a));
+        assertEquals(a, storage.getPreviousSibling(b));
+        assertNull(storage.getNextSibling(c));
+        assertNull(storage.getPreviousSibling(a));
+        assertEquals(0, storage.indexOf(root));
+        assertEquals(-1, storage.indexOf(new TestNode("unknown")));
+    }
+
+    @Test
+    public void shouldUpdateIndexesAfterRemove() throws Exception {
+        Node a = new TestNode("a");
+        Node b = new TestNode("b");
+        Node c = new TestNode("c");
+        storage.add(root, Arrays.asList(a, b, c));
+        assertEquals(2, storage.indexOf(c));
+
+        storage.remove(a);
+
+        assertEquals(0, storage.indexOf(b));
+        assertEquals(1, storage.indexOf(c));
+        assertEquals(c, storage.getNextSibling(b));
+        assertEquals(-1, storage.indexOf(a));
+    }
+
+    @Test
+    public void shouldKeepChildrenSorted() throws Exception {
+        storage.addSortInfo(new NodeStorage.StoreSortInfo(TestNode.BY_NAME, SortDir.ASC));
+
+        List<Node> children = new ArrayList<>();
+        for (String name : Arrays.asList("d", "b", "f")) {
+            children.add(new TestNode(name));
+        }
+        storage.add(root, children);
+        storage.add(root, Arrays.<Node>asList(new TestNode("e"), new TestNode("a")));
+        Node c = new TestNode("c");
+        storage.add(root, c);
+
+        assertEquals("[a, b, c, d, e, f]", storage.getChildren(root).toString());
+        assertEquals(2, storage.indexOf(c));
+
+        storage.getSortInfo().get(0).setDirection(SortDir.DESC);
+        storage.applySort(true);
+
+        assertEquals("[f, e, d, c, b, a]", storage.getChildren(root).toString());
+        assertEquals(3, storage.indexOf(c));
+    }
+
+    @Test
+    public void shouldReturnAllDescendantsLevelByLevel() throws Exception {
+        Node a = new TestNode("a");
+        Node b = new TestNode("b");
+        Node a1 = new TestNode("a1");
+        storage.add(root, Arrays.asList(a, b));
+        storage.add(a, a1);
+
+        assertEquals(Arrays.asList(root, a, b, a1), storage.getAll());
+        assertEquals(Arrays.asList(a, b, a1), storage.getAllChildren(root));
+        assertEquals(4, storage.getAllItemsCount());
+    }
+}
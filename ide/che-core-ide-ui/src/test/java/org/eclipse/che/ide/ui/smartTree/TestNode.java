@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ui.smartTree;
+
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.ide.api.data.tree.Node;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Node with a name only, the storage is filled by the tests directly.
+ */
+class TestNode implements Node {
+    static final Comparator<Node> BY_NAME = new Comparator<Node>() {
+        @Override
+        public int compare(Node o1, Node o2) {
+            return o1.getName().compareTo(o2.getName());
+        }
+    };
+
+    private final String name;
+    private       Node   parent;
+
+    TestNode(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Node getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(Node parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Promise<List<Node>> getChildren(boolean forceUpdate) {
+        return null;
+    }
+
+    @Override
+    public void setChildren(List<Node> children) {
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return false;
+    }
+
+    @Override
+    public boolean supportGoInto() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -17,6 +17,7 @@ import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncherTemplate;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
 import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.plugin.csharp.shared.Constants;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageServer;
@@ -27,6 +28,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 
@@ -98,6 +101,11 @@ public class CSharpLanguageServerLauncher extends LanguageServerLauncherTemplate
         return Files.exists(launchScript);
     }
 
+    @Override
+    public Set<String> getProjectTypes() {
+        return Collections.singleton(Constants.CSHARP_PROJECT_TYPE_ID);
+    }
+
     static {
         description = new LanguageDescription();
         description.setFileExtensions(asList(EXTENSIONS));
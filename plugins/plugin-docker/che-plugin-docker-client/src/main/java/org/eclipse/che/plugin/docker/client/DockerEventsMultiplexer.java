@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Reads a single docker events stream and dispatches events to the subscribers,
+ * so components interested in docker events don't open their own streams
+ * and don't poll or inspect containers to find out their state.
+ *
+ * <p>When the stream is broken(e.g. connection timeout) it is reopened since
+ * the time of the latest received event, or since the time of the first connection
+ * if no events were received yet, so no events are lost.
+ * Events received twice because of that are not dispatched again.
+ *
+ * <p>Events are dispatched in the thread which reads the stream,
+ * so subscribers must process events fast and must not block.
+ */
+@Singleton
+public class DockerEventsMultiplexer {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerEventsMultiplexer.class);
+
+    /**
+     * Events which are streamed from docker, the rest of the events
+     * (e.g. frequent exec_create, exec_start) are filtered out by docker itself.
+     */
+    public static final Set<String> STREAMED_EVENTS = ImmutableSet.of("create",
+                                                                      "start",
+                                                                      "restart",
+                                                                      "stop",
+                                                                      "kill",
+                                                                      "die",
+                                                                      "oom",
+                                                                      "destroy",
+                                                                      "pause",
+                                                                      "unpause",
+                                                                      "pull",
+                                                                      "tag",
+                                                                      "untag",
+                                                                      "delete");
+
+    private static final long MIN_RECONNECT_DELAY_MS = 1_000;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    private final DockerConnector    dockerConnector;
+    private final List<Subscription> subscriptions;
+    private final ExecutorService    executor;
+    private final Set<String>        lastSecondEvents;
+
+    private volatile long lastEventTime;
+    private volatile long firstConnectionTime;
+    private volatile long receivedEvents;
+
+    @Inject
+    public DockerEventsMultiplexer(DockerConnectorProvider dockerConnectorProvider) {
+        this.dockerConnector = dockerConnectorProvider.get();
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.lastSecondEvents = new HashSet<>();
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("DockerEventsMultiplexer-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    /**
+     * Subscribes to the docker events.
+     *
+     * @param type
+     *         type of the events to subscribe to, e.g. 'container' or 'image',
+     *         events without type(older docker api) match any type,
+     *         null means that events of all the types are dispatched to the subscriber
+     * @param events
+     *         events to subscribe to, e.g. 'die', must be a subset of {@link #STREAMED_EVENTS}
+     * @param processor
+     *         processor of the events
+     * @return subscription which allows to unsubscribe
+     * @throws IllegalArgumentException
+     *         when any of the events is not streamed
+     */
+    public Subscription subscribe(@Nullable String type, Set<String> events, MessageProcessor<Event> processor) {
+        if (!STREAMED_EVENTS.containsAll(events)) {
+            throw new IllegalArgumentException(format("Events '%s' are not supported, supported events are '%s'",
+                                                      events,
+                                                      STREAMED_EVENTS));
+        }
+        final Subscription subscription = new Subscription(type, ImmutableSet.copyOf(events), processor);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.execute(() -> {
+            long delay = MIN_RECONNECT_DELAY_MS;
+            while (!Thread.currentThread().isInterrupted()) {
+                final long receivedBefore = receivedEvents;
+                final long connectionTime = System.currentTimeMillis();
+                try {
+                    readEvents();
+                } catch (IOException x) {
+                    // usually connection timeout
+                    LOG.debug(x.getLocalizedMessage(), x);
+                }
+                if (receivedEvents != receivedBefore || System.currentTimeMillis() - connectionTime > delay) {
+                    delay = MIN_RECONNECT_DELAY_MS;
+                } else {
+                    // docker is not available or the stream is broken right after connection
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException x) {
+                        Thread.currentThread().interrupt();
+                    }
+                    delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MS);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Reads events until the stream is finished, on the first connection only
+     * the new events are read, then the events since the latest received event
+     * are read, or the events since the first connection if no events were received.
+     */
+    @VisibleForTesting
+    void readEvents() throws IOException {
+        final GetEventsParams params = GetEventsParams.create()
+                                                      .withFilters(new Filters().withFilter("event",
+                                                                                            STREAMED_EVENTS.toArray(new String[0])));
+        if (lastEventTime != 0) {
+            params.withSinceSecond(lastEventTime);
+        } else if (firstConnectionTime != 0) {
+            params.withSinceSecond(firstConnectionTime);
+        } else {
+            firstConnectionTime = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        }
+        dockerConnector.getEvents(params, this::dispatch);
+    }
+
+    private void dispatch(Event event) {
+        receivedEvents++;
+        if (!isNew(event)) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.matches(event)) {
+                try {
+                    subscription.processor.process(event);
+                } catch (RuntimeException x) {
+                    LOG.error(format("Error occurred while processing docker event '%s' of '%s'", actionOf(event), event.getId()), x);
+                }
+            }
+        }
+    }
+
+    /** Checks whether event is not received already, e.g. before the stream is reopened. */
+    private boolean isNew(Event event) {
+        if (event.getTime() < lastEventTime) {
+            return false;
+        }
+        if (event.getTime() > lastEventTime) {
+            lastEventTime = event.getTime();
+            lastSecondEvents.clear();
+        }
+        return lastSecondEvents.add(event.getTimeNano() + ":" + actionOf(event) + ":" + event.getId());
+    }
+
+    /** Returns the action of the event, events of non-container resources(e.g. networks) have no status. */
+    private static String actionOf(Event event) {
+        return event.getStatus() != null ? event.getStatus() : event.getAction();
+    }
+
+    /** Subscription to the docker events, see {@link #subscribe(String, Set, MessageProcessor)}. */
+    public class Subscription {
+        private final String                  type;
+        private final Set<String>             events;
+        private final MessageProcessor<Event> processor;
+
+        private Subscription(String type, Set<String> events, MessageProcessor<Event> processor) {
+            this.type = type;
+            this.events = events;
+            this.processor = processor;
+        }
+
+        /** Stops dispatching of the events to this subscription. */
+        public void cancel() {
+            subscriptions.remove(this);
+        }
+
+        private boolean matches(Event event) {
+            // type is checked because docker swarm doesn't filter events,
+            // also events of older api have no type
+            return events.contains(actionOf(event))
+                   && (type == null || event.getType() == null || type.equals(event.getType()));
+        }
+    }
+}
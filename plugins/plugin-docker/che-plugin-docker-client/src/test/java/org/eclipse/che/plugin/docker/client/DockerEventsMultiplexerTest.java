@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link DockerEventsMultiplexer}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerEventsMultiplexerTest {
+
+    @Mock
+    private DockerConnectorProvider dockerConnectorProvider;
+    @Mock
+    private DockerConnector         dockerConnector;
+
+    private DockerEventsMultiplexer multiplexer;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(dockerConnectorProvider.get()).thenReturn(dockerConnector);
+        multiplexer = new DockerEventsMultiplexer(dockerConnectorProvider);
+    }
+
+    @Test
+    public void shouldDispatchEventsToMatchingSubscriptions() throws Exception {
+        final List<Event> containerEvents = new ArrayList<>();
+        final List<Event> allEvents = new ArrayList<>();
+        multiplexer.subscribe("container", ImmutableSet.of("die"), containerEvents::add);
+        multiplexer.subscribe(null, ImmutableSet.of("die", "delete"), allEvents::add);
+        final Event die = event("container", "die", "c1", 100, 1);
+        final Event start = event("container", "start", "c1", 100, 2);
+        final Event delete = event("image", "delete", "i1", 101, 3);
+        final Event untypedDie = event(null, "die", "c2", 102, 4);
+        streamEvents(die, start, delete, untypedDie);
+
+        multiplexer.readEvents();
+
+        assertEquals(containerEvents, asList(die, untypedDie));
+        assertEquals(allEvents, asList(die, delete, untypedDie));
+    }
+
+    @Test
+    public void shouldResumeStreamSinceLatestEventAndSkipAlreadyReceivedEvents() throws Exception {
+        final List<Event> received = new ArrayList<>();
+        multiplexer.subscribe("container", ImmutableSet.of("die"), received::add);
+        final Event first = event("container", "die", "c1", 100, 1);
+        final Event second = event("container", "die", "c2", 100, 2);
+        final Event third = event("container", "die", "c3", 100, 3);
+        streamEvents(first, second);
+        multiplexer.readEvents();
+
+        streamEvents(first, second, third);
+        multiplexer.readEvents();
+
+        final ArgumentCaptor<GetEventsParams> captor = ArgumentCaptor.forClass(GetEventsParams.class);
+        verify(dockerConnector, times(2)).getEvents(captor.capture(), any());
+        assertNull(captor.getAllValues().get(0).getSinceSecond());
+        assertEquals(captor.getAllValues().get(1).getSinceSecond(), Long.valueOf(100));
+        assertEquals(received, asList(first, second, third));
+    }
+
+    @Test
+    public void shouldResumeStreamSinceFirstConnectionWhenNoEventsWereReceived() throws Exception {
+        final List<Event> received = new ArrayList<>();
+        multiplexer.subscribe("container", ImmutableSet.of("die"), received::add);
+        final long beforeConnection = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        streamEvents();
+        multiplexer.readEvents();
+        final long afterConnection = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+
+        final Event missed = event("container", "die", "c1", afterConnection, 1);
+        streamEvents(missed);
+        multiplexer.readEvents();
+
+        final ArgumentCaptor<GetEventsParams> captor = ArgumentCaptor.forClass(GetEventsParams.class);
+        verify(dockerConnector, times(2)).getEvents(captor.capture(), any());
+        assertNull(captor.getAllValues().get(0).getSinceSecond());
+        final long since = captor.getAllValues().get(1).getSinceSecond();
+        assertTrue(since >= beforeConnection && since <= afterConnection, "since " + since);
+        assertEquals(received, singletonList(missed));
+    }
+
+    @Test
+    public void shouldNotDispatchEventsToCancelledSubscription() throws Exception {
+        final List<Event> received = new ArrayList<>();
+        multiplexer.subscribe("container", ImmutableSet.of("die"), received::add).cancel();
+        streamEvents(event("container", "die", "c1", 100, 1));
+
+        multiplexer.readEvents();
+
+        assertEquals(received, new ArrayList<>());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldNotAllowToSubscribeToEventsWhichAreNotStreamed() throws Exception {
+        multiplexer.subscribe("container", ImmutableSet.of("exec_start"), event -> {});
+    }
+
+    private void streamEvents(Event... events) throws Exception {
+        doAnswer(inv -> {
+            @SuppressWarnings("unchecked")
+            MessageProcessor<Event> processor = (MessageProcessor<Event>)inv.getArguments()[1];
+            for (Event event : events) {
+                processor.process(event);
+            }
+            return null;
+        }).when(dockerConnector).getEvents(any(), any());
+    }
+
+    private static Event event(String type, String status, String id, long time, long timeNano) {
+        return new Event().withType(type)
+                          .withStatus(status)
+                          .withId(id)
+                          .withTime(time)
+                          .withTimeNano(timeNano);
+    }
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Coalesces concurrent pulls of the same image into a single pull,
+ * e.g. when many workspaces of the same stack are started at the same time.
+ * Progress of the pull is sent to all the callers which wait for it,
+ * the callers which join the pull in progress receive the latest status of each layer first.
+ *
+ * <p>Pulls are performed by the coordinator threads, so interruption of one
+ * of the callers doesn't break the pull for the others, the interrupted
+ * caller just stops waiting for the pull.
+ *
+ * <p>Pulls are coalesced by the image and tag, if the shared pull fails
+ * the callers with different parameters(e.g. registry credentials) pull the image on their own.
+ */
+@Singleton
+public class DockerImagePullCoordinator {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerImagePullCoordinator.class);
+
+    private final Map<String, PullOperation> pulls;
+    private final ExecutorService            executor;
+
+    public DockerImagePullCoordinator() {
+        this.pulls = new ConcurrentHashMap<>();
+        this.executor = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("DockerImagePuller-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    /**
+     * Pulls an image or waits for the pull of the same image which is already in progress.
+     *
+     * @param docker
+     *         docker connector to pull image with, if the pull is started by this call
+     * @param params
+     *         pull parameters
+     * @param progressMonitor
+     *         consumer of pull progress
+     * @throws IOException
+     *         when a problem occurs with docker api calls or the thread is interrupted
+     * @see DockerConnector#pull(PullParams, ProgressMonitor)
+     */
+    public void pull(DockerConnector docker, PullParams params, ProgressMonitor progressMonitor) throws IOException {
+        final PullOperation pull = pullOnce(docker, params, progressMonitor);
+        try {
+            await(pull, progressMonitor);
+        } catch (IOException x) {
+            if (params.equals(pull.params)) {
+                throw x;
+            }
+            // the pull of the other caller might fail because of its credentials
+            LOG.debug("Shared pull of image '{}' failed, pulling it with own parameters", params.getFullRepo());
+            await(pullOnce(docker, params, progressMonitor), progressMonitor);
+        }
+    }
+
+    /** Returns true if the pull of the given image and tag is in progress. */
+    @VisibleForTesting
+    boolean isPulling(PullParams params) {
+        return pulls.containsKey(keyOf(params));
+    }
+
+    private PullOperation pullOnce(DockerConnector docker, PullParams params, ProgressMonitor progressMonitor) {
+        final String key = keyOf(params);
+        final PullOperation created = new PullOperation(params);
+        final PullOperation pull = pulls.computeIfAbsent(key, k -> created);
+        pull.join(progressMonitor);
+        if (pull == created) {
+            executor.execute(() -> {
+                try {
+                    docker.pull(params, pull);
+                    pulls.remove(key, pull);
+                    pull.result.complete(null);
+                } catch (Exception x) {
+                    pulls.remove(key, pull);
+                    pull.result.completeExceptionally(x);
+                }
+            });
+        } else {
+            LOG.debug("Image '{}' is already being pulled, waiting for the pull to finish", key);
+        }
+        return pull;
+    }
+
+    private static void await(PullOperation pull, ProgressMonitor progressMonitor) throws IOException {
+        try {
+            pull.result.get();
+        } catch (ExecutionException x) {
+            if (x.getCause() instanceof IOException) {
+                throw (IOException)x.getCause();
+            }
+            throw new DockerException(x.getCause().getLocalizedMessage(), 500);
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new DockerException("Docker image pulling was interrupted", 500);
+        } finally {
+            pull.leave(progressMonitor);
+        }
+    }
+
+    private static String keyOf(PullParams params) {
+        return params.getFullRepo() + ':' + params.getTag();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Single pull which progress is sent to all the joined monitors. */
+    private static class PullOperation implements ProgressMonitor {
+        final PullParams              params;
+        final CompletableFuture<Void> result   = new CompletableFuture<>();
+        final List<ProgressMonitor>   monitors = new ArrayList<>();
+        /** The latest status of each layer, statuses without layer are kept under null key. */
+        final Map<String, ProgressStatus> latest = new LinkedHashMap<>();
+
+        PullOperation(PullParams params) {
+            this.params = params;
+        }
+
+        synchronized void join(ProgressMonitor monitor) {
+            for (ProgressStatus status : latest.values()) {
+                send(monitor, status);
+            }
+            monitors.add(monitor);
+        }
+
+        synchronized void leave(ProgressMonitor monitor) {
+            monitors.remove(monitor);
+        }
+
+        @Override
+        public synchronized void updateProgress(ProgressStatus status) {
+            latest.put(status.getId(), status);
+            for (ProgressMonitor monitor : monitors) {
+                send(monitor, status);
+            }
+        }
+
+        private static void send(ProgressMonitor monitor, ProgressStatus status) {
+            try {
+                monitor.updateProgress(status);
+            } catch (RuntimeException x) {
+                LOG.error(x.getLocalizedMessage(), x);
+            }
+        }
+    }
+}
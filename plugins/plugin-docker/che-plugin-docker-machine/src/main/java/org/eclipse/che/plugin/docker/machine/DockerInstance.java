@@ -32,6 +32,7 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
@@ -74,6 +75,11 @@ public class DockerInstance extends AbstractInstance {
      */
     public static final String LATEST_TAG = "latest";
 
+    /** Initial and maximum delays between checks whether committed image is visible. */
+    private static final long IMAGE_VISIBILITY_INITIAL_DELAY_MS = 50;
+    private static final long IMAGE_VISIBILITY_MAX_DELAY_MS     = 2_000;
+    private static final long IMAGE_VISIBILITY_TIMEOUT_MS       = 60_000;
+
     private static final AtomicInteger pidSequence           = new AtomicInteger(1);
     private static final String        PID_FILE_TEMPLATE     = "/tmp/docker-exec-%s.pid";
     private static final Pattern       PID_FILE_PATH_PATTERN = Pattern.compile(String.format(PID_FILE_TEMPLATE, "([0-9]+)"));
@@ -102,6 +108,7 @@ public class DockerInstance extends AbstractInstance {
     private final DockerInstanceProcessesCleaner              processesCleaner;
     private final ConcurrentHashMap<Integer, InstanceProcess> machineProcesses;
     private final boolean                                     snapshotUseRegistry;
+    private final DockerRegistryPushLimiter                   pushLimiter;
     private final MachineRuntimeInfoImpl                      machineRuntime;
 
     @Inject
@@ -116,7 +123,8 @@ public class DockerInstance extends AbstractInstance {
                           @Assisted LineConsumer outputConsumer,
                           DockerInstanceStopDetector dockerInstanceStopDetector,
                           DockerInstanceProcessesCleaner processesCleaner,
-                          @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry) throws MachineException {
+                          @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry,
+                          DockerRegistryPushLimiter pushLimiter) throws MachineException {
         super(machine);
         this.dockerMachineFactory = dockerMachineFactory;
         this.container = container;
@@ -131,6 +139,7 @@ public class DockerInstance extends AbstractInstance {
         this.machineProcesses = new ConcurrentHashMap<>();
         processesCleaner.trackProcesses(this);
         this.snapshotUseRegistry = snapshotUseRegistry;
+        this.pushLimiter = pushLimiter;
         this.machineRuntime = doGetRuntime();
     }
 
@@ -214,16 +223,19 @@ public class DockerInstance extends AbstractInstance {
 
             final String fullRepo = pushParams.getFullRepo();
             commitContainer(fullRepo, LATEST_TAG);
-            //TODO fix this workaround. Docker image is not visible after commit when using swarm
-            Thread.sleep(2000);
+            waitImageIsVisible(fullRepo + ':' + LATEST_TAG);
+            if (!pushLimiter.hasFreeSlot()) {
+                outputConsumer.writeLine("[DOCKER] Waiting for other snapshots to be pushed to the registry");
+            }
             final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
-            final String digest = docker.push(pushParams,
-                                              progressMonitor -> {
-                                                  try {
-                                                      outputConsumer.writeLine(lineFormatter.format(progressMonitor));
-                                                  } catch (IOException ignored) {
-                                                  }
-                                              });
+            final String digest = pushLimiter.push(docker,
+                                                   pushParams,
+                                                   progressMonitor -> {
+                                                       try {
+                                                           outputConsumer.writeLine(lineFormatter.format(progressMonitor));
+                                                       } catch (IOException ignored) {
+                                                       }
+                                                   });
             docker.removeImage(RemoveImageParams.create(fullRepo).withForce(false));
             return new DockerMachineSource(image).withRegistry(registry).withDigest(digest).withTag(LATEST_TAG);
         } catch (IOException ioEx) {
@@ -247,6 +259,31 @@ public class DockerInstance extends AbstractInstance {
                                   .withComment(comment));
     }
 
+    /**
+     * Waits until the committed image is visible, e.g. when swarm is used the image
+     * may be not visible right after commit. Image is inspected with growing delays
+     * between attempts, so usually there is no delay at all.
+     */
+    @VisibleForTesting
+    void waitImageIsVisible(String image) throws IOException, InterruptedException {
+        final long deadline = System.currentTimeMillis() + IMAGE_VISIBILITY_TIMEOUT_MS;
+        long delay = IMAGE_VISIBILITY_INITIAL_DELAY_MS;
+        while (true) {
+            try {
+                docker.inspectImage(image);
+                return;
+            } catch (ImageNotFoundException x) {
+                if (System.currentTimeMillis() + delay > deadline) {
+                    throw new IOException(format("Committed image '%s' is not visible after %d seconds",
+                                                 image,
+                                                 IMAGE_VISIBILITY_TIMEOUT_MS / 1000), x);
+                }
+                Thread.sleep(delay);
+                delay = Math.min(delay * 2, IMAGE_VISIBILITY_MAX_DELAY_MS);
+            }
+        }
+    }
+
     private String generateRepository() {
         if (registryNamespace != null) {
             return registryNamespace + '/' + MACHINE_SNAPSHOT_PREFIX + NameGenerator.generate(null, 16);
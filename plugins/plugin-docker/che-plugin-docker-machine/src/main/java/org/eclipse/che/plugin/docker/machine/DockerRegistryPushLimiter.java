@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.params.PushParams;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of snapshot images pushed to the registry at the same time,
+ * so snapshots of many workspaces don't compete for the registry bandwidth.
+ * Pushes which exceed the limit wait until one of the pushes in progress is finished.
+ */
+@Singleton
+public class DockerRegistryPushLimiter {
+
+    private final Semaphore permits;
+
+    @Inject
+    public DockerRegistryPushLimiter(@Named("che.docker.registry_for_snapshots.push_parallelism") int pushParallelism) {
+        if (pushParallelism < 1) {
+            throw new IllegalArgumentException("Snapshots push parallelism must be positive");
+        }
+        this.permits = new Semaphore(pushParallelism, true);
+    }
+
+    /**
+     * Pushes an image to the registry once there is a free push slot.
+     *
+     * @param docker
+     *         docker connector to push image with
+     * @param params
+     *         push parameters
+     * @param progressMonitor
+     *         consumer of push progress
+     * @return digest of the pushed image
+     * @throws IOException
+     *         when a problem occurs with docker api calls
+     * @throws InterruptedException
+     *         if thread is interrupted while waiting for a free push slot
+     * @see DockerConnector#push(PushParams, ProgressMonitor)
+     */
+    public String push(DockerConnector docker, PushParams params, ProgressMonitor progressMonitor) throws IOException,
+                                                                                                         InterruptedException {
+        permits.acquire();
+        try {
+            return docker.push(params, progressMonitor);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Returns true if there is a free push slot, the result is an estimate only. */
+    public boolean hasFreeSlot() {
+        return permits.availablePermits() > 0;
+    }
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+
+/**
+ * Periodically pulls images of the configured stacks, so the first starts
+ * of the workspaces created from these stacks don't wait for the pull,
+ * and the starts which happen during the pull join it instead of pulling the image again.
+ *
+ * <p>Only images of the environments with 'dockerimage' recipes are pulled.
+ */
+@Singleton
+public class DockerStackImagesPrePuller {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerStackImagesPrePuller.class);
+
+    private final StackDao                   stackDao;
+    private final DockerConnector            docker;
+    private final DockerImagePullCoordinator pullCoordinator;
+    private final String[]                   stackIds;
+
+    @Inject
+    public DockerStackImagesPrePuller(StackDao stackDao,
+                                      DockerConnectorProvider dockerProvider,
+                                      DockerImagePullCoordinator pullCoordinator,
+                                      @Nullable @Named("che.docker.prepull_stacks") String[] stackIds) {
+        this.stackDao = stackDao;
+        this.docker = dockerProvider.get();
+        this.pullCoordinator = pullCoordinator;
+        this.stackIds = stackIds;
+    }
+
+    @ScheduleDelay(initialDelayParameterName = "che.docker.prepull_stacks.initial_delay_min",
+                   delayParameterName = "che.docker.prepull_stacks.period_min",
+                   unit = TimeUnit.MINUTES)
+    public void prePull() {
+        if (stackIds == null) {
+            return;
+        }
+        for (String image : getImages()) {
+            try {
+                final DockerMachineSource source = new DockerMachineSource(new MachineSourceImpl("image").setLocation(image));
+                final PullParams pullParams = PullParams.create(source.getRepository())
+                                                        .withTag(MoreObjects.firstNonNull(source.getTag(), LATEST_TAG))
+                                                        .withRegistry(source.getRegistry());
+                final long start = System.currentTimeMillis();
+                pullCoordinator.pull(docker, pullParams, ProgressMonitor.DEV_NULL);
+                LOG.info("Stack image '{}' is pulled in {}ms", image, System.currentTimeMillis() - start);
+            } catch (MachineException | IOException x) {
+                LOG.warn("Failed to pull stack image '{}'. Cause: {}", image, x.getLocalizedMessage());
+            }
+        }
+    }
+
+    /** Returns distinct images of the configured stacks. */
+    @VisibleForTesting
+    Set<String> getImages() {
+        final Set<String> images = new LinkedHashSet<>();
+        for (String stackId : stackIds) {
+            final StackImpl stack;
+            try {
+                stack = stackDao.getById(stackId);
+            } catch (NotFoundException x) {
+                LOG.warn("Stack '{}' configured for images pre-pulling doesn't exist", stackId);
+                continue;
+            } catch (ServerException x) {
+                LOG.error(x.getLocalizedMessage(), x);
+                continue;
+            }
+            if (stack.getWorkspaceConfig() == null) {
+                continue;
+            }
+            for (EnvironmentImpl environment : stack.getWorkspaceConfig().getEnvironments().values()) {
+                final EnvironmentRecipeImpl recipe = environment.getRecipe();
+                if (recipe != null && "dockerimage".equals(recipe.getType()) && recipe.getLocation() != null) {
+                    images.add(recipe.getLocation());
+                }
+            }
+        }
+        return images;
+    }
+}
@@ -147,6 +147,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
     private final ExecutorService                               executor;
     private final DockerInstanceStopDetector                    dockerInstanceStopDetector;
+    private final DockerImagePullCoordinator                    pullCoordinator;
     private final RequestTransmitter                            transmitter;
     private final JsonRpcEndpointToMachineNameHolder            jsonRpcEndpointToMachineNameHolder;
     private final boolean                                       doForcePullImage;
@@ -177,6 +178,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
                                DockerMachineFactory dockerMachineFactory,
                                DockerInstanceStopDetector dockerInstanceStopDetector,
+                               DockerImagePullCoordinator pullCoordinator,
                                RequestTransmitter transmitter,
                                JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder,
                                @Named("machine.docker.dev_machine.machine_servers") Set<ServerConf> devMachineServers,
@@ -205,6 +207,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
         this.dockerCredentials = dockerCredentials;
         this.dockerMachineFactory = dockerMachineFactory;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
+        this.pullCoordinator = pullCoordinator;
         this.transmitter = transmitter;
         this.doForcePullImage = doForcePullImage;
         this.privilegedMode = privilegedMode;
@@ -527,7 +530,8 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                                                                     LATEST_TAG))
                                                   .withRegistry(dockerMachineSource.getRegistry())
                                                   .withAuthConfigs(dockerCredentials.getCredentials());
-                docker.pull(pullParams, progressMonitor);
+                // concurrent starts of the same image wait for the single pull
+                pullCoordinator.pull(docker, pullParams, progressMonitor);
             }
 
             String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.machine.cleaner;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -20,7 +21,11 @@ import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.DockerEventsMultiplexer;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.json.Actor;
 import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
+import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.json.Filters;
 import org.eclipse.che.plugin.docker.client.json.network.Network;
 import org.eclipse.che.plugin.docker.client.params.network.GetNetworksParams;
@@ -28,18 +33,25 @@ import org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toSet;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static org.eclipse.che.plugin.docker.client.params.RemoveContainerParams.create;
 import static org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator.ContainerNameInfo;
 
@@ -47,6 +59,15 @@ import static org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator
  * Job for periodically clean up abandoned docker containers and networks created by CHE.
  * Also, logs active containers list.
  *
+ * <p>Containers and networks are listed on the first run and then on each
+ * {@code che.docker.cleanup_full_list_period}-th run, between the listings the inventory
+ * of CHE containers and networks is kept up to date by docker events, so most of the runs
+ * don't list all the resources of docker daemon. The listing replaces the inventory,
+ * so the resources which changes were missed by the events(e.g. while the events stream
+ * was reconnecting) are reconciled by the next listing.
+ * At most {@code che.docker.cleanup_batch_size} containers and networks are removed
+ * per run, the rest of abandoned resources are removed by the next runs.
+ *
  * @author Alexander Andrienko
  * @author Mykola Morhun
  */
@@ -66,21 +87,51 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     private final DockerConnector              dockerConnector;
     private final DockerContainerNameGenerator nameGenerator;
     private final WorkspaceRuntimes            runtimes;
+    private final DockerEventsMultiplexer      eventsMultiplexer;
     private final Set<String>                  additionalNetworks;
+    private final int                          batchSize;
+    private final int                          fullListPeriod;
+
+    /** CHE containers by their ids. */
+    private final Map<String, ContainerEntry> containers;
+    /** Names of CHE networks by their ids. */
+    private final Map<String, String>         networks;
+    private final AtomicLong                  removedContainers;
+    private final AtomicLong                  removedNetworks;
+
+    private int cleanupsUntilContainersListing;
+    private int cleanupsUntilNetworksListing;
 
     @Inject
     public DockerAbandonedResourcesCleaner(CheEnvironmentEngine environmentEngine,
                                            DockerConnectorProvider dockerConnectorProvider,
                                            DockerContainerNameGenerator nameGenerator,
                                            WorkspaceRuntimes workspaceRuntimes,
-                                           @Named("machine.docker.networks") Set<Set<String>> additionalNetworks) {
+                                           DockerEventsMultiplexer eventsMultiplexer,
+                                           @Named("machine.docker.networks") Set<Set<String>> additionalNetworks,
+                                           @Named("che.docker.cleanup_batch_size") int batchSize,
+                                           @Named("che.docker.cleanup_full_list_period") int fullListPeriod) {
         this.environmentEngine = environmentEngine;
         this.dockerConnector = dockerConnectorProvider.get();
         this.nameGenerator = nameGenerator;
         this.runtimes = workspaceRuntimes;
+        this.eventsMultiplexer = eventsMultiplexer;
         this.additionalNetworks = additionalNetworks.stream()
                                                     .flatMap(Set::stream)
                                                     .collect(toSet());
+        this.batchSize = batchSize;
+        this.fullListPeriod = fullListPeriod;
+        this.containers = new ConcurrentHashMap<>();
+        this.networks = new ConcurrentHashMap<>();
+        this.removedContainers = new AtomicLong();
+        this.removedNetworks = new AtomicLong();
+    }
+
+    /** Subscribes to the events which keep the inventory of CHE containers and networks up to date. */
+    @PostConstruct
+    public void subscribe() {
+        eventsMultiplexer.subscribe("container", ImmutableSet.of("create", "start", "die", "destroy"), this::onContainerEvent);
+        eventsMultiplexer.subscribe("network", ImmutableSet.of("create", "destroy"), this::onNetworkEvent);
     }
 
     @ScheduleRate(periodParameterName = "che.docker.cleanup_period_min",
@@ -88,8 +139,28 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
                   unit = TimeUnit.MINUTES)
     @Override
     public void run() {
+        final long start = System.currentTimeMillis();
+        final long containersBefore = removedContainers.get();
+        final long networksBefore = removedNetworks.get();
         cleanContainers();
         cleanNetworks();
+        LOG.info("Abandoned resources cleanup took {}ms, removed containers: {}, removed networks: {}, tracked containers: {}, " +
+                 "tracked networks: {}",
+                 System.currentTimeMillis() - start,
+                 removedContainers.get() - containersBefore,
+                 removedNetworks.get() - networksBefore,
+                 containers.size(),
+                 networks.size());
+    }
+
+    @VisibleForTesting
+    long getRemovedContainersCount() {
+        return removedContainers.get();
+    }
+
+    @VisibleForTesting
+    long getRemovedNetworksCount() {
+        return removedNetworks.get();
     }
 
     /**
@@ -99,22 +170,50 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     void cleanContainers() {
         List<String> activeContainers = new ArrayList<>();
         try {
-            for (ContainerListEntry container : dockerConnector.listContainers()) {
-                String containerName = container.getNames()[0];
-                Optional<ContainerNameInfo> optional = nameGenerator.parse(containerName);
-                if (optional.isPresent()) {
-                    try {
-                        // container is orphaned if not found exception is thrown
-                        environmentEngine.getMachine(optional.get().getWorkspaceId(),
-                                                     optional.get().getMachineId());
-                        activeContainers.add(containerName);
-                    } catch (NotFoundException e) {
-                        cleanUpContainer(container);
-                    } catch (Exception e) {
-                        LOG.error(format("Failed to check activity for container with name '%s'. Cause: %s",
-                                         containerName, e.getLocalizedMessage()), e);
+            if (cleanupsUntilContainersListing <= 0) {
+                Set<String> listedContainers = new HashSet<>();
+                for (ContainerListEntry container : dockerConnector.listContainers()) {
+                    String containerName = container.getNames()[0];
+                    Optional<ContainerNameInfo> optional = nameGenerator.parse(containerName);
+                    if (optional.isPresent()) {
+                        containers.put(container.getId(), new ContainerEntry(containerName,
+                                                                             optional.get(),
+                                                                             container.getStatus().startsWith("Up")));
+                        listedContainers.add(container.getId());
                     }
                 }
+                // forget containers which removal was missed by the events
+                containers.keySet().retainAll(listedContainers);
+                cleanupsUntilContainersListing = fullListPeriod;
+            }
+            cleanupsUntilContainersListing--;
+            int removed = 0;
+            int postponed = 0;
+            for (Map.Entry<String, ContainerEntry> entry : containers.entrySet()) {
+                String containerId = entry.getKey();
+                ContainerEntry container = entry.getValue();
+                if (container.nameInfo == null && !resolveName(containerId, container)) {
+                    continue;
+                }
+                try {
+                    // container is orphaned if not found exception is thrown
+                    environmentEngine.getMachine(container.nameInfo.getWorkspaceId(),
+                                                 container.nameInfo.getMachineId());
+                    activeContainers.add(container.name);
+                } catch (NotFoundException e) {
+                    if (removed < batchSize) {
+                        cleanUpContainer(containerId, container);
+                        removed++;
+                    } else {
+                        postponed++;
+                    }
+                } catch (Exception e) {
+                    LOG.error(format("Failed to check activity for container with name '%s'. Cause: %s",
+                                     container.name, e.getLocalizedMessage()), e);
+                }
+            }
+            if (postponed != 0) {
+                LOG.info("Removal of {} unused containers is postponed to the next cleanup", postponed);
             }
         } catch (IOException e) {
             LOG.error("Failed to get list docker containers", e);
@@ -124,17 +223,38 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
         LOG.info("List containers registered in the api: " + activeContainers);
     }
 
-    private void cleanUpContainer(ContainerListEntry container) {
-        String containerId = container.getId();
-        String containerName = container.getNames()[0];
+    /**
+     * Resolves the name of the container which was created with an event without container attributes(older docker api).
+     *
+     * @return true if the container is CHE container, false if it is not or the name is not resolved yet
+     */
+    private boolean resolveName(String containerId, ContainerEntry container) {
+        try {
+            String containerName = dockerConnector.inspectContainer(containerId).getName();
+            Optional<ContainerNameInfo> optional = nameGenerator.parse(containerName);
+            if (optional.isPresent()) {
+                container.name = containerName;
+                container.nameInfo = optional.get();
+                return true;
+            }
+        } catch (IOException e) {
+            if (!isNotFound(e)) {
+                LOG.error(format("Failed to inspect container with 'id': '%s'", containerId), e);
+                return false;
+            }
+        }
+        containers.remove(containerId);
+        return false;
+    }
 
-        killContainer(containerId, containerName, container.getStatus());
-        removeContainer(containerId, containerName);
+    private void cleanUpContainer(String containerId, ContainerEntry container) {
+        killContainer(containerId, container.name, container.running);
+        removeContainer(containerId, container.name);
     }
 
-    private void killContainer(String containerId, String containerName, String containerStatus) {
+    private void killContainer(String containerId, String containerName, boolean running) {
         try {
-            if (containerStatus.startsWith("Up")) {
+            if (running) {
                 dockerConnector.killContainer(containerId);
                 LOG.warn("Unused container with 'id': '{}' and 'name': '{}' was killed ", containerId, containerName);
             }
@@ -146,9 +266,15 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     private void removeContainer(String containerId, String containerName) {
         try {
             dockerConnector.removeContainer(create(containerId).withForce(true).withRemoveVolumes(true));
+            containers.remove(containerId);
+            removedContainers.incrementAndGet();
             LOG.warn("Unused container with 'id': '{}' and 'name': '{}' was removed", containerId, containerName);
         } catch (IOException e) {
-            LOG.error(format("Failed to delete unused container with 'id': '%s' and 'name': '%s'", containerId, containerName), e);
+            if (isNotFound(e)) {
+                containers.remove(containerId);
+            } else {
+                LOG.error(format("Failed to delete unused container with 'id': '%s' and 'name': '%s'", containerId, containerName), e);
+            }
         }
     }
 
@@ -162,21 +288,53 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     @VisibleForTesting
     void cleanNetworks() {
         try {
-            List<Network> customNetworks = dockerConnector.getNetworks(GET_NETWORKS_PARAMS);
-            // This workaround is added because of docker bug which returns null instead of empty list
-            // See https://github.com/docker/docker/issues/29946
-            if (customNetworks == null) {
-                return;
+            Map<String, Network> listedNetworks = new HashMap<>();
+            if (cleanupsUntilNetworksListing <= 0) {
+                List<Network> customNetworks = dockerConnector.getNetworks(GET_NETWORKS_PARAMS);
+                // This workaround is added because of docker bug which returns null instead of empty list
+                // See https://github.com/docker/docker/issues/29946
+                if (customNetworks == null) {
+                    return;
+                }
+                for (Network network : customNetworks) {
+                    if (isCheNetwork(network.getName())) {
+                        networks.put(network.getId(), network.getName());
+                        listedNetworks.put(network.getId(), network);
+                    }
+                }
+                // forget networks which removal was missed by the events
+                networks.keySet().retainAll(listedNetworks.keySet());
+                cleanupsUntilNetworksListing = fullListPeriod;
             }
+            cleanupsUntilNetworksListing--;
 
-            for (Network network : customNetworks) {
-                Matcher cheNetworkMatcher = CHE_NETWORK_PATTERN.matcher(network.getName());
-                if (cheNetworkMatcher.matches() && network.getContainers().isEmpty() && !additionalNetworks.contains(network.getName()) &&
-                    !runtimes.hasRuntime(cheNetworkMatcher.group(WORKSPACE_ID_REGEX_GROUP))) {
-                    try {
+            int removed = 0;
+            for (Map.Entry<String, String> entry : networks.entrySet()) {
+                Matcher cheNetworkMatcher = CHE_NETWORK_PATTERN.matcher(entry.getValue());
+                if (!cheNetworkMatcher.matches() || runtimes.hasRuntime(cheNetworkMatcher.group(WORKSPACE_ID_REGEX_GROUP))) {
+                    continue;
+                }
+                if (removed == batchSize) {
+                    LOG.info("Removal of the rest of unused networks is postponed to the next cleanup");
+                    break;
+                }
+                Network network = listedNetworks.get(entry.getKey());
+                try {
+                    if (network == null) {
+                        // only networks of the workspaces which are not running are inspected
+                        network = dockerConnector.inspectNetwork(entry.getKey());
+                    }
+                    if (network.getContainers().isEmpty()) {
+                        removed++;
                         dockerConnector.removeNetwork(network.getId());
-                    } catch (IOException e) {
-                        LOG.warn("Failed to remove abandoned network: " + network.getName(), e);
+                        networks.remove(entry.getKey());
+                        removedNetworks.incrementAndGet();
+                    }
+                } catch (IOException e) {
+                    if (isNotFound(e)) {
+                        networks.remove(entry.getKey());
+                    } else {
+                        LOG.warn("Failed to remove abandoned network: " + entry.getValue(), e);
                     }
                 }
             }
@@ -185,4 +343,76 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
         }
     }
 
+    private void onContainerEvent(Event event) {
+        final String containerId = event.getId();
+        switch (event.getStatus()) {
+            case "create":
+                final String containerName = attributeOf(event, "name");
+                if (containerName == null) {
+                    // name is resolved by the next cleanup
+                    containers.put(containerId, new ContainerEntry(null, null, false));
+                } else {
+                    nameGenerator.parse(containerName)
+                                 .ifPresent(nameInfo -> containers.put(containerId, new ContainerEntry(containerName, nameInfo, false)));
+                }
+                break;
+            case "start":
+                containers.computeIfPresent(containerId, (id, container) -> container.withRunning(true));
+                break;
+            case "die":
+                containers.computeIfPresent(containerId, (id, container) -> container.withRunning(false));
+                break;
+            case "destroy":
+                containers.remove(containerId);
+                break;
+        }
+    }
+
+    private void onNetworkEvent(Event event) {
+        final Actor actor = event.getActor();
+        if (actor == null) {
+            return;
+        }
+        if ("create".equals(event.getAction())) {
+            final String networkName = attributeOf(event, "name");
+            if (networkName != null && isCheNetwork(networkName)) {
+                networks.put(actor.getId(), networkName);
+            }
+        } else {
+            networks.remove(actor.getId());
+        }
+    }
+
+    private boolean isCheNetwork(String networkName) {
+        return CHE_NETWORK_PATTERN.matcher(networkName).matches() && !additionalNetworks.contains(networkName);
+    }
+
+    private static String attributeOf(Event event, String attribute) {
+        if (event.getActor() == null || event.getActor().getAttributes() == null) {
+            return null;
+        }
+        return event.getActor().getAttributes().get(attribute);
+    }
+
+    private static boolean isNotFound(IOException e) {
+        return e instanceof DockerException && ((DockerException)e).getStatus() == NOT_FOUND.getStatusCode();
+    }
+
+    /** CHE container tracked by the cleaner, the name is not known for containers created with events of older docker api. */
+    private static class ContainerEntry {
+        volatile String            name;
+        volatile ContainerNameInfo nameInfo;
+        volatile boolean           running;
+
+        ContainerEntry(String name, ContainerNameInfo nameInfo, boolean running) {
+            this.name = name;
+            this.nameInfo = nameInfo;
+            this.running = running;
+        }
+
+        ContainerEntry withRunning(boolean running) {
+            this.running = running;
+            return this;
+        }
+    }
 }
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link DockerImagePullCoordinator}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerImagePullCoordinatorTest {
+
+    private static final PullParams PULL_PARAMS = PullParams.create("eclipse/ubuntu_jdk8").withTag("latest");
+
+    @Mock
+    private DockerConnector docker;
+
+    private DockerImagePullCoordinator coordinator;
+    private ExecutorService            executor;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        coordinator = new DockerImagePullCoordinator();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        coordinator.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldCoalesceConcurrentPullsOfTheSameImageAndSendProgressToAllCallers() throws Exception {
+        final CountDownLatch pullStarted = new CountDownLatch(1);
+        final CountDownLatch finishPull = new CountDownLatch(1);
+        final ProgressStatus downloading = progressStatus("layer1", "Downloading");
+        final ProgressStatus complete = progressStatus("layer1", "Pull complete");
+        doAnswer(inv -> {
+            final ProgressMonitor monitor = (ProgressMonitor)inv.getArguments()[1];
+            monitor.updateProgress(downloading);
+            pullStarted.countDown();
+            finishPull.await();
+            monitor.updateProgress(complete);
+            return null;
+        }).when(docker).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+        final List<ProgressStatus> firstProgress = new CopyOnWriteArrayList<>();
+        final List<ProgressStatus> secondProgress = new CopyOnWriteArrayList<>();
+
+        final Future<?> first = executor.submit(() -> {
+            coordinator.pull(docker, PULL_PARAMS, firstProgress::add);
+            return null;
+        });
+        assertTrue(pullStarted.await(10, SECONDS));
+        final Future<?> second = executor.submit(() -> {
+            coordinator.pull(docker, PullParams.create("eclipse/ubuntu_jdk8").withTag("latest"), secondProgress::add);
+            return null;
+        });
+        while (secondProgress.isEmpty()) {
+            Thread.sleep(10);
+        }
+        finishPull.countDown();
+        first.get(10, SECONDS);
+        second.get(10, SECONDS);
+
+        verify(docker).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+        assertEquals(firstProgress, asList(downloading, complete));
+        assertEquals(secondProgress, asList(downloading, complete));
+        assertFalse(coordinator.isPulling(PULL_PARAMS));
+    }
+
+    @Test
+    public void shouldPullImageAgainWhenItIsPulledAfterPreviousPullIsFinished() throws Exception {
+        coordinator.pull(docker, PULL_PARAMS, ProgressMonitor.DEV_NULL);
+        coordinator.pull(docker, PULL_PARAMS, ProgressMonitor.DEV_NULL);
+
+        verify(docker, times(2)).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+    }
+
+    @Test(expectedExceptions = DockerException.class, expectedExceptionsMessageRegExp = "pull failed")
+    public void shouldRethrowErrorOfFailedPull() throws Exception {
+        doThrow(new DockerException("pull failed", 500)).when(docker).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+
+        coordinator.pull(docker, PULL_PARAMS, ProgressMonitor.DEV_NULL);
+    }
+
+    @Test
+    public void shouldPullImageWithOwnParametersWhenSharedPullWithOtherParametersFailed() throws Exception {
+        final PullParams withRegistry = PullParams.create("eclipse/ubuntu_jdk8").withTag("latest").withRegistry("registry:5000");
+        final PullParams sameImage = PullParams.create("registry:5000/eclipse/ubuntu_jdk8").withTag("latest");
+        final CountDownLatch finishPull = new CountDownLatch(1);
+        doAnswer(inv -> {
+            finishPull.await();
+            throw new DockerException("unauthorized", 500);
+        }).when(docker).pull(eq(withRegistry), any(ProgressMonitor.class));
+        doNothing().when(docker).pull(eq(sameImage), any(ProgressMonitor.class));
+
+        final Future<?> first = executor.submit(() -> {
+            coordinator.pull(docker, withRegistry, ProgressMonitor.DEV_NULL);
+            return null;
+        });
+        while (!coordinator.isPulling(withRegistry)) {
+            Thread.sleep(10);
+        }
+        final Future<?> second = executor.submit(() -> {
+            coordinator.pull(docker, sameImage, ProgressMonitor.DEV_NULL);
+            return null;
+        });
+        Thread.sleep(100);
+        finishPull.countDown();
+
+        second.get(10, SECONDS);
+        verify(docker).pull(eq(sameImage), any(ProgressMonitor.class));
+        try {
+            first.get(10, SECONDS);
+            throw new AssertionError("Pull with failed parameters must fail");
+        } catch (ExecutionException x) {
+            assertTrue(x.getCause() instanceof DockerException);
+        }
+    }
+
+    private static ProgressStatus progressStatus(String id, String status) {
+        final ProgressStatus progressStatus = new ProgressStatus();
+        progressStatus.setId(id);
+        progressStatus.setStatus(status);
+        return progressStatus;
+    }
+}
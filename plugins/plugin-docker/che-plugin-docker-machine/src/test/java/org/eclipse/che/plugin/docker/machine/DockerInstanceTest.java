@@ -26,11 +26,14 @@ import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -41,7 +44,9 @@ import java.io.IOException;
 
 import static java.lang.String.format;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -186,6 +191,21 @@ public class DockerInstanceTest {
         assertEquals(dockerMachineSource.getRegistry(), REGISTRY);
     }
 
+    @Test
+    public void shouldWaitUntilCommittedImageIsVisibleBeforePush() throws Exception {
+        dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true);
+        when(dockerConnectorMock.inspectImage(anyString())).thenThrow(new ImageNotFoundException("not found"))
+                                                           .thenThrow(new ImageNotFoundException("not found"))
+                                                           .thenReturn(mock(ImageInfo.class));
+
+        dockerInstance.saveToSnapshot();
+
+        InOrder inOrder = inOrder(dockerConnectorMock);
+        inOrder.verify(dockerConnectorMock).commit(any(CommitParams.class));
+        inOrder.verify(dockerConnectorMock, times(3)).inspectImage(anyString());
+        inOrder.verify(dockerConnectorMock).push(any(PushParams.class), any(ProgressMonitor.class));
+    }
+
     @Test(expectedExceptions = MachineException.class)
     public void shouldThrowMachineExceptionWhenDockerCommitFailed() throws Exception{
         when(dockerConnectorMock.commit(any(CommitParams.class))).thenThrow(new IOException("err"));
@@ -224,7 +244,8 @@ public class DockerInstanceTest {
                                   outputConsumer,
                                   dockerInstanceStopDetectorMock,
                                   mock(DockerInstanceProcessesCleaner.class),
-                                  snapshotUseRegistry);
+                                  snapshotUseRegistry,
+                                  new DockerRegistryPushLimiter(1));
     }
 
     private Machine getMachine() {
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests {@link DockerStackImagesPrePuller}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerStackImagesPrePullerTest {
+
+    @Mock
+    private StackDao                   stackDao;
+    @Mock
+    private DockerConnectorProvider    dockerProvider;
+    @Mock
+    private DockerConnector            docker;
+    @Mock
+    private DockerImagePullCoordinator pullCoordinator;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(dockerProvider.get()).thenReturn(docker);
+    }
+
+    @Test
+    public void shouldReturnDistinctImagesOfDockerImageRecipesOfConfiguredStacks() throws Exception {
+        when(stackDao.getById("stack1")).thenReturn(stack("stack1",
+                                                          dockerImage("eclipse/ubuntu_jdk8"),
+                                                          new EnvironmentRecipeImpl("compose",
+                                                                                    "application/x-yaml",
+                                                                                    "services: {}",
+                                                                                    null),
+                                                          new EnvironmentRecipeImpl("dockerfile",
+                                                                                    "text/x-dockerfile",
+                                                                                    null,
+                                                                                    "http://host/Dockerfile")));
+        when(stackDao.getById("stack2")).thenReturn(stack("stack2",
+                                                          dockerImage("eclipse/node"),
+                                                          dockerImage("eclipse/ubuntu_jdk8"),
+                                                          new EnvironmentRecipeImpl("dockerimage", null, null, null)));
+        when(stackDao.getById("stack3")).thenReturn(new StackImpl());
+
+        final DockerStackImagesPrePuller prePuller = prePuller("stack1", "stack2", "stack3");
+
+        assertEquals(prePuller.getImages(), new HashSet<>(asList("eclipse/ubuntu_jdk8", "eclipse/node")));
+    }
+
+    @Test
+    public void shouldSkipStacksWhichDoNotExist() throws Exception {
+        when(stackDao.getById("missing")).thenThrow(new NotFoundException("no stack"));
+        when(stackDao.getById("stack1")).thenReturn(stack("stack1", dockerImage("eclipse/node")));
+
+        final DockerStackImagesPrePuller prePuller = prePuller("missing", "stack1");
+
+        assertEquals(prePuller.getImages(), singleton("eclipse/node"));
+    }
+
+    @Test
+    public void shouldPullEachImageOnceThroughPullCoordinator() throws Exception {
+        when(stackDao.getById("stack1")).thenReturn(stack("stack1",
+                                                          dockerImage("localhost:5000/eclipse/ubuntu_jdk8:1.0"),
+                                                          dockerImage("eclipse/node")));
+        when(stackDao.getById("stack2")).thenReturn(stack("stack2", dockerImage("eclipse/node")));
+
+        prePuller("stack1", "stack2").prePull();
+
+        verify(pullCoordinator).pull(docker,
+                                     PullParams.create("eclipse/ubuntu_jdk8")
+                                               .withTag("1.0")
+                                               .withRegistry("localhost:5000"),
+                                     ProgressMonitor.DEV_NULL);
+        verify(pullCoordinator).pull(docker,
+                                     PullParams.create("eclipse/node").withTag("latest"),
+                                     ProgressMonitor.DEV_NULL);
+    }
+
+    @Test
+    public void shouldPullNextImageWhenPullOfPreviousOneFailed() throws Exception {
+        when(stackDao.getById("stack1")).thenReturn(stack("stack1",
+                                                          dockerImage("eclipse/ubuntu_jdk8"),
+                                                          dockerImage("eclipse/node")));
+        doThrow(new IOException("pull failed")).when(pullCoordinator)
+                                               .pull(eq(docker),
+                                                     eq(PullParams.create("eclipse/ubuntu_jdk8").withTag("latest")),
+                                                     any());
+
+        prePuller("stack1").prePull();
+
+        verify(pullCoordinator).pull(docker,
+                                     PullParams.create("eclipse/node").withTag("latest"),
+                                     ProgressMonitor.DEV_NULL);
+    }
+
+    @Test
+    public void shouldNotPullAnythingWhenStacksAreNotConfigured() throws Exception {
+        new DockerStackImagesPrePuller(stackDao, dockerProvider, pullCoordinator, null).prePull();
+
+        verify(stackDao, never()).getById(anyString());
+        verifyZeroInteractions(pullCoordinator);
+    }
+
+    private DockerStackImagesPrePuller prePuller(String... stackIds) {
+        return new DockerStackImagesPrePuller(stackDao, dockerProvider, pullCoordinator, stackIds);
+    }
+
+    private static EnvironmentRecipeImpl dockerImage(String image) {
+        return new EnvironmentRecipeImpl("dockerimage", null, null, image);
+    }
+
+    private static StackImpl stack(String id, EnvironmentRecipeImpl... recipes) {
+        final Map<String, EnvironmentImpl> environments = new HashMap<>();
+        for (int i = 0; i < recipes.length; i++) {
+            environments.put("env" + i, new EnvironmentImpl(recipes[i], emptyMap()));
+        }
+        final WorkspaceConfigImpl config = new WorkspaceConfigImpl();
+        config.setEnvironments(environments);
+        final StackImpl stack = new StackImpl();
+        stack.setId(id);
+        stack.setWorkspaceConfig(config);
+        return stack;
+    }
+}
@@ -1796,6 +1796,7 @@ public class MachineProviderImplTest {
                                            credentialsReader,
                                            dockerMachineFactory,
                                            dockerInstanceStopDetector,
+                                           new DockerImagePullCoordinator(),
                                            transmitter,
                                            jsonRpcEndpointToMachineNameHolder,
                                            devMachineServers,
@@ -17,11 +17,16 @@ import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.DockerEventsMultiplexer;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.Actor;
+import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
 import org.eclipse.che.plugin.docker.client.json.network.ContainerInNetwork;
 import org.eclipse.che.plugin.docker.client.json.network.Network;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -40,10 +45,12 @@ import java.util.Optional;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 import static java.util.Optional.of;
 import static org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator.ContainerNameInfo;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -52,6 +59,7 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Test for {@link DockerAbandonedResourcesCleaner}
@@ -76,6 +84,8 @@ public class DockerAbandonedResourcesCleanerTest {
     private static final String containerName3 = "containerName3";
     private static final String containerId3   = "containerId3";
 
+    private static final int FULL_LIST_PERIOD = 3;
+
     private static final String EXITED_STATUS  = "exited";
     private static final String RUNNING_STATUS = "Up 6 hour ago";
 
@@ -97,6 +107,8 @@ public class DockerAbandonedResourcesCleanerTest {
     private DockerContainerNameGenerator nameGenerator;
     @Mock
     private WorkspaceRuntimes            workspaceRuntimes;
+    @Mock
+    private DockerEventsMultiplexer      eventsMultiplexer;
 
     @Mock
     private Instance instance;
@@ -150,7 +162,10 @@ public class DockerAbandonedResourcesCleanerTest {
                                                           dockerConnectorProvider,
                                                           nameGenerator,
                                                           workspaceRuntimes,
-                                                          additionalNetworks));
+                                                          eventsMultiplexer,
+                                                          additionalNetworks,
+                                                          10,
+                                                          FULL_LIST_PERIOD));
 
         when(environmentEngine.getMachine(workspaceId1, machineId1)).thenReturn(instance);
         when(environmentEngine.getMachine(workspaceId2, machineId2)).thenThrow(new NotFoundException("test"));
@@ -347,7 +362,10 @@ public class DockerAbandonedResourcesCleanerTest {
                                                           dockerConnectorProvider,
                                                           nameGenerator,
                                                           workspaceRuntimes,
-                                                          additionalNetworks));
+                                                          eventsMultiplexer,
+                                                          additionalNetworks,
+                                                          10,
+                                                          FULL_LIST_PERIOD));
         networks.add(additionalNetwork);
 
         // when
@@ -367,7 +385,10 @@ public class DockerAbandonedResourcesCleanerTest {
                                                           dockerConnectorProvider,
                                                           nameGenerator,
                                                           workspaceRuntimes,
-                                                          additionalNetworks));
+                                                          eventsMultiplexer,
+                                                          additionalNetworks,
+                                                          10,
+                                                          FULL_LIST_PERIOD));
 
         when(additionalNetwork.getName()).thenReturn(additionalNetworkName);
         networks.add(additionalNetwork);
@@ -427,4 +448,160 @@ public class DockerAbandonedResourcesCleanerTest {
         verify(dockerConnector).removeNetwork(abandonedNetworkId);
     }
 
+    @Test
+    public void shouldListContainersOnlyOnceAndTrackContainersByEvents() throws Exception {
+        cleaner.subscribe();
+        cleaner.cleanContainers();
+        verify(dockerConnector, times(2)).removeContainer(Matchers.anyObject());
+
+        final String containerName4 = "containerName4";
+        final String containerId4 = "containerId4";
+        final ContainerNameInfo containerNameInfo4 = mock(ContainerNameInfo.class);
+        when(nameGenerator.parse(containerName4)).thenReturn(of(containerNameInfo4));
+        when(containerNameInfo4.getMachineId()).thenReturn(machineId2);
+        when(containerNameInfo4.getWorkspaceId()).thenReturn(workspaceId2);
+        final MessageProcessor<Event> containerEvents = captureProcessor("container");
+        containerEvents.process(new Event().withStatus("create")
+                                           .withId(containerId4)
+                                           .withActor(new Actor().withId(containerId4)
+                                                                 .withAttributes(singletonMap("name", containerName4))));
+        containerEvents.process(new Event().withStatus("destroy").withId(containerId1));
+
+        cleaner.cleanContainers();
+
+        verify(dockerConnector).listContainers();
+        verify(environmentEngine).getMachine(workspaceId1, machineId1);
+        verify(dockerConnector, never()).killContainer(containerId4);
+        verify(dockerConnector).removeContainer(RemoveContainerParams.create(containerId4).withForce(true).withRemoveVolumes(true));
+        assertEquals(cleaner.getRemovedContainersCount(), 3);
+    }
+
+    @Test
+    public void shouldRemoveAtMostBatchSizeOfContainersPerCleanup() throws Exception {
+        cleaner = new DockerAbandonedResourcesCleaner(environmentEngine,
+                                                      dockerConnectorProvider,
+                                                      nameGenerator,
+                                                      workspaceRuntimes,
+                                                      eventsMultiplexer,
+                                                      additionalNetworks,
+                                                      1,
+                                                      FULL_LIST_PERIOD);
+
+        cleaner.cleanContainers();
+        assertEquals(cleaner.getRemovedContainersCount(), 1);
+
+        cleaner.cleanContainers();
+        assertEquals(cleaner.getRemovedContainersCount(), 2);
+
+        cleaner.cleanContainers();
+        assertEquals(cleaner.getRemovedContainersCount(), 2);
+        verify(dockerConnector).listContainers();
+        verify(dockerConnector, times(2)).removeContainer(Matchers.anyObject());
+    }
+
+    @Test
+    public void shouldInspectAndRemoveAbandonedNetworkCreatedAfterNetworksAreListed() throws Exception {
+        cleaner.subscribe();
+        cleaner.cleanNetworks();
+        when(dockerConnector.inspectNetwork(abandonedNetworkId)).thenReturn(abandonedNetwork);
+
+        captureProcessor("network").process(new Event().withType("network")
+                                                       .withAction("create")
+                                                       .withActor(new Actor().withId(abandonedNetworkId)
+                                                                             .withAttributes(singletonMap("name",
+                                                                                                          abandonedNetworkName))));
+        cleaner.cleanNetworks();
+
+        verify(dockerConnector).getNetworks(any());
+        verify(dockerConnector).removeNetwork(abandonedNetworkId);
+        assertEquals(cleaner.getRemovedNetworksCount(), 1);
+    }
+
+    @Test
+    public void shouldReconcileTrackedContainersWithListedOnesOnEachFullListPeriodCleanup() throws Exception {
+        when(environmentEngine.getMachine(anyString(), anyString())).thenReturn(instance);
+        cleaner.cleanContainers();
+
+        // container2 is destroyed and container4 is created while events are missed
+        final String containerName4 = "containerName4";
+        final String containerId4 = "containerId4";
+        final ContainerListEntry container4 = mock(ContainerListEntry.class);
+        when(container4.getNames()).thenReturn(new String[] {containerName4});
+        when(container4.getStatus()).thenReturn(EXITED_STATUS);
+        when(container4.getId()).thenReturn(containerId4);
+        final ContainerNameInfo containerNameInfo4 = mock(ContainerNameInfo.class);
+        when(nameGenerator.parse(containerName4)).thenReturn(of(containerNameInfo4));
+        when(containerNameInfo4.getMachineId()).thenReturn("machineid4");
+        when(containerNameInfo4.getWorkspaceId()).thenReturn("workspaceid4");
+        when(environmentEngine.getMachine("workspaceid4", "machineid4")).thenThrow(new NotFoundException("test"));
+        when(dockerConnector.listContainers()).thenReturn(asList(container1, container3, container4));
+
+        for (int i = 1; i < FULL_LIST_PERIOD; i++) {
+            cleaner.cleanContainers();
+        }
+        verify(dockerConnector).listContainers();
+        verify(dockerConnector, never()).removeContainer(Matchers.anyObject());
+
+        cleaner.cleanContainers();
+
+        verify(dockerConnector, times(2)).listContainers();
+        verify(dockerConnector, never()).killContainer(containerId4);
+        verify(dockerConnector).removeContainer(RemoveContainerParams.create(containerId4).withForce(true).withRemoveVolumes(true));
+
+        // the destroyed container is not tracked any more
+        when(environmentEngine.getMachine(anyString(), anyString())).thenThrow(new NotFoundException("test"));
+        cleaner.cleanContainers();
+
+        verify(dockerConnector, times(2)).listContainers();
+        verify(dockerConnector).removeContainer(RemoveContainerParams.create(containerId1).withForce(true).withRemoveVolumes(true));
+        verify(dockerConnector).removeContainer(RemoveContainerParams.create(containerId3).withForce(true).withRemoveVolumes(true));
+        verify(dockerConnector, never()).removeContainer(RemoveContainerParams.create(containerId2).withForce(true).withRemoveVolumes(true));
+    }
+
+    @Test
+    public void shouldListContainersAgainWhenListingFailed() throws Exception {
+        when(dockerConnector.listContainers()).thenThrow(new IOException("docker is not available"))
+                                              .thenReturn(asList(container1, container2, container3));
+
+        cleaner.cleanContainers();
+        cleaner.cleanContainers();
+
+        verify(dockerConnector, times(2)).listContainers();
+        verify(dockerConnector, times(2)).removeContainer(Matchers.anyObject());
+    }
+
+    @Test
+    public void shouldReconcileTrackedNetworksWithListedOnesOnEachFullListPeriodCleanup() throws Exception {
+        when(workspaceRuntimes.hasRuntime(anyString())).thenReturn(true);
+        networks.add(usedNetwork);
+        cleaner.cleanNetworks();
+
+        // usedNetwork is removed and abandonedNetwork is created while events are missed
+        networks.clear();
+        networks.add(abandonedNetwork);
+        when(workspaceRuntimes.hasRuntime(anyString())).thenReturn(false);
+        when(dockerConnector.inspectNetwork(usedNetworkId)).thenReturn(usedNetwork);
+        usedNetworkContainers.put(containerId1, containerInNetwork1);
+
+        for (int i = 1; i < FULL_LIST_PERIOD; i++) {
+            cleaner.cleanNetworks();
+        }
+        verify(dockerConnector).getNetworks(any());
+        verify(dockerConnector, never()).removeNetwork(abandonedNetworkId);
+
+        cleaner.cleanNetworks();
+
+        verify(dockerConnector, times(2)).getNetworks(any());
+        verify(dockerConnector).removeNetwork(abandonedNetworkId);
+        // the network is not inspected any more after it disappeared from the listing
+        verify(dockerConnector, times(FULL_LIST_PERIOD - 1)).inspectNetwork(usedNetworkId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MessageProcessor<Event> captureProcessor(String type) {
+        final ArgumentCaptor<MessageProcessor> captor = ArgumentCaptor.forClass(MessageProcessor.class);
+        verify(eventsMultiplexer).subscribe(eq(type), anySetOf(String.class), captor.capture());
+        return (MessageProcessor<Event>)captor.getValue();
+    }
+
 }
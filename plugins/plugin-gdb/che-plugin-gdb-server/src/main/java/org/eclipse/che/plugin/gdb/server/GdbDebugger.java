@@ -25,35 +25,24 @@ import org.eclipse.che.api.debug.shared.model.action.StepOverAction;
 import org.eclipse.che.api.debug.shared.model.impl.DebuggerInfoImpl;
 import org.eclipse.che.api.debug.shared.model.impl.SimpleValueImpl;
 import org.eclipse.che.api.debug.shared.model.impl.StackFrameDumpImpl;
-import org.eclipse.che.api.debug.shared.model.impl.VariableImpl;
-import org.eclipse.che.api.debug.shared.model.impl.VariablePathImpl;
 import org.eclipse.che.api.debug.shared.model.impl.event.BreakpointActivatedEventImpl;
 import org.eclipse.che.api.debug.shared.model.impl.event.DisconnectEventImpl;
 import org.eclipse.che.api.debug.shared.model.impl.event.SuspendEventImpl;
 import org.eclipse.che.api.debugger.server.Debugger;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
-import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.plugin.gdb.server.exception.GdbException;
 import org.eclipse.che.plugin.gdb.server.exception.GdbTerminatedException;
-import org.eclipse.che.plugin.gdb.server.parser.GdbContinue;
-import org.eclipse.che.plugin.gdb.server.parser.GdbDirectory;
-import org.eclipse.che.plugin.gdb.server.parser.GdbInfoBreak;
-import org.eclipse.che.plugin.gdb.server.parser.GdbInfoLine;
-import org.eclipse.che.plugin.gdb.server.parser.GdbInfoProgram;
-import org.eclipse.che.plugin.gdb.server.parser.GdbPrint;
-import org.eclipse.che.plugin.gdb.server.parser.GdbRun;
 import org.eclipse.che.plugin.gdb.server.parser.GdbVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import static java.nio.file.Files.exists;
-import static java.util.Collections.singletonList;
 
 /**
  * Connects to GDB.
@@ -72,15 +61,16 @@ public class GdbDebugger implements Debugger {
 
     private Location currentLocation;
 
-    private final Gdb              gdb;
-    private final DebuggerCallback debuggerCallback;
+    private final GdbMi             gdb;
+    private final GdbFrameVariables frameVariables;
+    private final DebuggerCallback  debuggerCallback;
 
     GdbDebugger(String host,
                 int port,
                 String name,
                 String version,
                 String file,
-                Gdb gdb,
+                GdbMi gdb,
                 DebuggerCallback debuggerCallback) {
         this.host = host;
         this.port = port;
@@ -88,6 +78,7 @@ public class GdbDebugger implements Debugger {
         this.version = version;
         this.file = file;
         this.gdb = gdb;
+        this.frameVariables = new GdbFrameVariables(gdb);
         this.debuggerCallback = debuggerCallback;
     }
 
@@ -141,16 +132,16 @@ public class GdbDebugger implements Debugger {
                                     String srcDirectory,
                                     DebuggerCallback debuggerCallback) throws DebuggerException {
 
-        Gdb gdb;
+        GdbMi gdb;
         try {
-            gdb = Gdb.start();
+            gdb = GdbMi.start();
         } catch (IOException e) {
             throw new DebuggerException("Can't start GDB: " + e.getMessage(), e);
         }
 
         try {
-            GdbDirectory directory = gdb.directory(srcDirectory);
-            LOG.debug("Source directories: " + directory.getDirectories());
+            String sourcePath = gdb.directory(srcDirectory);
+            LOG.debug("Source directories: " + sourcePath);
 
             gdb.file(file);
             if (port > 0) {
@@ -198,7 +189,7 @@ public class GdbDebugger implements Debugger {
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Can't add breakpoint: " + breakpoint + ". " + e.getMessage(), e);
         }
     }
@@ -206,15 +197,11 @@ public class GdbDebugger implements Debugger {
     @Override
     public void deleteBreakpoint(Location location) throws DebuggerException {
         try {
-            if (location.getTarget() == null) {
-                gdb.clear(location.getLineNumber());
-            } else {
-                gdb.clear(location.getTarget(), location.getLineNumber());
-            }
+            gdb.clear(location.getTarget(), location.getLineNumber());
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Can't delete breakpoint: " + location + ". " + e.getMessage(), e);
         }
     }
@@ -226,7 +213,7 @@ public class GdbDebugger implements Debugger {
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Can't delete all breakpoints. " + e.getMessage(), e);
         }
     }
@@ -234,12 +221,11 @@ public class GdbDebugger implements Debugger {
     @Override
     public List<Breakpoint> getAllBreakpoints() throws DebuggerException {
         try {
-            GdbInfoBreak gdbInfoBreak = gdb.infoBreak();
-            return gdbInfoBreak.getBreakpoints();
+            return gdb.infoBreak();
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Can't get all breakpoints. " + e.getMessage(), e);
         }
     }
@@ -255,28 +241,12 @@ public class GdbDebugger implements Debugger {
                 }
             }
 
-            Breakpoint breakpoint;
-            if (isRemoteConnection()) {
-                GdbContinue gdbContinue = gdb.cont();
-                breakpoint = gdbContinue.getBreakpoint();
-            } else {
-                GdbRun gdbRun = gdb.run();
-                breakpoint = gdbRun.getBreakpoint();
-            }
-
-            if (breakpoint != null) {
-                currentLocation = breakpoint.getLocation();
-                debuggerCallback.onEvent(new SuspendEventImpl(breakpoint.getLocation()));
-            } else {
-                GdbInfoProgram gdbInfoProgram = gdb.infoProgram();
-                if (gdbInfoProgram.getStoppedAddress() == null) {
-                    disconnect();
-                }
-            }
+            Location location = isRemoteConnection() ? gdb.cont() : gdb.run();
+            onStopped(location);
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Error during running. " + e.getMessage(), e);
         }
     }
@@ -284,13 +254,32 @@ public class GdbDebugger implements Debugger {
     @Override
     public void suspend() throws DebuggerException {
         try {
-            currentLocation = gdb.suspend(file, isRemoteConnection());
-            debuggerCallback.onEvent(new SuspendEventImpl(currentLocation));
+            // location is sent by the resume or start which waits for the program to stop, if any
+            Location location = gdb.interrupt(isRemoteConnection());
+            if (location != null) {
+                onStopped(location);
+            }
+        } catch (GdbTerminatedException e) {
+            disconnect();
+            throw e;
         } catch (IOException | InterruptedException e) {
             throw new DebuggerException("Can not suspend debugger session. " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Notifies about the location where the program is stopped or disconnects if the program is finished.
+     */
+    private void onStopped(@Nullable Location location) {
+        if (location == null) {
+            disconnect();
+            return;
+        }
+
+        currentLocation = location;
+        debuggerCallback.onEvent(new SuspendEventImpl(location));
+    }
+
     private boolean isRemoteConnection() {
         return getPort() > 0;
     }
@@ -298,18 +287,11 @@ public class GdbDebugger implements Debugger {
     @Override
     public void stepOver(StepOverAction action) throws DebuggerException {
         try {
-            GdbInfoLine gdbInfoLine = gdb.next();
-            if (gdbInfoLine == null) {
-                disconnect();
-                return;
-            }
-
-            currentLocation = gdbInfoLine.getLocation();
-            debuggerCallback.onEvent(new SuspendEventImpl(gdbInfoLine.getLocation()));
+            onStopped(gdb.next());
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Step into error. " + e.getMessage(), e);
         }
     }
@@ -317,18 +299,11 @@ public class GdbDebugger implements Debugger {
     @Override
     public void stepInto(StepIntoAction action) throws DebuggerException {
         try {
-            GdbInfoLine gdbInfoLine = gdb.step();
-            if (gdbInfoLine == null) {
-                disconnect();
-                return;
-            }
-
-            currentLocation = gdbInfoLine.getLocation();
-            debuggerCallback.onEvent(new SuspendEventImpl(gdbInfoLine.getLocation()));
+            onStopped(gdb.step());
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Step into error. " + e.getMessage(), e);
         }
     }
@@ -336,18 +311,15 @@ public class GdbDebugger implements Debugger {
     @Override
     public void stepOut(StepOutAction action) throws DebuggerException {
         try {
-            GdbInfoLine gdbInfoLine = gdb.finish();
-            if (gdbInfoLine == null) {
-                disconnect();
-                return;
-            }
-
-            currentLocation = gdbInfoLine.getLocation();
-            debuggerCallback.onEvent(new SuspendEventImpl(gdbInfoLine.getLocation()));
+            onStopped(gdb.finish());
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (GdbException e) {
+            // e.g. finish in the outermost frame, program is still suspended at the current location
+            debuggerCallback.onEvent(new SuspendEventImpl(currentLocation));
+            throw new DebuggerException("Step out error. " + e.getMessage(), e);
+        } catch (IOException | InterruptedException e) {
             throw new DebuggerException("Step out error. " + e.getMessage(), e);
         }
     }
@@ -355,22 +327,11 @@ public class GdbDebugger implements Debugger {
     @Override
     public void resume(ResumeAction action) throws DebuggerException {
         try {
-            GdbContinue gdbContinue = gdb.cont();
-            Breakpoint breakpoint = gdbContinue.getBreakpoint();
-
-            if (breakpoint != null) {
-                currentLocation = breakpoint.getLocation();
-                debuggerCallback.onEvent(new SuspendEventImpl(breakpoint.getLocation()));
-            } else {
-                GdbInfoProgram gdbInfoProgram = gdb.infoProgram();
-                if (gdbInfoProgram.getStoppedAddress() == null) {
-                    disconnect();
-                }
-            }
+            onStopped(gdb.cont());
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Resume error. " + e.getMessage(), e);
         }
     }
@@ -386,7 +347,7 @@ public class GdbDebugger implements Debugger {
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Can't set value for " + variable.getName() + ". " + e.getMessage(), e);
         }
     }
@@ -399,12 +360,11 @@ public class GdbDebugger implements Debugger {
                 throw new DebuggerException("Variable path is empty");
             }
 
-            GdbPrint gdbPrint = gdb.print(path.get(0));
-            return new SimpleValueImpl(Collections.emptyList(), gdbPrint.getValue());
+            return new SimpleValueImpl(Collections.emptyList(), gdb.evaluate(path.get(0)));
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Can't get value for " + variablePath + ". " + e.getMessage(), e);
         }
     }
@@ -412,12 +372,11 @@ public class GdbDebugger implements Debugger {
     @Override
     public String evaluate(String expression) throws DebuggerException {
         try {
-            GdbPrint gdbPrint = gdb.print(expression);
-            return gdbPrint.getValue();
+            return gdb.evaluate(expression);
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Can't evaluate '" + expression + "'. " + e.getMessage(), e);
         }
     }
@@ -428,31 +387,12 @@ public class GdbDebugger implements Debugger {
     @Override
     public StackFrameDump dumpStackFrame() throws DebuggerException {
         try {
-            Map<String, String> locals = gdb.infoLocals().getVariables();
-            locals.putAll(gdb.infoArgs().getVariables());
-
-            List<Variable> variables = new ArrayList<>(locals.size());
-            for (Map.Entry<String, String> e : locals.entrySet()) {
-                String varName = e.getKey();
-                String varValue = e.getValue();
-                String varType;
-                try {
-                    varType = gdb.ptype(varName).getType();
-                } catch (GdbParseException pe) {
-                    LOG.warn(pe.getMessage(), pe);
-                    varType = "";
-                }
-
-                VariablePath variablePath = new VariablePathImpl(singletonList(varName));
-                VariableImpl variable = new VariableImpl(varType, varName, varValue, true, variablePath, Collections.emptyList(), true);
-                variables.add(variable);
-            }
-
+            List<Variable> variables = frameVariables.refresh();
             return new StackFrameDumpImpl(Collections.emptyList(), variables);
         } catch (GdbTerminatedException e) {
             disconnect();
             throw e;
-        } catch (IOException | GdbParseException | InterruptedException e) {
+        } catch (IOException | GdbException | InterruptedException e) {
             throw new DebuggerException("Can't dump stack frame. " + e.getMessage(), e);
         }
     }
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server;
+
+import org.eclipse.che.api.debug.shared.model.Variable;
+import org.eclipse.che.api.debug.shared.model.impl.VariableImpl;
+import org.eclipse.che.api.debug.shared.model.impl.VariablePathImpl;
+import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
+import org.eclipse.che.plugin.gdb.server.mi.MiRecord;
+import org.eclipse.che.plugin.gdb.server.mi.MiTuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.plugin.gdb.server.mi.MiParser.quote;
+
+/**
+ * Variables of the current frame backed by GDB variable objects.
+ *
+ * <p>Variable object is created once for each variable of the frame, then values of
+ * all the variables are refreshed by a single '-var-update' command which returns only
+ * the changed values. Values of structures and arrays are evaluated on each refresh,
+ * since variable objects show them as '{...}'. All the commands of a refresh are sent
+ * at once(see {@link GdbMi#sendAll(List)}).
+ *
+ * <p>Variable objects are deleted when the current frame is changed, i.e. another
+ * function is stopped in or the depth of the stack is changed.
+ */
+class GdbFrameVariables {
+    private static final Logger LOG = LoggerFactory.getLogger(GdbFrameVariables.class);
+
+    private final GdbMi                       gdb;
+    private final Map<String, VariableObject> objects;
+
+    private String frame;
+
+    GdbFrameVariables(GdbMi gdb) {
+        this.gdb = gdb;
+        this.objects = new LinkedHashMap<>();
+    }
+
+    /**
+     * Returns arguments and local variables of the current frame.
+     */
+    List<Variable> refresh() throws IOException, InterruptedException, DebuggerException {
+        List<MiRecord> frameInfo = gdb.sendAll(Arrays.asList("-stack-info-frame",
+                                                             "-stack-info-depth",
+                                                             "-stack-list-variables --no-values"));
+        for (MiRecord record : frameInfo) {
+            if (record.isError()) {
+                throw new DebuggerException(record.getResults().getString("msg"));
+            }
+        }
+
+        MiTuple frameTuple = frameInfo.get(0).getResults().getTuple("frame");
+        String currentFrame = (frameTuple != null ? frameTuple.getString("func") : null) + "@"
+                              + frameInfo.get(1).getResults().getString("depth");
+        Set<String> names = new LinkedHashSet<>();
+        for (MiTuple variable : frameInfo.get(2).getResults().getTuples("variables")) {
+            names.add(variable.getString("name"));
+        }
+
+        List<String> commands = new ArrayList<>();
+        if (!currentFrame.equals(frame)) {
+            deleteAll(commands);
+            frame = currentFrame;
+        }
+        for (Iterator<VariableObject> it = objects.values().iterator(); it.hasNext(); ) {
+            VariableObject object = it.next();
+            if (!names.contains(object.expression)) {
+                commands.add("-var-delete " + object.name);
+                it.remove();
+            }
+        }
+        update(commands, names);
+
+        List<Variable> variables = new ArrayList<>(objects.size());
+        for (VariableObject object : objects.values()) {
+            variables.add(new VariableImpl(object.type,
+                                           object.expression,
+                                           object.value,
+                                           true,
+                                           new VariablePathImpl(singletonList(object.expression)),
+                                           Collections.emptyList(),
+                                           true));
+        }
+        return variables;
+    }
+
+    /**
+     * Deletes all variable objects.
+     */
+    void clear() throws IOException, InterruptedException, DebuggerException {
+        List<String> commands = new ArrayList<>();
+        deleteAll(commands);
+        gdb.sendAll(commands);
+    }
+
+    private void deleteAll(List<String> commands) {
+        for (VariableObject object : objects.values()) {
+            commands.add("-var-delete " + object.name);
+        }
+        objects.clear();
+    }
+
+    /**
+     * Sends given commands along with the commands which update existed
+     * variable objects and create the missed ones.
+     */
+    private void update(List<String> commands, Set<String> names) throws IOException,
+                                                                         InterruptedException,
+                                                                         DebuggerException {
+        int updateIndex = -1;
+        if (!objects.isEmpty()) {
+            updateIndex = commands.size();
+            commands.add("-var-update --all-values *");
+        }
+
+        List<VariableObject> composites = new ArrayList<>();
+        for (VariableObject object : objects.values()) {
+            if (object.isComposite()) {
+                commands.add("-data-evaluate-expression " + quote(object.expression));
+                composites.add(object);
+            }
+        }
+
+        List<String> created = new ArrayList<>();
+        for (String name : names) {
+            if (!objects.containsKey(name)) {
+                commands.add("-var-create - * " + quote(name));
+                created.add(name);
+            }
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        List<MiRecord> results = gdb.sendAll(commands);
+
+        List<String> recreated = new ArrayList<>();
+        List<String> recreateCommands = new ArrayList<>();
+        if (updateIndex >= 0) {
+            for (MiTuple change : results.get(updateIndex).getResults().getTuples("changelist")) {
+                VariableObject object = findByName(change.getString("name"));
+                if (object == null) {
+                    continue;
+                }
+                if (!"true".equals(change.getString("in_scope")) || "true".equals(change.getString("type_changed"))) {
+                    // variable object of the other frame, e.g. after the function is called again
+                    objects.remove(object.expression);
+                    recreateCommands.add("-var-delete " + object.name);
+                    recreateCommands.add("-var-create - * " + quote(object.expression));
+                    recreated.add(object.expression);
+                } else if (!object.isComposite() && change.getString("value") != null) {
+                    object.value = change.getString("value");
+                }
+            }
+        }
+
+        int index = commands.size() - created.size() - composites.size();
+        for (VariableObject composite : composites) {
+            composite.value = valueOf(results.get(index++));
+        }
+        List<VariableObject> createdComposites = new ArrayList<>();
+        for (String name : created) {
+            create(name, results.get(index++), createdComposites);
+        }
+        if (!recreated.isEmpty()) {
+            results = gdb.sendAll(recreateCommands);
+            for (int i = 0; i < recreated.size(); i++) {
+                create(recreated.get(i), results.get(i * 2 + 1), createdComposites);
+            }
+        }
+
+        if (!createdComposites.isEmpty()) {
+            List<String> evaluations = new ArrayList<>(createdComposites.size());
+            for (VariableObject composite : createdComposites) {
+                evaluations.add("-data-evaluate-expression " + quote(composite.expression));
+            }
+            results = gdb.sendAll(evaluations);
+            for (int i = 0; i < createdComposites.size(); i++) {
+                createdComposites.get(i).value = valueOf(results.get(i));
+            }
+        }
+    }
+
+    private void create(String expression, MiRecord result, List<VariableObject> createdComposites) {
+        if (result.isError()) {
+            LOG.debug("Can't create variable object for '{}': {}", expression, result.getResults().getString("msg"));
+            return;
+        }
+
+        MiTuple results = result.getResults();
+        VariableObject object = new VariableObject(results.getString("name"),
+                                                   expression,
+                                                   results.getString("type"),
+                                                   results.getString("value"),
+                                                   !"0".equals(results.getString("numchild")));
+        if (object.isComposite()) {
+            createdComposites.add(object);
+        }
+        objects.put(expression, object);
+    }
+
+    private static String valueOf(MiRecord evaluation) {
+        return evaluation.isError() ? evaluation.getResults().getString("msg") : evaluation.getResults().getString("value");
+    }
+
+    private VariableObject findByName(String name) {
+        for (VariableObject object : objects.values()) {
+            if (object.name.equals(name)) {
+                return object;
+            }
+        }
+        return null;
+    }
+
+    private static class VariableObject {
+        /** Name of the variable object assigned by GDB, e.g. 'var1'. */
+        final String  name;
+        final String  expression;
+        final String  type;
+        final boolean composite;
+        String value;
+
+        VariableObject(String name, String expression, String type, String value, boolean composite) {
+            this.name = name;
+            this.expression = expression;
+            this.type = type;
+            this.value = value;
+            this.composite = composite;
+        }
+
+        boolean isComposite() {
+            return composite;
+        }
+    }
+}
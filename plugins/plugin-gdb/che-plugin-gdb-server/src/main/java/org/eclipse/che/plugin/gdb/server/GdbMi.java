@@ -0,0 +1,528 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server;
+
+import org.eclipse.che.api.debug.shared.model.Breakpoint;
+import org.eclipse.che.api.debug.shared.model.Location;
+import org.eclipse.che.api.debug.shared.model.impl.BreakpointImpl;
+import org.eclipse.che.api.debug.shared.model.impl.LocationImpl;
+import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.plugin.gdb.server.exception.GdbException;
+import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
+import org.eclipse.che.plugin.gdb.server.exception.GdbTerminatedException;
+import org.eclipse.che.plugin.gdb.server.mi.MiParser;
+import org.eclipse.che.plugin.gdb.server.mi.MiRecord;
+import org.eclipse.che.plugin.gdb.server.mi.MiTuple;
+import org.eclipse.che.plugin.gdb.server.parser.GdbOutput;
+import org.eclipse.che.plugin.gdb.server.parser.GdbVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.eclipse.che.plugin.gdb.server.mi.MiParser.quote;
+
+/**
+ * GDB driven through the machine interface(GDB/MI).
+ *
+ * <p>Output of GDB is read by a dedicated thread as soon as it is available and
+ * parsed into {@link MiRecord}s. Each command is sent with a unique token, so
+ * several commands may be sent without waiting for the results of the previous
+ * ones(see {@link #sendAll(List)}), results are matched to the commands by the tokens.
+ *
+ * <p>Execution commands(e.g. '-exec-next') wait for the asynchronous '*stopped'
+ * record which already contains the location, so no extra commands are needed
+ * to find out where the program is stopped. Execution command fails if the program
+ * isn't stopped in {@link #STOP_TIMEOUT_MIN} minutes, the program keeps running then
+ * and the location where it is stopped is returned by {@link #interrupt(boolean)}.
+ */
+public class GdbMi {
+    private static final Logger LOG          = LoggerFactory.getLogger(GdbMi.class);
+    private static final String PROCESS_NAME = "gdb";
+    private static final String PROMPT       = "(gdb)";
+
+    static final long STOP_TIMEOUT_MIN = 10;
+
+    private final Process                                   process;
+    private final int                                       pid;
+    private final Writer                                    writer;
+    private final Thread                                    outputReader;
+    private final AtomicInteger                             tokens;
+    private final Map<Integer, CompletableFuture<MiRecord>> pending;
+    /** '*stopped' records, empty value is put into the queue when GDB is terminated. */
+    private final BlockingQueue<Optional<MiRecord>>         stops;
+    private final long                                      stopTimeoutMs;
+
+    private volatile boolean    terminated;
+    private volatile boolean    waitingForStop;
+    private volatile boolean    running;
+    private volatile int        programPid;
+    private          GdbVersion gdbVersion;
+
+    GdbMi(@Nullable Process process, InputStream in, OutputStream out) {
+        this(process, in, out, MINUTES.toMillis(STOP_TIMEOUT_MIN));
+    }
+
+    GdbMi(@Nullable Process process, InputStream in, OutputStream out, long stopTimeoutMs) {
+        this.process = process;
+        this.stopTimeoutMs = stopTimeoutMs;
+        this.pid = process != null ? GdbProcess.pidOf(process) : -1;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.tokens = new AtomicInteger();
+        this.pending = new ConcurrentHashMap<>();
+        this.stops = new LinkedBlockingQueue<>();
+        this.programPid = -1;
+
+        outputReader = new OutputReader(in);
+        outputReader.setDaemon(true);
+        outputReader.start();
+
+        try {
+            MiRecord version = send("-gdb-version");
+            gdbVersion = GdbVersion.parse(GdbOutput.of(version.getOutput()));
+        } catch (IOException | InterruptedException | DebuggerException e) {
+            LOG.error(e.getMessage(), e);
+            gdbVersion = new GdbVersion("Unknown", "Unknown");
+        }
+    }
+
+    /**
+     * Starts GDB.
+     */
+    public static GdbMi start() throws IOException {
+        Process process = new ProcessBuilder(PROCESS_NAME, "--interpreter=mi2", "--quiet").start();
+        return new GdbMi(process, process.getInputStream(), process.getOutputStream());
+    }
+
+    public GdbVersion getGdbVersion() {
+        return gdbVersion;
+    }
+
+    /**
+     * '-exec-run' command.
+     *
+     * @return location where the program is stopped or null if the program is finished
+     */
+    @Nullable
+    public Location run() throws IOException, InterruptedException, DebuggerException {
+        return execute("-exec-run");
+    }
+
+    /**
+     * '-exec-continue' command.
+     *
+     * @return location where the program is stopped or null if the program is finished
+     */
+    @Nullable
+    public Location cont() throws IOException, InterruptedException, DebuggerException {
+        return execute("-exec-continue");
+    }
+
+    /**
+     * '-exec-step' command.
+     *
+     * @return location where the program is stopped or null if the program is finished
+     */
+    @Nullable
+    public Location step() throws IOException, InterruptedException, DebuggerException {
+        return execute("-exec-step");
+    }
+
+    /**
+     * '-exec-next' command.
+     *
+     * @return location where the program is stopped or null if the program is finished
+     */
+    @Nullable
+    public Location next() throws IOException, InterruptedException, DebuggerException {
+        return execute("-exec-next");
+    }
+
+    /**
+     * '-exec-finish' command.
+     *
+     * @return location where the program is stopped or null if the program is finished
+     */
+    @Nullable
+    public Location finish() throws IOException, InterruptedException, DebuggerException {
+        return execute("-exec-finish");
+    }
+
+    /**
+     * Interrupts the running program, the location where the program is stopped
+     * is returned by the execution command which is waiting for the program to stop.
+     *
+     * @param isRemoteConnection
+     *         if true GDB itself is interrupted, so it interrupts the remote target
+     * @return location where the program is stopped if no execution command is waiting
+     * for the program to stop(e.g. the command has timed out), null otherwise
+     */
+    @Nullable
+    public Location interrupt(boolean isRemoteConnection) throws IOException, InterruptedException, DebuggerException {
+        int target = isRemoteConnection ? pid : programPid;
+        if (target < 0) {
+            throw new DebuggerException("Process not found.");
+        }
+        if (!waitingForStop) {
+            // the program might be stopped after the execution command has timed out
+            Optional<MiRecord> stopped = stops.poll();
+            if (stopped != null) {
+                if (!stopped.isPresent()) {
+                    throw new GdbTerminatedException("GDB has been terminated");
+                }
+                return locationOf(stopped.get());
+            }
+            if (!running) {
+                return null;
+            }
+        }
+        Runtime.getRuntime().exec("kill -SIGINT " + target).waitFor();
+        return waitingForStop ? null : awaitStop("interrupt");
+    }
+
+    /**
+     * '-gdb-set var' command.
+     */
+    public void setVar(String varName, String value) throws IOException, InterruptedException, DebuggerException {
+        send("-gdb-set var " + varName + "=" + value);
+    }
+
+    /**
+     * '-data-evaluate-expression' command.
+     */
+    public String evaluate(String expression) throws IOException, InterruptedException, DebuggerException {
+        return send("-data-evaluate-expression " + quote(expression)).getResults().getString("value");
+    }
+
+    /**
+     * '-break-insert' command.
+     */
+    public void breakpoint(@NotNull String file, int lineNumber) throws IOException, InterruptedException, DebuggerException {
+        send("-break-insert " + quote(file + ":" + lineNumber));
+    }
+
+    /**
+     * '-break-insert' command.
+     */
+    public void breakpoint(int lineNumber) throws IOException, InterruptedException, DebuggerException {
+        send("-break-insert " + lineNumber);
+    }
+
+    /**
+     * Deletes breakpoints at the given location, file is null if
+     * the breakpoints at the given line of the current file are deleted.
+     */
+    public void clear(@Nullable String file, int lineNumber) throws IOException, InterruptedException, DebuggerException {
+        StringBuilder command = new StringBuilder("-break-delete");
+        for (MiTuple bkpt : listBreakpoints()) {
+            if (String.valueOf(lineNumber).equals(bkpt.getString("line"))
+                && (file == null || file.equals(bkpt.getString("file")) || file.equals(bkpt.getString("fullname")))) {
+                command.append(' ').append(bkpt.getString("number"));
+            }
+        }
+        if (command.length() == "-break-delete".length()) {
+            throw new GdbException("No breakpoint at " + (file != null ? file + ":" : "") + lineNumber);
+        }
+        send(command.toString());
+    }
+
+    /**
+     * '-break-delete' command, deletes all breakpoints.
+     */
+    public void delete() throws IOException, InterruptedException, DebuggerException {
+        send("-break-delete");
+    }
+
+    /**
+     * '-break-list' command.
+     */
+    public List<Breakpoint> infoBreak() throws IOException, InterruptedException, DebuggerException {
+        List<Breakpoint> breakpoints = new ArrayList<>();
+        for (MiTuple bkpt : listBreakpoints()) {
+            String file = bkpt.getString("file");
+            String line = bkpt.getString("line");
+            if (file != null && line != null) {
+                breakpoints.add(new BreakpointImpl(new LocationImpl(file, Integer.parseInt(line))));
+            }
+        }
+        return breakpoints;
+    }
+
+    /**
+     * '-environment-directory' command.
+     *
+     * @return source path
+     */
+    public String directory(@NotNull String directory) throws IOException, InterruptedException, DebuggerException {
+        return send("-environment-directory " + quote(directory)).getResults().getString("source-path");
+    }
+
+    /**
+     * '-file-exec-and-symbols' command.
+     */
+    public void file(@NotNull String file) throws IOException, InterruptedException, DebuggerException {
+        send("-file-exec-and-symbols " + quote(file));
+    }
+
+    /**
+     * '-target-select remote' command.
+     */
+    public void targetRemote(String host, int port) throws IOException, InterruptedException, DebuggerException {
+        send("-target-select remote " + (host != null ? host : "") + ":" + port);
+    }
+
+    /**
+     * '-gdb-exit' command.
+     */
+    public void quit() throws IOException, InterruptedException, DebuggerException {
+        try {
+            send("-gdb-exit");
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Stops GDB.
+     */
+    public void stop() {
+        outputReader.interrupt();
+        if (process != null) {
+            process.destroy();
+        }
+    }
+
+    /**
+     * Sends command and waits for its result.
+     *
+     * @throws GdbException
+     *         if the result of the command is '^error'
+     * @throws GdbTerminatedException
+     *         if GDB is terminated
+     */
+    public MiRecord send(String command) throws IOException, InterruptedException, DebuggerException {
+        MiRecord result = await(sendAsync(command));
+        if (result.isError()) {
+            throw new GdbException(result.getResults().getString("msg"));
+        }
+        return result;
+    }
+
+    /**
+     * Sends all commands at once and then waits for their results,
+     * so GDB executes the commands without waiting for the client between them.
+     * Unlike {@link #send(String)} errors of the commands are returned as '^error' records.
+     *
+     * @throws GdbTerminatedException
+     *         if GDB is terminated
+     */
+    public List<MiRecord> sendAll(List<String> commands) throws IOException, InterruptedException, DebuggerException {
+        List<CompletableFuture<MiRecord>> futures = new ArrayList<>(commands.size());
+        for (String command : commands) {
+            futures.add(sendAsync(command));
+        }
+        List<MiRecord> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<MiRecord> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    private CompletableFuture<MiRecord> sendAsync(String command) throws IOException, GdbTerminatedException {
+        if (terminated) {
+            throw new GdbTerminatedException("GDB has been terminated");
+        }
+        int token = tokens.incrementAndGet();
+        CompletableFuture<MiRecord> result = new CompletableFuture<>();
+        pending.put(token, result);
+
+        LOG.debug("{}{}", token, command);
+        synchronized (writer) {
+            writer.write(token + command);
+            writer.write('\n');
+            writer.flush();
+        }
+        return result;
+    }
+
+    private MiRecord await(CompletableFuture<MiRecord> result) throws InterruptedException, DebuggerException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DebuggerException) {
+                throw (DebuggerException)e.getCause();
+            }
+            throw new GdbException(e.getCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends execution command and waits until the program is stopped.
+     */
+    @Nullable
+    private Location execute(String command) throws IOException, InterruptedException, DebuggerException {
+        waitingForStop = true;
+        try {
+            stops.clear();
+            send(command);
+            return awaitStop(command);
+        } finally {
+            waitingForStop = false;
+        }
+    }
+
+    @Nullable
+    private Location awaitStop(String command) throws InterruptedException, DebuggerException {
+        Optional<MiRecord> stopped = stops.poll(stopTimeoutMs, MILLISECONDS);
+        if (stopped == null) {
+            throw new GdbException(format("Program isn't stopped in %d seconds after '%s'",
+                                          MILLISECONDS.toSeconds(stopTimeoutMs),
+                                          command));
+        }
+        if (!stopped.isPresent()) {
+            throw new GdbTerminatedException("GDB has been terminated");
+        }
+        return locationOf(stopped.get());
+    }
+
+    private List<MiTuple> listBreakpoints() throws IOException, InterruptedException, DebuggerException {
+        MiTuple table = send("-break-list").getResults().getTuple("BreakpointTable");
+        return table != null ? table.getTuples("body") : new ArrayList<>();
+    }
+
+    /**
+     * Returns location of the '*stopped' record or null if the program is finished.
+     */
+    @Nullable
+    static Location locationOf(MiRecord stopped) {
+        String reason = stopped.getResults().getString("reason");
+        if (reason != null && reason.startsWith("exited")) {
+            return null;
+        }
+
+        MiTuple frame = stopped.getResults().getTuple("frame");
+        if (frame == null) {
+            return null;
+        }
+        String file = frame.getString("file");
+        String line = frame.getString("line");
+        if (file != null && line != null) {
+            return new LocationImpl(file, Integer.parseInt(line));
+        }
+        // frame without debug information, e.g. in a shared library
+        String from = frame.getString("from");
+        return new LocationImpl(from != null ? from : frame.getString("func"), 0);
+    }
+
+    /**
+     * Continuously reads GDB output and dispatches the records.
+     */
+    private class OutputReader extends Thread {
+        private final BufferedReader reader;
+        private final StringBuilder  console;
+
+        OutputReader(InputStream in) {
+            super(PROCESS_NAME + " output reader");
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            this.console = new StringBuilder();
+        }
+
+        @Override
+        public void run() {
+            try {
+                String line;
+                while (!isInterrupted() && (line = reader.readLine()) != null) {
+                    if (!line.startsWith(PROMPT)) {
+                        dispatch(line);
+                    }
+                }
+            } catch (IOException e) {
+                LOG.debug(e.getMessage(), e);
+            } finally {
+                terminated = true;
+                GdbTerminatedException terminatedException = new GdbTerminatedException("GDB has been terminated");
+                for (CompletableFuture<MiRecord> result : pending.values()) {
+                    result.completeExceptionally(terminatedException);
+                }
+                pending.clear();
+                stops.add(Optional.empty());
+                LOG.debug(getName() + " has been stopped");
+            }
+        }
+
+        private void dispatch(String line) {
+            MiRecord record;
+            try {
+                record = MiParser.parse(line);
+            } catch (GdbParseException e) {
+                // output of the debugged program
+                LOG.debug(line);
+                return;
+            }
+
+            switch (record.getType()) {
+                case CONSOLE:
+                    console.append(record.getOutput());
+                    break;
+                case RESULT:
+                    CompletableFuture<MiRecord> result = record.getToken() != null ? pending.remove(record.getToken()) : null;
+                    if (result != null) {
+                        result.complete(record.withOutput(console.toString()));
+                    } else {
+                        LOG.debug("Unexpected result {}", line);
+                    }
+                    console.setLength(0);
+                    break;
+                case EXEC:
+                    if ("running".equals(record.getRecordClass())) {
+                        running = true;
+                    } else if ("stopped".equals(record.getRecordClass())) {
+                        stops.add(Optional.of(record));
+                        running = false;
+                    }
+                    break;
+                case NOTIFY:
+                    if ("thread-group-started".equals(record.getRecordClass())) {
+                        String programPid = record.getResults().getString("pid");
+                        if (programPid != null) {
+                            GdbMi.this.programPid = Integer.parseInt(programPid);
+                        }
+                    }
+                    break;
+                default:
+                    LOG.debug(line);
+            }
+        }
+    }
+}
@@ -49,13 +49,20 @@ public abstract class GdbProcess {
         outputReader.setDaemon(true);
         outputReader.start();
 
+        pid = pidOf(process);
+    }
+
+    /**
+     * Returns id of the process or -1 if it can't be found out.
+     */
+    static int pidOf(Process process) {
         try {
             Field pidField = Thread.currentThread().getContextClassLoader().loadClass("java.lang.UNIXProcess").getDeclaredField("pid");
             pidField.setAccessible(true);
-            pid = ((Number)pidField.get(process)).intValue();
+            return ((Number)pidField.get(process)).intValue();
         } catch (Exception e) {
-            pid = -1;
             LOG.error(e.getMessage(), e);
+            return -1;
         }
     }
 
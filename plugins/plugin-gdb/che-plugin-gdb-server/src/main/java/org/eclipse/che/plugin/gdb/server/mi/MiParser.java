@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses lines of GDB/MI output into {@link MiRecord}s in a single pass, no regular expressions are used.
+ *
+ * <pre>
+ * record  = [token] ('^' | '*' | '+' | '=') class (',' result)* | ('~' | '@' | '&amp;') c-string
+ * result  = name '=' value
+ * value   = c-string | tuple | list
+ * tuple   = '{}' | '{' result (',' result)* '}'
+ * list    = '[]' | '[' value (',' value)* ']' | '[' result (',' result)* ']'
+ * </pre>
+ */
+public class MiParser {
+    private final String line;
+    private       int    pos;
+
+    private MiParser(String line) {
+        this.line = line;
+    }
+
+    /**
+     * Parses a line of the output, the prompt '(gdb)' isn't a record and must not be parsed.
+     *
+     * @throws GdbParseException
+     *         if line isn't a GDB/MI record, e.g. output of the debugged program
+     */
+    public static MiRecord parse(String line) throws GdbParseException {
+        try {
+            return new MiParser(line).record();
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new GdbParseException(MiRecord.class, line);
+        }
+    }
+
+    /**
+     * Quotes the parameter of a command, so it may contain spaces and special characters.
+     */
+    public static String quote(String parameter) {
+        final StringBuilder sb = new StringBuilder(parameter.length() + 2).append('"');
+        for (int i = 0; i < parameter.length(); i++) {
+            final char c = parameter.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    private MiRecord record() throws GdbParseException {
+        final int tokenStart = pos;
+        while (Character.isDigit(line.charAt(pos))) {
+            pos++;
+        }
+        final Integer token = pos > tokenStart ? Integer.valueOf(line.substring(tokenStart, pos)) : null;
+
+        final char prefix = line.charAt(pos++);
+        switch (prefix) {
+            case '~':
+                return new MiRecord(MiRecord.Type.CONSOLE, token, null, MiTuple.EMPTY, stream());
+            case '@':
+                return new MiRecord(MiRecord.Type.TARGET, token, null, MiTuple.EMPTY, stream());
+            case '&':
+                return new MiRecord(MiRecord.Type.LOG, token, null, MiTuple.EMPTY, stream());
+            case '^':
+                return results(MiRecord.Type.RESULT, token);
+            case '*':
+                return results(MiRecord.Type.EXEC, token);
+            case '+':
+                return results(MiRecord.Type.STATUS, token);
+            case '=':
+                return results(MiRecord.Type.NOTIFY, token);
+            default:
+                throw new GdbParseException(MiRecord.class, line);
+        }
+    }
+
+    private String stream() throws GdbParseException {
+        final String text = cString();
+        if (pos != line.length()) {
+            throw new GdbParseException(MiRecord.class, line);
+        }
+        return text;
+    }
+
+    private MiRecord results(MiRecord.Type type, Integer token) throws GdbParseException {
+        final int classStart = pos;
+        while (pos < line.length() && line.charAt(pos) != ',') {
+            pos++;
+        }
+        final String recordClass = line.substring(classStart, pos);
+        if (recordClass.isEmpty()) {
+            throw new GdbParseException(MiRecord.class, line);
+        }
+
+        final MiTuple results = new MiTuple();
+        while (pos < line.length()) {
+            expect(',');
+            result(results);
+        }
+        return new MiRecord(type, token, recordClass, results, null);
+    }
+
+    private void result(MiTuple tuple) throws GdbParseException {
+        final int nameStart = pos;
+        while (line.charAt(pos) != '=') {
+            pos++;
+        }
+        final String name = line.substring(nameStart, pos++);
+        tuple.put(name, value());
+    }
+
+    private Object value() throws GdbParseException {
+        switch (line.charAt(pos)) {
+            case '"':
+                return cString();
+            case '{':
+                return tuple();
+            case '[':
+                return list();
+            default:
+                throw new GdbParseException(MiRecord.class, line);
+        }
+    }
+
+    private MiTuple tuple() throws GdbParseException {
+        expect('{');
+        final MiTuple tuple = new MiTuple();
+        if (line.charAt(pos) == '}') {
+            pos++;
+            return tuple;
+        }
+        result(tuple);
+        while (line.charAt(pos) == ',') {
+            pos++;
+            result(tuple);
+        }
+        expect('}');
+        return tuple;
+    }
+
+    private List<Object> list() throws GdbParseException {
+        expect('[');
+        final List<Object> list = new ArrayList<>();
+        if (line.charAt(pos) == ']') {
+            pos++;
+            return list;
+        }
+        list.add(listItem());
+        while (line.charAt(pos) == ',') {
+            pos++;
+            list.add(listItem());
+        }
+        expect(']');
+        return list;
+    }
+
+    /** Reads value of the list, names of the results in list are skipped. */
+    private Object listItem() throws GdbParseException {
+        final char c = line.charAt(pos);
+        if (c != '"' && c != '{' && c != '[') {
+            while (line.charAt(pos) != '=') {
+                pos++;
+            }
+            pos++;
+        }
+        return value();
+    }
+
+    /** Reads C string, octal escapes are the bytes of UTF-8 encoded characters. */
+    private String cString() throws GdbParseException {
+        expect('"');
+        ByteArrayOutputStream bytes = null;
+        final StringBuilder sb = new StringBuilder();
+        char c;
+        while ((c = line.charAt(pos++)) != '"') {
+            if (c == '\\') {
+                c = line.charAt(pos++);
+                switch (c) {
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'e':
+                        c = '\033';
+                        break;
+                    default:
+                        if (c >= '0' && c <= '7') {
+                            int octal = c - '0';
+                            for (int i = 0; i < 2 && line.charAt(pos) >= '0' && line.charAt(pos) <= '7'; i++) {
+                                octal = octal * 8 + line.charAt(pos++) - '0';
+                            }
+                            if (bytes == null) {
+                                bytes = new ByteArrayOutputStream();
+                            }
+                            bytes.write(octal);
+                            continue;
+                        }
+                }
+            }
+            if (bytes != null) {
+                sb.append(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+                bytes = null;
+            }
+            sb.append(c);
+        }
+        if (bytes != null) {
+            sb.append(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+
+    private void expect(char c) throws GdbParseException {
+        if (line.charAt(pos++) != c) {
+            throw new GdbParseException(MiRecord.class, line);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Single line of GDB/MI output, e.g. {@code 5^done,value="20"} or {@code *stopped,reason="breakpoint-hit",...}.
+ */
+public class MiRecord {
+
+    /** Type of the record defined by its prefix. */
+    public enum Type {
+        /** '^' result of a command. */
+        RESULT,
+        /** '*' change of the execution state, e.g. 'running', 'stopped'. */
+        EXEC,
+        /** '+' progress of a slow operation. */
+        STATUS,
+        /** '=' notification, e.g. 'breakpoint-modified', 'thread-group-started'. */
+        NOTIFY,
+        /** '~' output of the console. */
+        CONSOLE,
+        /** '@' output of the target. */
+        TARGET,
+        /** '&' debug messages of GDB. */
+        LOG
+    }
+
+    private final Type    type;
+    private final Integer token;
+    private final String  recordClass;
+    private final MiTuple results;
+    private final String  output;
+
+    MiRecord(Type type, @Nullable Integer token, @Nullable String recordClass, MiTuple results, @Nullable String output) {
+        this.type = type;
+        this.token = token;
+        this.recordClass = recordClass;
+        this.results = results;
+        this.output = output;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /** Returns token of the command which produced the record or null if the record has no token. */
+    @Nullable
+    public Integer getToken() {
+        return token;
+    }
+
+    /** Returns class of the result or async record, e.g. 'done', 'error', 'stopped', or null for stream records. */
+    @Nullable
+    public String getRecordClass() {
+        return recordClass;
+    }
+
+    /** Returns results of the result or async record, stream records have no results. */
+    public MiTuple getResults() {
+        return results;
+    }
+
+    /**
+     * Returns text of the stream record or console output which preceded the result record,
+     * e.g. output of the '-gdb-version' command.
+     */
+    @Nullable
+    public String getOutput() {
+        return output;
+    }
+
+    /** Returns true if the record is the '^error' result. */
+    public boolean isError() {
+        return type == Type.RESULT && "error".equals(recordClass);
+    }
+
+    /** Returns copy of the result record with the given console output. */
+    public MiRecord withOutput(String output) {
+        return new MiRecord(type, token, recordClass, results, output);
+    }
+
+    @Override
+    public String toString() {
+        return "MiRecord{" +
+               "type=" + type +
+               ", token=" + token +
+               ", recordClass='" + recordClass + '\'' +
+               ", results=" + results +
+               ", output='" + output + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GDB/MI tuple, e.g. {@code {name="i",type="int",value="0"}}.
+ *
+ * <p>Values of the tuple are either strings, tuples or lists of values.
+ * Names of the results in lists, e.g. {@code [frame={...},frame={...}]}, are omitted.
+ */
+public class MiTuple {
+    static final MiTuple EMPTY = new MiTuple(Collections.emptyMap());
+
+    private final Map<String, Object> values;
+
+    MiTuple(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    MiTuple() {
+        this(new LinkedHashMap<>());
+    }
+
+    /** Returns string value or null if there is no such value or it is not a string. */
+    @Nullable
+    public String getString(String name) {
+        final Object value = values.get(name);
+        return value instanceof String ? (String)value : null;
+    }
+
+    /** Returns tuple value or null if there is no such value or it is not a tuple. */
+    @Nullable
+    public MiTuple getTuple(String name) {
+        final Object value = values.get(name);
+        return value instanceof MiTuple ? (MiTuple)value : null;
+    }
+
+    /** Returns tuples of the list value, values of the list which are not tuples are skipped. */
+    public List<MiTuple> getTuples(String name) {
+        final Object value = values.get(name);
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        final List<MiTuple> tuples = new ArrayList<>();
+        for (Object item : (List<?>)value) {
+            if (item instanceof MiTuple) {
+                tuples.add((MiTuple)item);
+            }
+        }
+        return tuples;
+    }
+
+    /** Returns value which is either string, tuple or list, or null if there is no such value. */
+    @Nullable
+    public Object get(String name) {
+        return values.get(name);
+    }
+
+    void put(String name, Object value) {
+        values.put(name, value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MiTuple)) {
+            return false;
+        }
+        return values.equals(((MiTuple)obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
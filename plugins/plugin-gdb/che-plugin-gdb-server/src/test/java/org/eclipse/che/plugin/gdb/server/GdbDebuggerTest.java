@@ -63,8 +63,8 @@ public class GdbDebuggerTest {
 
     @BeforeClass
     public void beforeClass() throws Exception {
-        file = GdbTest.class.getResource("/hello").getFile();
-        sourceDirectory = Paths.get(GdbTest.class.getResource("/h.cpp").getFile());
+        file = GdbDebuggerTest.class.getResource("/hello").getFile();
+        sourceDirectory = Paths.get(GdbDebuggerTest.class.getResource("/h.cpp").getFile());
         events = new ArrayBlockingQueue<>(10);
     }
 
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server;
+
+import org.eclipse.che.api.debug.shared.model.Breakpoint;
+import org.eclipse.che.api.debug.shared.model.Location;
+import org.eclipse.che.api.debug.shared.model.Variable;
+import org.eclipse.che.plugin.gdb.server.exception.GdbException;
+import org.eclipse.che.plugin.gdb.server.exception.GdbTerminatedException;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link GdbMi} against recorded GDB/MI sessions.
+ */
+public class GdbMiTest {
+
+    @Test
+    public void testDebugSession() throws Throwable {
+        MiTranscript transcript = MiTranscript.play("/mi/session.txt");
+        GdbMi gdb = new GdbMi(null, transcript.getInputStream(), transcript.getOutputStream());
+        GdbFrameVariables frameVariables = new GdbFrameVariables(gdb);
+
+        assertEquals(gdb.getGdbVersion().getName(), "GNU gdb (Ubuntu 7.11.1-0ubuntu1~16.04)");
+        assertEquals(gdb.getGdbVersion().getVersion(), "7.11.1");
+        assertEquals(gdb.directory("/projects/hello"), "/projects/hello:$cdir:$cwd");
+        gdb.file("/projects/hello/hello");
+        gdb.breakpoint("h.cpp", 7);
+
+        Location location = gdb.run();
+        assertEquals(location.getTarget(), "h.cpp");
+        assertEquals(location.getLineNumber(), 7);
+
+        List<Variable> variables = frameVariables.refresh();
+        assertEquals(variables.size(), 2);
+        assertVariable(variables.get(0), "i", "int", "0");
+        assertVariable(variables.get(1), "hello", "Greeting", "{text = \"Hello World!\", count = 0}");
+
+        assertEquals(gdb.next().getLineNumber(), 5);
+        assertEquals(gdb.next().getLineNumber(), 6);
+
+        variables = frameVariables.refresh();
+        assertEquals(variables.size(), 2);
+        assertVariable(variables.get(0), "i", "int", "1");
+        assertVariable(variables.get(1), "hello", "Greeting", "{text = \"Hello World!\", count = 1}");
+
+        gdb.setVar("i", "2");
+        assertEquals(gdb.evaluate("i"), "2");
+
+        List<Breakpoint> breakpoints = gdb.infoBreak();
+        assertEquals(breakpoints.size(), 1);
+        assertEquals(breakpoints.get(0).getLocation().getTarget(), "h.cpp");
+        assertEquals(breakpoints.get(0).getLocation().getLineNumber(), 7);
+        gdb.clear("h.cpp", 7);
+
+        assertNull(gdb.cont());
+        gdb.quit();
+
+        transcript.assertPlayed();
+    }
+
+    @Test
+    public void testErrors() throws Throwable {
+        MiTranscript transcript = MiTranscript.play("/mi/errors.txt");
+        GdbMi gdb = new GdbMi(null, transcript.getInputStream(), transcript.getOutputStream());
+
+        assertEquals(gdb.getGdbVersion().getName(), "GNU gdb (GDB)");
+        try {
+            gdb.breakpoint(1);
+            fail();
+        } catch (GdbException e) {
+            assertEquals(e.getMessage(), "No line 1 in the current file.");
+        }
+        try {
+            gdb.targetRemote("localhost", 1111);
+            fail();
+        } catch (GdbException e) {
+            assertEquals(e.getMessage(), "localhost:1111: Connection refused.");
+        }
+        try {
+            gdb.cont();
+            fail();
+        } catch (GdbTerminatedException e) {
+            // transcript is finished before the result of the command
+        }
+
+        transcript.assertPlayed();
+    }
+
+    @Test
+    public void testExecutionTimeout() throws Throwable {
+        MiTranscript transcript = MiTranscript.play("/mi/timeout.txt");
+        GdbMi gdb = new GdbMi(null, transcript.getInputStream(), transcript.getOutputStream(), 200);
+
+        try {
+            gdb.run();
+            fail();
+        } catch (GdbException e) {
+            assertTrue(e.getMessage().contains("-exec-run"));
+        }
+        // program is stopped after the command has timed out
+        assertTrue(gdb.infoBreak().isEmpty());
+
+        Location location = gdb.interrupt(false);
+        assertEquals(location.getTarget(), "h.cpp");
+        assertEquals(location.getLineNumber(), 7);
+
+        transcript.assertPlayed();
+    }
+
+    private static void assertVariable(Variable variable, String name, String type, String value) {
+        assertEquals(variable.getName(), name);
+        assertEquals(variable.getType(), type);
+        assertEquals(variable.getValue(), value);
+    }
+}
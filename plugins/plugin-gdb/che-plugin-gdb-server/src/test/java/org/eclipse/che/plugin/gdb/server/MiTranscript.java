@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Plays recorded GDB/MI session instead of GDB.
+ *
+ * <p>Lines of the transcript which start with '-&gt; ' are the commands which
+ * are expected to be sent to GDB, lines which start with '&lt;- ' are sent
+ * back as GDB output. All the commands which are listed before the output
+ * are read first, so pipelined commands are recorded as a block of commands
+ * followed by a block of their results.
+ */
+public class MiTranscript {
+    private static final String COMMAND = "-> ";
+    private static final String OUTPUT  = "<- ";
+
+    private final List<String>     lines;
+    private final PipedInputStream gdbInput;
+    private final OutputStream     gdbOutput;
+    private final BufferedReader   commands;
+    private final Writer           output;
+    private final Thread           player;
+
+    private volatile Throwable error;
+
+    private MiTranscript(List<String> lines) throws IOException {
+        this.lines = lines;
+
+        PipedInputStream commandsInput = new PipedInputStream();
+        this.gdbOutput = new PipedOutputStream(commandsInput);
+        this.commands = new BufferedReader(new InputStreamReader(commandsInput, StandardCharsets.UTF_8));
+
+        this.gdbInput = new PipedInputStream(64 * 1024);
+        this.output = new OutputStreamWriter(new PipedOutputStream(gdbInput), StandardCharsets.UTF_8);
+
+        this.player = new Thread(this::play, "MI transcript player");
+        this.player.setDaemon(true);
+    }
+
+    /**
+     * Starts playing the transcript from the test resources.
+     */
+    public static MiTranscript play(String resource) throws Exception {
+        MiTranscript transcript = new MiTranscript(Files.readAllLines(Paths.get(MiTranscript.class.getResource(resource).toURI()),
+                                                                      StandardCharsets.UTF_8));
+        transcript.player.start();
+        return transcript;
+    }
+
+    /** Output of GDB to be read by the client. */
+    public InputStream getInputStream() {
+        return gdbInput;
+    }
+
+    /** Input of GDB the client sends commands to. */
+    public OutputStream getOutputStream() {
+        return gdbOutput;
+    }
+
+    /**
+     * Waits until the whole transcript is played and rethrows the mismatch of the commands if any.
+     */
+    public void assertPlayed() throws Throwable {
+        player.join(10_000);
+        if (player.isAlive()) {
+            throw new AssertionError("Transcript isn't played to the end");
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void play() {
+        try {
+            for (String line : lines) {
+                if (line.startsWith(COMMAND)) {
+                    String expected = line.substring(COMMAND.length());
+                    String actual = commands.readLine();
+                    if (!expected.equals(actual)) {
+                        throw new AssertionError("Expected command '" + expected + "' but was '" + actual + "'");
+                    }
+                } else if (line.startsWith(OUTPUT)) {
+                    output.write(line.substring(OUTPUT.length()));
+                    output.write('\n');
+                    output.flush();
+                }
+            }
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            try {
+                output.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.gdb.server.mi;
+
+import org.eclipse.che.plugin.gdb.server.exception.GdbParseException;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class MiParserTest {
+
+    @Test
+    public void testParseResultRecord() throws Exception {
+        MiRecord record = MiParser.parse("4^done,bkpt={number=\"1\",type=\"breakpoint\",file=\"h.cpp\",line=\"7\"," +
+                                         "thread-groups=[\"i1\"],times=\"0\"}");
+
+        assertEquals(record.getType(), MiRecord.Type.RESULT);
+        assertEquals(record.getToken(), Integer.valueOf(4));
+        assertEquals(record.getRecordClass(), "done");
+
+        MiTuple bkpt = record.getResults().getTuple("bkpt");
+        assertEquals(bkpt.getString("number"), "1");
+        assertEquals(bkpt.getString("file"), "h.cpp");
+        assertEquals(bkpt.getString("line"), "7");
+        assertEquals(bkpt.get("thread-groups"), singletonList("i1"));
+    }
+
+    @Test
+    public void testParseAsyncRecordWithoutToken() throws Exception {
+        MiRecord record = MiParser.parse("*stopped,reason=\"breakpoint-hit\",frame={addr=\"0x0000000000400895\",func=\"main\"," +
+                                         "args=[],file=\"h.cpp\",line=\"7\"},thread-id=\"1\"");
+
+        assertEquals(record.getType(), MiRecord.Type.EXEC);
+        assertNull(record.getToken());
+        assertEquals(record.getRecordClass(), "stopped");
+        assertEquals(record.getResults().getString("reason"), "breakpoint-hit");
+        assertEquals(record.getResults().getTuple("frame").getString("line"), "7");
+        assertTrue(((List<?>)record.getResults().getTuple("frame").get("args")).isEmpty());
+    }
+
+    @Test
+    public void testParseListOfResults() throws Exception {
+        MiRecord record = MiParser.parse("^done,stack=[frame={level=\"0\",func=\"say\"},frame={level=\"1\",func=\"main\"}]");
+
+        List<MiTuple> frames = record.getResults().getTuples("stack");
+        assertEquals(frames.size(), 2);
+        assertEquals(frames.get(0).getString("func"), "say");
+        assertEquals(frames.get(1).getString("func"), "main");
+    }
+
+    @Test
+    public void testParseStreamRecordWithEscapes() throws Exception {
+        MiRecord record = MiParser.parse("~\"text = \\\"Hello\\\"\\t\\303\\251\\n\"");
+
+        assertEquals(record.getType(), MiRecord.Type.CONSOLE);
+        assertEquals(record.getOutput(), "text = \"Hello\"\t\u00e9\n");
+    }
+
+    @Test
+    public void testParseErrorRecord() throws Exception {
+        MiRecord record = MiParser.parse("2^error,msg=\"No line 1 in the current file.\"");
+
+        assertTrue(record.isError());
+        assertEquals(record.getResults().getString("msg"), "No line 1 in the current file.");
+    }
+
+    @Test(expectedExceptions = GdbParseException.class)
+    public void testParseProgramOutput() throws Exception {
+        MiParser.parse("Hello World!");
+    }
+
+    @Test(expectedExceptions = GdbParseException.class)
+    public void testParseNumericProgramOutput() throws Exception {
+        MiParser.parse("10");
+    }
+
+    @Test
+    public void testQuote() throws Exception {
+        assertEquals(MiParser.quote("/projects/my \"app\"\\h.cpp"), "\"/projects/my \\\"app\\\"\\\\h.cpp\"");
+    }
+}
@@ -59,6 +59,7 @@ import org.eclipse.che.api.debug.shared.model.impl.event.SuspendEventImpl;
 import org.eclipse.che.api.debugger.server.Debugger;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 import org.eclipse.che.plugin.jdb.server.exceptions.DebuggerAbsentInformationException;
+import org.eclipse.che.plugin.jdb.server.expression.EvaluationCache;
 import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionException;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
@@ -114,8 +115,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
     /** Current thread. Not <code>null</code> is thread suspended, e.g breakpoint reached. */
     private ThreadReference thread;
-    /** Current stack frame. Not <code>null</code> is thread suspended, e.g breakpoint reached. */
-    private JdiStackFrame   stackFrame;
+    /** Stack frames of the current thread by their indexes, loaded on demand. Empty if thread is not suspended. */
+    private final Map<Integer, JdiStackFrame> stackFrames = new ConcurrentHashMap<>();
     /** Lock for synchronization debug processes. */
     private Lock lock = new ReentrantLock();
 
@@ -254,6 +255,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
             if (!(expression == null || expression.isEmpty())) {
                 ExpressionParser parser = ExpressionParser.newInstance(expression);
                 breakPointRequest.putProperty("org.eclipse.che.ide.java.debug.condition.expression.parser", parser);
+                breakPointRequest.putProperty("org.eclipse.che.ide.java.debug.condition.evaluation.cache", new EvaluationCache());
             }
             breakPointRequest.setEnabled(true);
         } catch (NativeMethodException | IllegalThreadStateException | InvalidRequestStateException e) {
@@ -362,9 +364,15 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
     @Override
     public StackFrameDumpDto dumpStackFrame() throws DebuggerException {
+        return dumpStackFrame(0);
+    }
+
+    @Override
+    public StackFrameDumpDto dumpStackFrame(int frameIndex) throws DebuggerException {
+        final long startTime = System.currentTimeMillis();
         lock.lock();
         try {
-            final JdiStackFrame currentFrame = getCurrentFrame();
+            final JdiStackFrame currentFrame = getFrame(frameIndex);
             StackFrameDumpDto dump = newDto(StackFrameDumpDto.class);
             boolean existInformation = true;
             JdiLocalVariable[] variables = new JdiLocalVariable[0];
@@ -400,6 +408,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
             return dump;
         } finally {
             lock.unlock();
+            LOG.debug("==>> Dump stack frame {} time: {} ms", frameIndex, System.currentTimeMillis() - startTime);
         }
     }
 
@@ -448,6 +457,18 @@ public class JavaDebugger implements EventsHandler, Debugger {
      */
     @Override
     public SimpleValue getValue(VariablePath variablePath) throws DebuggerException {
+        return getValue(variablePath, 0, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get value of variable with specified path in the given frame, nested variables are paged.
+     * Only values of the variables of the page are fetched from the target VM,
+     * so large arrays and objects with many fields may be expanded by parts.
+     *
+     * @see #getValue(VariablePath)
+     */
+    @Override
+    public SimpleValue getValue(VariablePath variablePath, int frameIndex, int skipCount, int maxItems) throws DebuggerException {
         List<String> path = variablePath.getPath();
         if (path.size() == 0) {
             throw new IllegalArgumentException("Path to value may not be empty. ");
@@ -458,11 +479,11 @@ public class JavaDebugger implements EventsHandler, Debugger {
             if (path.size() < 2) {
                 throw new IllegalArgumentException("Name of field required. ");
             }
-            variable = getCurrentFrame().getFieldByName(path.get(1));
+            variable = getFrame(frameIndex).getFieldByName(path.get(1));
             offset = 2;
         } else {
             try {
-                variable = getCurrentFrame().getLocalVariableByName(path.get(0));
+                variable = getFrame(frameIndex).getLocalVariableByName(path.get(0));
             } catch (DebuggerAbsentInformationException e) {
                 return null;
             }
@@ -478,7 +499,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
         }
 
         List<Variable> variables = new ArrayList<>();
-        for (JdiVariable ch : variable.getValue().getVariables()) {
+        JdiValue value = variable.getValue();
+        for (JdiVariable ch : value.getVariables(skipCount, maxItems)) {
             VariablePathDto chPath = newDto(VariablePathDto.class).withPath(new ArrayList<>(path));
             chPath.getPath().add(ch.getName());
             if (ch instanceof JdiField) {
@@ -505,7 +527,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
                                                true));
             }
         }
-        return new SimpleValueImpl(variables, variable.getValue().getAsString());
+        return new SimpleValueImpl(variables, value.getAsString());
     }
 
     @Override
@@ -567,7 +589,10 @@ public class JavaDebugger implements EventsHandler, Debugger {
         ExpressionParser parser =
                 (ExpressionParser)event.request().getProperty("org.eclipse.che.ide.java.debug.condition.expression.parser");
         if (parser != null) {
-            com.sun.jdi.Value result = evaluate(parser);
+            // lookups made by the condition are kept between hits of the breakpoint
+            EvaluationCache cache =
+                    (EvaluationCache)event.request().getProperty("org.eclipse.che.ide.java.debug.condition.evaluation.cache");
+            com.sun.jdi.Value result = evaluate(parser, cache);
             hitBreakpoint = result instanceof com.sun.jdi.BooleanValue && ((com.sun.jdi.BooleanValue)result).value();
         } else {
             // If there is no expression.
@@ -671,14 +696,14 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
     @Override
     public String evaluate(String expression) throws DebuggerException {
-        com.sun.jdi.Value result = evaluate(ExpressionParser.newInstance(expression));
+        com.sun.jdi.Value result = evaluate(ExpressionParser.newInstance(expression), new EvaluationCache());
         return result == null ? "null" : result.toString();
     }
 
-    private com.sun.jdi.Value evaluate(ExpressionParser parser) throws DebuggerException {
+    private com.sun.jdi.Value evaluate(ExpressionParser parser, EvaluationCache cache) throws DebuggerException {
         final long startTime = System.currentTimeMillis();
         try {
-            return parser.evaluate(new Evaluator(vm, getCurrentThread()));
+            return parser.evaluate(new Evaluator(vm, getCurrentThread(), cache));
         } catch (ExpressionException e) {
             throw new DebuggerException(e.getMessage(), e);
         } finally {
@@ -696,25 +721,31 @@ public class JavaDebugger implements EventsHandler, Debugger {
         return thread;
     }
 
-    private JdiStackFrame getCurrentFrame() throws DebuggerException {
-        if (stackFrame != null) {
-            return stackFrame;
+    private JdiStackFrame getFrame(int frameIndex) throws DebuggerException {
+        JdiStackFrame frame = stackFrames.get(frameIndex);
+        if (frame != null) {
+            return frame;
         }
+        final ThreadReference currentThread = getCurrentThread();
         try {
-            stackFrame = new JdiStackFrameImpl(getCurrentThread().frame(0));
+            if (frameIndex < 0 || frameIndex >= currentThread.frameCount()) {
+                throw new DebuggerException("Frame " + frameIndex + " doesn't exist. ");
+            }
+            frame = new JdiStackFrameImpl(currentThread.frame(frameIndex));
         } catch (IncompatibleThreadStateException e) {
             throw new DebuggerException("Thread is not suspended. ", e);
         }
-        return stackFrame;
+        stackFrames.put(frameIndex, frame);
+        return frame;
     }
 
     private void setCurrentThread(ThreadReference t) {
-        stackFrame = null;
+        stackFrames.clear();
         thread = t;
     }
 
     private void invalidateCurrentFrame() {
-        stackFrame = null;
+        stackFrames.clear();
     }
 
     private void invalidateCurrentThread() {
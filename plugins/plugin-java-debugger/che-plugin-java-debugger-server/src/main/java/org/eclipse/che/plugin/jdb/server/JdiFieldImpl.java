@@ -22,6 +22,9 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
     private final Field           field;
     private final ReferenceType   type;
     private final ObjectReference object;
+    /** Value fetched together with values of the other fields, if any. */
+    private       Value           value;
+    private       boolean         valueLoaded;
 
     public JdiFieldImpl(Field field, ObjectReference object) {
         this.field = field;
@@ -35,6 +38,20 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
         this.object = null;
     }
 
+    /** Creates field which value is already fetched, e.g. by {@link ObjectReference#getValues(java.util.List)}. */
+    public JdiFieldImpl(Field field, ObjectReference object, Value value) {
+        this(field, object);
+        this.value = value;
+        this.valueLoaded = true;
+    }
+
+    /** Creates static field which value is already fetched, e.g. by {@link ReferenceType#getValues(java.util.List)}. */
+    public JdiFieldImpl(Field field, ReferenceType type, Value value) {
+        this(field, type);
+        this.value = value;
+        this.valueLoaded = true;
+    }
+
     @Override
     public String getName() {
         return field.name();
@@ -72,7 +89,7 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
 
     @Override
     public JdiValue getValue() {
-        Value value = object == null ? type.getValue(field) : object.getValue(field);
+        Value value = valueLoaded ? this.value : object == null ? type.getValue(field) : object.getValue(field);
         if (value == null) {
             return new JdiNullValue();
         }
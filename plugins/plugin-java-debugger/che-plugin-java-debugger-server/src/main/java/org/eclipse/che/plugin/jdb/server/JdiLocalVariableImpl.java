@@ -20,12 +20,22 @@ import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 public class JdiLocalVariableImpl implements JdiLocalVariable {
     private final LocalVariable variable;
     private final StackFrame    stackFrame;
+    /** Value fetched together with values of the other variables of the frame, if any. */
+    private       Value         value;
+    private       boolean       valueLoaded;
 
     public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable) {
         this.stackFrame = stackFrame;
         this.variable = variable;
     }
 
+    /** Creates variable which value is already fetched, e.g. by {@link StackFrame#getValues(java.util.List)}. */
+    public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable, Value value) {
+        this(stackFrame, variable);
+        this.value = value;
+        this.valueLoaded = true;
+    }
+
     @Override
     public String getName() {
         return variable.name();
@@ -43,7 +53,7 @@ public class JdiLocalVariableImpl implements JdiLocalVariable {
 
     @Override
     public JdiValue getValue() {
-        Value value = stackFrame.getValue(variable);
+        Value value = valueLoaded ? this.value : stackFrame.getValue(variable);
         if (value == null) {
             return new JdiNullValue();
         }
@@ -24,6 +24,11 @@ public final class JdiNullValue implements JdiValue {
         return new JdiVariable[0];
     }
 
+    @Override
+    public JdiVariable[] getVariables(int skipCount, int maxItems) throws DebuggerException {
+        return new JdiVariable[0];
+    }
+
     @Override
     public JdiVariable getVariableByName(String name) throws DebuggerException {
         return null;
@@ -37,6 +37,19 @@ public interface JdiValue {
      */
     JdiVariable[] getVariables() throws DebuggerException;
 
+    /**
+     * Get page of nested variables, only values of the variables of the page are fetched from the target VM.
+     *
+     * @param skipCount
+     *         number of nested variables to skip
+     * @param maxItems
+     *         maximum number of nested variables to return
+     * @return nested variables in the same order as {@link #getVariables()} returns them
+     * @throws DebuggerException
+     *         if an error occurs
+     */
+    JdiVariable[] getVariables(int skipCount, int maxItems) throws DebuggerException;
+
     /**
      * Get nested variable by name.
      *
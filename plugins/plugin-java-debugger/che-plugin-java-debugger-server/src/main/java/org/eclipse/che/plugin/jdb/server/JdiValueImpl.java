@@ -14,16 +14,26 @@ import com.sun.jdi.ArrayReference;
 import com.sun.jdi.Field;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.PrimitiveValue;
-import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StringReference;
 import com.sun.jdi.Value;
 
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 
-import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
 
 /** @author andrew00x */
 public class JdiValueImpl implements JdiValue {
+    /** Strings longer than this are truncated, so huge strings are not sent to the client. */
+    static final int MAX_STRING_LENGTH = 1024;
+
+    /** Static fields first then sorted by name, the same as JdiFieldImpl#compareTo(JdiFieldImpl). */
+    private static final Comparator<Field> FIELDS_ORDER = Comparator.comparing((Field f) -> !f.isStatic()).thenComparing(Field::name);
+
     private final Value         value;
     private       JdiVariable[] variables;
 
@@ -36,50 +46,94 @@ public class JdiValueImpl implements JdiValue {
 
     @Override
     public String getAsString() {
+        if (value instanceof StringReference) {
+            String string = ((StringReference)value).value();
+            if (string.length() > MAX_STRING_LENGTH) {
+                return '"' + string.substring(0, MAX_STRING_LENGTH) + "...\"";
+            }
+            return '"' + string + '"';
+        }
         return value.toString();
     }
 
     @Override
     public JdiVariable[] getVariables() {
         if (variables == null) {
-            if (isPrimitive()) {
-                variables = new JdiVariable[0];
-            } else {
-                if (isArray()) {
-                    ArrayReference array = (ArrayReference)value;
-                    int length = array.length();
-                    variables = new JdiVariable[length];
-                    for (int i = 0; i < length; i++) {
-                        variables[i] = new JdiArrayElementImpl(i, array.getValue(i));
-                    }
-                } else {
-                    ObjectReference object = (ObjectReference)value;
-                    ReferenceType type = object.referenceType();
-                    List<Field> fields = type.allFields();
-                    variables = new JdiVariable[fields.size()];
-                    int i = 0;
-                    for (Field f : fields) {
-                        variables[i++] = new JdiFieldImpl(f, object);
-                    }
-                    // See JdiFieldImpl#compareTo(JdiFieldImpl).
-                    Arrays.sort(variables);
-                }
-            }
+            variables = getVariables(0, Integer.MAX_VALUE);
         }
         return variables;
     }
 
+    @Override
+    public JdiVariable[] getVariables(int skipCount, int maxItems) {
+        if (isPrimitive()) {
+            return new JdiVariable[0];
+        }
+        if (isArray()) {
+            // only the requested elements are fetched by a single request to the target VM
+            ArrayReference array = (ArrayReference)value;
+            int from = Math.max(0, Math.min(skipCount, array.length()));
+            int count = (int)Math.min((long)maxItems, array.length() - from);
+            if (count <= 0) {
+                return new JdiVariable[0];
+            }
+            List<Value> values = array.getValues(from, count);
+            JdiVariable[] elements = new JdiVariable[count];
+            for (int i = 0; i < count; i++) {
+                elements[i] = new JdiArrayElementImpl(from + i, values.get(i));
+            }
+            return elements;
+        }
+        // only values of the requested fields are fetched by a single request to the target VM
+        ObjectReference object = (ObjectReference)value;
+        List<Field> fields = object.referenceType()
+                                   .allFields()
+                                   .stream()
+                                   .sorted(FIELDS_ORDER)
+                                   .skip(Math.max(0, skipCount))
+                                   .limit(Math.max(0, maxItems))
+                                   .collect(toList());
+        Map<Field, Value> values = object.getValues(fields);
+        JdiVariable[] page = new JdiVariable[fields.size()];
+        int i = 0;
+        for (Field f : fields) {
+            page[i++] = new JdiFieldImpl(f, object, values.get(f));
+        }
+        return page;
+    }
+
     @Override
     public JdiVariable getVariableByName(String name) throws DebuggerException {
         if (name == null) {
             throw new IllegalArgumentException("Variable name may not be null. ");
         }
-        for (JdiVariable variable : getVariables()) {
-            if (name.equals(variable.getName())) {
-                return variable;
+        if (isPrimitive()) {
+            return null;
+        }
+        if (isArray()) {
+            // element is fetched directly instead of fetching the whole array
+            if (!name.startsWith("[") || !name.endsWith("]")) {
+                return null;
+            }
+            ArrayReference array = (ArrayReference)value;
+            int index;
+            try {
+                index = Integer.parseInt(name.substring(1, name.length() - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (index < 0 || index >= array.length()) {
+                return null;
             }
+            return new JdiArrayElementImpl(index, array.getValue(index));
         }
-        return null;
+        ObjectReference object = (ObjectReference)value;
+        Optional<Field> field = object.referenceType()
+                                      .allFields()
+                                      .stream()
+                                      .filter(f -> name.equals(f.name()))
+                                      .min(FIELDS_ORDER);
+        return field.isPresent() ? new JdiFieldImpl(field.get(), object) : null;
     }
 
     private boolean isArray() {
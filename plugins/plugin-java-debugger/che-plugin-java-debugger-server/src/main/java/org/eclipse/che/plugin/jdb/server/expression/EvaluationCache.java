@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import com.sun.jdi.AbsentInformationException;
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps lookups of fields, methods and local variables made by {@link Evaluator}
+ * between evaluations of the same expression, e.g. the condition of a breakpoint
+ * which is evaluated on each hit while the target thread is suspended.
+ *
+ * <p>Local variables are resolved by the location of the frame, the variables
+ * used by the expression at a location are remembered, so the next evaluations
+ * at the same location read all of them from the frame with a single request.
+ *
+ * <p>Lookups are kept per type, the lookups of a type are dropped when the type is redefined(hot swap).
+ * JDI keeps the methods of a type until the type is redefined, so the redefinition is noticed
+ * by a list of the type methods which differs from the one seen when the lookups were made.
+ *
+ * <p>Cache isn't thread safe, it is used by the thread which handles debugger events.
+ */
+public class EvaluationCache {
+    private final Map<ReferenceType, TypeLookups> types;
+
+    public EvaluationCache() {
+        this.types = new HashMap<>();
+    }
+
+    /** Returns field with the given name or null if there is no such field. */
+    public Field fieldByName(ReferenceType type, String name) {
+        return lookupsOf(type).fields.computeIfAbsent(name, n -> Optional.ofNullable(type.fieldByName(n)))
+                                     .orElse(null);
+    }
+
+    /** Returns methods with the given name. */
+    public List<Method> methodsByName(ReferenceType type, String name) {
+        return lookupsOf(type).methods.computeIfAbsent(name, type::methodsByName);
+    }
+
+    /**
+     * Returns local variable visible at the location of the frame or null if there is no such variable.
+     *
+     * @throws AbsentInformationException
+     *         if there is no local variable information for the method
+     */
+    public LocalVariable visibleVariableByName(StackFrame frame, String name) throws AbsentInformationException {
+        final Location location = frame.location();
+        final TypeLookups lookups = lookupsOf(location.declaringType());
+        final Map<String, Optional<LocalVariable>> locationVariables = lookups.variables.computeIfAbsent(location,
+                                                                                                         l -> new HashMap<>());
+        Optional<LocalVariable> variable = locationVariables.get(name);
+        if (variable == null) {
+            variable = Optional.ofNullable(frame.visibleVariableByName(name));
+            locationVariables.put(name, variable);
+            if (variable.isPresent()) {
+                lookups.usedVariables.computeIfAbsent(location, l -> new LinkedHashSet<>()).add(variable.get());
+            }
+        }
+        return variable.orElse(null);
+    }
+
+    /** Returns local variables used by the expression at the given location during the previous evaluations. */
+    public Collection<LocalVariable> getUsedVariables(Location location) {
+        final Set<LocalVariable> used = lookupsOf(location.declaringType()).usedVariables.get(location);
+        return used == null ? Collections.emptySet() : used;
+    }
+
+    private TypeLookups lookupsOf(ReferenceType type) {
+        final List<Method> typeMethods = type.methods();
+        TypeLookups lookups = types.get(type);
+        if (lookups == null || lookups.typeMethods != typeMethods) {
+            lookups = new TypeLookups(typeMethods);
+            types.put(type, lookups);
+        }
+        return lookups;
+    }
+
+    private static class TypeLookups {
+        final List<Method>                                        typeMethods;
+        final Map<String, Optional<Field>>                        fields;
+        final Map<String, List<Method>>                           methods;
+        final Map<Location, Map<String, Optional<LocalVariable>>> variables;
+        final Map<Location, Set<LocalVariable>>                   usedVariables;
+
+        TypeLookups(List<Method> typeMethods) {
+            this.typeMethods = typeMethods;
+            this.fields = new HashMap<>();
+            this.methods = new HashMap<>();
+            this.variables = new HashMap<>();
+            this.usedVariables = new HashMap<>();
+        }
+    }
+}
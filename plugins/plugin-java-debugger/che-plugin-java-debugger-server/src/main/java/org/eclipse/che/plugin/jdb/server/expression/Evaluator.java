@@ -45,10 +45,12 @@ import com.sun.jdi.VirtualMachine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /** @author andrew00x */
@@ -69,10 +71,25 @@ public class Evaluator {
 
     private final VirtualMachine  vm;
     private final ThreadReference thread;
+    private final EvaluationCache cache;
+
+    private StackFrame                frame;
+    private Map<LocalVariable, Value> preloadedValues;
 
     public Evaluator(VirtualMachine vm, ThreadReference thread) {
+        this(vm, thread, new EvaluationCache());
+    }
+
+    /**
+     * Creates evaluator which reuses lookups made by the previous evaluations.
+     *
+     * @param cache
+     *         cache of the lookups, e.g. the one kept for the condition of a breakpoint
+     */
+    public Evaluator(VirtualMachine vm, ThreadReference thread, EvaluationCache cache) {
         this.vm = vm;
         this.thread = thread;
+        this.cache = cache;
     }
 
     private static boolean isPrimitive(Type type) {
@@ -228,8 +245,8 @@ public class Evaluator {
 
     public ExpressionValue getThisObject() {
         try {
-            return new ReadOnlyValue(thread.frame(0).thisObject());
-        } catch (IncompatibleThreadStateException e) {
+            return new ReadOnlyValue(frame().thisObject());
+        } catch (IncompatibleThreadStateException | InvalidStackFrameException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
     }
@@ -241,7 +258,7 @@ public class Evaluator {
         ExpressionValue value = null;
         try {
             ObjectReference object = (ObjectReference)parent;
-            Field field = object.referenceType().fieldByName(name);
+            Field field = cache.fieldByName(object.referenceType(), name);
             if (field != null) {
                 value = new InstanceValue(object, field);
             }
@@ -255,10 +272,12 @@ public class Evaluator {
     public ExpressionValue getLocalVariable(String text) {
         ExpressionValue value = null;
         try {
-            StackFrame frame = thread.frame(0);
-            LocalVariable var = frame.visibleVariableByName(text);
+            LocalVariable var = cache.visibleVariableByName(frame(), text);
             if (var != null) {
-                value = new LocalValue(thread, var);
+                // preloaded value is used once, the variable might be modified by the expression
+                value = preloadedValues != null && preloadedValues.containsKey(var)
+                        ? new LocalValue(thread, var, preloadedValues.remove(var))
+                        : new LocalValue(thread, var);
             }
         } catch (IncompatibleThreadStateException | AbsentInformationException | InvalidStackFrameException | NativeMethodException e) {
             throw new ExpressionException(e.getMessage(), e);
@@ -391,7 +410,7 @@ public class Evaluator {
         }
         ObjectReference object = (ObjectReference)value;
         ReferenceType type = object.referenceType();
-        List<Method> methods = type.methodsByName(name);
+        List<Method> methods = cache.methodsByName(type, name);
         Method method = findMethod(methods, arguments);
         if (method == null) {
             throw new ExpressionException("No method with name " + name + " matched to specified arguments for " + type.name());
@@ -400,7 +419,25 @@ public class Evaluator {
             return new ReadOnlyValue(object.invokeMethod(thread, method, arguments, 0));
         } catch (InvalidTypeException | ClassNotLoadedException | IncompatibleThreadStateException | InvocationException e) {
             throw new ExpressionException(e.getMessage(), e);
+        } finally {
+            // thread is resumed while method is invoked, so frame isn't valid anymore
+            frame = null;
+        }
+    }
+
+    /**
+     * Returns the top frame of the thread, when the frame is requested first time the local
+     * variables used by the previous evaluations at the same location are read with a single request.
+     */
+    private StackFrame frame() throws IncompatibleThreadStateException {
+        if (frame == null) {
+            frame = thread.frame(0);
+            if (preloadedValues == null) {
+                List<LocalVariable> used = new ArrayList<>(cache.getUsedVariables(frame.location()));
+                preloadedValues = used.isEmpty() ? Collections.emptyMap() : frame.getValues(used);
+            }
         }
+        return frame;
     }
 
     public ExpressionValue unaryOperation(ExpressionValue expression, int op) {
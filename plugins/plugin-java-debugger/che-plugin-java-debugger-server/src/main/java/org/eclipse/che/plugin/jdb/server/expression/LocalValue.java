@@ -29,6 +29,12 @@ public class LocalValue implements ExpressionValue {
         this.variable = variable;
     }
 
+    public LocalValue(ThreadReference thread, LocalVariable variable, Value value) {
+        this.thread = thread;
+        this.variable = variable;
+        this.value = value;
+    }
+
     @Override
     public Value getValue() {
         if (value == null) {
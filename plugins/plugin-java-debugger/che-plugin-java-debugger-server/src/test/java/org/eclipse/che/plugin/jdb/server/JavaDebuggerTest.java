@@ -249,6 +249,15 @@ public class JavaDebuggerTest {
         assertTrue(vars.contains("args"));
         assertTrue(vars.contains("msg"));
         assertTrue(vars.contains("test"));
+
+        assertEquals(debugger.dumpStackFrame(0).getVariables().size(), stackFrameDump.getVariables().size());
+        assertEquals(debugger.getValue(new VariablePathImpl("msg"), 0, 0, 1).getVariables().size(), 1);
+        assertEquals(debugger.getValue(new VariablePathImpl("msg"), 0, 1, 1).getVariables().size(), 1);
+    }
+
+    @Test(priority = 11, expectedExceptions = DebuggerException.class)
+    public void shouldThrowExceptionWhenDumpingFrameWhichDoesNotExist() throws Exception {
+        debugger.dumpStackFrame(1000);
     }
 
     @Test(priority = 12)
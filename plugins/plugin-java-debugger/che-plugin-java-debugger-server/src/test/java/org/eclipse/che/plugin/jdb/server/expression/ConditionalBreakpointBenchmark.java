@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import com.sun.jdi.Bootstrap;
+import com.sun.jdi.ClassType;
+import com.sun.jdi.Method;
+import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.connect.Connector;
+import com.sun.jdi.connect.LaunchingConnector;
+import com.sun.jdi.event.BreakpointEvent;
+import com.sun.jdi.event.ClassPrepareEvent;
+import com.sun.jdi.event.Event;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.event.VMDeathEvent;
+import com.sun.jdi.event.VMDisconnectEvent;
+import com.sun.jdi.request.BreakpointRequest;
+import com.sun.jdi.request.ClassPrepareRequest;
+import com.sun.jdi.request.EventRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many hits of a conditional breakpoint per second the debugger handles,
+ * with lookups of the condition kept between hits and with lookups made again on each hit.
+ *
+ * <p>Target JVM is launched with the test classpath, so the benchmark is run
+ * from the IDE or with 'java -cp ... ConditionalBreakpointBenchmark [seconds]'.
+ */
+public class ConditionalBreakpointBenchmark {
+    private static final String CONDITION = "counter >= 0 && i % 1000 == -1";
+
+    public static void main(String[] args) throws Exception {
+        final long duration = TimeUnit.SECONDS.toMillis(args.length > 0 ? Long.parseLong(args[0]) : 10);
+
+        System.out.printf("Lookups made on each hit:  %d hits/s%n", measure(duration, false));
+        System.out.printf("Lookups kept between hits: %d hits/s%n", measure(duration, true));
+    }
+
+    private static long measure(long duration, boolean keepLookups) throws Exception {
+        final VirtualMachine vm = launch();
+        try {
+            final ClassPrepareRequest prepareRequest = vm.eventRequestManager().createClassPrepareRequest();
+            prepareRequest.addClassFilter(Target.class.getName());
+            prepareRequest.enable();
+            vm.resume();
+
+            final ExpressionParser parser = ExpressionParser.newInstance(CONDITION);
+            final EvaluationCache cache = new EvaluationCache();
+            long hits = 0;
+            long start = 0;
+            while (start == 0 || System.currentTimeMillis() - start < duration) {
+                final EventSet eventSet = vm.eventQueue().remove();
+                for (Event event : eventSet) {
+                    if (event instanceof ClassPrepareEvent) {
+                        final Method method = ((ClassType)((ClassPrepareEvent)event).referenceType()).methodsByName("hit").get(0);
+                        final BreakpointRequest breakpoint = vm.eventRequestManager().createBreakpointRequest(method.location());
+                        breakpoint.setSuspendPolicy(EventRequest.SUSPEND_ALL);
+                        breakpoint.enable();
+                        start = System.currentTimeMillis();
+                    } else if (event instanceof BreakpointEvent) {
+                        final Evaluator evaluator = new Evaluator(vm,
+                                                                  ((BreakpointEvent)event).thread(),
+                                                                  keepLookups ? cache : new EvaluationCache());
+                        parser.evaluate(evaluator);
+                        hits++;
+                    } else if (event instanceof VMDeathEvent || event instanceof VMDisconnectEvent) {
+                        throw new IllegalStateException("Target JVM is terminated");
+                    }
+                }
+                eventSet.resume();
+            }
+            return hits * 1000 / (System.currentTimeMillis() - start);
+        } finally {
+            vm.exit(0);
+        }
+    }
+
+    private static VirtualMachine launch() throws Exception {
+        final LaunchingConnector connector = Bootstrap.virtualMachineManager().defaultConnector();
+        final Map<String, Connector.Argument> arguments = connector.defaultArguments();
+        arguments.get("main").setValue(Target.class.getName());
+        arguments.get("options").setValue("-cp " + System.getProperty("java.class.path"));
+        return connector.launch(arguments);
+    }
+
+    /** Target application which hits the breakpoint in an endless loop. */
+    public static class Target {
+        private int counter;
+
+        public static void main(String[] args) {
+            final Target target = new Target();
+            for (int i = 0; ; i++) {
+                target.hit(i);
+            }
+        }
+
+        private void hit(int i) {
+            counter++;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.Value;
+import com.sun.jdi.VirtualMachine;
+
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link EvaluationCache}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class EvaluationCacheTest {
+
+    @Mock
+    private ReferenceType   type;
+    @Mock
+    private Location        location;
+    @Mock
+    private StackFrame      frame;
+    @Mock
+    private Field           field;
+    @Mock
+    private Method          method;
+    @Mock
+    private LocalVariable   variable;
+    @Mock
+    private Value           value;
+    @Mock
+    private ThreadReference thread;
+    @Mock
+    private VirtualMachine  vm;
+
+    private List<Method>    typeMethods;
+    private EvaluationCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        // JDI returns the same list of methods until the type is redefined
+        typeMethods = singletonList(method);
+        when(type.methods()).thenReturn(typeMethods);
+        when(type.fieldByName("counter")).thenReturn(field);
+        when(type.methodsByName("size")).thenReturn(typeMethods);
+        when(location.declaringType()).thenReturn(type);
+        when(frame.location()).thenReturn(location);
+        when(frame.visibleVariableByName("i")).thenReturn(variable);
+        when(thread.frame(0)).thenReturn(frame);
+
+        cache = new EvaluationCache();
+    }
+
+    @Test
+    public void shouldLookUpFieldOnce() throws Exception {
+        assertEquals(cache.fieldByName(type, "counter"), field);
+        assertEquals(cache.fieldByName(type, "counter"), field);
+
+        verify(type).fieldByName("counter");
+    }
+
+    @Test
+    public void shouldRememberMissingField() throws Exception {
+        assertNull(cache.fieldByName(type, "missing"));
+        assertNull(cache.fieldByName(type, "missing"));
+
+        verify(type).fieldByName("missing");
+    }
+
+    @Test
+    public void shouldLookUpMethodsOnce() throws Exception {
+        assertEquals(cache.methodsByName(type, "size"), typeMethods);
+        assertEquals(cache.methodsByName(type, "size"), typeMethods);
+
+        verify(type).methodsByName("size");
+    }
+
+    @Test
+    public void shouldLookUpVisibleVariableOncePerLocation() throws Exception {
+        assertEquals(cache.visibleVariableByName(frame, "i"), variable);
+        assertEquals(cache.visibleVariableByName(frame, "i"), variable);
+        verify(frame).visibleVariableByName("i");
+
+        final Location otherLocation = mock(Location.class);
+        when(otherLocation.declaringType()).thenReturn(type);
+        when(frame.location()).thenReturn(otherLocation);
+
+        assertEquals(cache.visibleVariableByName(frame, "i"), variable);
+        verify(frame, times(2)).visibleVariableByName("i");
+    }
+
+    @Test
+    public void shouldRememberVariablesUsedAtLocation() throws Exception {
+        assertTrue(cache.getUsedVariables(location).isEmpty());
+
+        cache.visibleVariableByName(frame, "i");
+        cache.visibleVariableByName(frame, "missing");
+
+        assertEquals(new ArrayList<>(cache.getUsedVariables(location)), singletonList(variable));
+    }
+
+    @Test
+    public void shouldDropLookupsOfRedefinedType() throws Exception {
+        cache.fieldByName(type, "counter");
+        cache.methodsByName(type, "size");
+        cache.visibleVariableByName(frame, "i");
+
+        when(type.methods()).thenReturn(singletonList(mock(Method.class)));
+
+        assertTrue(cache.getUsedVariables(location).isEmpty());
+        cache.fieldByName(type, "counter");
+        cache.methodsByName(type, "size");
+        cache.visibleVariableByName(frame, "i");
+
+        verify(type, times(2)).fieldByName("counter");
+        verify(type, times(2)).methodsByName("size");
+        verify(frame, times(2)).visibleVariableByName("i");
+    }
+
+    @Test
+    public void shouldReadVariablesUsedByPreviousEvaluationWithSingleRequest() throws Exception {
+        when(frame.getValue(variable)).thenReturn(value);
+        when(frame.getValues(singletonList(variable))).thenReturn(singletonMap(variable, value));
+
+        assertEquals(new Evaluator(vm, thread, cache).getLocalVariable("i").getValue(), value);
+        verify(frame, never()).getValues(anyListOf(LocalVariable.class));
+        verify(frame).getValue(variable);
+
+        assertEquals(new Evaluator(vm, thread, cache).getLocalVariable("i").getValue(), value);
+        verify(frame).getValues(singletonList(variable));
+        verify(frame).getValue(variable);
+        verify(frame).visibleVariableByName("i");
+    }
+}
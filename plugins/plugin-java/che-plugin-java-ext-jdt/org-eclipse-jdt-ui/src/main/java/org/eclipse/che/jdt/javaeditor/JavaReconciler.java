@@ -15,10 +15,12 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
@@ -35,7 +37,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Evgen Vidolob
@@ -45,6 +50,8 @@ public class JavaReconciler {
     private static final Logger LOG = LoggerFactory.getLogger(JavaReconciler.class);
 
 
+    private final Map<String, WorkingCopy> workingCopies = new HashMap<>();
+
     private SemanticHighlightingReconciler semanticHighlighting;
 
     @Inject
@@ -52,32 +59,21 @@ public class JavaReconciler {
         this.semanticHighlighting = semanticHighlighting;
     }
 
+    /**
+     * Reconciles content of the file of the given type. Working copy which is opened with
+     * {@link #openWorkingCopy(IJavaProject, String)} isn't used, see {@link #reconcileWorkingCopy(IJavaProject, String, IProgressMonitor)}.
+     */
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
         final ProblemRequestor requestor = new ProblemRequestor();
-        WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
-            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
-                return requestor;
-            }
-
-            @Override
-            public IBuffer createBuffer(ICompilationUnit workingCopy) {
-//                return BufferManager.createBuffer(workingCopy);
-//                ?????
-                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
-            }
-        };
+        WorkingCopyOwner wcOwner = createWorkingCopyOwner(requestor);
         List<HighlightedPosition> positions = null;
         ICompilationUnit compilationUnit = null;
         try {
-            IType type = javaProject.findType(fqn);
-            if (type == null) {
+            compilationUnit = findCompilationUnit(javaProject, fqn);
+            if (compilationUnit == null) {
                 return null;
             }
-            if (type.isBinary()) {
-                throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
-            } else {
-                compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
-            }
+            compilationUnit = compilationUnit.getWorkingCopy(wcOwner, null);
             requestor.reset();
             CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
             positions = semanticHighlighting.reconcileSemanticHighlight(unit);
@@ -101,8 +97,125 @@ public class JavaReconciler {
             }
         }
 
+        return createResult(requestor.problems, positions);
+    }
+
+    /**
+     * Reconciles content of the working copy opened with {@link #openWorkingCopy(IJavaProject, String)}.
+     * Reconcile may be canceled through the given progress monitor, in this case
+     * {@link org.eclipse.core.runtime.OperationCanceledException} is thrown.
+     *
+     * @return {@code null} if working copy of the type isn't opened
+     */
+    public ReconcileResult reconcileWorkingCopy(IJavaProject javaProject, String fqn, IProgressMonitor monitor) throws JavaModelException {
+        WorkingCopy workingCopy;
+        synchronized (workingCopies) {
+            workingCopy = workingCopies.get(getKey(javaProject, fqn));
+        }
+        return workingCopy == null ? null : workingCopy.reconcile(monitor);
+    }
+
+    /**
+     * Opens long-lived working copy of the given type, so following reconciles reuse it instead of creating
+     * a new one from the file. Content of the working copy is updated with {@link #applyChanges(IJavaProject, String, List)}.
+     * Each call must be paired with {@link #closeWorkingCopy(IJavaProject, String)}.
+     *
+     * @return {@code false} if type is not found
+     */
+    public boolean openWorkingCopy(IJavaProject javaProject, String fqn) throws JavaModelException {
+        String key = getKey(javaProject, fqn);
+        synchronized (workingCopies) {
+            WorkingCopy workingCopy = workingCopies.get(key);
+            if (workingCopy == null) {
+                ICompilationUnit compilationUnit = findCompilationUnit(javaProject, fqn);
+                if (compilationUnit == null) {
+                    return false;
+                }
+                workingCopy = new WorkingCopy(compilationUnit);
+                workingCopies.put(key, workingCopy);
+            }
+            workingCopy.references++;
+            return true;
+        }
+    }
+
+    /**
+     * Applies text changes to the working copy opened with {@link #openWorkingCopy(IJavaProject, String)}.
+     * Changes are applied in the given order, file content isn't changed.
+     */
+    public void applyChanges(IJavaProject javaProject, String fqn, List<Change> changes) throws JavaModelException {
+        getOpenedWorkingCopy(javaProject, fqn).applyChanges(changes);
+    }
+
+    /**
+     * Replaces the whole content of the working copy opened with {@link #openWorkingCopy(IJavaProject, String)},
+     * e.g. with the content of the editor which has unsaved changes.
+     */
+    public void setContents(IJavaProject javaProject, String fqn, String contents) throws JavaModelException {
+        getOpenedWorkingCopy(javaProject, fqn).setContents(contents);
+    }
+
+    /**
+     * Closes working copy opened with {@link #openWorkingCopy(IJavaProject, String)}.
+     * Working copy is discarded when it is closed as many times as it was opened.
+     */
+    public void closeWorkingCopy(IJavaProject javaProject, String fqn) {
+        String key = getKey(javaProject, fqn);
+        WorkingCopy workingCopy;
+        synchronized (workingCopies) {
+            workingCopy = workingCopies.get(key);
+            if (workingCopy == null || --workingCopy.references > 0) {
+                return;
+            }
+            workingCopies.remove(key);
+        }
+        workingCopy.discard();
+    }
+
+    private WorkingCopy getOpenedWorkingCopy(IJavaProject javaProject, String fqn) {
+        WorkingCopy workingCopy;
+        synchronized (workingCopies) {
+            workingCopy = workingCopies.get(getKey(javaProject, fqn));
+        }
+        if (workingCopy == null) {
+            throw new IllegalStateException("Working copy isn't opened for type: " + fqn);
+        }
+        return workingCopy;
+    }
+
+    private ICompilationUnit findCompilationUnit(IJavaProject javaProject, String fqn) throws JavaModelException {
+        IType type = javaProject.findType(fqn);
+        if (type == null) {
+            return null;
+        }
+        if (type.isBinary()) {
+            throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
+        }
+        return type.getCompilationUnit();
+    }
+
+    private static String getKey(IJavaProject javaProject, String fqn) {
+        return javaProject.getPath().toString() + '#' + fqn;
+    }
+
+    private static WorkingCopyOwner createWorkingCopyOwner(ProblemRequestor requestor) {
+        return new WorkingCopyOwner() {
+            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
+                return requestor;
+            }
+
+            @Override
+            public IBuffer createBuffer(ICompilationUnit workingCopy) {
+//                return BufferManager.createBuffer(workingCopy);
+//                ?????
+                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
+            }
+        };
+    }
+
+    private ReconcileResult createResult(List<IProblem> problems, List<HighlightedPosition> positions) {
         ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
-        result.setProblems(convertProblems(requestor.problems));
+        result.setProblems(convertProblems(problems));
         result.setHighlightedPositions(positions);
         return result;
     }
@@ -131,6 +244,47 @@ public class JavaReconciler {
         return result;
     }
 
+    /** Long-lived working copy, JDT reuses its AST and only re-parses the unit when the buffer is changed. */
+    private class WorkingCopy {
+        private final ProblemRequestor requestor = new ProblemRequestor();
+        private final WorkingCopyOwner owner     = createWorkingCopyOwner(requestor);
+        private final ICompilationUnit compilationUnit;
+
+        private int references;
+
+        WorkingCopy(ICompilationUnit unit) throws JavaModelException {
+            compilationUnit = unit.getWorkingCopy(owner, null);
+        }
+
+        synchronized ReconcileResult reconcile(IProgressMonitor monitor) throws JavaModelException {
+            requestor.reset();
+            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, owner, monitor);
+            List<HighlightedPosition> positions = unit == null ? Collections.<HighlightedPosition>emptyList()
+                                                               : semanticHighlighting.reconcileSemanticHighlight(unit);
+            return createResult(new ArrayList<>(requestor.problems), positions);
+        }
+
+        synchronized void applyChanges(List<Change> changes) throws JavaModelException {
+            IBuffer buffer = compilationUnit.getBuffer();
+            for (Change change : changes) {
+                buffer.replace(change.getOffset(), change.getLength(), change.getText());
+            }
+        }
+
+        synchronized void setContents(String contents) throws JavaModelException {
+            compilationUnit.getBuffer().setContents(contents);
+        }
+
+        synchronized void discard() {
+            try {
+                compilationUnit.getBuffer().close();
+                compilationUnit.discardWorkingCopy();
+            } catch (JavaModelException e) {
+                LOG.debug("Can't discard working copy of " + compilationUnit.getElementName(), e);
+            }
+        }
+    }
+
     private static class ProblemRequestor implements IProblemRequestor {
 
         private List<IProblem> problems = new ArrayList<>();
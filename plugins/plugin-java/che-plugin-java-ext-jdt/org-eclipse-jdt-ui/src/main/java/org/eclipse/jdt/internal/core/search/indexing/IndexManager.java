@@ -91,9 +91,12 @@ public class IndexManager extends JobManager implements IIndexConstants {
     private SimpleLookupTable participantsContainers = null;
     private boolean           participantUpdated     = false;
     private String indexLocation;
+    // prebuilt indexes of jars shared between workspaces, may be null
+    private SharedIndexRepository sharedIndexes;
 
     public IndexManager(String indexLocation) {
         this.indexLocation = indexLocation;
+        this.sharedIndexes = SharedIndexRepository.fromSystemProperty();
         indexNamesMapFile = new File(getSavedIndexesDirectory(), "indexNamesMap.txt");
         savedIndexNamesFile = new File(getSavedIndexesDirectory(), "savedIndexNames.txt");
         participantIndexNamesFile = new File(getSavedIndexesDirectory(), "participantsIndexNames.txt");
@@ -602,6 +605,10 @@ public class IndexManager extends JobManager implements IIndexConstants {
     public void indexLibrary(IPath path, IProject requestingProject, URL indexURL, final boolean updateIndex) {
         // requestingProject is no longer used to cancel jobs but leave it here just in case
         IndexLocation indexFile = null;
+        if (indexURL == null && this.sharedIndexes != null) {
+            // reuse index built for the same jar content instead of indexing it again
+            indexURL = this.sharedIndexes.findIndex(path, getSavedIndexesDirectory());
+        }
         if (indexURL != null) {
             if (IS_MANAGING_PRODUCT_INDEXES_PROPERTY) {
                 indexFile = computeIndexLocation(path, indexURL);
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line tool which prebuilds indexes for {@link SharedIndexRepository}.
+ * <p>
+ * Usage: {@code SharedIndexBuilder <repository dir> <artifact>...}, where artifact is either path to a jar,
+ * maven coordinates {@code groupId:artifactId:version} resolved in the local maven repository
+ * ({@code maven.repo.local} system property or {@code ~/.m2/repository}), or {@code @file} with one artifact per line.
+ */
+public class SharedIndexBuilder {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SharedIndexBuilder <repository dir> <jar | groupId:artifactId:version | @file>...");
+            System.exit(1);
+        }
+        File root = new File(args[0]);
+        if (!root.isDirectory() && !root.mkdirs()) {
+            System.err.println("Can't create repository directory " + root);
+            System.exit(1);
+        }
+
+        List<String> artifacts = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("@")) {
+                for (String line : Files.readAllLines(new File(args[i].substring(1)).toPath())) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        artifacts.add(line);
+                    }
+                }
+            } else {
+                artifacts.add(args[i]);
+            }
+        }
+
+        SharedIndexRepository repository = new SharedIndexRepository(root);
+        int failed = 0;
+        for (String artifact : artifacts) {
+            File jar = resolve(artifact);
+            if (!jar.isFile()) {
+                System.err.println("Skipped " + artifact + ": " + jar + " doesn't exist");
+                failed++;
+                continue;
+            }
+            long start = System.currentTimeMillis();
+            try {
+                File index = repository.buildIndex(jar);
+                System.out.println(artifact + " -> " + index.getName() + " (" + (System.currentTimeMillis() - start) + " ms)");
+            } catch (IOException e) {
+                System.err.println("Failed to index " + artifact + ": " + e.getMessage());
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            System.exit(2);
+        }
+    }
+
+    static File resolve(String artifact) {
+        String[] coordinates = artifact.split(":");
+        if (coordinates.length != 3 || artifact.endsWith(".jar")) {
+            return new File(artifact);
+        }
+        String localRepository = System.getProperty("maven.repo.local",
+                                                    System.getProperty("user.home") + "/.m2/repository");
+        return new File(localRepository,
+                        coordinates[0].replace('.', '/') + '/' + coordinates[1] + '/' + coordinates[2] + '/' +
+                        coordinates[1] + '-' + coordinates[2] + ".jar");
+    }
+}
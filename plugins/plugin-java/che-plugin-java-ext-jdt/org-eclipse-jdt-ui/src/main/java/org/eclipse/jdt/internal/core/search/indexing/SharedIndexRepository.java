@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
+import org.eclipse.jdt.internal.core.search.processing.JobManager;
+import org.eclipse.jdt.internal.core.util.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Read-only repository of prebuilt indexes of binary jars, shared between workspaces.
+ * <p>
+ * Indexes are content-addressed: name of the index file is built from SHA-1 of the jar and the version of
+ * JDT index format, so the same jar has the same index in any workspace and indexes built by an incompatible
+ * JDT version are never used. Repository is usually mounted into the machine and enabled with
+ * {@value #SHARED_INDEX_DIR_PROPERTY} system property, indexes are prebuilt with {@link SharedIndexBuilder}.
+ * <p>
+ * JDT deletes and rewrites index files it uses, e.g. when the library is removed from the classpath,
+ * so index files of the repository are never given to JDT, they are copied to the index directory of the workspace.
+ */
+public class SharedIndexRepository {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedIndexRepository.class);
+
+    /** System property which points to the directory with shared indexes. */
+    public static final String SHARED_INDEX_DIR_PROPERTY = "che.jdt.shared_index_dir";
+
+    private static final String INDEX_SUFFIX  = ".index";
+    private static final String INDEX_VERSION = computeIndexVersion();
+
+    private final File                root;
+    private final Map<String, String> digests;
+
+    public SharedIndexRepository(File root) {
+        this.root = root;
+        this.digests = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates repository located in directory configured with {@value #SHARED_INDEX_DIR_PROPERTY} system property.
+     *
+     * @return repository or {@code null} if property isn't set or directory doesn't exist
+     */
+    public static SharedIndexRepository fromSystemProperty() {
+        String path = System.getProperty(SHARED_INDEX_DIR_PROPERTY);
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        File root = new File(path);
+        if (!root.isDirectory()) {
+            LOG.warn("Shared index directory {} doesn't exist, shared indexes are disabled", root);
+            return null;
+        }
+        return new SharedIndexRepository(root);
+    }
+
+    /**
+     * Finds prebuilt index of the given jar and copies it to the given directory, the copy is reused
+     * while it is not deleted. Corrupt index is ignored.
+     *
+     * @param jarPath
+     *         path to the jar file
+     * @param targetDir
+     *         directory where the copy of the index is stored
+     * @return URL of the copy of the index file or {@code null} if there is no valid prebuilt index for the jar
+     */
+    public URL findIndex(IPath jarPath, File targetDir) {
+        File jar = jarPath.toFile();
+        if (!jar.isFile()) {
+            return null;
+        }
+        File copy = null;
+        try {
+            File index = getIndexFile(jar);
+            if (!index.isFile()) {
+                return null;
+            }
+            copy = new File(targetDir, index.getName());
+            if (!copy.isFile() || copy.length() != index.length()) {
+                copyIndex(index, copy);
+            }
+            // reads header of the index, nothing is written when existing file is reused
+            new Index(new FileIndexLocation(copy), jarPath.toString(), true);
+            if (JobManager.VERBOSE) {
+                Util.verbose("-> shared index for " + jarPath + " is " + index); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            return copy.toURI().toURL();
+        } catch (IOException e) {
+            LOG.warn("Can't use shared index of {}: {}", jar, e.getMessage());
+            if (copy != null) {
+                copy.delete();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Builds index of the given jar and stores it in the repository. Does nothing if index already exists.
+     *
+     * @return index file
+     * @throws IOException
+     *         when jar can't be read or index can't be written
+     */
+    public File buildIndex(File jar) throws IOException {
+        File indexFile = getIndexFile(jar);
+        if (indexFile.isFile()) {
+            return indexFile;
+        }
+
+        // build index in a temporary file to not expose partially written index to the workspaces which use repository
+        File tmpFile = File.createTempFile(indexFile.getName(), ".tmp", root);
+        try {
+            IPath jarPath = new Path(jar.getAbsolutePath());
+            Index index = new Index(new FileIndexLocation(tmpFile), jarPath.toString(), false);
+            index.separator = IIndexConstants.JAR_SEPARATOR;
+            SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
+            try (ZipFile zip = new ZipFile(jar)) {
+                for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                    ZipEntry entry = entries.nextElement();
+                    if (!org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(entry.getName())) {
+                        continue;
+                    }
+                    byte[] bytes = org.eclipse.jdt.internal.compiler.util.Util.getZipEntryByteContent(entry, zip);
+                    JavaSearchDocument document = new JavaSearchDocument(entry, jarPath, bytes, participant);
+                    document.setIndex(index);
+                    try {
+                        new BinaryIndexer(document).indexDocument();
+                    } finally {
+                        document.setIndex(null);
+                    }
+                }
+            }
+            index.save();
+            Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmpFile.delete();
+        }
+        return indexFile;
+    }
+
+    private static void copyIndex(File index, File copy) throws IOException {
+        copy.getParentFile().mkdirs();
+        // copy to a temporary file, so other index managers never see a partially copied index
+        File tmpFile = File.createTempFile(copy.getName(), ".tmp", copy.getParentFile());
+        try {
+            Files.copy(index.toPath(), tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tmpFile.toPath(), copy.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            tmpFile.delete();
+        }
+    }
+
+    /** Returns location of the index of the given jar in this repository, file may not exist. */
+    File getIndexFile(File jar) throws IOException {
+        return new File(root, getDigest(jar) + '-' + INDEX_VERSION + INDEX_SUFFIX);
+    }
+
+    private String getDigest(File jar) throws IOException {
+        // jars rarely change, so digest is cached until file size or modification time is changed
+        String key = jar.getAbsolutePath() + '|' + jar.length() + '|' + jar.lastModified();
+        String digest = digests.get(key);
+        if (digest == null) {
+            digest = sha1(jar);
+            digests.put(key, digest);
+        }
+        return digest;
+    }
+
+    private static String sha1(File file) throws IOException {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : messageDigest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static String computeIndexVersion() {
+        CRC32 checksumCalculator = new CRC32();
+        checksumCalculator.update(DiskIndex.SIGNATURE.getBytes());
+        return Long.toString(checksumCalculator.getValue());
+    }
+}
@@ -13,30 +13,70 @@ package org.eclipse.che.ide.ext.java.client.editor;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.ide.ext.java.shared.dto.WorkingCopyChanges;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.util.loging.Log;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
+ * Client for the java reconcile. Content of the file is reconciled with the REST service, content of the editor
+ * is reconciled in the working copy which is kept on the ws-agent and is updated by the text changes of the editor.
+ *
+ * <p>Only one request per working copy is sent at a time, so the ws-agent applies the changes in the order they
+ * were made. When the same type is opened in several editors the changes of the first one are sent.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class JavaReconcileClient {
+    private static final String WS_AGENT_ENDPOINT = "ws-agent";
+
+    private static final String OPEN_METHOD   = "java:working-copy:open";
+    private static final String CHANGE_METHOD = "java:working-copy:change";
+    private static final String CLOSE_METHOD  = "java:working-copy:close";
+    private static final String RESULT_METHOD = "java:reconcile:result";
 
-    private final DtoUnmarshallerFactory dtoUnmarshallerFactory;
-    private final AsyncRequestFactory    asyncRequestFactory;
-    private final AppContext appContext;
+    private final DtoUnmarshallerFactory   dtoUnmarshallerFactory;
+    private final AsyncRequestFactory      asyncRequestFactory;
+    private final AppContext               appContext;
+    private final DtoFactory               dtoFactory;
+    private final RequestTransmitter       requestTransmitter;
+    private final Map<String, WorkingCopy> workingCopies;
 
     @Inject
     public JavaReconcileClient(DtoUnmarshallerFactory dtoUnmarshallerFactory,
                                AppContext appContext,
-                               AsyncRequestFactory asyncRequestFactory) {
+                               AsyncRequestFactory asyncRequestFactory,
+                               DtoFactory dtoFactory,
+                               RequestTransmitter requestTransmitter) {
         this.appContext = appContext;
         this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
         this.asyncRequestFactory = asyncRequestFactory;
+        this.dtoFactory = dtoFactory;
+        this.requestTransmitter = requestTransmitter;
+        this.workingCopies = new HashMap<>();
+    }
+
+    @Inject
+    private void configureReceiver(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName(RESULT_METHOD)
+                    .paramsAsDto(ReconcileResult.class)
+                    .noResult()
+                    .withConsumer(this::onWorkingCopyReconciled);
     }
 
     public void reconcile(String projectPath, String fqn, final ReconcileCallback callback) {
@@ -55,7 +95,152 @@ public class JavaReconcileClient {
                            });
     }
 
+    /**
+     * Opens working copy of the type with the content of the editor.
+     * Results of the reconciles of the working copy are passed to the callback until the working copy is closed.
+     */
+    public void openWorkingCopy(String projectPath, String fqn, WorkingCopyCallback callback) {
+        final String key = getKey(projectPath, fqn);
+        WorkingCopy workingCopy = workingCopies.get(key);
+        if (workingCopy == null) {
+            workingCopy = new WorkingCopy(projectPath, fqn);
+            workingCopies.put(key, workingCopy);
+        }
+        if (!workingCopy.callbacks.contains(callback)) {
+            workingCopy.callbacks.add(callback);
+        }
+        if (workingCopy.callbacks.size() == 1) {
+            workingCopy.opened = false;
+            workingCopy.send();
+        }
+    }
+
+    /**
+     * Sends text changes of the editor to the working copy opened with {@link #openWorkingCopy(String, String, WorkingCopyCallback)},
+     * the working copy is reconciled after the changes are applied even if there are no changes.
+     */
+    public void applyChanges(String projectPath, String fqn, List<Change> changes, WorkingCopyCallback callback) {
+        final WorkingCopy workingCopy = workingCopies.get(getKey(projectPath, fqn));
+        if (workingCopy == null || workingCopy.callbacks.indexOf(callback) != 0) {
+            return;
+        }
+        workingCopy.changes.addAll(changes);
+        workingCopy.changed = true;
+        workingCopy.send();
+    }
+
+    /** Closes working copy opened with {@link #openWorkingCopy(String, String, WorkingCopyCallback)}. */
+    public void closeWorkingCopy(String projectPath, String fqn, WorkingCopyCallback callback) {
+        final String key = getKey(projectPath, fqn);
+        final WorkingCopy workingCopy = workingCopies.get(key);
+        if (workingCopy == null || !workingCopy.callbacks.remove(callback) || !workingCopy.callbacks.isEmpty()) {
+            return;
+        }
+        workingCopies.remove(key);
+        requestTransmitter.newRequest()
+                          .endpointId(WS_AGENT_ENDPOINT)
+                          .methodName(CLOSE_METHOD)
+                          .paramsAsDto(newWorkingCopyChanges(projectPath, fqn))
+                          .sendAndSkipResult();
+    }
+
+    private void onWorkingCopyReconciled(ReconcileResult result) {
+        final WorkingCopy workingCopy = workingCopies.get(getKey(result.getProjectPath(), result.getFqn()));
+        if (workingCopy == null) {
+            return;
+        }
+        for (WorkingCopyCallback callback : new ArrayList<>(workingCopy.callbacks)) {
+            callback.onReconcile(result);
+        }
+    }
+
+    private WorkingCopyChanges newWorkingCopyChanges(String projectPath, String fqn) {
+        return dtoFactory.createDto(WorkingCopyChanges.class)
+                         .withProjectPath(projectPath)
+                         .withFqn(fqn);
+    }
+
+    private static String getKey(String projectPath, String fqn) {
+        return projectPath + '#' + fqn;
+    }
+
     public interface ReconcileCallback {
         void onReconcile(ReconcileResult result);
     }
+
+    public interface WorkingCopyCallback extends ReconcileCallback {
+        /**
+         * Returns the current content of the editor, it is sent when the working copy is opened or re-opened,
+         * so the changes made before the call must not be sent by {@link JavaReconcileClient#applyChanges} afterwards.
+         */
+        String getContents();
+    }
+
+    private class WorkingCopy {
+        private final String                    projectPath;
+        private final String                    fqn;
+        private final List<WorkingCopyCallback> callbacks = new ArrayList<>();
+        private final List<Change>              changes   = new ArrayList<>();
+
+        /** Whether the working copy is opened with the content of the editor on the ws-agent. */
+        private boolean opened;
+        /** Whether there are changes or a reconcile request which aren't sent yet. */
+        private boolean changed;
+        /** Whether a request is sent and its response isn't received yet. */
+        private boolean sending;
+
+        WorkingCopy(String projectPath, String fqn) {
+            this.projectPath = projectPath;
+            this.fqn = fqn;
+        }
+
+        void send() {
+            if (sending || callbacks.isEmpty() || workingCopies.get(getKey(projectPath, fqn)) != this) {
+                return;
+            }
+            final WorkingCopyChanges params = newWorkingCopyChanges(projectPath, fqn);
+            final String method;
+            if (!opened) {
+                // the whole content of the editor already contains the changes
+                method = OPEN_METHOD;
+                params.setContents(callbacks.get(0).getContents());
+            } else if (changed) {
+                method = CHANGE_METHOD;
+                params.setChanges(new ArrayList<>(changes));
+            } else {
+                return;
+            }
+            changes.clear();
+            changed = false;
+            sending = true;
+            requestTransmitter.newRequest()
+                              .endpointId(WS_AGENT_ENDPOINT)
+                              .methodName(method)
+                              .paramsAsDto(params)
+                              .sendAndReceiveResultAsEmpty()
+                              .onSuccess(() -> {
+                                  sending = false;
+                                  opened = true;
+                                  send();
+                              })
+                              .onFailure(error -> {
+                                  sending = false;
+                                  onFailure(method, error);
+                              });
+        }
+
+        private void onFailure(String method, JsonRpcError error) {
+            Log.warn(JavaReconcileClient.class, "Can't update working copy of " + fqn + ": " + error.getMessage());
+            if (OPEN_METHOD.equals(method)) {
+                // the type can't be opened, e.g. it isn't found, so the changes aren't sent until it is opened again
+                changes.clear();
+                changed = false;
+                workingCopies.remove(getKey(projectPath, fqn));
+            } else {
+                // the working copy is lost by the ws-agent, e.g. it was released while the client was disconnected
+                opened = false;
+                send();
+            }
+        }
+    }
 }
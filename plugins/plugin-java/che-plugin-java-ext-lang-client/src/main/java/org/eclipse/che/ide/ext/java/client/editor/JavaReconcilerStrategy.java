@@ -13,10 +13,12 @@ package org.eclipse.che.ide.ext.java.client.editor;
 import com.google.common.base.Optional;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
+import com.google.web.bindery.event.shared.HandlerRegistration;
 
 import org.eclipse.che.ide.api.editor.EditorWithErrors;
 import org.eclipse.che.ide.api.editor.annotation.AnnotationModel;
 import org.eclipse.che.ide.api.editor.document.Document;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
 import org.eclipse.che.ide.api.editor.reconciler.DirtyRegion;
 import org.eclipse.che.ide.api.editor.reconciler.ReconcilingStrategy;
 import org.eclipse.che.ide.api.editor.text.Region;
@@ -25,7 +27,9 @@ import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.api.resources.VirtualFile;
 import org.eclipse.che.ide.ext.java.client.JavaLocalizationConstant;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.util.JavaUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
@@ -36,11 +40,16 @@ import org.eclipse.che.ide.project.ResolvingProjectStateHolderRegistry;
 import org.eclipse.che.ide.util.loging.Log;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.IN_PROGRESS;
 
+/**
+ * Reconciles java editor in the working copy of the type which is kept on the ws-agent.
+ * Text changes of the editor are collected in the order they are made and are sent on reconcile.
+ */
 public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingProjectStateListener {
 
     private final TextEditor                          editor;
@@ -50,9 +59,29 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
     private final ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry;
     private final JavaLocalizationConstant            localizationConstant;
     private final JavaReconcileClient                 client;
+    private final DtoFactory                          dtoFactory;
+    private final List<Change>                        changes;
+
+    private final JavaReconcileClient.WorkingCopyCallback workingCopyCallback = new JavaReconcileClient.WorkingCopyCallback() {
+        @Override
+        public String getContents() {
+            // the content already contains the changes made so far, they mustn't be applied once again on top of it
+            changes.clear();
+            return document.getContents();
+        }
+
+        @Override
+        public void onReconcile(ReconcileResult result) {
+            JavaReconcilerStrategy.this.onReconcile(result);
+        }
+    };
 
     private EditorWithErrors            editorWithErrors;
     private ResolvingProjectStateHolder resolvingProjectStateHolder;
+    private Document                    document;
+    private HandlerRegistration         documentChangeRegistration;
+    private String                      projectPath;
+    private String                      fqn;
 
     @AssistedInject
     public JavaReconcilerStrategy(@Assisted @NotNull final TextEditor editor,
@@ -61,9 +90,12 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
                                   final JavaReconcileClient client,
                                   final SemanticHighlightRenderer highlighter,
                                   final ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry,
-                                  final JavaLocalizationConstant localizationConstant) {
+                                  final JavaLocalizationConstant localizationConstant,
+                                  final DtoFactory dtoFactory) {
         this.editor = editor;
         this.client = client;
+        this.dtoFactory = dtoFactory;
+        this.changes = new ArrayList<>();
         this.codeAssistProcessor = codeAssistProcessor;
         this.annotationModel = annotationModel;
         this.highlighter = highlighter;
@@ -76,6 +108,7 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
 
     @Override
     public void setDocument(final Document document) {
+        this.document = document;
         highlighter.init(editor.getEditorWidget(), document);
 
         if (getFile() instanceof Resource) {
@@ -85,6 +118,8 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
                 return;
             }
 
+            openWorkingCopy(project.get());
+
             String projectType = project.get().getType();
             resolvingProjectStateHolder = resolvingProjectStateHolderRegistry.getResolvingProjectStateHolder(projectType);
             if (resolvingProjectStateHolder == null) {
@@ -104,40 +139,48 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
     }
 
     void parse() {
-        if (getFile() instanceof Resource) {
-            final Optional<Project> project = ((Resource)getFile()).getRelatedProject();
-
-            if (!project.isPresent()) {
-                return;
-            }
-
-            try {
-                client.reconcile(project.get().getLocation().toString(), JavaUtil.resolveFQN(getFile()),
-                                 new JavaReconcileClient.ReconcileCallback() {
-                                     @Override
-                                     public void onReconcile(ReconcileResult result) {
-                                         if (resolvingProjectStateHolder != null && resolvingProjectStateHolder.getState() == IN_PROGRESS) {
-                                             disableReconciler(localizationConstant.codeAssistErrorMessageResolvingProject());
-                                             return;
-                                         } else {
-                                             codeAssistProcessor.enableCodeAssistant();
-                                         }
-
-                                         if (result == null) {
-                                             return;
-                                         }
-                                         doReconcile(result.getProblems());
-                                         highlighter.reconcile(result.getHighlightedPositions());
-                                     }
-                                 });
-            } catch (RuntimeException e) {
-                Log.info(getClass(), e.getMessage());
-            }
+        if (fqn == null) {
+            return;
         }
+        client.applyChanges(projectPath, fqn, new ArrayList<>(changes), workingCopyCallback);
+        changes.clear();
+    }
 
+    private void openWorkingCopy(Project project) {
+        try {
+            fqn = JavaUtil.resolveFQN(getFile());
+        } catch (RuntimeException e) {
+            Log.info(getClass(), e.getMessage());
+            return;
+        }
+        projectPath = project.getLocation().toString();
+        documentChangeRegistration = document.getDocumentHandle()
+                                             .getDocEventBus()
+                                             .addHandler(DocumentChangeEvent.TYPE, this::onDocumentChange);
+        client.openWorkingCopy(projectPath, fqn, workingCopyCallback);
+    }
 
+    private void onDocumentChange(DocumentChangeEvent event) {
+        changes.add(dtoFactory.createDto(Change.class)
+                              .withOffset(event.getOffset())
+                              .withLength(event.getRemoveCharCount())
+                              .withText(event.getText()));
     }
 
+    private void onReconcile(ReconcileResult result) {
+        if (resolvingProjectStateHolder != null && resolvingProjectStateHolder.getState() == IN_PROGRESS) {
+            disableReconciler(localizationConstant.codeAssistErrorMessageResolvingProject());
+            return;
+        } else {
+            codeAssistProcessor.enableCodeAssistant();
+        }
+
+        if (result == null) {
+            return;
+        }
+        doReconcile(result.getProblems());
+        highlighter.reconcile(result.getHighlightedPositions());
+    }
 
     @Override
     public void reconcile(final Region partition) {
@@ -202,6 +245,15 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy, ResolvingPro
         if (resolvingProjectStateHolder != null) {
             resolvingProjectStateHolder.removeResolvingProjectStateListener(this);
         }
+        if (documentChangeRegistration != null) {
+            documentChangeRegistration.removeHandler();
+            documentChangeRegistration = null;
+        }
+        if (fqn != null) {
+            client.closeWorkingCopy(projectPath, fqn, workingCopyCallback);
+            changes.clear();
+            fqn = null;
+        }
     }
 
     @Override
@@ -17,12 +17,18 @@ import com.google.web.bindery.event.shared.HandlerRegistration;
 import org.eclipse.che.ide.api.editor.EditorInput;
 import org.eclipse.che.ide.api.editor.annotation.AnnotationModel;
 import org.eclipse.che.ide.api.editor.document.Document;
+import org.eclipse.che.ide.api.editor.document.DocumentEventBus;
+import org.eclipse.che.ide.api.editor.document.DocumentHandle;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeEvent;
+import org.eclipse.che.ide.api.editor.events.DocumentChangeHandler;
 import org.eclipse.che.ide.api.editor.texteditor.TextEditor;
 import org.eclipse.che.ide.api.resources.Container;
 import org.eclipse.che.ide.api.resources.File;
 import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.JavaLocalizationConstant;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.project.ResolvingProjectStateHolder;
@@ -43,8 +49,10 @@ import java.util.List;
 
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.IN_PROGRESS;
 import static org.eclipse.che.ide.project.ResolvingProjectStateHolder.ResolvingProjectState.RESOLVED;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -82,9 +90,21 @@ public class JavaReconcilerStrategyTest {
     private ResolvingProjectStateHolderRegistry resolvingProjectStateHolderRegistry;
     @Mock
     private JavaLocalizationConstant            localizationConstant;
+    @Mock
+    private DtoFactory                          dtoFactory;
+    @Mock
+    private Document                            document;
+    @Mock
+    private DocumentHandle                      documentHandle;
+    @Mock
+    private DocumentEventBus                    documentEventBus;
 
     @Captor
-    private ArgumentCaptor<JavaReconcileClient.ReconcileCallback> reconcileCallbackCaptor;
+    private ArgumentCaptor<JavaReconcileClient.WorkingCopyCallback> workingCopyCallbackCaptor;
+    @Captor
+    private ArgumentCaptor<DocumentChangeHandler>                   documentChangeHandlerCaptor;
+    @Captor
+    private ArgumentCaptor<List<Change>>                            changesCaptor;
 
 
     @InjectMocks
@@ -115,17 +135,76 @@ public class JavaReconcilerStrategyTest {
         when(resolvingProjectStateHolderRegistry.getResolvingProjectStateHolder(anyString())).thenReturn(resolvingProjectStateHolder);
         when(localizationConstant.codeAssistErrorMessageResolvingProject()).thenReturn("error");
 
-        javaReconcilerStrategy.setDocument(mock(Document.class));
+        when(document.getDocumentHandle()).thenReturn(documentHandle);
+        when(documentHandle.getDocEventBus()).thenReturn(documentEventBus);
+        when(documentEventBus.addHandler(eq(DocumentChangeEvent.TYPE), documentChangeHandlerCaptor.capture()))
+                .thenReturn(handlerRegistration);
+        when(dtoFactory.createDto(Change.class)).thenAnswer(invocation -> new ChangeImpl());
+
+        javaReconcilerStrategy.setDocument(document);
     }
 
     @Test
-    public void shouldDisableReconcilerWhenResolvingProjectIsInProgress() throws Exception {
-        when(resolvingProjectStateHolder.getState()).thenReturn(IN_PROGRESS);
+    public void shouldOpenWorkingCopyWithContentOfEditor() throws Exception {
+        when(document.getContents()).thenReturn("class TestClass {}");
+
+        verify(client).openWorkingCopy(eq("some/path/to/project"), anyString(), workingCopyCallbackCaptor.capture());
+        assertEquals("class TestClass {}", workingCopyCallbackCaptor.getValue().getContents());
+    }
+
+    @Test
+    public void shouldSendChangesInOrderOnReconcile() throws Exception {
+        DocumentChangeHandler changeHandler = documentChangeHandlerCaptor.getValue();
+        changeHandler.onDocumentChange(new DocumentChangeEvent(documentHandle, 0, 3, "abc", 0));
+        changeHandler.onDocumentChange(new DocumentChangeEvent(documentHandle, 1, 0, "", 2));
+
+        javaReconcilerStrategy.parse();
+
+        verify(client).applyChanges(eq("some/path/to/project"), anyString(), changesCaptor.capture(), any());
+        List<Change> changes = changesCaptor.getValue();
+        assertEquals(2, changes.size());
+        assertEquals(0, changes.get(0).getOffset());
+        assertEquals(0, changes.get(0).getLength());
+        assertEquals("abc", changes.get(0).getText());
+        assertEquals(1, changes.get(1).getOffset());
+        assertEquals(2, changes.get(1).getLength());
+        assertEquals("", changes.get(1).getText());
+    }
+
+    @Test
+    public void shouldNotSendChangesWhichAreContainedInContentOfReopenedWorkingCopy() throws Exception {
+        when(document.getContents()).thenReturn("abc class TestClass {}");
+        verify(client).openWorkingCopy(eq("some/path/to/project"), anyString(), workingCopyCallbackCaptor.capture());
+        DocumentChangeHandler changeHandler = documentChangeHandlerCaptor.getValue();
+        changeHandler.onDocumentChange(new DocumentChangeEvent(documentHandle, 0, 4, "abc ", 0));
+
+        assertEquals("abc class TestClass {}", workingCopyCallbackCaptor.getValue().getContents());
+        changeHandler.onDocumentChange(new DocumentChangeEvent(documentHandle, 0, 0, "", 4));
+        javaReconcilerStrategy.parse();
+
+        verify(client).applyChanges(eq("some/path/to/project"), anyString(), changesCaptor.capture(), any());
+        List<Change> changes = changesCaptor.getValue();
+        assertEquals(1, changes.size());
+        assertEquals(4, changes.get(0).getLength());
+    }
+
+    @Test
+    public void shouldCloseWorkingCopyWhenReconcilerIsClosed() throws Exception {
+        javaReconcilerStrategy.closeReconciler();
+
+        verify(handlerRegistration).removeHandler();
+        verify(client).closeWorkingCopy(eq("some/path/to/project"), anyString(), any());
 
         javaReconcilerStrategy.parse();
+        verify(client, never()).applyChanges(anyString(), anyString(), anyListOf(Change.class), any());
+    }
 
-        verify(client).reconcile(anyString(), anyString(), reconcileCallbackCaptor.capture());
-        JavaReconcileClient.ReconcileCallback reconcileCallback = reconcileCallbackCaptor.getValue();
+    @Test
+    public void shouldDisableReconcilerWhenResolvingProjectIsInProgress() throws Exception {
+        when(resolvingProjectStateHolder.getState()).thenReturn(IN_PROGRESS);
+
+        verify(client).openWorkingCopy(anyString(), anyString(), workingCopyCallbackCaptor.capture());
+        JavaReconcileClient.ReconcileCallback reconcileCallback = workingCopyCallbackCaptor.getValue();
         reconcileCallback.onReconcile(reconcileResult);
 
         verify(reconcileResult, never()).getProblems();
@@ -143,10 +222,8 @@ public class JavaReconcilerStrategyTest {
         positions.add(highlightedPosition);
         when(reconcileResult.getHighlightedPositions()).thenReturn(positions);
 
-        javaReconcilerStrategy.parse();
-
-        verify(client).reconcile(anyString(), anyString(), reconcileCallbackCaptor.capture());
-        JavaReconcileClient.ReconcileCallback reconcileCallback = reconcileCallbackCaptor.getValue();
+        verify(client).openWorkingCopy(anyString(), anyString(), workingCopyCallbackCaptor.capture());
+        JavaReconcileClient.ReconcileCallback reconcileCallback = workingCopyCallbackCaptor.getValue();
         reconcileCallback.onReconcile(reconcileResult);
 
         verify(reconcileResult).getProblems();
@@ -155,4 +232,58 @@ public class JavaReconcilerStrategyTest {
         verify(codeAssistProcessor, never()).disableCodeAssistant(anyString());
         verify(highlighter).reconcile(eq(positions));
     }
+
+    private static class ChangeImpl implements Change {
+        private int    offset;
+        private int    length;
+        private String text;
+
+        @Override
+        public int getOffset() {
+            return offset;
+        }
+
+        @Override
+        public void setOffset(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public Change withOffset(int offset) {
+            this.offset = offset;
+            return this;
+        }
+
+        @Override
+        public int getLength() {
+            return length;
+        }
+
+        @Override
+        public void setLength(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public Change withLength(int length) {
+            this.length = length;
+            return this;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public Change withText(String text) {
+            this.text = text;
+            return this;
+        }
+    }
 }
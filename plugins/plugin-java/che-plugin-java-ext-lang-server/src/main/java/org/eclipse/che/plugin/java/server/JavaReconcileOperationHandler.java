@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.ide.ext.java.shared.dto.WorkingCopyChanges;
+import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.JavaModel;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Keeps working copies of java types opened in editors and reconciles them when the client sends text changes.
+ * Reconcile is delayed until the client stops sending changes for {@link #RECONCILE_DELAY_MS}, reconcile which
+ * is in progress is canceled by the next change. Results are pushed to the client with {@value #RESULT_METHOD}.
+ *
+ * <p>Requests for the same type are serialized, requests for different types and reconciles don't block each other.
+ * Working copies opened by the client are released when its web socket session is closed and isn't reopened
+ * for {@link #RELEASE_CHECK_PERIOD_MIN} minutes.
+ */
+@Singleton
+public class JavaReconcileOperationHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(JavaReconcileOperationHandler.class);
+
+    static final String OPEN_METHOD   = "java:working-copy:open";
+    static final String CHANGE_METHOD = "java:working-copy:change";
+    static final String CLOSE_METHOD  = "java:working-copy:close";
+    static final String RESULT_METHOD = "java:reconcile:result";
+
+    static final long RECONCILE_DELAY_MS       = 300;
+    static final long RELEASE_CHECK_PERIOD_MIN = 1;
+
+    private static final JavaModel model = JavaModelManager.getJavaModelManager().getJavaModel();
+
+    private final JavaReconciler                         reconciler;
+    private final RequestTransmitter                     transmitter;
+    private final WebSocketSessionRegistry               sessionRegistry;
+    private final ScheduledExecutorService               executor;
+    private final ConcurrentMap<String, WorkingCopyInfo> workingCopies;
+
+    /** Endpoints which had no web socket session during the previous check. */
+    private Set<String> disconnectedEndpoints = new HashSet<>();
+
+    @Inject
+    public JavaReconcileOperationHandler(JavaReconciler reconciler,
+                                         RequestTransmitter transmitter,
+                                         WebSocketSessionRegistry sessionRegistry) {
+        this.reconciler = reconciler;
+        this.transmitter = transmitter;
+        this.sessionRegistry = sessionRegistry;
+        this.workingCopies = new ConcurrentHashMap<>();
+        this.executor = Executors.newScheduledThreadPool(2, new ThreadFactoryBuilder().setNameFormat("JavaReconciler-%d")
+                                                                                      .setDaemon(true)
+                                                                                      .build());
+        this.executor.scheduleWithFixedDelay(this::releaseDisconnectedEndpoints,
+                                             RELEASE_CHECK_PERIOD_MIN,
+                                             RELEASE_CHECK_PERIOD_MIN,
+                                             MINUTES);
+    }
+
+    @Inject
+    public void configureHandlers(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName(OPEN_METHOD)
+                    .paramsAsDto(WorkingCopyChanges.class)
+                    .resultAsEmpty()
+                    .withBiFunction(this::open);
+
+        configurator.newConfiguration()
+                    .methodName(CHANGE_METHOD)
+                    .paramsAsDto(WorkingCopyChanges.class)
+                    .resultAsEmpty()
+                    .withBiFunction(this::change);
+
+        configurator.newConfiguration()
+                    .methodName(CLOSE_METHOD)
+                    .paramsAsDto(WorkingCopyChanges.class)
+                    .resultAsEmpty()
+                    .withBiFunction(this::close);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Void open(String endpointId, WorkingCopyChanges params) {
+        String key = getKey(params);
+        for (; ; ) {
+            WorkingCopyInfo info = workingCopies.computeIfAbsent(key, k -> new WorkingCopyInfo(params.getProjectPath(),
+                                                                                              params.getFqn()));
+            synchronized (info) {
+                if (info.released) {
+                    // concurrently closed by the last endpoint, a new one is needed
+                    continue;
+                }
+                info.cancel();
+                try {
+                    if (!info.endpointIds.contains(endpointId)) {
+                        if (!reconciler.openWorkingCopy(getJavaProject(params), params.getFqn())) {
+                            releaseIfUnused(key, info);
+                            throw new JsonRpcException(404, "Can't find type: " + params.getFqn());
+                        }
+                        info.endpointIds.add(endpointId);
+                    }
+                    if (params.getContents() != null) {
+                        reconciler.setContents(getJavaProject(params), params.getFqn(), params.getContents());
+                    }
+                } catch (JavaModelException | IllegalArgumentException e) {
+                    releaseIfUnused(key, info);
+                    throw new JsonRpcException(500, e.getLocalizedMessage());
+                }
+                scheduleReconcile(info);
+                return null;
+            }
+        }
+    }
+
+    private Void change(String endpointId, WorkingCopyChanges params) {
+        WorkingCopyInfo info = workingCopies.get(getKey(params));
+        if (info == null) {
+            throw new JsonRpcException(400, "Working copy isn't opened for type: " + params.getFqn());
+        }
+        synchronized (info) {
+            if (info.released) {
+                throw new JsonRpcException(400, "Working copy isn't opened for type: " + params.getFqn());
+            }
+            // running reconcile holds the working copy, so it is canceled before changes are applied
+            info.cancel();
+            try {
+                reconciler.applyChanges(getJavaProject(params), params.getFqn(), params.getChanges());
+            } catch (JavaModelException e) {
+                throw new JsonRpcException(500, e.getLocalizedMessage());
+            }
+            scheduleReconcile(info);
+        }
+        return null;
+    }
+
+    private Void close(String endpointId, WorkingCopyChanges params) {
+        String key = getKey(params);
+        WorkingCopyInfo info = workingCopies.get(key);
+        if (info != null) {
+            close(endpointId, key, info);
+        }
+        return null;
+    }
+
+    /**
+     * Closes working copies of the endpoints which have no web socket session since the previous check,
+     * so the working copies of the closed browser tabs aren't kept forever.
+     */
+    private void releaseDisconnectedEndpoints() {
+        Set<String> disconnected = new HashSet<>();
+        for (WorkingCopyInfo info : workingCopies.values()) {
+            for (String endpointId : info.endpointIds) {
+                if (!sessionRegistry.get(endpointId).isPresent()) {
+                    disconnected.add(endpointId);
+                }
+            }
+        }
+        for (String endpointId : disconnected) {
+            if (disconnectedEndpoints.contains(endpointId)) {
+                LOG.debug("Releasing working copies of disconnected endpoint {}", endpointId);
+                workingCopies.forEach((key, info) -> close(endpointId, key, info));
+            }
+        }
+        disconnectedEndpoints = disconnected;
+    }
+
+    private void close(String endpointId, String key, WorkingCopyInfo info) {
+        synchronized (info) {
+            if (info.released || !info.endpointIds.remove(endpointId)) {
+                return;
+            }
+            reconciler.closeWorkingCopy(model.getJavaProject(info.projectPath), info.fqn);
+            releaseIfUnused(key, info);
+        }
+    }
+
+    /** Must be called while the lock of the info is held. */
+    private void releaseIfUnused(String key, WorkingCopyInfo info) {
+        if (info.endpointIds.isEmpty()) {
+            info.cancel();
+            info.released = true;
+            workingCopies.remove(key, info);
+        }
+    }
+
+    private void scheduleReconcile(WorkingCopyInfo info) {
+        info.cancel();
+        IProgressMonitor monitor = new NullProgressMonitor();
+        info.monitor = monitor;
+        info.pending = executor.schedule(() -> reconcile(info, monitor), RECONCILE_DELAY_MS, MILLISECONDS);
+    }
+
+    private void reconcile(WorkingCopyInfo info, IProgressMonitor monitor) {
+        ReconcileResult result;
+        try {
+            result = reconciler.reconcileWorkingCopy(model.getJavaProject(info.projectPath), info.fqn, monitor);
+        } catch (OperationCanceledException e) {
+            return;
+        } catch (JavaModelException | RuntimeException e) {
+            LOG.error("Can't reconcile type " + info.fqn + " in project " + info.projectPath, e);
+            return;
+        }
+        if (result == null || monitor.isCanceled()) {
+            return;
+        }
+        result.setProjectPath(info.projectPath);
+        result.setFqn(info.fqn);
+
+        for (String endpointId : info.endpointIds) {
+            transmitter.newRequest()
+                       .endpointId(endpointId)
+                       .methodName(RESULT_METHOD)
+                       .paramsAsDto(result)
+                       .sendAndSkipResult();
+        }
+    }
+
+    private static IJavaProject getJavaProject(WorkingCopyChanges params) {
+        return model.getJavaProject(params.getProjectPath());
+    }
+
+    private static String getKey(WorkingCopyChanges params) {
+        return params.getProjectPath() + '#' + params.getFqn();
+    }
+
+    private static class WorkingCopyInfo {
+        private final String      projectPath;
+        private final String      fqn;
+        private final Set<String> endpointIds = ConcurrentHashMap.newKeySet();
+
+        private ScheduledFuture<?> pending;
+        private IProgressMonitor   monitor;
+        private boolean            released;
+
+        WorkingCopyInfo(String projectPath, String fqn) {
+            this.projectPath = projectPath;
+            this.fqn = fqn;
+        }
+
+        void cancel() {
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            if (monitor != null) {
+                monitor.setCanceled(true);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ import com.google.inject.name.Named;
 import org.eclipse.che.JavadocUrlProvider;
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.jdt.rest.UrlContextProvider;
+import org.eclipse.che.plugin.java.server.JavaReconcileOperationHandler;
 import org.eclipse.che.plugin.java.server.ProjectListeners;
 import org.eclipse.che.plugin.java.server.refactoring.RefactoringManager;
 import org.eclipse.che.plugin.java.server.rest.CodeAssistService;
@@ -46,6 +47,7 @@ public class JdtGuiceModule extends AbstractModule {
         bind(JavadocService.class);
         bind(JavaNavigationService.class);
         bind(JavaReconcileService.class);
+        bind(JavaReconcileOperationHandler.class).asEagerSingleton();
         bind(CodeAssistService.class);
         bind(JdtExceptionMapper.class);
         bind(CompilerSetupService.class);
@@ -12,6 +12,7 @@ package org.eclipse.che.plugin.java.server.projecttype;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.type.FolderScan;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProviderFactory;
@@ -38,6 +39,11 @@ public class JavaValueProviderFactory implements ValueProviderFactory {
         return new JavaValueProvider(projectFolder);
     }
 
+    @Override
+    public ValueProvider newInstance(FolderEntry projectFolder, FolderScan scan) {
+        return new JavaValueProvider(projectFolder, scan);
+    }
+
     static class JavaValueProvider extends ReadonlyValueProvider {
 
         /**
@@ -60,6 +66,15 @@ public class JavaValueProviderFactory implements ValueProviderFactory {
             this.initialized = false;
         }
 
+        /**
+         * The check on java files is done by the scan of the folder, so the folder isn't walked through again.
+         */
+        public JavaValueProvider(final FolderEntry projectFolder, final FolderScan scan) {
+            this.rootFolder = projectFolder;
+            this.containsJavaFiles = scan.containsFileWithExtension("java");
+            this.initialized = true;
+        }
+
         /**
          * Check recursively if the given folder contains java files or any of its children
          *
@@ -11,6 +11,8 @@
 package org.eclipse.che.plugin.java.server.che;
 
 
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
@@ -33,6 +35,7 @@ import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.util.List;
 
+import static java.util.Collections.singletonList;
 import static org.fest.assertions.Assertions.assertThat;
 
 /**
@@ -98,6 +101,39 @@ public class ReconcileTest extends BaseTest {
         assertThat(reconcile.getProblems()).onProperty("error").containsSequence(true);
     }
 
+    @Test
+    public void testWorkingCopyChangesAreReconciledWithoutSaving() throws Exception {
+        String contents = "package p1;\n" +
+                          "public class X {\n" +
+                          "  public void foo() {\n" +
+                          "  }\n" +
+                          "}";
+        setWorkingCopyContents(contents);
+
+        reconciler.openWorkingCopy(project, "p1.X");
+        try {
+            assertThat(reconciler.reconcileWorkingCopy(project, "p1.X", null).getProblems()).isEmpty();
+
+            Change change = DtoFactory.newDto(Change.class)
+                                      .withOffset(contents.lastIndexOf('}'))
+                                      .withLength(0)
+                                      .withText("  public void foo() {\n  }\n");
+            reconciler.applyChanges(project, "p1.X", singletonList(change));
+
+            ReconcileResult reconcile = reconciler.reconcileWorkingCopy(project, "p1.X", null);
+            assertThat(reconcile.getProblems()).hasSize(2);
+            assertThat(reconcile.getProblems()).onProperty("message").containsSequence("Duplicate method foo() in type X");
+            assertThat(reconciler.reconcile(project, "p1.X").getProblems()).isEmpty();
+
+            reconciler.setContents(project, "p1.X", contents);
+            assertThat(reconciler.reconcileWorkingCopy(project, "p1.X", null).getProblems()).isEmpty();
+        } finally {
+            reconciler.closeWorkingCopy(project, "p1.X");
+        }
+
+        assertThat(reconciler.reconcileWorkingCopy(project, "p1.X", null)).isNull();
+        assertThat(reconciler.reconcile(project, "p1.X").getProblems()).isEmpty();
+    }
 
     @Test
     public void testSemanticHighlight() throws Exception {
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.jdt.search;
+
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.internal.core.search.indexing.SharedIndexRepository;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests for {@link SharedIndexRepository}.
+ */
+public class SharedIndexRepositoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File                  repositoryDir;
+    private File                  workspaceIndexDir;
+    private File                  jar;
+    private SharedIndexRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        repositoryDir = folder.newFolder("repository");
+        workspaceIndexDir = folder.newFolder("workspace");
+        jar = createJar(folder.newFile("lib.jar"));
+        repository = new SharedIndexRepository(repositoryDir);
+    }
+
+    @Test
+    public void shouldBuildIndexOnce() throws Exception {
+        File index = repository.buildIndex(jar);
+        long lastModified = index.lastModified();
+
+        assertThat(index.isFile()).isTrue();
+        assertThat(index.getParentFile()).isEqualTo(repositoryDir);
+        assertThat(repository.buildIndex(jar)).isEqualTo(index);
+        assertThat(index.lastModified()).isEqualTo(lastModified);
+        assertThat(repositoryDir.list()).containsOnly(index.getName());
+    }
+
+    @Test
+    public void shouldFindCopyOfPrebuiltIndex() throws Exception {
+        File index = repository.buildIndex(jar);
+
+        URL url = repository.findIndex(new Path(jar.getAbsolutePath()), workspaceIndexDir);
+
+        assertThat(url).isNotNull();
+        File copy = new File(url.toURI());
+        assertThat(copy.getParentFile()).isEqualTo(workspaceIndexDir);
+        assertThat(Files.readAllBytes(copy.toPath())).isEqualTo(Files.readAllBytes(index.toPath()));
+
+        // workspace may delete its index, the shared one must stay
+        assertThat(copy.delete()).isTrue();
+        assertThat(index.isFile()).isTrue();
+        assertThat(repository.findIndex(new Path(jar.getAbsolutePath()), workspaceIndexDir)).isEqualTo(url);
+    }
+
+    @Test
+    public void shouldNotFindIndexWhenItIsNotBuilt() throws Exception {
+        assertThat(repository.findIndex(new Path(jar.getAbsolutePath()), workspaceIndexDir)).isNull();
+        assertThat(repository.findIndex(new Path(new File(folder.getRoot(), "missing.jar").getAbsolutePath()),
+                                        workspaceIndexDir)).isNull();
+        assertThat(workspaceIndexDir.list()).isEmpty();
+    }
+
+    @Test
+    public void shouldNotFindCorruptIndex() throws Exception {
+        File index = repository.buildIndex(jar);
+        Files.write(index.toPath(), "corrupt".getBytes());
+
+        assertThat(repository.findIndex(new Path(jar.getAbsolutePath()), workspaceIndexDir)).isNull();
+        assertThat(index.isFile()).isTrue();
+        assertThat(workspaceIndexDir.list()).isEmpty();
+    }
+
+    private static File createJar(File file) throws Exception {
+        String classFile = SharedIndexRepositoryTest.class.getName().replace('.', '/') + ".class";
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(file));
+             InputStream in = SharedIndexRepositoryTest.class.getClassLoader().getResourceAsStream(classFile)) {
+            jar.putNextEntry(new JarEntry(classFile));
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                jar.write(buffer, 0, read);
+            }
+            jar.closeEntry();
+        }
+        return file;
+    }
+}
@@ -29,4 +29,14 @@ public interface ReconcileResult {
 
     void setHighlightedPositions(List<HighlightedPosition> positions);
 
+    /** Returns path of the project which contains reconciled type, set only for results pushed to the client. */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    /** Returns fully qualified name of reconciled type, set only for results pushed to the client. */
+    String getFqn();
+
+    void setFqn(String fqn);
+
 }
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * DTO represents text changes of the java type opened in the editor.
+ * Also used without changes to open and close working copy of the type, in this case
+ * the whole content of the editor may be sent instead.
+ */
+@DTO
+public interface WorkingCopyChanges {
+
+    /** Returns path of the project which contains the type. */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    WorkingCopyChanges withProjectPath(String projectPath);
+
+    /** Returns fully qualified name of the type. */
+    String getFqn();
+
+    void setFqn(String fqn);
+
+    WorkingCopyChanges withFqn(String fqn);
+
+    /** Returns text changes in order they were made in the editor. */
+    List<Change> getChanges();
+
+    void setChanges(List<Change> changes);
+
+    WorkingCopyChanges withChanges(List<Change> changes);
+
+    /** Returns the whole content of the editor which replaces content of the working copy, may be {@code null}. */
+    String getContents();
+
+    void setContents(String contents);
+
+    WorkingCopyChanges withContents(String contents);
+}
@@ -16,6 +16,7 @@ import org.eclipse.che.maven.data.MavenArtifact;
 import org.eclipse.che.maven.data.MavenArtifactKey;
 import org.eclipse.che.maven.data.MavenRemoteRepository;
 import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.data.MavenWorkspaceCacheDelta;
 import org.eclipse.che.maven.server.MavenServer;
 import org.eclipse.che.maven.server.MavenServerProgressNotifier;
 import org.eclipse.che.maven.server.MavenServerResult;
@@ -35,22 +36,40 @@ import java.util.List;
 public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
     private static final Logger LOG = LoggerFactory.getLogger(MavenServerWrapper.class);
     private MavenCustomization customization;
+    /** Workspace cache which was sent to the wrapped maven server last time. */
+    private MavenWorkspaceCache syncedCache;
 
     @Override
     protected void wrappedCreated() throws RemoteException {
         super.wrappedCreated();
+        syncedCache = null;
         if (customization != null) {
             customizeMaven();
         }
     }
 
     private void customizeMaven() throws RemoteException {
-        getOrCreateWrappedObject()
-                .setComponents(customization.cache,
-                               customization.failOnUnresolvedDependency,
-                               customization.mavenTerminal,
-                               customization.notifier,
-                               customization.alwaysUpdateSnapshot);
+        MavenServer server = getOrCreateWrappedObject();
+        MavenWorkspaceCache cache = customization.cache;
+        if (syncedCache != null && cache != null) {
+            MavenWorkspaceCacheDelta delta = cache.diff(syncedCache);
+            if (server.updateComponents(delta,
+                                        customization.failOnUnresolvedDependency,
+                                        customization.mavenTerminal,
+                                        customization.notifier,
+                                        customization.alwaysUpdateSnapshot)) {
+                syncedCache = cache.copy();
+                return;
+            }
+            LOG.debug("Maven server has different version of workspace cache, whole cache will be sent");
+        }
+
+        server.setComponents(cache,
+                             customization.failOnUnresolvedDependency,
+                             customization.mavenTerminal,
+                             customization.notifier,
+                             customization.alwaysUpdateSnapshot);
+        syncedCache = cache == null ? null : cache.copy();
     }
 
 
@@ -16,6 +16,8 @@ import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 
 import javax.inject.Inject;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Evgen Vidolob
@@ -31,4 +33,9 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
         return new MavenValueProvider(mavenProjectManager, projectFolder);
     }
 
+    @Override
+    public List<String> getDependencies() {
+        return Collections.singletonList("pom.xml");
+    }
+
 }
@@ -13,7 +13,9 @@ package org.eclipse.che.maven.data;
 import java.io.File;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -26,6 +28,8 @@ public class MavenWorkspaceCache implements Serializable {
 
     private final Map<MavenKey, Entry> cache = new HashMap<MavenKey, Entry>();
 
+    private long version;
+
     public void put(MavenKey key, File file) {
         put(key, file, null);
     }
@@ -34,12 +38,14 @@ public class MavenWorkspaceCache implements Serializable {
         for (MavenKey mavenKey : getAllPossibleKeys(key)) {
             cache.put(mavenKey, new Entry(mavenKey, file, output));
         }
+        version++;
     }
 
     public void invalidate(MavenKey key) {
         for (MavenKey mavenKey : getAllPossibleKeys(key)) {
             cache.remove(mavenKey);
         }
+        version++;
     }
 
     public Set<MavenKey> getAllKeys() {
@@ -61,12 +67,63 @@ public class MavenWorkspaceCache implements Serializable {
         }
     }
 
+    /**
+     * Returns version of this cache, version is changed on each modification of the cache.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     public MavenWorkspaceCache copy() {
         MavenWorkspaceCache copy = new MavenWorkspaceCache();
         copy.cache.putAll(cache);
+        copy.version = version;
         return copy;
     }
 
+    /**
+     * Computes changes which should be applied to the {@code base} cache to get this cache.
+     *
+     * @param base
+     *         cache state known by the other side
+     * @return delta between {@code base} and this cache
+     */
+    public MavenWorkspaceCacheDelta diff(MavenWorkspaceCache base) {
+        Map<MavenKey, Entry> added = new HashMap<>();
+        for (Map.Entry<MavenKey, Entry> entry : cache.entrySet()) {
+            if (!entry.getValue().equals(base.cache.get(entry.getKey()))) {
+                added.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        Set<MavenKey> removed = new HashSet<>();
+        for (MavenKey key : base.cache.keySet()) {
+            if (!cache.containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        return new MavenWorkspaceCacheDelta(base.version, version, added, removed);
+    }
+
+    /**
+     * Applies given delta to this cache.
+     *
+     * @param delta
+     *         delta computed by {@link #diff(MavenWorkspaceCache)}
+     * @return {@code true} if delta was applied, {@code false} if delta was computed for another version of the cache
+     */
+    public boolean apply(MavenWorkspaceCacheDelta delta) {
+        if (delta.getBaseVersion() != version) {
+            return false;
+        }
+        for (MavenKey key : delta.getRemoved()) {
+            cache.remove(key);
+        }
+        cache.putAll(delta.getAdded());
+        version = delta.getVersion();
+        return true;
+    }
+
     public static class Entry implements Serializable {
         private static final long serialVersionUID = 1L;
 
@@ -91,5 +148,20 @@ public class MavenWorkspaceCache implements Serializable {
         public MavenKey getKey(){
             return key;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Entry entry = (Entry)o;
+            return Objects.equals(key, entry.key) &&
+                   Objects.equals(file, entry.file) &&
+                   Objects.equals(output, entry.output);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, file, output);
+        }
     }
 }
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.maven.data;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes of the {@link MavenWorkspaceCache} between two versions.
+ * Used to synchronize the cache with maven server without sending whole cache.
+ */
+public class MavenWorkspaceCacheDelta implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long                                     baseVersion;
+    private final long                                     version;
+    private final Map<MavenKey, MavenWorkspaceCache.Entry> added;
+    private final Set<MavenKey>                            removed;
+
+    public MavenWorkspaceCacheDelta(long baseVersion,
+                                    long version,
+                                    Map<MavenKey, MavenWorkspaceCache.Entry> added,
+                                    Set<MavenKey> removed) {
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /** Returns version of the cache to which this delta can be applied. */
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    /** Returns version of the cache after applying this delta. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** Returns added or changed entries. */
+    public Map<MavenKey, MavenWorkspaceCache.Entry> getAdded() {
+        return added;
+    }
+
+    /** Returns keys of removed entries. */
+    public Set<MavenKey> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+}
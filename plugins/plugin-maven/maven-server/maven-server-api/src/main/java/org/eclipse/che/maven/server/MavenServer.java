@@ -14,6 +14,7 @@ import org.eclipse.che.maven.data.MavenArtifact;
 import org.eclipse.che.maven.data.MavenArtifactKey;
 import org.eclipse.che.maven.data.MavenRemoteRepository;
 import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.data.MavenWorkspaceCacheDelta;
 
 import java.io.File;
 import java.rmi.Remote;
@@ -30,6 +31,22 @@ public interface MavenServer extends Remote {
                        MavenServerProgressNotifier notifier,
                        boolean alwaysUpdateSnapshot) throws RemoteException;
 
+    /**
+     * Same as {@link #setComponents(MavenWorkspaceCache, boolean, MavenTerminal, MavenServerProgressNotifier, boolean)}
+     * but sends only changes of the workspace cache instead of whole cache.
+     *
+     * @param cacheDelta
+     *         changes of the workspace cache since the version known by this server
+     * @return {@code false} if this server has a different version of the workspace cache than
+     * {@link MavenWorkspaceCacheDelta#getBaseVersion()}, in this case nothing is changed and the whole cache
+     * must be sent via {@link #setComponents(MavenWorkspaceCache, boolean, MavenTerminal, MavenServerProgressNotifier, boolean)}
+     */
+    boolean updateComponents(MavenWorkspaceCacheDelta cacheDelta,
+                             boolean failOnUnresolvedDependency,
+                             MavenTerminal mavenTerminal,
+                             MavenServerProgressNotifier notifier,
+                             boolean alwaysUpdateSnapshot) throws RemoteException;
+
     String getEffectivePom(File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException;
 
     MavenServerResult resolveProject(File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException;
@@ -91,6 +91,7 @@ import org.eclipse.che.maven.data.MavenModel;
 import org.eclipse.che.maven.data.MavenProjectProblem;
 import org.eclipse.che.maven.data.MavenRemoteRepository;
 import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.data.MavenWorkspaceCacheDelta;
 
 import java.io.File;
 import java.lang.reflect.Constructor;
@@ -500,6 +501,25 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
         mavenProgressNotifier = new MavenServerProgressNotifierImpl(notifier);
     }
 
+    @Override
+    public boolean updateComponents(MavenWorkspaceCacheDelta cacheDelta,
+                                    boolean failOnUnresolvedDependency,
+                                    MavenTerminal mavenTerminal,
+                                    MavenServerProgressNotifier notifier,
+                                    boolean alwaysUpdateSnapshot) throws RemoteException {
+        final MavenWorkspaceCache current = workspaceCache;
+        if (current == null) {
+            return false;
+        }
+        // the current cache might be read by the running resolution, so the delta is applied to the copy
+        final MavenWorkspaceCache updated = current.copy();
+        if (!updated.apply(cacheDelta)) {
+            return false;
+        }
+        setComponents(updated, failOnUnresolvedDependency, mavenTerminal, notifier, alwaysUpdateSnapshot);
+        return true;
+    }
+
     @Override
     public String getEffectivePom(File pom, List<String> activeProfiles, List<String> inactiveProfiles)
             throws RemoteException {
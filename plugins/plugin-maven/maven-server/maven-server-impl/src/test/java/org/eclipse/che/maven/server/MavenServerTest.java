@@ -16,10 +16,16 @@ import org.eclipse.che.maven.data.MavenExplicitProfiles;
 import org.eclipse.che.maven.data.MavenKey;
 import org.eclipse.che.maven.data.MavenModel;
 import org.eclipse.che.maven.data.MavenProfile;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.data.MavenWorkspaceCacheDelta;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.rmi.RemoteException;
 import java.util.Collections;
 import java.util.Properties;
@@ -133,4 +139,66 @@ public class MavenServerTest {
         Assert.assertEquals(1, profileApplicationResult.getActivatedProfiles().getEnabledProfiles().size());
         Assert.assertEquals(1, profileApplicationResult.getModel().getProperties().size());
     }
+
+    @Test
+    public void workspaceCacheDeltaShouldBeApplied() throws Exception {
+        MavenServerImpl mavenServerImpl = new MavenServerImpl(new MavenSettings());
+        MavenWorkspaceCache cache = createWorkspaceCache(10);
+        MavenWorkspaceCache serverCache = cache.copy();
+        mavenServerImpl.setComponents(serverCache, false, null, null, false);
+
+        MavenWorkspaceCache base = cache.copy();
+        cache.invalidate(new MavenKey("org.eclipse.che", "module-0", "1.0.0-SNAPSHOT"));
+        cache.put(new MavenKey("org.eclipse.che", "module-new", "1.0.0-SNAPSHOT"), new File("/projects/module-new/pom.xml"));
+
+        MavenWorkspaceCacheDelta delta = cache.diff(base);
+        Assert.assertTrue(mavenServerImpl.updateComponents(delta, false, null, null, false));
+        // the cache which might be in use isn't changed, the updated copy replaces it
+        Assert.assertEquals(base.getVersion(), serverCache.getVersion());
+        Assert.assertEquals(base.getAllKeys(), serverCache.getAllKeys());
+
+        base.apply(delta);
+        Assert.assertEquals(base.getVersion(), cache.getVersion());
+        Assert.assertEquals(base.getAllKeys(), cache.getAllKeys());
+        Assert.assertTrue(cache.diff(base).isEmpty());
+    }
+
+    @Test
+    public void workspaceCacheDeltaShouldBeRejectedOnVersionMismatch() throws Exception {
+        MavenServerImpl mavenServerImpl = new MavenServerImpl(new MavenSettings());
+        MavenWorkspaceCache cache = createWorkspaceCache(10);
+        MavenWorkspaceCache base = cache.copy();
+        cache.put(new MavenKey("org.eclipse.che", "module-new", "1.0.0-SNAPSHOT"), new File("/projects/module-new/pom.xml"));
+        mavenServerImpl.setComponents(cache.copy(), false, null, null, false);
+
+        Assert.assertFalse(mavenServerImpl.updateComponents(cache.diff(base), false, null, null, false));
+    }
+
+    @Test
+    public void workspaceCacheDeltaShouldBeMuchSmallerThanWholeCache() throws Exception {
+        MavenWorkspaceCache cache = createWorkspaceCache(500);
+        MavenWorkspaceCache base = cache.copy();
+        cache.put(new MavenKey("org.eclipse.che", "module-new", "1.0.0-SNAPSHOT"), new File("/projects/module-new/pom.xml"));
+
+        int cacheSize = serializedSize(cache);
+        int deltaSize = serializedSize(cache.diff(base));
+
+        Assert.assertTrue(deltaSize * 50 < cacheSize, "Whole cache: " + cacheSize + " bytes, delta: " + deltaSize + " bytes");
+    }
+
+    private static MavenWorkspaceCache createWorkspaceCache(int modules) {
+        MavenWorkspaceCache cache = new MavenWorkspaceCache();
+        for (int i = 0; i < modules; i++) {
+            cache.put(new MavenKey("org.eclipse.che", "module-" + i, "1.0.0-SNAPSHOT"), new File("/projects/module-" + i + "/pom.xml"));
+        }
+        return cache;
+    }
+
+    private static int serializedSize(Serializable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.size();
+    }
 }
@@ -16,6 +16,7 @@ import com.google.inject.Singleton;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncherTemplate;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
+import org.eclipse.che.plugin.php.shared.Constants;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageServer;
@@ -24,6 +25,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 
@@ -55,6 +58,11 @@ public class PhpLanguageServerLauncher extends LanguageServerLauncherTemplate {
         return Files.exists(launchScript);
     }
 
+    @Override
+    public Set<String> getProjectTypes() {
+        return Collections.singleton(Constants.PHP_PROJECT_TYPE_ID);
+    }
+
     protected LanguageServer connectToLanguageServer(final Process languageServerProcess, LanguageClient client) {
         Launcher<LanguageServer> launcher = Launcher.createLauncher(client, LanguageServer.class, languageServerProcess.getInputStream(),
                                                                     languageServerProcess.getOutputStream());
@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 
@@ -52,6 +54,11 @@ public class PythonLanguageSeverLauncher extends LanguageServerLauncherTemplate
         return launchScript.toFile().exists();
     }
 
+    @Override
+    public Set<String> getProjectTypes() {
+        return Collections.singleton(ProjectAttributes.PYTHON_ID);
+    }
+
     @Override
     protected Process startLanguageServerProcess(String projectPath) throws LanguageServerException {
         ProcessBuilder processBuilder = new ProcessBuilder(launchScript.toString());
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.svn.server;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.io.Files;
 import com.google.common.net.MediaType;
@@ -77,16 +78,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
-import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.getRelativeUrl;
-import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.getRepositoryRoot;
 import static org.eclipse.che.plugin.svn.server.utils.SubversionUtils.recognizeProjectUri;
 
 /**
@@ -97,15 +97,35 @@ public class SubversionApi {
 
     private static Logger LOG = LoggerFactory.getLogger(SubversionApi.class);
 
+    /**
+     * Commands which change the working copy, so the cached results of the working copy are dropped.
+     * The arguments are matched as a whole, so a message or a property which is equal to the command
+     * name might drop the results as well, which is harmless.
+     */
+    private static final Set<String> CHANGING_COMMANDS = ImmutableSet.of("add", "revert", "copy", "switch", "checkout", "commit",
+                                                                         "remove", "update", "lock", "unlock", "resolve", "move",
+                                                                         "propset", "propdel", "merge", "cleanup");
+
     private final RepositoryUrlProvider repositoryUrlProvider;
     private final SshScriptProvider     sshScriptProvider;
+    private final SubversionCache       cache;
     protected     LineConsumerFactory   svnOutputPublisherFactory;
 
     @Inject
     public SubversionApi(RepositoryUrlProvider repositoryUrlProvider,
-                         SshScriptProvider sshScriptProvider) {
+                         SshScriptProvider sshScriptProvider,
+                         SubversionCache cache) {
         this.repositoryUrlProvider = repositoryUrlProvider;
         this.sshScriptProvider = sshScriptProvider;
+        this.cache = cache;
+    }
+
+    /**
+     * Creates API which doesn't cache the results of the commands.
+     */
+    public SubversionApi(RepositoryUrlProvider repositoryUrlProvider,
+                         SshScriptProvider sshScriptProvider) {
+        this(repositoryUrlProvider, sshScriptProvider, null);
     }
 
     /**
@@ -419,8 +439,15 @@ public class SubversionApi {
         // Command Name
         cliArgs.add("status");
 
-        final CommandLineResult result = runCommand(null, cliArgs, projectPath,
-                                                    addWorkingCopyPathIfNecessary(request.getPaths()));
+        final List<String> paths = addWorkingCopyPathIfNecessary(request.getPaths());
+        final CommandLineResult result;
+        if (cache == null || request.isShowUpdates()) {
+            result = runCommand(null, cliArgs, projectPath, paths);
+        } else {
+            // the status of the working copy is the same until any of its files is changed
+            final String commandLine = String.join(" ", cliArgs) + ' ' + String.join(" ", paths);
+            result = cache.getStatus(projectPath.getAbsolutePath(), commandLine, () -> runCommand(null, cliArgs, projectPath, paths));
+        }
 
         return DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                          .withCommand(result.getCommandLine().toString())
@@ -576,9 +603,7 @@ public class SubversionApi {
         final List<String> args = defaultArgs();
         args.add("list");
 
-        String repositoryRoot = getRepositoryRoot(info.getOutput());
-        String projectRelativeUrl = getRelativeUrl(info.getOutput());
-        String projectUri = recognizeProjectUri(repositoryRoot, projectRelativeUrl);
+        String projectUri = getProjectUri(info);
 
         String path = projectUri == null ? "^/branches"
                                          : (projectUri + "/branches");
@@ -617,9 +642,7 @@ public class SubversionApi {
         final List<String> args = defaultArgs();
         args.add("list");
 
-        String repositoryRoot = getRepositoryRoot(info.getOutput());
-        String projectRelativeUrl = getRelativeUrl(info.getOutput());
-        String projectUri = recognizeProjectUri(repositoryRoot, projectRelativeUrl);
+        String projectUri = getProjectUri(info);
 
         String branchesPath = projectUri == null ? "^/tags"
                                                  : (projectUri + "/tags");
@@ -679,17 +702,21 @@ public class SubversionApi {
     public CLIOutputResponseList resolve(final ResolveRequest request) throws IOException, SubversionException, UnauthorizedException {
         final File projectPath = new File(request.getProjectPath());
 
-        Map<String, String> resolutions = request.getConflictResolutions();
+        // the paths with the same resolution are resolved by a single command
+        final Map<String, List<String>> pathsByResolution = new LinkedHashMap<>();
+        for (Map.Entry<String, String> resolution : request.getConflictResolutions().entrySet()) {
+            pathsByResolution.computeIfAbsent(resolution.getValue(), accept -> new ArrayList<>()).add(resolution.getKey());
+        }
 
         List<CLIOutputResponse> results = new ArrayList<>();
-        for (String path : resolutions.keySet()) {
+        for (Map.Entry<String, List<String>> resolution : pathsByResolution.entrySet()) {
             final List<String> uArgs = defaultArgs();
 
             addDepth(uArgs, request.getDepth());
-            addOption(uArgs, "--accept", resolutions.get(path));
+            addOption(uArgs, "--accept", resolution.getKey());
             uArgs.add("resolve");
 
-            final CommandLineResult result = runCommand(null, uArgs, projectPath, Arrays.asList(path));
+            final CommandLineResult result = runCommand(null, uArgs, projectPath, resolution.getValue());
 
             CLIOutputResponse outputResponse = DtoFactory.getInstance().createDto(CLIOutputResponse.class)
                                                          .withCommand(result.getCommandLine().toString())
@@ -1037,6 +1064,7 @@ public class SubversionApi {
         final CommandLineResult result;
         final StringBuffer buffer;
         boolean isWarning = false;
+        final boolean changing = args.stream().anyMatch(CHANGING_COMMANDS::contains);
 
         // Add paths to the end of the list of arguments
         for (final String path : paths) {
@@ -1073,6 +1101,9 @@ public class SubversionApi {
             if (sshEnvironment != null) {
                 sshEnvironment.cleanUp();
             }
+            if (cache != null && changing) {
+                cache.invalidate(projectPath.getAbsolutePath());
+            }
         }
 
         if (result.getExitCode() != 0) {
@@ -1105,7 +1136,10 @@ public class SubversionApi {
     }
 
     public String getRepositoryUrl(final String projectPath) throws SubversionException {
-        return repositoryUrlProvider.getRepositoryUrl(projectPath);
+        if (cache == null) {
+            return repositoryUrlProvider.getRepositoryUrl(projectPath);
+        }
+        return cache.getRepositoryUrl(projectPath, () -> repositoryUrlProvider.getRepositoryUrl(projectPath));
     }
 
     /**
@@ -1128,6 +1162,7 @@ public class SubversionApi {
         }
 
         args.add("info");
+        args.add("--xml");
 
         List<String> paths = new ArrayList<>();
         paths.add(request.getTarget());
@@ -1147,37 +1182,23 @@ public class SubversionApi {
             List<SubversionItem> items = new ArrayList<>();
             response.withItems(items);
 
-            Iterator<String> iterator = result.getStdout().iterator();
-            List<String> itemProperties = new ArrayList<>();
-
-            while (iterator.hasNext()) {
-                String propertyLine = iterator.next();
-
-                if (propertyLine.isEmpty()) {
-                    // create Subversion item filling properties from the list
-                    String repositoryRoot = getRepositoryRoot(itemProperties);
-                    String relativeUrl = getRelativeUrl(itemProperties);
-                    final SubversionItem item = DtoFactory.getInstance().createDto(SubversionItem.class)
-                                                          .withPath(InfoUtils.getPath(itemProperties))
-                                                          .withName(InfoUtils.getName(itemProperties))
-                                                          .withURL(InfoUtils.getUrl(itemProperties))
-                                                          .withRelativeURL(relativeUrl)
-                                                          .withRepositoryRoot(repositoryRoot)
-                                                          .withRepositoryUUID(InfoUtils.getRepositoryUUID(itemProperties))
-                                                          .withRevision(InfoUtils.getRevision(itemProperties))
-                                                          .withNodeKind(InfoUtils.getNodeKind(itemProperties))
-                                                          .withSchedule(InfoUtils.getSchedule(itemProperties))
-                                                          .withLastChangedRev(InfoUtils.getLastChangedRev(itemProperties))
-                                                          .withLastChangedDate(InfoUtils.getLastChangedDate(itemProperties))
-                                                          .withProjectUri(recognizeProjectUri(repositoryRoot, relativeUrl));
-                    items.add(item);
-
-                    // clear item properties
-                    itemProperties.clear();
-                } else {
-                    // add property line to property list
-                    itemProperties.add(propertyLine);
-                }
+            for (Map<String, String> itemProperties : InfoUtils.parseXml(result.getStdout())) {
+                String repositoryRoot = itemProperties.get(InfoUtils.KEY_REPOSITORY_ROOT);
+                String relativeUrl = itemProperties.get(InfoUtils.KEY_RELATIVE_URL);
+                final SubversionItem item = DtoFactory.getInstance().createDto(SubversionItem.class)
+                                                      .withPath(itemProperties.get(InfoUtils.KEY_PATH))
+                                                      .withName(itemProperties.get(InfoUtils.KEY_NAME))
+                                                      .withURL(itemProperties.get(InfoUtils.KEY_URL))
+                                                      .withRelativeURL(relativeUrl)
+                                                      .withRepositoryRoot(repositoryRoot)
+                                                      .withRepositoryUUID(itemProperties.get(InfoUtils.KEY_REPOSITORY_UUID))
+                                                      .withRevision(itemProperties.get(InfoUtils.KEY_REVISION))
+                                                      .withNodeKind(itemProperties.get(InfoUtils.KEY_NODE_KIND))
+                                                      .withSchedule(itemProperties.get(InfoUtils.KEY_SCHEDULE))
+                                                      .withLastChangedRev(itemProperties.get(InfoUtils.KEY_LAST_CHANGED_REV))
+                                                      .withLastChangedDate(itemProperties.get(InfoUtils.KEY_LAST_CHANGED_DATE))
+                                                      .withProjectUri(recognizeProjectUri(repositoryRoot, relativeUrl));
+                items.add(item);
             }
 
         } else {
@@ -1187,6 +1208,11 @@ public class SubversionApi {
         return response;
     }
 
+    private String getProjectUri(InfoResponse info) {
+        final List<SubversionItem> items = info.getItems();
+        return items == null || items.isEmpty() ? null : items.get(0).getProjectUri();
+    }
+
     /**
      * Merges target with specified URL.
      *
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server;
+
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.plugin.svn.server.upstream.CommandLineResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.toNormalPath;
+
+/**
+ * Caches the results of the Subversion commands which only read the working copies,
+ * so they aren't run each time, e.g. the repository url which is needed by every command.
+ *
+ * <p>The results of the working copy are dropped when any of its files is changed or when its
+ * metadata ('.svn/wc.db') is changed, the changes are tracked by {@link FileWatcherManager}.
+ * {@link SubversionApi} also drops them at once after the commands which change the working copy.
+ */
+@Singleton
+public class SubversionCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SubversionCache.class);
+
+    private static final String SVN_DIR = ".svn";
+    private static final String WC_DB   = "wc.db";
+
+    private final FileWatcherManager       manager;
+    private final Path                     root;
+    private final Map<String, WorkingCopy> workingCopies;
+
+    private int id;
+
+    @Inject
+    public SubversionCache(FileWatcherManager manager, @Named("che.user.workspaces.storage") File root) {
+        this.manager = manager;
+        this.root = root.toPath().normalize().toAbsolutePath();
+        this.workingCopies = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        final Consumer<String> onChange = path -> onChange(toNormalPath(root, path));
+        id = manager.registerByMatcher(matcher(), onChange, onChange, onChange);
+    }
+
+    @PreDestroy
+    public void stopWatcher() {
+        manager.unRegisterByMatcher(id);
+    }
+
+    /**
+     * Returns the cached repository url of the working copy or loads it.
+     *
+     * @param projectPath
+     *         absolute path of the working copy
+     * @param loader
+     *         loads the url, the url isn't cached if it is null, i.e. the path isn't a working copy
+     */
+    public String getRepositoryUrl(String projectPath, Loader<String> loader) throws SubversionException {
+        final WorkingCopy workingCopy = workingCopyOf(projectPath);
+        String url = workingCopy.repositoryUrl;
+        if (url == null) {
+            try {
+                url = loader.load();
+            } catch (UnauthorizedException e) {
+                throw new SubversionException(e);
+            }
+            workingCopy.repositoryUrl = url;
+        }
+        return url;
+    }
+
+    /**
+     * Returns the cached result of the "svn status" command or runs the command.
+     *
+     * @param projectPath
+     *         absolute path of the working copy
+     * @param commandLine
+     *         arguments of the command, the results of the different arguments are cached separately
+     * @param loader
+     *         runs the command
+     */
+    public CommandLineResult getStatus(String projectPath,
+                                       String commandLine,
+                                       Loader<CommandLineResult> loader) throws SubversionException, UnauthorizedException {
+        // the statuses are replaced on changes, so the result of the command run before the change isn't cached
+        final Map<String, CommandLineResult> statuses = workingCopyOf(projectPath).statuses;
+        CommandLineResult result = statuses.get(commandLine);
+        if (result == null) {
+            result = loader.load();
+            if (result.getExitCode() == 0) {
+                statuses.put(commandLine, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached results of the working copy, of its parents and of its children.
+     *
+     * @param projectPath
+     *         absolute path of the working copy
+     */
+    public void invalidate(String projectPath) {
+        final Path path = normalize(projectPath);
+        workingCopies.keySet().removeIf(cached -> {
+            final Path cachedPath = normalize(cached);
+            return cachedPath.startsWith(path) || path.startsWith(cachedPath);
+        });
+    }
+
+    private WorkingCopy workingCopyOf(String projectPath) {
+        return workingCopies.computeIfAbsent(normalize(projectPath).toString(), path -> new WorkingCopy());
+    }
+
+    private static Path normalize(String path) {
+        return new File(path).toPath().normalize().toAbsolutePath();
+    }
+
+    private void onChange(Path path) {
+        final int svnDir = indexOf(path, SVN_DIR);
+        if (svnDir < 0) {
+            // file of the working copy, its status might be changed
+            workingCopies.forEach((cached, workingCopy) -> {
+                if (path.startsWith(cached)) {
+                    workingCopy.statuses = new ConcurrentHashMap<>();
+                }
+            });
+        } else if (WC_DB.equals(path.getFileName().toString()) && svnDir == path.getNameCount() - 2) {
+            // metadata of the working copy, e.g. it is switched, updated or committed
+            LOG.debug("Subversion metadata '{}' is changed", path);
+            invalidate(path.getParent().getParent().toString());
+        }
+    }
+
+    /**
+     * Matches the folders of the working copies and their metadata folders, but not the folders
+     * inside the metadata folders, e.g. pristine copies.
+     */
+    private PathMatcher matcher() {
+        return path -> {
+            if (!Files.isDirectory(path)) {
+                return false;
+            }
+            final int svnDir = indexOf(path, SVN_DIR);
+            if (svnDir >= 0) {
+                return svnDir == path.getNameCount() - 1;
+            }
+            for (Path parent = path; parent != null && parent.startsWith(root); parent = parent.getParent()) {
+                if (Files.isDirectory(parent.resolve(SVN_DIR))) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static int indexOf(Path path, String name) {
+        for (int i = 0; i < path.getNameCount(); i++) {
+            if (name.equals(path.getName(i).toString())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Loads the value which isn't cached.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws SubversionException, UnauthorizedException;
+    }
+
+    private static class WorkingCopy {
+        volatile Map<String, CommandLineResult> statuses = new ConcurrentHashMap<>();
+        volatile String                         repositoryUrl;
+    }
+}
@@ -37,6 +37,7 @@ public class SubversionModule extends AbstractModule {
 
         bind(SubversionService.class);
         bind(RepositoryUrlProvider.class).to(RepositoryUrlProviderImpl.class);
+        bind(SubversionCache.class).asEagerSingleton();
 
         bind(SubversionConfigurationChecker.class).asEagerSingleton();
     }
@@ -66,6 +66,12 @@ public class SubversionValueProviderFactory implements ValueProviderFactory {
         };
     }
 
+    @Override
+    public List<String> getDependencies() {
+        // working copy metadata, it is updated by checkout, switch and relocate
+        return Collections.singletonList(".svn/wc.db");
+    }
+
     private List<String> getRepositoryUrl(final FolderEntry project) throws ValueStorageException {
         try {
             if (isSvn(project)) {
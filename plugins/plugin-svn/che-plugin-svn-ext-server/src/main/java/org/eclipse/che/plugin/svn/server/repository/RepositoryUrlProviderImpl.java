@@ -16,6 +16,8 @@ import org.eclipse.che.plugin.svn.server.utils.InfoUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 import static org.eclipse.che.plugin.svn.server.upstream.UpstreamUtils.executeCommandLine;
 
@@ -31,11 +33,15 @@ public class RepositoryUrlProviderImpl implements RepositoryUrlProvider {
         try {
             final CommandLineResult clResult = executeCommandLine(null,
                                                                   "svn",
-                                                                  new String[] {"info"},
+                                                                  new String[] {"info", "--xml"},
                                                                   null,
                                                                   -1L,
                                                                   new File(projectPath));
-            return InfoUtils.getUrl(clResult.getStdout());
+            if (clResult.getExitCode() != 0) {
+                return null;
+            }
+            final List<Map<String, String>> entries = InfoUtils.parseXml(clResult.getStdout());
+            return entries.isEmpty() ? null : entries.get(0).get(InfoUtils.KEY_URL);
         } catch (IOException e) {
             throw new SubversionException(e);
         }
@@ -10,10 +10,21 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.svn.server.utils;
 
-import java.text.MessageFormat;
+import org.eclipse.che.plugin.svn.server.SubversionException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.Map;
 
 
 public final class InfoUtils {
@@ -34,82 +45,111 @@ public final class InfoUtils {
     /** The absolute path to the project on the server and must be hidden for the user. */
     public static final String KEY_WORKING_COPY_ROOT_PATH = "Working Copy Root Path";
 
-    private static final String STARTSWITH_PATTERN = "^{0}: (.*)$";
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
 
-    private InfoUtils() {
+    /** Format of the dates in the plain output, e.g. '2017-03-01 10:00:00 +0000 (Wed, 01 Mar 2017)'. */
+    private static final DateTimeFormatter PLAIN_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z (EEE, dd MMM yyyy)",
+                                                                                           Locale.ENGLISH);
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     }
 
-    public static String getPath(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_PATH));
-        return searchPattern(infoOutput, pattern);
+    private InfoUtils() {
     }
 
-    private static String searchPattern(final List<String> infoOutput, final Pattern pattern) {
-        for (String line: infoOutput) {
-            final Matcher matcher = pattern.matcher(line);
-            if (matcher.matches()) {
-                final String value = matcher.group(1);
-                return value;
-            } else {
-                continue;
+    /**
+     * Parses the output of "svn info --xml" by the streaming parser.
+     *
+     * @param xmlOutput
+     *         lines of the command output
+     * @return properties of the items keyed by the same names and formatted as in the plain output, e.g. {@link #KEY_URL}
+     * @throws SubversionException
+     *         if the output isn't valid
+     */
+    public static List<Map<String, String>> parseXml(final List<String> xmlOutput) throws SubversionException {
+        final List<Map<String, String>> entries = new ArrayList<>();
+        try {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(String.join("\n", xmlOutput)));
+            try {
+                Map<String, String> entry = null;
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamReader.START_ELEMENT) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "entry":
+                            entry = new HashMap<>();
+                            entries.add(entry);
+                            final String kind = reader.getAttributeValue(null, "kind");
+                            final String path = reader.getAttributeValue(null, "path");
+                            entry.put(KEY_PATH, path);
+                            entry.put(KEY_REVISION, reader.getAttributeValue(null, "revision"));
+                            // the plain output has the name of the files only
+                            if ("file".equals(kind)) {
+                                entry.put(KEY_NODE_KIND, kind);
+                                entry.put(KEY_NAME, path.substring(path.lastIndexOf('/') + 1));
+                            } else {
+                                entry.put(KEY_NODE_KIND, "dir".equals(kind) ? "directory" : kind);
+                            }
+                            break;
+                        case "commit":
+                            putIfEntry(entry, KEY_LAST_CHANGED_REV, reader.getAttributeValue(null, "revision"));
+                            break;
+                        case "url":
+                            putIfEntry(entry, KEY_URL, reader.getElementText());
+                            break;
+                        case "relative-url":
+                            putIfEntry(entry, KEY_RELATIVE_URL, reader.getElementText());
+                            break;
+                        case "root":
+                            putIfEntry(entry, KEY_REPOSITORY_ROOT, reader.getElementText());
+                            break;
+                        case "uuid":
+                            putIfEntry(entry, KEY_REPOSITORY_UUID, reader.getElementText());
+                            break;
+                        case "schedule":
+                            putIfEntry(entry, KEY_SCHEDULE, reader.getElementText());
+                            break;
+                        case "wcroot-abspath":
+                            putIfEntry(entry, KEY_WORKING_COPY_ROOT_PATH, reader.getElementText());
+                            break;
+                        case "author":
+                            putIfEntry(entry, KEY_LAST_CHANGE_AUTHOR, reader.getElementText());
+                            break;
+                        case "date":
+                            putIfEntry(entry, KEY_LAST_CHANGED_DATE, toPlainDate(reader.getElementText(), ZoneId.systemDefault()));
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
             }
+        } catch (XMLStreamException e) {
+            throw new SubversionException("Unable to parse svn info output: " + e.getMessage());
         }
-        return null;
-    }
-
-    public static String getName(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_NAME));
-        return searchPattern(infoOutput, pattern);
-    }
-
-    public static String getUrl(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_URL));
-        return searchPattern(infoOutput, pattern);
-    }
-
-    public static String getRelativeUrl(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_RELATIVE_URL));
-        return searchPattern(infoOutput, pattern);
-    }
-
-    public static String getRepositoryRoot(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_REPOSITORY_ROOT));
-        return searchPattern(infoOutput, pattern);
-    }
-
-    public static String getRepositoryUUID(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_REPOSITORY_UUID));
-        return searchPattern(infoOutput, pattern);
-    }
-
-    public static String getRevision(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_REVISION));
-        return searchPattern(infoOutput, pattern);
-    }
-
-    public static String getNodeKind(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_NODE_KIND));
-        return searchPattern(infoOutput, pattern);
-    }
-
-    public static String getSchedule(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_SCHEDULE));
-        return searchPattern(infoOutput, pattern);
-    }
-
-    public static String getLastChangeAuthor(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_LAST_CHANGE_AUTHOR));
-        return searchPattern(infoOutput, pattern);
+        return entries;
     }
 
-    public static String getLastChangedRev(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_LAST_CHANGED_REV));
-        return searchPattern(infoOutput, pattern);
+    /**
+     * Converts the date of the xml output, e.g. '2017-03-01T10:00:00.000000Z', to the format of the plain output
+     * in the given time zone, the date is returned as is if it can't be parsed.
+     */
+    static String toPlainDate(final String xmlDate, final ZoneId zone) {
+        try {
+            return PLAIN_DATE_FORMAT.format(Instant.parse(xmlDate).atZone(zone));
+        } catch (DateTimeException e) {
+            return xmlDate;
+        }
     }
 
-    public static String getLastChangedDate(final List<String> infoOutput) {
-        final Pattern pattern = Pattern.compile(MessageFormat.format(STARTSWITH_PATTERN, KEY_LAST_CHANGED_DATE));
-        return searchPattern(infoOutput, pattern);
+    /** The first value wins, e.g. the date of the last commit isn't replaced by the date of the lock. */
+    private static void putIfEntry(final Map<String, String> entry, final String key, final String value) {
+        if (entry != null) {
+            entry.putIfAbsent(key, value);
+        }
     }
-
 }
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server;
+
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.plugin.svn.server.upstream.CommandLineResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.PathMatcher;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link SubversionCache}.
+ */
+public class SubversionCacheTest {
+    private static final String STATUS = "status --xml";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File             root;
+    private String           project;
+    private SubversionCache  cache;
+    private PathMatcher      matcher;
+    private Consumer<String> onChange;
+    private AtomicInteger    urlLoads;
+    private AtomicInteger    statusLoads;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        root = folder.getRoot();
+        project = new File(root, "project").getAbsolutePath();
+        Files.createDirectories(new File(project, ".svn/pristine/ab").toPath());
+        Files.createFile(new File(project, ".svn/wc.db").toPath());
+        Files.createDirectories(new File(project, "src/main").toPath());
+        Files.createFile(new File(project, "src/main/App.java").toPath());
+        Files.createDirectories(new File(root, "other/src").toPath());
+
+        FileWatcherManager manager = mock(FileWatcherManager.class);
+        cache = new SubversionCache(manager, root);
+        cache.startWatcher();
+
+        ArgumentCaptor<PathMatcher> matcherCaptor = ArgumentCaptor.forClass(PathMatcher.class);
+        ArgumentCaptor<Consumer> onChangeCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(manager).registerByMatcher(matcherCaptor.capture(), onChangeCaptor.capture(), any(), any());
+        matcher = matcherCaptor.getValue();
+        onChange = onChangeCaptor.getValue();
+        urlLoads = new AtomicInteger();
+        statusLoads = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldMatchFoldersOfWorkingCopiesAndTheirMetadataFolders() throws Exception {
+        assertTrue(matcher.matches(new File(project).toPath()));
+        assertTrue(matcher.matches(new File(project, "src/main").toPath()));
+        assertTrue(matcher.matches(new File(project, ".svn").toPath()));
+    }
+
+    @Test
+    public void shouldNotMatchFilesAndFoldersOutOfWorkingCopies() throws Exception {
+        assertFalse(matcher.matches(new File(project, "src/main/App.java").toPath()));
+        assertFalse(matcher.matches(new File(project, ".svn/pristine").toPath()));
+        assertFalse(matcher.matches(new File(project, ".svn/pristine/ab").toPath()));
+        assertFalse(matcher.matches(new File(root, "other/src").toPath()));
+        assertFalse(matcher.matches(root.toPath()));
+    }
+
+    @Test
+    public void shouldCacheRepositoryUrlAndStatus() throws Exception {
+        CommandLineResult status = getStatus(project, 0);
+
+        assertEquals("svn://example.com/repo", getRepositoryUrl(project));
+        assertEquals("svn://example.com/repo", getRepositoryUrl(project + "/"));
+        assertSame(status, getStatus(project, 0));
+        assertEquals(1, urlLoads.get());
+        assertEquals(1, statusLoads.get());
+    }
+
+    @Test
+    public void shouldCacheResultsOfDifferentStatusCommandsSeparately() throws Exception {
+        getStatus(project, 0);
+        cache.getStatus(project, "status --xml src", () -> load(statusLoads, 0));
+
+        assertEquals(2, statusLoads.get());
+    }
+
+    @Test
+    public void shouldNotCacheFailedStatus() throws Exception {
+        getStatus(project, 1);
+        getStatus(project, 1);
+
+        assertEquals(2, statusLoads.get());
+    }
+
+    @Test
+    public void shouldNotCacheMissingRepositoryUrl() throws Exception {
+        assertNull(cache.getRepositoryUrl(project, () -> {
+            urlLoads.incrementAndGet();
+            return null;
+        }));
+        getRepositoryUrl(project);
+
+        assertEquals(2, urlLoads.get());
+    }
+
+    @Test
+    public void shouldDropOnlyStatusWhenFileOfWorkingCopyIsChanged() throws Exception {
+        getRepositoryUrl(project);
+        getStatus(project, 0);
+
+        onChange.accept("/project/src/main/App.java");
+        getRepositoryUrl(project);
+        getStatus(project, 0);
+
+        assertEquals(1, urlLoads.get());
+        assertEquals(2, statusLoads.get());
+    }
+
+    @Test
+    public void shouldDropWholeWorkingCopyWhenItsMetadataIsChanged() throws Exception {
+        getRepositoryUrl(project);
+        getStatus(project, 0);
+
+        onChange.accept("/project/.svn/wc.db");
+        getRepositoryUrl(project);
+        getStatus(project, 0);
+
+        assertEquals(2, urlLoads.get());
+        assertEquals(2, statusLoads.get());
+    }
+
+    @Test
+    public void shouldNotDropWorkingCopyWhenOtherMetadataIsChanged() throws Exception {
+        getRepositoryUrl(project);
+        getStatus(project, 0);
+
+        onChange.accept("/project/.svn/wc.db-journal");
+        onChange.accept("/project/.svn/pristine/ab/abcdef.svn-base");
+        onChange.accept("/other/src/Other.java");
+        getRepositoryUrl(project);
+        getStatus(project, 0);
+
+        assertEquals(1, urlLoads.get());
+        assertEquals(1, statusLoads.get());
+    }
+
+    @Test
+    public void shouldDropChildrenWhenParentIsInvalidated() throws Exception {
+        String child = project + "/src";
+        getRepositoryUrl(child);
+
+        cache.invalidate(project);
+        getRepositoryUrl(child);
+
+        assertEquals(2, urlLoads.get());
+    }
+
+    @Test
+    public void shouldDropParentWhenChildIsInvalidated() throws Exception {
+        getRepositoryUrl(project);
+
+        cache.invalidate(project + "/src/main");
+        getRepositoryUrl(project);
+
+        assertEquals(2, urlLoads.get());
+    }
+
+    @Test
+    public void shouldNotDropSiblingsWhenWorkingCopyIsInvalidated() throws Exception {
+        String sibling = new File(root, "other").getAbsolutePath();
+        getRepositoryUrl(sibling);
+
+        cache.invalidate(project);
+        getRepositoryUrl(sibling);
+
+        assertEquals(1, urlLoads.get());
+    }
+
+    private String getRepositoryUrl(String path) throws Exception {
+        return cache.getRepositoryUrl(path, () -> {
+            urlLoads.incrementAndGet();
+            return "svn://example.com/repo";
+        });
+    }
+
+    private CommandLineResult getStatus(String path, int exitCode) throws Exception {
+        return cache.getStatus(path, STATUS, () -> load(statusLoads, exitCode));
+    }
+
+    private static CommandLineResult load(AtomicInteger loads, int exitCode) {
+        loads.incrementAndGet();
+        return new CommandLineResult(null, exitCode, Collections.emptyList(), Collections.emptyList());
+    }
+}
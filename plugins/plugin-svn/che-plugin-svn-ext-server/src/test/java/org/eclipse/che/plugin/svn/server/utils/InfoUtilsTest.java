@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.svn.server.utils;
+
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.che.plugin.svn.server.SubversionException;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_LAST_CHANGED_DATE;
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_LAST_CHANGED_REV;
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_NAME;
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_NODE_KIND;
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_PATH;
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_RELATIVE_URL;
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_REPOSITORY_ROOT;
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_REVISION;
+import static org.eclipse.che.plugin.svn.server.utils.InfoUtils.KEY_URL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for {@link InfoUtils}.
+ */
+public class InfoUtilsTest {
+
+    /**
+     * Test for {@link InfoUtils#parseXml(List)}.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testParseXml() throws Exception {
+        List<Map<String, String>> entries = InfoUtils.parseXml(ImmutableList.of(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<info>",
+                "<entry kind=\"dir\" path=\".\" revision=\"5\">",
+                "<url>file:///repo/trunk</url>",
+                "<relative-url>^/trunk</relative-url>",
+                "<repository><root>file:///repo</root><uuid>a1b2</uuid></repository>",
+                "<commit revision=\"4\"><author>user</author><date>2017-03-01T10:00:00.000000Z</date></commit>",
+                "<lock><date>2017-03-02T10:00:00.000000Z</date></lock>",
+                "</entry>",
+                "<entry kind=\"file\" path=\"src/A.java\" revision=\"5\">",
+                "<url>file:///repo/trunk/src/A.java</url>",
+                "</entry>",
+                "</info>"
+        ));
+
+        assertEquals(2, entries.size());
+
+        Map<String, String> dir = entries.get(0);
+        assertEquals(".", dir.get(KEY_PATH));
+        assertEquals("5", dir.get(KEY_REVISION));
+        assertEquals("directory", dir.get(KEY_NODE_KIND));
+        assertNull(dir.get(KEY_NAME));
+        assertEquals("file:///repo/trunk", dir.get(KEY_URL));
+        assertEquals("^/trunk", dir.get(KEY_RELATIVE_URL));
+        assertEquals("file:///repo", dir.get(KEY_REPOSITORY_ROOT));
+        assertEquals("4", dir.get(KEY_LAST_CHANGED_REV));
+        assertEquals(InfoUtils.toPlainDate("2017-03-01T10:00:00.000000Z", ZoneId.systemDefault()), dir.get(KEY_LAST_CHANGED_DATE));
+
+        Map<String, String> file = entries.get(1);
+        assertEquals("file", file.get(KEY_NODE_KIND));
+        assertEquals("A.java", file.get(KEY_NAME));
+        assertEquals("file:///repo/trunk/src/A.java", file.get(KEY_URL));
+    }
+
+    @Test
+    public void testToPlainDate() throws Exception {
+        assertEquals("2017-03-01 10:00:00 +0000 (Wed, 01 Mar 2017)", InfoUtils.toPlainDate("2017-03-01T10:00:00.000000Z", ZoneOffset.UTC));
+        assertEquals("2017-03-02 01:30:00 +0200 (Thu, 02 Mar 2017)",
+                     InfoUtils.toPlainDate("2017-03-01T23:30:00.123456Z", ZoneOffset.ofHours(2)));
+        assertEquals("not a date", InfoUtils.toPlainDate("not a date", ZoneOffset.UTC));
+    }
+
+    @Test(expected = SubversionException.class)
+    public void testParseInvalidXml() throws Exception {
+        InfoUtils.parseXml(ImmutableList.of("<info><entry>"));
+    }
+}
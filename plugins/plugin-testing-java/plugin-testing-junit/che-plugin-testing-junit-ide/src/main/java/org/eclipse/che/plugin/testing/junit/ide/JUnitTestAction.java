@@ -17,6 +17,7 @@ import org.eclipse.che.ide.api.keybinding.KeyBindingAgent;
 import org.eclipse.che.ide.api.keybinding.KeyBuilder;
 import org.eclipse.che.ide.util.browser.UserAgent;
 import org.eclipse.che.plugin.testing.ide.TestAction;
+import org.eclipse.che.plugin.testing.junit.ide.action.RunAffectedTestAction;
 import org.eclipse.che.plugin.testing.junit.ide.action.RunAllContextTestAction;
 import org.eclipse.che.plugin.testing.junit.ide.action.RunAllTestAction;
 import org.eclipse.che.plugin.testing.junit.ide.action.RunClassContextTestAction;
@@ -35,10 +36,12 @@ public class JUnitTestAction implements TestAction {
     public static final String TEST_ACTION_RUN_CLASS         = "TestActionRunClass";
     public static final String TEST_ACTION_RUN_CLASS_CONTEXT = "TestActionRunClassContext";
     public static final String TEST_ACTION_RUN_ALL_CONTEXT   = "TestActionRunAllContext";
+    public static final String TEST_ACTION_RUN_AFFECTED      = "TestActionRunAffected";
     private final Action runClassTestAction;
     private final Action runAllTestAction;
     private final Action runClassContextTestAction;
     private final Action runAllContextTestAction;
+    private final Action runAffectedTestAction;
 
     @Inject
     public JUnitTestAction(ActionManager actionManager, 
@@ -46,11 +49,13 @@ public class JUnitTestAction implements TestAction {
                            RunAllTestAction runAllTestAction, 
                            RunClassContextTestAction runClassContextTestAction,
                            RunAllContextTestAction runAllContextTestAction,
+                           RunAffectedTestAction runAffectedTestAction,
                            KeyBindingAgent keyBinding) {
         actionManager.registerAction(TEST_ACTION_RUN_CLASS, runClassTestAction);
         actionManager.registerAction(TEST_ACTION_RUN_ALL, runAllTestAction);
         actionManager.registerAction(TEST_ACTION_RUN_CLASS_CONTEXT, runClassContextTestAction);
         actionManager.registerAction(TEST_ACTION_RUN_ALL_CONTEXT, runAllContextTestAction);
+        actionManager.registerAction(TEST_ACTION_RUN_AFFECTED, runAffectedTestAction);
 
         if (UserAgent.isMac()) {
             keyBinding.getGlobal().addKey(new KeyBuilder().control().alt().charCode('z').build(), TEST_ACTION_RUN_ALL);
@@ -64,6 +69,7 @@ public class JUnitTestAction implements TestAction {
         this.runClassContextTestAction = runClassContextTestAction;
         this.runClassTestAction = runClassTestAction;
         this.runAllContextTestAction = runAllContextTestAction;
+        this.runAffectedTestAction = runAffectedTestAction;
     }
 
 
@@ -71,6 +77,7 @@ public class JUnitTestAction implements TestAction {
     public void addMainMenuItems(DefaultActionGroup testMainMenu) {
         testMainMenu.add(runClassTestAction);
         testMainMenu.add(runAllTestAction);
+        testMainMenu.add(runAffectedTestAction);
     }
 
     @Override
@@ -37,4 +37,10 @@ public interface JUnitTestLocalizationConstant extends Messages {
 
     @Key("action.runAll.description")
     String actionRunAllDescription();
+
+    @Key("action.runAffected.title")
+    String actionRunAffectedTitle();
+
+    @Key("action.runAffected.description")
+    String actionRunAffectedDescription();
 }
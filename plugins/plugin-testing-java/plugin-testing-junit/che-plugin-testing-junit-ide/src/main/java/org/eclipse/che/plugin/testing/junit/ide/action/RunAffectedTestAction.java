@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.ide.action;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.che.ide.api.action.ActionEvent;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.editor.EditorAgent;
+import org.eclipse.che.ide.api.filetypes.FileTypeRegistry;
+import org.eclipse.che.ide.api.notification.NotificationManager;
+import org.eclipse.che.ide.ext.java.client.action.JavaEditorAction;
+import org.eclipse.che.plugin.testing.ide.TestServiceClient;
+import org.eclipse.che.plugin.testing.ide.action.RunTestActionDelegate;
+import org.eclipse.che.plugin.testing.ide.view.TestResultPresenter;
+import org.eclipse.che.plugin.testing.junit.ide.JUnitTestLocalizationConstant;
+import org.eclipse.che.plugin.testing.junit.ide.JUnitTestResources;
+
+import com.google.inject.Inject;
+
+/**
+ * Runs the JUnit tests affected by the changes since the last run of all the project tests.
+ */
+public class RunAffectedTestAction extends JavaEditorAction
+                                   implements RunTestActionDelegate.Source {
+
+    private final NotificationManager   notificationManager;
+    private final TestResultPresenter   presenter;
+    private final TestServiceClient     service;
+    private final RunTestActionDelegate delegate;
+
+    @Inject
+    public RunAffectedTestAction(JUnitTestResources resources,
+                            NotificationManager notificationManager,
+                            EditorAgent editorAgent,
+                            TestResultPresenter presenter,
+                            FileTypeRegistry fileTypeRegistry,
+                            TestServiceClient service,
+                            JUnitTestLocalizationConstant localization) {
+        super(localization.actionRunAffectedTitle(), localization.actionRunAffectedDescription(), resources.testAllIcon(),
+              editorAgent, fileTypeRegistry);
+        this.notificationManager = notificationManager;
+        this.editorAgent = editorAgent;
+        this.presenter = presenter;
+        this.service = service;
+        this.delegate = new RunTestActionDelegate(this);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("runAffected", "true");
+        delegate.doRunTests(e, parameters);
+    }
+
+    @Override
+    public NotificationManager getNotificationManager() {
+        return notificationManager;
+    }
+
+    @Override
+    public AppContext getAppContext() {
+        return appContext;
+    }
+
+    @Override
+    public TestServiceClient getService() {
+        return service;
+    }
+
+    @Override
+    public TestResultPresenter getPresenter() {
+        return presenter;
+    }
+    
+    @Override
+    public String getTestingFramework() {
+        return "junit";
+    }
+}
@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import org.eclipse.che.api.testing.server.listener.AbstractTestListener;
+import org.eclipse.che.api.testing.shared.TestCase;
+import org.eclipse.che.api.testing.shared.TestResult;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.plugin.testing.junit.server.fork.TestJvm;
+import org.eclipse.che.plugin.testing.junit.server.fork.TestJvmPool;
+
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.ASSUMPTION;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.DONE;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.END;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.ERROR;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.EXCEPTION;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.FAILED;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.FINISHED;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.RUN;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.STARTED;
+
+/**
+ * Test run shared by the JVMs of the {@link TestJvmPool}, each of them starts a session and takes
+ * the test classes one by one. If a JVM is terminated by the test or doesn't report anything
+ * in the read timeout, the class is reported as failed, the JVM is destroyed and the next classes
+ * are run by another JVM.
+ */
+class ForkedTestRun implements Callable<Void> {
+    private final TestJvmPool           jvmPool;
+    private final String[]              session;
+    private final Queue<String>         testClasses;
+    private final AbstractTestListener  listener;
+    private final long                  readTimeoutMs;
+    private final Map<String, TestCase> testCases;
+
+    private volatile String framework;
+    private volatile String error;
+
+    ForkedTestRun(TestJvmPool jvmPool,
+                  String[] session,
+                  List<String> testClasses,
+                  AbstractTestListener listener,
+                  long readTimeoutMs) {
+        this.jvmPool = jvmPool;
+        this.session = session;
+        this.testClasses = new ConcurrentLinkedQueue<>(testClasses);
+        this.listener = listener;
+        this.readTimeoutMs = readTimeoutMs;
+        this.testCases = new LinkedHashMap<>();
+    }
+
+    @Override
+    public Void call() throws Exception {
+        do {
+            TestJvm jvm = jvmPool.acquire();
+            boolean reusable = false;
+            String testClass = null;
+            try {
+                jvm.send(session);
+                String[] reply = jvm.read(readTimeoutMs);
+                if (ERROR.equals(reply[0])) {
+                    error = reply[1];
+                    reusable = true;
+                    return null;
+                }
+                framework = reply[1];
+
+                while (error == null && (testClass = testClasses.poll()) != null) {
+                    jvm.send(RUN, testClass);
+                    readEvents(jvm);
+                }
+                jvm.send(END);
+                reusable = true;
+            } catch (IOException e) {
+                if (testClass == null) {
+                    throw e;
+                }
+                classFailed(testClass, "The test JVM failed while running " + testClass + ": " + e.getMessage());
+            } finally {
+                jvmPool.release(jvm, reusable);
+            }
+        } while (error == null && !testClasses.isEmpty());
+        return null;
+    }
+
+    /** Returns the error of the session, e.g. JUnit isn't found on the project classpath, or null. */
+    String getError() {
+        return error;
+    }
+
+    Set<String> getFailedClasses() {
+        synchronized (listener) {
+            return testCases.values()
+                            .stream()
+                            .filter(testCase -> Boolean.TRUE.equals(testCase.isFailed()))
+                            .map(TestCase::getClassName)
+                            .collect(Collectors.toSet());
+        }
+    }
+
+    TestResult toTestResult() {
+        List<TestCase> testList;
+        synchronized (listener) {
+            testList = new ArrayList<>(testCases.values());
+        }
+        int failureCount = (int)testList.stream().filter(testCase -> Boolean.TRUE.equals(testCase.isFailed())).count();
+
+        TestResult dtoResult = DtoFactory.getInstance().createDto(TestResult.class);
+        dtoResult.setTestFramework(framework);
+        dtoResult.setSuccess(failureCount == 0);
+        dtoResult.setFailureCount(failureCount);
+        dtoResult.setTestCaseCount(testList.size());
+        dtoResult.setTestCases(testList);
+        return dtoResult;
+    }
+
+    private void readEvents(TestJvm jvm) throws IOException, InterruptedException {
+        for (; ; ) {
+            String[] event = jvm.read(readTimeoutMs);
+            switch (event[0]) {
+                case STARTED:
+                    started(event[1], event[2], event[3]);
+                    break;
+                case FAILED:
+                    failed(event[1], event[2], event[3], event[4], Integer.parseInt(event[5]), event[6], event[7]);
+                    break;
+                case FINISHED:
+                    finished(event[1]);
+                    break;
+                case DONE:
+                    if (!event[2].isEmpty()) {
+                        classFailed(event[1], event[2]);
+                    }
+                    return;
+            }
+        }
+    }
+
+    private void started(String testKey, String className, String methodName) {
+        TestCase testCase = DtoFactory.getInstance().createDto(TestCase.class);
+        testCase.setClassName(className);
+        testCase.setMethod(methodName);
+        testCase.setFailingLine(-1);
+        testCase.setMessage("");
+        testCase.setTrace("");
+        synchronized (listener) {
+            testCases.put(testKey, testCase);
+            listener.startTest(testKey, testKey);
+        }
+    }
+
+    private void failed(String testKey, String className, String methodName, String kind, int failingLine, String message,
+                        String trace) {
+        synchronized (listener) {
+            if (ASSUMPTION.equals(kind)) {
+                listener.addError(testKey, new ForkedTestFailure(message, trace));
+                return;
+            }
+            TestCase testCase = testCases.get(testKey);
+            if (testCase == null) {
+                // failure of the whole class, e.g. in the class initializer
+                testCase = DtoFactory.getInstance().createDto(TestCase.class);
+                testCase.setClassName(className);
+                testCase.setMethod(methodName);
+                testCases.put(testKey, testCase);
+            }
+            testCase.setFailed(true);
+            testCase.setFailingLine(failingLine);
+            testCase.setMessage(message);
+            testCase.setTrace(trace);
+            if (EXCEPTION.equals(kind)) {
+                listener.addError(testKey, new ForkedTestFailure(message, trace));
+            } else {
+                listener.addFailure(testKey, new ForkedTestFailure(message, trace));
+            }
+        }
+    }
+
+    private void finished(String testKey) {
+        synchronized (listener) {
+            listener.endTest(testKey, testKey);
+        }
+    }
+
+    private void classFailed(String className, String message) {
+        started(className, className, null);
+        failed(className, className, null, EXCEPTION, -1, message, message);
+        finished(className);
+    }
+
+    /**
+     * Failure of the test in the forked JVM, the stack trace is printed as it is received from the JVM.
+     */
+    private static class ForkedTestFailure extends Throwable {
+        private static final long serialVersionUID = 1L;
+
+        private final String trace;
+
+        ForkedTestFailure(String message, String trace) {
+            super(message, null, false, false);
+            this.trace = trace;
+        }
+
+        @Override
+        public void printStackTrace(PrintStream s) {
+            s.print(trace);
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter s) {
+            s.print(trace);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Singleton;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the classes affected by the changes of the project sources since its last test run.
+ *
+ * <p>The class is affected if it is declared in a changed compilation unit or
+ * if it references an affected class, the references are found by the JDT search engine,
+ * so its index is used rather than the sources are parsed. The references are searched
+ * level by level: all the classes found on a level are searched by a single query.
+ * The classes which failed in the last run are always affected, so they are run
+ * until they pass.
+ *
+ * <p>The changes are found by the modification time of the project files. If a file
+ * other than java source is changed, e.g. a test resource or pom.xml, its impact
+ * can't be found by the references, so all the tests are affected.
+ */
+@Singleton
+public class TestImpactAnalyzer {
+    private static final Logger LOG = LoggerFactory.getLogger(TestImpactAnalyzer.class);
+
+    private final Map<String, LastRun> lastRuns;
+
+    public TestImpactAnalyzer() {
+        this.lastRuns = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns binary names of the classes affected since the last test run of the project.
+     *
+     * @param projectPath
+     *         path of the project relative to the workspace
+     * @return affected classes or null if the project tests were not run yet or files other than java sources
+     * are changed, then all the tests have to be run
+     * @throws CoreException
+     *         when the java model of the project can't be read or the search fails
+     * @throws IOException
+     *         when the project files can't be listed
+     */
+    public Set<String> findAffectedClasses(String projectPath) throws CoreException, IOException {
+        LastRun lastRun = lastRuns.get(projectPath);
+        if (lastRun == null) {
+            return null;
+        }
+        IJavaProject javaProject = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProject(projectPath);
+        IPath projectLocation = javaProject.getProject().getLocation();
+        if (projectLocation == null) {
+            return null;
+        }
+        IPath outputLocation = javaProject.getOutputLocation().removeFirstSegments(1);
+        Path projectDir = Paths.get(projectLocation.toOSString());
+        Path outputDir = outputLocation.isEmpty() ? null : projectDir.resolve(outputLocation.segment(0));
+        Set<Path> changedSources = findChangedSources(projectDir, outputDir, lastRun.startTime);
+        if (changedSources == null) {
+            LOG.debug("Project '{}' has changed files other than java sources, all the tests are affected", projectPath);
+            return null;
+        }
+
+        Set<ICompilationUnit> affected = new LinkedHashSet<>(findChangedUnits(javaProject, changedSources));
+        Collection<ICompilationUnit> level = new ArrayList<>(affected);
+        int depth = 0;
+        while (!level.isEmpty()) {
+            level = findReferencingUnits(javaProject, level, affected);
+            depth++;
+        }
+
+        Set<String> classes = new HashSet<>(lastRun.failedClasses);
+        for (ICompilationUnit unit : affected) {
+            for (IType type : unit.getAllTypes()) {
+                classes.add(type.getFullyQualifiedName('$'));
+            }
+        }
+        LOG.debug("Project '{}' has {} affected compilation units, {} levels of references are searched",
+                  projectPath, affected.size(), depth);
+        return classes;
+    }
+
+    /**
+     * Remembers the test run of the whole project, the next changes are counted since its start.
+     *
+     * @param projectPath
+     *         path of the project relative to the workspace
+     * @param startTime
+     *         time the run is started at, the sources changed while the tests run are affected on the next run
+     * @param failedClasses
+     *         binary names of the classes which have failed tests
+     */
+    public void testsRun(String projectPath, long startTime, Set<String> failedClasses) {
+        lastRuns.put(projectPath, new LastRun(startTime, failedClasses));
+    }
+
+    /**
+     * Finds the java sources of the project modified since the given time.
+     *
+     * @param projectDir
+     *         the project directory
+     * @param outputDir
+     *         the build output directory which isn't checked, or null
+     * @param since
+     *         the files modified at this time or later are changed
+     * @return paths of the changed java sources or null if any other file is changed,
+     * the hidden files and directories, e.g. '.che' or '.git', and the class files are ignored
+     */
+    static Set<Path> findChangedSources(Path projectDir, Path outputDir, long since) throws IOException {
+        Set<Path> changed = new HashSet<>();
+        boolean[] otherChanged = new boolean[1];
+        Files.walkFileTree(projectDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (dir.equals(outputDir) || !dir.equals(projectDir) && isHidden(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String name = file.getFileName().toString();
+                if (isHidden(file) || name.endsWith(".class") || attrs.lastModifiedTime().toMillis() < since) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (name.endsWith(".java")) {
+                    changed.add(file);
+                    return FileVisitResult.CONTINUE;
+                }
+                otherChanged[0] = true;
+                return FileVisitResult.TERMINATE;
+            }
+        });
+        return otherChanged[0] ? null : changed;
+    }
+
+    private static boolean isHidden(Path path) {
+        return path.getFileName().toString().startsWith(".");
+    }
+
+    private List<ICompilationUnit> findChangedUnits(IJavaProject javaProject, Set<Path> changedSources) throws JavaModelException {
+        List<ICompilationUnit> changed = new ArrayList<>();
+        for (IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
+            if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+                continue;
+            }
+            for (IJavaElement child : root.getChildren()) {
+                for (ICompilationUnit unit : ((IPackageFragment)child).getCompilationUnits()) {
+                    IResource resource = unit.getResource();
+                    IPath location = resource != null ? resource.getLocation() : null;
+                    if (location != null && changedSources.contains(Paths.get(location.toOSString()))) {
+                        changed.add(unit);
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Finds the compilation units which reference the types of the given units
+     * and aren't affected yet, the found units are added to the affected ones.
+     */
+    private Collection<ICompilationUnit> findReferencingUnits(IJavaProject javaProject,
+                                                              Collection<ICompilationUnit> units,
+                                                              Set<ICompilationUnit> affected) throws CoreException {
+        SearchPattern pattern = null;
+        for (ICompilationUnit unit : units) {
+            for (IType type : unit.getAllTypes()) {
+                SearchPattern typePattern = SearchPattern.createPattern(type, IJavaSearchConstants.REFERENCES);
+                pattern = pattern == null ? typePattern : SearchPattern.createOrPattern(pattern, typePattern);
+            }
+        }
+        if (pattern == null) {
+            return new ArrayList<>();
+        }
+
+        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {javaProject}, IJavaSearchScope.SOURCES);
+        List<ICompilationUnit> found = new ArrayList<>();
+        new SearchEngine().search(pattern,
+                                  new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()},
+                                  scope,
+                                  new SearchRequestor() {
+                                      @Override
+                                      public void acceptSearchMatch(SearchMatch match) {
+                                          if (!(match.getElement() instanceof IJavaElement)) {
+                                              return;
+                                          }
+                                          IJavaElement unit = ((IJavaElement)match.getElement()).getAncestor(IJavaElement.COMPILATION_UNIT);
+                                          if (unit != null && affected.add((ICompilationUnit)unit)) {
+                                              found.add((ICompilationUnit)unit);
+                                          }
+                                      }
+                                  },
+                                  null);
+        return found;
+    }
+
+    private static class LastRun {
+        final long        startTime;
+        final Set<String> failedClasses;
+
+        LastRun(long startTime, Set<String> failedClasses) {
+            this.startTime = startTime;
+            this.failedClasses = failedClasses;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.fork;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Forked JVM which runs the tests, see {@link TestJvmMain}.
+ *
+ * <p>The events of the JVM are read by the separate thread, so the reading of the next event
+ * can be bounded by a timeout and a JVM stuck in a test doesn't block the test run forever.
+ */
+public class TestJvm {
+    private static final Logger LOG = LoggerFactory.getLogger(TestJvm.class);
+
+    /** Marks the end of the events, the identity of the instance matters. */
+    @SuppressWarnings("RedundantStringConstructorCall")
+    private static final String END_OF_EVENTS = new String();
+
+    private final Process               process;
+    private final Writer                commands;
+    private final BlockingQueue<String> events;
+
+    private int sessions;
+
+    private TestJvm(Process process) {
+        this.process = process;
+        this.commands = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        this.events = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Starts the JVM with given command line.
+     */
+    static TestJvm start(List<String> command) throws IOException {
+        TestJvm jvm = new TestJvm(new ProcessBuilder(command).start());
+
+        Thread eventsReader = new Thread(() -> {
+            try (BufferedReader events = new BufferedReader(new InputStreamReader(jvm.process.getInputStream(),
+                                                                                  StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = events.readLine()) != null) {
+                    jvm.events.add(line);
+                }
+            } catch (IOException ignored) {
+            } finally {
+                jvm.events.add(END_OF_EVENTS);
+            }
+        }, "TestJvmEventsReader");
+        eventsReader.setDaemon(true);
+        eventsReader.start();
+
+        Thread outputReader = new Thread(() -> {
+            try (BufferedReader output = new BufferedReader(new InputStreamReader(jvm.process.getErrorStream(),
+                                                                                  StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    LOG.debug(line);
+                }
+            } catch (IOException ignored) {
+            }
+        }, "TestJvmOutputReader");
+        outputReader.setDaemon(true);
+        outputReader.start();
+
+        return jvm;
+    }
+
+    /**
+     * Sends the command to the JVM.
+     *
+     * @throws IOException
+     *         if the JVM is terminated
+     */
+    public void send(String... fields) throws IOException {
+        if (TestJvmProtocol.SESSION.equals(fields[0])) {
+            sessions++;
+        }
+        commands.write(TestJvmProtocol.encode(fields));
+        commands.write('\n');
+        commands.flush();
+    }
+
+    /**
+     * Reads the next message of the JVM, blocks until the message is available.
+     * The JVM is destroyed if it doesn't send the message in the given time,
+     * so it must be released to the pool as not reusable.
+     *
+     * @param timeoutMs
+     *         maximum time to wait for the message in milliseconds
+     * @throws IOException
+     *         if the JVM is terminated or the timeout is elapsed
+     * @throws InterruptedException
+     *         if the current thread is interrupted while waiting
+     */
+    public String[] read(long timeoutMs) throws IOException, InterruptedException {
+        String line = events.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (line == null) {
+            destroy();
+            throw new IOException("Test JVM hasn't responded in " + TimeUnit.MILLISECONDS.toSeconds(timeoutMs) +
+                                  " seconds and is destroyed");
+        }
+        if (line == END_OF_EVENTS) {
+            // the next reads must fail as well
+            events.add(END_OF_EVENTS);
+            throw new IOException("Test JVM is terminated");
+        }
+        return TestJvmProtocol.decode(line);
+    }
+
+    /** Returns the number of the sessions started in this JVM. */
+    int getSessions() {
+        return sessions;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    void destroy() {
+        process.destroyForcibly();
+    }
+}
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.fork;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javassist.util.proxy.MethodHandler;
+import javassist.util.proxy.ProxyFactory;
+
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.ASSUMPTION;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.DONE;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.END;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.ERROR;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.EXCEPTION;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.FAILED;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.FAILURE;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.FINISHED;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.RUN;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.SESSION;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.STARTED;
+
+/**
+ * Entry point of the forked test JVM.
+ *
+ * <p>Reads the commands of the {@link TestJvmProtocol} from the standard input and writes the events
+ * of the tests to the standard output, the output of the tests is redirected to the standard error.
+ * The JVM is reused between the test runs, each session loads the project classes
+ * by the new class loader, so the recompiled classes are picked up and the static state of
+ * the tests of the previous session isn't visible. JUnit is loaded from the project classpath
+ * and is accessed by reflection, only javassist is on the classpath of the JVM itself.
+ */
+public class TestJvmMain {
+    private static final String JUNIT4X_RUNNER_CLASS = "org.junit.runner.JUnitCore";
+    private static final String JUNIT3X_RUNNER_CLASS = "junit.textui.TestRunner";
+
+    private final Writer events;
+
+    private ClassLoader projectClassLoader;
+    private boolean     useJUnitV3API;
+
+    private TestJvmMain(Writer events) {
+        this.events = events;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Writer events = new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8);
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+
+        BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        TestJvmMain main = new TestJvmMain(events);
+        String line;
+        while ((line = commands.readLine()) != null) {
+            main.execute(TestJvmProtocol.decode(line));
+        }
+    }
+
+    private void execute(String[] command) throws IOException {
+        switch (command[0]) {
+            case SESSION:
+                startSession(command);
+                break;
+            case RUN:
+                String error = null;
+                try {
+                    run(command[1]);
+                } catch (Throwable e) {
+                    error = e.getCause() != null ? e.getCause().toString() : e.toString();
+                }
+                send(DONE, command[1], error);
+                break;
+            case END:
+                projectClassLoader = null;
+                break;
+            default:
+                send(ERROR, "Unknown command " + command[0]);
+        }
+    }
+
+    private void startSession(String[] command) throws IOException {
+        URL[] urls = new URL[command.length - 2];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = new URL(command[i + 2]);
+        }
+        ClassLoader currentClassLoader = getClass().getClassLoader();
+        projectClassLoader = new URLClassLoader(urls, null) {
+            @Override
+            protected Class< ? > findClass(String name) throws ClassNotFoundException {
+                if (name.startsWith("javassist.")) {
+                    return currentClassLoader.loadClass(name);
+                }
+                return super.findClass(name);
+            }
+        };
+        System.setProperty("user.dir", command[1]);
+
+        if (isPresent(JUNIT4X_RUNNER_CLASS)) {
+            useJUnitV3API = false;
+            send(SESSION, "JUnit4x");
+        } else if (isPresent(JUNIT3X_RUNNER_CLASS)) {
+            useJUnitV3API = true;
+            send(SESSION, "JUnit3x");
+        } else {
+            projectClassLoader = null;
+            send(ERROR, "JUnit classes not found in the following project classpath: " + Arrays.asList(urls));
+        }
+    }
+
+    private boolean isPresent(String className) {
+        try {
+            Class.forName(className, true, projectClassLoader);
+            return true;
+        } catch (Exception | LinkageError ignored) {
+            return false;
+        }
+    }
+
+    private void run(String className) throws Exception {
+        Class< ? > clazz = Class.forName(className, false, projectClassLoader);
+        ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(projectClassLoader);
+            if (useJUnitV3API) {
+                if (isTestable3x(clazz)) {
+                    run3x(clazz);
+                }
+            } else if (isTestable4x(clazz)) {
+                run4x(clazz);
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(tccl);
+        }
+    }
+
+    private boolean isTestable4x(Class< ? > clazz) {
+        if (Modifier.isAbstract(clazz.getModifiers())) {
+            return false;
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            for (Annotation annotation : method.getAnnotations()) {
+                if (annotation.annotationType().getName().equals("org.junit.Test")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isTestable3x(Class< ? > clazz) throws ClassNotFoundException {
+        Class< ? > superClass = Class.forName("junit.framework.TestCase", true, projectClassLoader);
+        return superClass.isAssignableFrom(clazz) && !Modifier.isAbstract(clazz.getModifiers());
+    }
+
+    private void run4x(Class< ? > testClass) throws Exception {
+        Class< ? > clsJUnitCore = Class.forName("org.junit.runner.JUnitCore", true, projectClassLoader);
+        Class< ? > clsRequest = Class.forName("org.junit.runner.Request", true, projectClassLoader);
+        Class< ? > clsRunListener = Class.forName("org.junit.runner.notification.RunListener", true, projectClassLoader);
+
+        Object jUnitCore = clsJUnitCore.getConstructor().newInstance();
+        clsJUnitCore.getMethod("addListener", clsRunListener).invoke(jUnitCore, create4xTestListener(clsRunListener));
+        Object request = clsRequest.getMethod("aClass", Class.class).invoke(null, testClass);
+        clsJUnitCore.getMethod("run", clsRequest).invoke(jUnitCore, request);
+    }
+
+    private Object create4xTestListener(Class< ? > listenerClass) throws Exception {
+        ProxyFactory f = new ProxyFactory();
+        f.setSuperclass(listenerClass);
+        f.setFilter(m -> {
+            switch (m.getName()) {
+                case "testStarted":
+                case "testFinished":
+                case "testFailure":
+                case "testAssumptionFailure":
+                    return true;
+            }
+            return false;
+        });
+        MethodHandler handler = (self, m, proceed, args) -> {
+            Object description;
+            switch (m.getName()) {
+                case "testStarted":
+                case "testFinished":
+                    description = args[0];
+                    break;
+                default:
+                    description = invoke(args[0], "getDescription");
+            }
+            String testKey = (String)invoke(description, "getDisplayName");
+            String className = (String)invoke(description, "getClassName");
+            String methodName = (String)invoke(description, "getMethodName");
+            switch (m.getName()) {
+                case "testStarted":
+                    send(STARTED, testKey, className, methodName);
+                    break;
+                case "testFinished":
+                    send(FINISHED, testKey);
+                    break;
+                default:
+                    Throwable exception = (Throwable)invoke(args[0], "getException");
+                    send(FAILED,
+                         testKey,
+                         className,
+                         methodName,
+                         m.getName().equals("testFailure") ? FAILURE : ASSUMPTION,
+                         String.valueOf(failingLine(exception, className, methodName)),
+                         (String)invoke(args[0], "getMessage"),
+                         (String)invoke(args[0], "getTrace"));
+            }
+            return null;
+        };
+        Object listener = f.createClass().getConstructor().newInstance();
+        ((javassist.util.proxy.Proxy)listener).setHandler(handler);
+        return listener;
+    }
+
+    private void run3x(Class< ? > testClass) throws Exception {
+        Class< ? > clsTestSuite = Class.forName("junit.framework.TestSuite", true, projectClassLoader);
+        Class< ? > clsTestResult = Class.forName("junit.framework.TestResult", true, projectClassLoader);
+        Class< ? > clsTestListener = Class.forName("junit.framework.TestListener", true, projectClassLoader);
+
+        Object testSuite = clsTestSuite.getConstructor().newInstance();
+        Object testResult = clsTestResult.getConstructor().newInstance();
+        Object listener = Proxy.newProxyInstance(projectClassLoader, new Class< ? >[]{clsTestListener}, (proxy, method, args) -> {
+            Object testCase = args[0];
+            String className = testCase.getClass().getName();
+            String methodName = (String)invoke(testCase, "getName");
+            String testKey = methodName + "(" + className + ")";
+            switch (method.getName()) {
+                case "startTest":
+                    send(STARTED, testKey, className, methodName);
+                    break;
+                case "endTest":
+                    send(FINISHED, testKey);
+                    break;
+                case "addError":
+                case "addFailure":
+                    Throwable throwable = (Throwable)args[1];
+                    send(FAILED,
+                         testKey,
+                         className,
+                         methodName,
+                         method.getName().equals("addFailure") ? FAILURE : EXCEPTION,
+                         String.valueOf(failingLine(throwable, className, methodName)),
+                         throwable.getMessage(),
+                         traceOf(throwable));
+                    break;
+            }
+            return null;
+        });
+        clsTestResult.getMethod("addListener", clsTestListener).invoke(testResult, listener);
+        clsTestSuite.getMethod("addTestSuite", Class.class).invoke(testSuite, testClass);
+        clsTestSuite.getMethod("run", clsTestResult).invoke(testSuite, testResult);
+    }
+
+    private static int failingLine(Throwable throwable, String className, String methodName) {
+        if (throwable != null) {
+            for (StackTraceElement element : throwable.getStackTrace()) {
+                if (element.getClassName().equals(className) && element.getMethodName().equals(methodName)) {
+                    return element.getLineNumber();
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String traceOf(Throwable throwable) {
+        StringWriter sw = new StringWriter();
+        try (PrintWriter w = new PrintWriter(sw)) {
+            throwable.printStackTrace(w);
+        }
+        return sw.toString();
+    }
+
+    private static Object invoke(Object target, String method) throws Exception {
+        return target.getClass().getMethod(method).invoke(target);
+    }
+
+    private synchronized void send(String... fields) throws IOException {
+        events.write(TestJvmProtocol.encode(fields));
+        events.write('\n');
+        events.flush();
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.fork;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import javassist.util.proxy.ProxyFactory;
+
+/**
+ * Pool of the forked JVMs which run the tests out of the workspace agent,
+ * so the tests don't compete with the agent for its heap and can't break it.
+ *
+ * <p>The JVMs are reused between the test runs to save their startup time,
+ * the number of the JVMs which run tests at the same time is limited by the number of the CPUs.
+ * The JVM is thrown away when it is terminated by the tests or after
+ * {@link #MAX_SESSIONS} sessions, since the tests may leak the class loaders of the sessions,
+ * e.g. by the threads they don't stop.
+ */
+@Singleton
+public class TestJvmPool {
+    private static final int MAX_SESSIONS = 20;
+
+    private final int            size;
+    private final Semaphore      permits;
+    private final Deque<TestJvm> idle;
+    private final List<String>   command;
+
+    @Inject
+    public TestJvmPool() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    TestJvmPool(int size) {
+        this.size = size;
+        this.permits = new Semaphore(size);
+        this.idle = new ArrayDeque<>();
+        this.command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Djava.awt.headless=true");
+        command.add("-cp");
+        command.add(locationOf(TestJvmMain.class) + File.pathSeparator + locationOf(ProxyFactory.class));
+        command.add(TestJvmMain.class.getName());
+    }
+
+    /** Returns the maximum number of the JVMs which run tests at the same time. */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Takes idle JVM or starts a new one, blocks while all the JVMs are busy.
+     * The JVM must be returned by {@link #release(TestJvm, boolean)}.
+     */
+    public TestJvm acquire() throws IOException, InterruptedException {
+        permits.acquire();
+        try {
+            synchronized (idle) {
+                TestJvm jvm;
+                while ((jvm = idle.poll()) != null) {
+                    if (jvm.isAlive()) {
+                        return jvm;
+                    }
+                }
+            }
+            return TestJvm.start(command);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the JVM to the pool.
+     *
+     * @param reusable
+     *         false if the JVM state is unknown, e.g. the test run is failed in the middle of a session,
+     *         then the JVM is destroyed
+     */
+    public void release(TestJvm jvm, boolean reusable) {
+        try {
+            if (reusable && jvm.isAlive() && jvm.getSessions() < MAX_SESSIONS) {
+                synchronized (idle) {
+                    if (idle.size() < size) {
+                        idle.push(jvm);
+                        return;
+                    }
+                }
+            }
+            jvm.destroy();
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (idle) {
+            idle.forEach(TestJvm::destroy);
+            idle.clear();
+        }
+    }
+
+    private static String locationOf(Class<?> clazz) {
+        try {
+            return Paths.get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+}
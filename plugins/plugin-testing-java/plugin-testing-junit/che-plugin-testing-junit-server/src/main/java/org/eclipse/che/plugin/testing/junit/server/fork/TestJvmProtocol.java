@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.fork;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line based protocol between the workspace agent and the forked test JVM.
+ *
+ * <p>Each message is a single line of tab separated fields, the first field is
+ * the type of the message. Tabs, line breaks and backslashes in the fields are escaped,
+ * so stack traces and messages of the failures fit into a single line.
+ *
+ * <pre>
+ * Commands sent to the test JVM:
+ *
+ * <em>session</em> project-dir classpath-url... : creates the class loader for the project classes,
+ *                                         answered by <em>session</em> framework or <em>error</em> message
+ * <em>run</em> class                            : runs tests of the class, answered by the events of the tests
+ *                                         followed by <em>done</em> class error-message
+ * <em>end</em>                                  : drops the class loader of the session
+ *
+ * Events of the tests:
+ *
+ * <em>started</em> key class method
+ * <em>failed</em> key class method kind failing-line message trace
+ * <em>finished</em> key
+ * </pre>
+ *
+ * Tests are keyed by JUnit display name, e.g. 'testMethod(org.example.ExampleTest)'.
+ */
+public final class TestJvmProtocol {
+    public static final String SESSION  = "session";
+    public static final String RUN      = "run";
+    public static final String END      = "end";
+    public static final String ERROR    = "error";
+    public static final String STARTED  = "started";
+    public static final String FAILED   = "failed";
+    public static final String FINISHED = "finished";
+    public static final String DONE     = "done";
+
+    /** Kinds of the {@link #FAILED} event. */
+    public static final String FAILURE    = "failure";
+    public static final String EXCEPTION  = "error";
+    public static final String ASSUMPTION = "assumption";
+
+    private static final char SEPARATOR = '\t';
+
+    /**
+     * Encodes the message into a single line, null fields are encoded as empty strings.
+     */
+    public static String encode(String... fields) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            final String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            for (int j = 0; j < field.length(); j++) {
+                final char c = field.charAt(j);
+                switch (c) {
+                    case '\\':
+                        sb.append("\\\\");
+                        break;
+                    case '\t':
+                        sb.append("\\t");
+                        break;
+                    case '\n':
+                        sb.append("\\n");
+                        break;
+                    case '\r':
+                        sb.append("\\r");
+                        break;
+                    default:
+                        sb.append(c);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes the line encoded by {@link #encode(String...)} into the fields.
+     */
+    public static String[] decode(String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == SEPARATOR) {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else if (c == '\\' && i + 1 < line.length()) {
+                final char escaped = line.charAt(++i);
+                switch (escaped) {
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    default:
+                        sb.append(escaped);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        fields.add(sb.toString());
+        return fields.toArray(new String[fields.size()]);
+    }
+
+    private TestJvmProtocol() {
+    }
+}
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.eclipse.che.api.testing.server.listener.AbstractTestListener;
+import org.eclipse.che.api.testing.shared.TestCase;
+import org.eclipse.che.api.testing.shared.TestResult;
+import org.eclipse.che.plugin.testing.junit.server.fork.TestJvm;
+import org.eclipse.che.plugin.testing.junit.server.fork.TestJvmPool;
+import org.mockito.InOrder;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.function.Function.identity;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.DONE;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.END;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.ERROR;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.FAILED;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.FAILURE;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.FINISHED;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.RUN;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.SESSION;
+import static org.eclipse.che.plugin.testing.junit.server.fork.TestJvmProtocol.STARTED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link ForkedTestRun}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ForkedTestRunTest {
+    private static final String[] SESSION_COMMAND = {SESSION, "/projects/example", "file:/projects/example/target/classes/"};
+    private static final long     READ_TIMEOUT_MS = 1000;
+
+    private static final String PASSING_TEST = "org.example.PassingTest";
+    private static final String FAILING_TEST = "org.example.FailingTest";
+    private static final String KILLING_TEST = "org.example.KillingTest";
+    private static final String HANGING_TEST = "org.example.HangingTest";
+    private static final String ANOTHER_TEST = "org.example.AnotherTest";
+
+    @Mock
+    private TestJvmPool          jvmPool;
+    @Mock
+    private AbstractTestListener listener;
+
+    @Test
+    public void shouldRunAllClassesInSessionOfJvm() throws Exception {
+        FakeJvm jvm = new FakeJvm();
+        when(jvmPool.acquire()).thenReturn(jvm.mock);
+        ForkedTestRun run = new ForkedTestRun(jvmPool, SESSION_COMMAND, asList(PASSING_TEST, FAILING_TEST), listener, READ_TIMEOUT_MS);
+
+        run.call();
+
+        InOrder inOrder = inOrder(jvm.mock, jvmPool);
+        inOrder.verify(jvm.mock).send(SESSION_COMMAND);
+        inOrder.verify(jvm.mock).send(RUN, PASSING_TEST);
+        inOrder.verify(jvm.mock).send(RUN, FAILING_TEST);
+        inOrder.verify(jvm.mock).send(END);
+        inOrder.verify(jvmPool).release(jvm.mock, true);
+        verify(listener).addFailure(eq(keyOf(FAILING_TEST)), any(Throwable.class));
+
+        TestResult result = run.toTestResult();
+        assertEquals(result.getTestFramework(), "junit4");
+        assertFalse(result.isSuccess());
+        assertEquals(result.getTestCaseCount(), 2);
+        assertEquals(result.getFailureCount(), 1);
+        TestCase failed = failedTestCasesOf(result).get(FAILING_TEST);
+        assertEquals(failed.getMethod(), "test");
+        assertEquals(failed.getFailingLine(), 7);
+        assertEquals(failed.getMessage(), "expected true");
+        assertEquals(run.getFailedClasses(), Collections.singleton(FAILING_TEST));
+        assertNull(run.getError());
+    }
+
+    @Test
+    public void shouldShareClassesBetweenJvms() throws Exception {
+        FakeJvm jvm1 = new FakeJvm();
+        FakeJvm jvm2 = new FakeJvm();
+        when(jvmPool.acquire()).thenReturn(jvm1.mock, jvm2.mock);
+        List<String> testClasses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            testClasses.add(PASSING_TEST + i);
+        }
+        ForkedTestRun run = new ForkedTestRun(jvmPool, SESSION_COMMAND, testClasses, listener, READ_TIMEOUT_MS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Void> first = executor.submit(run);
+            Future<Void> second = executor.submit(run);
+            first.get();
+            second.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<String> runClasses = new ArrayList<>(jvm1.runClasses);
+        runClasses.addAll(jvm2.runClasses);
+        Collections.sort(runClasses);
+        Collections.sort(testClasses);
+        assertEquals(runClasses, testClasses);
+        verify(jvmPool).release(jvm1.mock, true);
+        verify(jvmPool).release(jvm2.mock, true);
+        assertTrue(run.toTestResult().isSuccess());
+        assertEquals(run.toTestResult().getTestCaseCount(), 20);
+    }
+
+    @Test
+    public void shouldRunRemainingClassesInAnotherJvmWhenJvmIsTerminated() throws Exception {
+        FakeJvm jvm1 = new FakeJvm();
+        FakeJvm jvm2 = new FakeJvm();
+        when(jvmPool.acquire()).thenReturn(jvm1.mock, jvm2.mock);
+        ForkedTestRun run = new ForkedTestRun(jvmPool, SESSION_COMMAND, asList(PASSING_TEST, KILLING_TEST, ANOTHER_TEST), listener,
+                                              READ_TIMEOUT_MS);
+
+        run.call();
+
+        assertEquals(jvm1.runClasses, asList(PASSING_TEST, KILLING_TEST));
+        assertEquals(jvm2.runClasses, Collections.singletonList(ANOTHER_TEST));
+        verify(jvmPool).release(jvm1.mock, false);
+        verify(jvmPool).release(jvm2.mock, true);
+        verify(listener).addError(eq(KILLING_TEST), any(Throwable.class));
+
+        TestResult result = run.toTestResult();
+        assertEquals(result.getFailureCount(), 1);
+        assertEquals(failedTestCasesOf(result).get(KILLING_TEST).getMessage(),
+                     "The test JVM failed while running " + KILLING_TEST + ": Test JVM is terminated");
+        assertEquals(run.getFailedClasses(), Collections.singleton(KILLING_TEST));
+    }
+
+    @Test
+    public void shouldRunRemainingClassesInAnotherJvmWhenJvmDoesNotRespond() throws Exception {
+        FakeJvm jvm1 = new FakeJvm();
+        FakeJvm jvm2 = new FakeJvm();
+        when(jvmPool.acquire()).thenReturn(jvm1.mock, jvm2.mock);
+        ForkedTestRun run = new ForkedTestRun(jvmPool, SESSION_COMMAND, asList(HANGING_TEST, ANOTHER_TEST), listener, READ_TIMEOUT_MS);
+
+        run.call();
+
+        verify(jvm1.mock, atLeastOnce()).read(READ_TIMEOUT_MS);
+        assertEquals(jvm1.runClasses, Collections.singletonList(HANGING_TEST));
+        assertEquals(jvm2.runClasses, Collections.singletonList(ANOTHER_TEST));
+        verify(jvmPool).release(jvm1.mock, false);
+        verify(jvmPool).release(jvm2.mock, true);
+        assertEquals(failedTestCasesOf(run.toTestResult()).get(HANGING_TEST).getMessage(),
+                     "The test JVM failed while running " + HANGING_TEST + ": Test JVM hasn't responded in 1 seconds and is destroyed");
+    }
+
+    @Test
+    public void shouldNotRunClassesWhenSessionIsNotStarted() throws Exception {
+        FakeJvm jvm = new FakeJvm();
+        jvm.sessionError = "JUnit is not found on the project classpath";
+        when(jvmPool.acquire()).thenReturn(jvm.mock);
+        ForkedTestRun run = new ForkedTestRun(jvmPool, SESSION_COMMAND, asList(PASSING_TEST, ANOTHER_TEST), listener, READ_TIMEOUT_MS);
+
+        run.call();
+
+        assertEquals(run.getError(), "JUnit is not found on the project classpath");
+        assertTrue(jvm.runClasses.isEmpty());
+        verify(jvmPool).acquire();
+        verify(jvmPool).release(jvm.mock, true);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldFailWhenJvmIsTerminatedBeforeSessionIsStarted() throws Exception {
+        FakeJvm jvm = new FakeJvm();
+        jvm.terminated = true;
+        when(jvmPool.acquire()).thenReturn(jvm.mock);
+        ForkedTestRun run = new ForkedTestRun(jvmPool, SESSION_COMMAND, Collections.singletonList(PASSING_TEST), listener,
+                                              READ_TIMEOUT_MS);
+
+        try {
+            run.call();
+        } finally {
+            verify(jvmPool).release(jvm.mock, false);
+            verify(jvmPool, never()).release(any(TestJvm.class), eq(true));
+        }
+    }
+
+    private static String keyOf(String testClass) {
+        return "test(" + testClass + ")";
+    }
+
+    private static Map<String, TestCase> failedTestCasesOf(TestResult result) {
+        return result.getTestCases()
+                     .stream()
+                     .filter(testCase -> Boolean.TRUE.equals(testCase.isFailed()))
+                     .collect(Collectors.toMap(TestCase::getClassName, identity()));
+    }
+
+    /**
+     * Mocked test JVM which answers the commands the way {@link org.eclipse.che.plugin.testing.junit.server.fork.TestJvmMain} does,
+     * the behaviour of the test class is chosen by its name.
+     */
+    private static class FakeJvm {
+        private static final String[] HANG = {};
+
+        final TestJvm         mock       = mock(TestJvm.class);
+        final List<String>    runClasses = Collections.synchronizedList(new ArrayList<>());
+        final Queue<String[]> events     = new ConcurrentLinkedQueue<>();
+
+        volatile String  sessionError;
+        volatile boolean terminated;
+
+        FakeJvm() throws Exception {
+            doAnswer(invocation -> {
+                Object[] command = invocation.getArguments();
+                if (terminated) {
+                    return null;
+                }
+                if (SESSION.equals(command[0])) {
+                    events.add(sessionError == null ? new String[] {SESSION, "junit4"} : new String[] {ERROR, sessionError});
+                } else if (RUN.equals(command[0])) {
+                    run((String)command[1]);
+                }
+                return null;
+            }).when(mock).send(Matchers.<String>anyVararg());
+            when(mock.read(anyLong())).thenAnswer(invocation -> {
+                String[] event = events.poll();
+                if (event == HANG) {
+                    throw new IOException("Test JVM hasn't responded in " + (long)invocation.getArguments()[0] / 1000 +
+                                          " seconds and is destroyed");
+                }
+                if (event == null) {
+                    throw new IOException("Test JVM is terminated");
+                }
+                return event;
+            });
+        }
+
+        private void run(String testClass) {
+            runClasses.add(testClass);
+            String key = keyOf(testClass);
+            events.add(new String[] {STARTED, key, testClass, "test"});
+            if (testClass.equals(KILLING_TEST)) {
+                terminated = true;
+                return;
+            }
+            if (testClass.equals(HANGING_TEST)) {
+                events.add(HANG);
+                return;
+            }
+            if (testClass.equals(FAILING_TEST)) {
+                events.add(new String[] {FAILED, key, testClass, "test", FAILURE, "7", "expected true",
+                                         "java.lang.AssertionError: expected true\n\tat " + testClass + ".test(FailingTest.java:7)\n"});
+            }
+            events.add(new String[] {FINISHED, key});
+            events.add(new String[] {DONE, testClass, ""});
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for the selection of the changed files by {@link TestImpactAnalyzer}.
+ */
+public class TestImpactAnalyzerTest {
+    private static final long LAST_RUN = 1_500_000_000_000L;
+
+    private Path projectDir;
+    private Path outputDir;
+    private Path changedSource;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        projectDir = Files.createTempDirectory("project");
+        outputDir = projectDir.resolve("target");
+        createFile("pom.xml", LAST_RUN - 1000);
+        createFile("src/main/java/org/example/Unchanged.java", LAST_RUN - 1);
+        createFile("src/main/resources/application.properties", LAST_RUN - 1000);
+        changedSource = createFile("src/main/java/org/example/Changed.java", LAST_RUN);
+        createFile("target/classes/org/example/Changed.class", LAST_RUN + 1000);
+        createFile("target/classes/application.properties", LAST_RUN + 1000);
+        createFile(".che/project.json", LAST_RUN + 1000);
+        createFile(".classpath", LAST_RUN + 1000);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(projectDir.toFile());
+    }
+
+    @Test
+    public void shouldFindSourcesModifiedSinceLastRun() throws Exception {
+        assertEquals(TestImpactAnalyzer.findChangedSources(projectDir, outputDir, LAST_RUN), Collections.singleton(changedSource));
+    }
+
+    @Test
+    public void shouldFindNothingWhenNothingIsModifiedSinceLastRun() throws Exception {
+        assertEquals(TestImpactAnalyzer.findChangedSources(projectDir, outputDir, LAST_RUN + 1), Collections.emptySet());
+    }
+
+    @Test
+    public void shouldAffectAllTestsWhenResourceIsModified() throws Exception {
+        createFile("src/test/resources/expected.json", LAST_RUN + 1000);
+
+        assertNull(TestImpactAnalyzer.findChangedSources(projectDir, outputDir, LAST_RUN));
+    }
+
+    @Test
+    public void shouldAffectAllTestsWhenPomIsModified() throws Exception {
+        projectDir.resolve("pom.xml").toFile().setLastModified(LAST_RUN + 1000);
+
+        assertNull(TestImpactAnalyzer.findChangedSources(projectDir, outputDir, LAST_RUN));
+    }
+
+    @Test
+    public void shouldCheckOutputDirectoryWhenItIsNotKnown() throws Exception {
+        assertNull(TestImpactAnalyzer.findChangedSources(projectDir, null, LAST_RUN));
+    }
+
+    @Test
+    public void shouldNotFindAffectedClassesBeforeFirstRun() throws Exception {
+        assertNull(new TestImpactAnalyzer().findAffectedClasses("/project"));
+    }
+
+    private Path createFile(String path, long lastModified) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, path.getBytes());
+        file.toFile().setLastModified(lastModified);
+        return file;
+    }
+}
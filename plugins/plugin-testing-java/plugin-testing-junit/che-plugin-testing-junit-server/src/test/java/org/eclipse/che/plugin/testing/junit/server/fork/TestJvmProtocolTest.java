@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.fork;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests for {@link TestJvmProtocol}.
+ */
+public class TestJvmProtocolTest {
+
+    @Test(dataProvider = "messages")
+    public void shouldDecodeEncodedMessage(String[] fields) throws Exception {
+        String line = TestJvmProtocol.encode(fields);
+
+        assertFalse(line.contains("\n") || line.contains("\r"), line);
+        assertEquals(TestJvmProtocol.decode(line), fields);
+    }
+
+    @DataProvider(name = "messages")
+    public Object[][] messages() {
+        return new Object[][] {
+                {new String[] {TestJvmProtocol.END}},
+                {new String[] {TestJvmProtocol.RUN, "org.example.ExampleTest"}},
+                {new String[] {TestJvmProtocol.SESSION, "/projects/example", "file:/projects/example/target/classes/"}},
+                {new String[] {TestJvmProtocol.DONE, "org.example.ExampleTest", ""}},
+                {new String[] {"", "", ""}},
+                {new String[] {"tab\tseparated", "line\nbreak", "carriage\r\nreturn"}},
+                {new String[] {"C:\\projects\\example", "\\t is not a tab", "trailing\\"}},
+                {new String[] {"\\", "\t", "\n", "\\\\t"}}
+        };
+    }
+
+    @Test
+    public void shouldDecodeExceptionStackTrace() throws Exception {
+        StringWriter trace = new StringWriter();
+        new IllegalStateException("expected:\t<1>\nbut was:\t<2>", new RuntimeException("C:\\cause"))
+                .printStackTrace(new PrintWriter(trace));
+        String[] fields = {TestJvmProtocol.FAILED,
+                           "test(org.example.ExampleTest)",
+                           "org.example.ExampleTest",
+                           "test",
+                           TestJvmProtocol.EXCEPTION,
+                           "42",
+                           "expected:\t<1>\nbut was:\t<2>",
+                           trace.toString()};
+
+        String line = TestJvmProtocol.encode(fields);
+
+        assertFalse(line.contains("\n"));
+        String[] decoded = TestJvmProtocol.decode(line);
+        assertEquals(decoded.length, 8);
+        assertEquals(decoded[6], "expected:\t<1>\nbut was:\t<2>");
+        assertEquals(decoded[7], trace.toString());
+    }
+
+    @Test
+    public void shouldEncodeNullFieldsAsEmptyStrings() throws Exception {
+        String line = TestJvmProtocol.encode(TestJvmProtocol.STARTED, "key", "org.example.ExampleTest", null);
+
+        assertEquals(TestJvmProtocol.decode(line), new String[] {TestJvmProtocol.STARTED, "key", "org.example.ExampleTest", ""});
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server.fork;
+
+import java.io.IOException;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link TestJvm}, the processes echoing the commands stand for the test JVM.
+ */
+public class TestJvmTest {
+
+    private TestJvm jvm;
+
+    @AfterMethod
+    public void tearDown() {
+        if (jvm != null) {
+            jvm.destroy();
+        }
+    }
+
+    @Test
+    public void shouldReadMessagesSentByJvm() throws Exception {
+        jvm = TestJvm.start(singletonList("cat"));
+
+        jvm.send(TestJvmProtocol.SESSION, "/projects/example");
+        jvm.send(TestJvmProtocol.RUN, "org.example.ExampleTest\twith tab");
+
+        assertEquals(jvm.read(10_000), new String[] {TestJvmProtocol.SESSION, "/projects/example"});
+        assertEquals(jvm.read(10_000), new String[] {TestJvmProtocol.RUN, "org.example.ExampleTest\twith tab"});
+        assertEquals(jvm.getSessions(), 1);
+    }
+
+    @Test
+    public void shouldFailReadsWhenJvmIsTerminated() throws Exception {
+        jvm = TestJvm.start(singletonList("cat"));
+        jvm.destroy();
+
+        assertReadFails(10_000, "Test JVM is terminated");
+        assertReadFails(10_000, "Test JVM is terminated");
+    }
+
+    @Test
+    public void shouldDestroyJvmWhichDoesNotRespondInTime() throws Exception {
+        jvm = TestJvm.start(asList("sleep", "60"));
+
+        assertReadFails(200, "Test JVM hasn't responded in 0 seconds and is destroyed");
+        for (int i = 0; i < 100 && jvm.isAlive(); i++) {
+            Thread.sleep(100);
+        }
+        assertFalse(jvm.isAlive());
+    }
+
+    private void assertReadFails(long timeoutMs, String message) throws Exception {
+        try {
+            jvm.read(timeoutMs);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), message);
+        }
+    }
+}
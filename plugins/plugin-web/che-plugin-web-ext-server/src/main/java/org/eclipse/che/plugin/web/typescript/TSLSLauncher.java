@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 
@@ -72,6 +74,11 @@ public class TSLSLauncher extends LanguageServerLauncherTemplate {
         return Files.exists(launchScript);
     }
 
+    @Override
+    public Set<String> getProjectTypes() {
+        return Collections.singleton(Constants.TS_PROJECT_TYPE_ID);
+    }
+
     static {
         description = new LanguageDescription();
         description.setFileExtensions(asList(EXTENSIONS));
@@ -27,6 +27,7 @@ import org.eclipse.che.api.debug.shared.model.event.BreakpointActivatedEvent;
 import org.eclipse.che.api.debug.shared.model.event.DebuggerEvent;
 import org.eclipse.che.api.debug.shared.model.event.DisconnectEvent;
 import org.eclipse.che.api.debug.shared.model.event.SuspendEvent;
+import org.eclipse.che.api.debug.shared.model.impl.SimpleValueImpl;
 
 import java.util.List;
 
@@ -128,6 +129,36 @@ public interface Debugger {
      */
     SimpleValue getValue(VariablePath variablePath) throws DebuggerException;
 
+    /**
+     * Gets the current value of the given variable of the given frame,
+     * nested variables of the value are paged, e.g. elements of a large array.
+     *
+     * @param variablePath
+     *      the path to the variable
+     * @param frameIndex
+     *      the index of the frame, 0 is the current frame
+     * @param skipCount
+     *      the number of nested variables to skip
+     * @param maxItems
+     *      the maximum number of nested variables to return
+     * @return {@link SimpleValue}
+     * @throws DebuggerException
+     *      if any error occur
+     */
+    default SimpleValue getValue(VariablePath variablePath, int frameIndex, int skipCount, int maxItems) throws DebuggerException {
+        if (frameIndex != 0) {
+            throw new DebuggerException("Unsupported operation for current debugger implementation.");
+        }
+        SimpleValue value = getValue(variablePath);
+        if (value == null) {
+            return null;
+        }
+        List<? extends Variable> variables = value.getVariables();
+        int from = Math.max(0, Math.min(skipCount, variables.size()));
+        int to = (int)Math.max(from, Math.min((long)from + maxItems, variables.size()));
+        return new SimpleValueImpl(variables.subList(from, to), value.getValue());
+    }
+
     /**
      * Sets the new value {@link Variable#getValue()} of the variable {@link Variable#getVariablePath()}.
      *
@@ -202,6 +233,22 @@ public interface Debugger {
      */
     StackFrameDump dumpStackFrame() throws DebuggerException;
 
+    /**
+     * Dump values of local variables, fields and method arguments of the given frame of the current thread.
+     *
+     * @param frameIndex
+     *      the index of the frame, 0 is the current frame
+     * @return {@link StackFrameDump}
+     * @throws DebuggerException
+     *      if any error occur
+     */
+    default StackFrameDump dumpStackFrame(int frameIndex) throws DebuggerException {
+        if (frameIndex != 0) {
+            throw new DebuggerException("Unsupported operation for current debugger implementation.");
+        }
+        return dumpStackFrame();
+    }
+
     /**
      * Is used to send back any events to client.
      */
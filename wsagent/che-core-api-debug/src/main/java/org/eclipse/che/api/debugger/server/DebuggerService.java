@@ -12,6 +12,7 @@ package org.eclipse.che.api.debugger.server;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.debug.shared.dto.BreakpointDto;
 import org.eclipse.che.api.debug.shared.dto.DebugSessionDto;
 import org.eclipse.che.api.debug.shared.dto.SimpleValueDto;
@@ -48,6 +49,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static java.lang.String.format;
 import static org.eclipse.che.api.debugger.server.DtoConverter.asBreakpointsDto;
 import static org.eclipse.che.api.debugger.server.DtoConverter.asDto;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -162,14 +164,16 @@ public class DebuggerService {
     @GET
     @Path("{id}/dump")
     @Produces(MediaType.APPLICATION_JSON)
-    public StackFrameDumpDto getStackFrameDump(@PathParam("id") String sessionId) throws DebuggerException {
-        return asDto(debuggerManager.getDebugger(sessionId).dumpStackFrame());
+    public StackFrameDumpDto getStackFrameDump(@PathParam("id") String sessionId,
+                                               @DefaultValue("0") @QueryParam("frame") int frameIndex) throws DebuggerException {
+        return asDto(debuggerManager.getDebugger(sessionId).dumpStackFrame(frameIndex));
     }
 
     @GET
     @Path("{id}/value")
     @Produces(MediaType.APPLICATION_JSON)
-    public SimpleValueDto getValue(@PathParam("id") String sessionId, @Context UriInfo uriInfo) throws DebuggerException {
+    public SimpleValueDto getValue(@PathParam("id") String sessionId, @Context UriInfo uriInfo) throws DebuggerException,
+                                                                                                      BadRequestException {
         List<String> path = new ArrayList<>();
 
         MultivaluedMap<String, String> parameters = uriInfo.getQueryParameters();
@@ -180,8 +184,12 @@ public class DebuggerService {
             path.add(item);
         }
 
+        int frameIndex = parseNonNegativeInt(parameters, "frame", 0);
+        int skipCount = parseNonNegativeInt(parameters, "skipCount", 0);
+        int maxItems = parseNonNegativeInt(parameters, "maxItems", Integer.MAX_VALUE);
+
         VariablePath variablePath = new VariablePathImpl(path);
-        return asDto(debuggerManager.getDebugger(sessionId).getValue(variablePath));
+        return asDto(debuggerManager.getDebugger(sessionId).getValue(variablePath, frameIndex, skipCount, maxItems));
     }
 
     @PUT
@@ -198,4 +206,23 @@ public class DebuggerService {
                              @QueryParam("expression") String expression) throws DebuggerException {
         return debuggerManager.getDebugger(sessionId).evaluate(expression);
     }
+
+    private static int parseNonNegativeInt(MultivaluedMap<String, String> parameters,
+                                           String name,
+                                           int defaultValue) throws BadRequestException {
+        String value = parameters.getFirst(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        int result;
+        try {
+            result = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(format("Parameter '%s' must be a number, but was '%s'", name, value));
+        }
+        if (result < 0) {
+            throw new BadRequestException(format("Parameter '%s' must not be negative, but was '%s'", name, value));
+        }
+        return result;
+    }
 }
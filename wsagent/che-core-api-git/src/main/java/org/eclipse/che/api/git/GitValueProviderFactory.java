@@ -21,6 +21,7 @@ import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 
 import javax.inject.Singleton;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -72,6 +73,12 @@ public class GitValueProviderFactory implements ValueProviderFactory {
         };
     }
 
+    @Override
+    public List<String> getDependencies() {
+        // current branch and remotes
+        return Arrays.asList(".git/HEAD", ".git/config");
+    }
+
     private String resolveLocalPath(FolderEntry folder) throws ApiException {
         return folder.getVirtualFile().toIoFile().getAbsolutePath();
     }
@@ -15,6 +15,9 @@ import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageServer;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * @author Anatoliy Bazko
  */
@@ -31,4 +34,11 @@ public interface LanguageServerLauncher {
     LanguageDescription getLanguageDescription();
 
     boolean isAbleToLaunch();
+
+    /**
+     * Gets types of the projects for which language server is started in advance, as soon as the project is registered.
+     */
+    default Set<String> getProjectTypes() {
+        return Collections.emptySet();
+    }
 }
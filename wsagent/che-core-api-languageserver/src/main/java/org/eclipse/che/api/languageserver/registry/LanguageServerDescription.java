@@ -20,15 +20,26 @@ import org.eclipse.lsp4j.InitializeResult;
  * @author Evgen Vidolob
  */
 public class LanguageServerDescription {
+    private final String              id;
     private final InitializeResult    initializeResult;
     private final LanguageDescription languageDescription;
 
-    public LanguageServerDescription(InitializeResult initializeResult,
+    public LanguageServerDescription(String id,
+                                     InitializeResult initializeResult,
                                      LanguageDescription languageDescription) {
+        this.id = id;
         this.initializeResult = initializeResult;
         this.languageDescription = languageDescription;
     }
 
+    /**
+     * Returns identifier of the server, unlike the language id it differs
+     * for the servers of the same language, e.g. started for different projects.
+     */
+    public String getId() {
+        return id;
+    }
+
     public InitializeResult getInitializeResult() {
         return initializeResult;
     }
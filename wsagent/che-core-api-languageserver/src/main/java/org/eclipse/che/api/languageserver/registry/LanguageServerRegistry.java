@@ -18,6 +18,7 @@ import org.eclipse.lsp4j.services.LanguageServer;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Anatoliy Bazko
@@ -29,6 +30,12 @@ public interface LanguageServerRegistry {
     @Nullable
     LanguageServer findServer(String fileUri) throws LanguageServerException;
 
+    /**
+     * Finds appropriate language server according to file name, doesn't wait until the server is started.
+     * Returned future is completed with {@code null} when there is no language server for the file.
+     */
+    CompletableFuture<LanguageServer> findServerAsync(String fileUri);
+
     /**
      * Returns all available servers.
      */
@@ -10,38 +10,75 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.registry;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.che.api.languageserver.shared.ProjectExtensionKey;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
 import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.ProjectCreatedEvent;
 import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.RegisteredProject;
 import org.eclipse.che.api.project.server.VirtualFileEntry;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.services.LanguageServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static com.google.common.io.Files.getFileExtension;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.languageserver.shared.ProjectExtensionKey.createProjectKey;
 
+/**
+ * Starts language servers in background, callers get a future which is completed when the server is initialized,
+ * so no thread is blocked while the server boots. Servers of the languages which are declared for the project types
+ * (see {@link LanguageServerLauncher#getProjectTypes()}) are started as soon as the project is registered. Servers
+ * which aren't used for {@code che.languageserver.idle_timeout_min} minutes are shut down and started again on the
+ * next request, zero or negative timeout disables idle shutdown. Lookup and idle shutdown of the same server are
+ * mutually exclusive: the server is either found and marked as used or is removed before it is shut down, and
+ * a new server for the same project and language isn't launched until the previous one exits.
+ */
 @Singleton
 public class LanguageServerRegistryImpl implements LanguageServerRegistry, ServerInitializerObserver {
+    private static final Logger LOG = LoggerFactory.getLogger(LanguageServerRegistryImpl.class);
+
     public final static String PROJECT_FOLDER_PATH = "/projects";
 
+    private static final long SHUTDOWN_TIMEOUT_SEC = 30;
+
     /**
      * Available {@link LanguageServerLauncher} by extension.
      */
@@ -52,17 +89,65 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
      */
     private final ConcurrentHashMap<ProjectExtensionKey, LanguageServer> projectToServer;
 
-    private final Provider<ProjectManager> projectManagerProvider;
-    private final ServerInitializer        initializer;
+    /**
+     * {@link LanguageServer} which are being started by project path and language.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<LanguageServer>> launchingServers;
+
+    /**
+     * Time of the last request of the started {@link LanguageServer}.
+     */
+    private final ConcurrentHashMap<LanguageServer, Long> lastAccessTime;
+
+    /**
+     * Launching key of the started {@link LanguageServer}.
+     */
+    private final ConcurrentHashMap<LanguageServer, String> launchKeys;
+
+    /**
+     * {@link LanguageServer} which are being shut down by launching key.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> stoppingServers;
+
+    private final Set<LanguageServerLauncher>          launchers;
+    private final Provider<ProjectManager>             projectManagerProvider;
+    private final ServerInitializer                    initializer;
+    private final EventService                         eventService;
+    private final EventSubscriber<ProjectCreatedEvent> projectCreatedSubscriber;
+    private final long                                 idleTimeoutMs;
+    private final ExecutorService                      launchExecutor;
+    private final ScheduledExecutorService             idleServersChecker;
 
     @Inject
     public LanguageServerRegistryImpl(Set<LanguageServerLauncher> languageServerLaunchers,
                                       Provider<ProjectManager> projectManagerProvider,
-                                      ServerInitializer initializer) {
+                                      ServerInitializer initializer,
+                                      EventService eventService,
+                                      @Named("che.languageserver.idle_timeout_min") long idleTimeoutMinutes) {
         this.projectManagerProvider = projectManagerProvider;
         this.initializer = initializer;
+        this.eventService = eventService;
+        this.idleTimeoutMs = MINUTES.toMillis(idleTimeoutMinutes);
         this.extensionToLauncher = new ConcurrentHashMap<>();
         this.projectToServer = new ConcurrentHashMap<>();
+        this.launchingServers = new ConcurrentHashMap<>();
+        this.lastAccessTime = new ConcurrentHashMap<>();
+        this.launchKeys = new ConcurrentHashMap<>();
+        this.stoppingServers = new ConcurrentHashMap<>();
+        this.launchers = new LinkedHashSet<>(languageServerLaunchers);
+        this.launchExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("LanguageServerLauncher-%d")
+                                                                                      .setDaemon(true)
+                                                                                      .build());
+        this.idleServersChecker = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("LanguageServerIdleChecker-%d")
+                                          .setDaemon(true)
+                                          .build());
+        this.projectCreatedSubscriber = new EventSubscriber<ProjectCreatedEvent>() {
+            @Override
+            public void onEvent(ProjectCreatedEvent event) {
+                launchExecutor.execute(() -> launchForProject(event.getProjectPath()));
+            }
+        };
         this.initializer.addObserver(this);
 
         for (LanguageServerLauncher launcher : languageServerLaunchers) {
@@ -73,35 +158,199 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
         }
     }
 
+    @PostConstruct
+    public void start() {
+        eventService.subscribe(projectCreatedSubscriber);
+        launchExecutor.execute(this::launchForRegisteredProjects);
+        if (idleTimeoutMs > 0) {
+            idleServersChecker.scheduleWithFixedDelay(this::shutdownIdleServers, 1, 1, MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        eventService.unsubscribe(projectCreatedSubscriber);
+        idleServersChecker.shutdownNow();
+        launchExecutor.shutdownNow();
+    }
+
     @Override
     public LanguageServer findServer(String fileUri) throws LanguageServerException {
+        try {
+            return findServerAsync(fileUri).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LanguageServerException("Interrupted while waiting for language server for " + fileUri, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LanguageServerException) {
+                throw (LanguageServerException)e.getCause();
+            }
+            throw new LanguageServerException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<LanguageServer> findServerAsync(String fileUri) {
         String path = URI.create(fileUri).getPath();
 
         String extension = getFileExtension(path);
-        String projectPath = extractProjectPath(path);
+        try {
+            return findServerAsync(extension, extractProjectPath(path));
+        } catch (LanguageServerException e) {
+            CompletableFuture<LanguageServer> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
 
-        return findServer(extension, projectPath);
+    protected CompletableFuture<LanguageServer> findServerAsync(String extension, String projectPath) {
+        LanguageServer server = projectToServer.get(createProjectKey(projectPath, extension));
+        // server which is being shut down as idle has no access time, a new one is launched for it
+        if (server != null && lastAccessTime.computeIfPresent(server, (s, time) -> System.currentTimeMillis()) != null) {
+            return CompletableFuture.completedFuture(server);
+        }
+
+        List<LanguageServerLauncher> extensionLaunchers = extensionToLauncher.get(extension);
+        if (extensionLaunchers == null || extensionLaunchers.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return launch(extensionLaunchers.get(0), projectPath);
     }
 
-    @Nullable
-    protected LanguageServer findServer(String extension, String projectPath) throws LanguageServerException {
-        ProjectExtensionKey projectKey = createProjectKey(projectPath, extension);
-
-        for (LanguageServerLauncher launcher : extensionToLauncher.get(extension)) {
-            if (!projectToServer.containsKey(projectKey)) {
-                synchronized (launcher) {
-                    if (!projectToServer.containsKey(projectKey)) {
-                        LanguageServer server = initializer.initialize(launcher, projectPath);
-                        projectToServer.put(projectKey, server);
-                    }
+    /**
+     * Starts language server in background, launching of the same language for the same project is shared.
+     */
+    private CompletableFuture<LanguageServer> launch(LanguageServerLauncher launcher, String projectPath) {
+        String key = getLaunchKey(projectPath, launcher.getLanguageDescription());
+
+        CompletableFuture<LanguageServer> launching = launchingServers.get(key);
+        if (launching != null) {
+            return launching;
+        }
+        CompletableFuture<LanguageServer> newLaunching = new CompletableFuture<>();
+        launching = launchingServers.putIfAbsent(key, newLaunching);
+        if (launching != null) {
+            return launching;
+        }
+
+        launchExecutor.execute(() -> {
+            try {
+                awaitShutdown(key);
+                LanguageServer server = findStartedServer(launcher, projectPath);
+                if (server == null) {
+                    server = initializer.initialize(launcher, projectPath);
                 }
+                lastAccessTime.put(server, System.currentTimeMillis());
+                newLaunching.complete(server);
+            } catch (LanguageServerException | RuntimeException e) {
+                newLaunching.completeExceptionally(e);
+            } finally {
+                launchingServers.remove(key, newLaunching);
             }
-            return projectToServer.get(projectKey);
+        });
+        return newLaunching;
+    }
+
+    private void awaitShutdown(String key) {
+        CompletableFuture<Void> stopping = stoppingServers.get(key);
+        if (stopping == null) {
+            return;
         }
+        try {
+            stopping.get(SHUTDOWN_TIMEOUT_SEC, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOG.warn("Language server {} isn't shut down in {} seconds", key, SHUTDOWN_TIMEOUT_SEC);
+        }
+    }
+
+    private static String getLaunchKey(String projectPath, LanguageDescription languageDescription) {
+        return projectPath + ':' + languageDescription.getLanguageId();
+    }
 
+    @Nullable
+    private LanguageServer findStartedServer(LanguageServerLauncher launcher, String projectPath) {
+        for (String extension : launcher.getLanguageDescription().getFileExtensions()) {
+            LanguageServer server = projectToServer.get(createProjectKey(projectPath, extension));
+            if (server != null) {
+                return server;
+            }
+        }
         return null;
     }
 
+    private void launchForRegisteredProjects() {
+        try {
+            for (RegisteredProject project : projectManagerProvider.get().getProjects()) {
+                launchForProject(project);
+            }
+        } catch (ServerException e) {
+            LOG.error("Can't launch language servers for registered projects. " + e.getMessage(), e);
+        }
+    }
+
+    private void launchForProject(String projectPath) {
+        try {
+            launchForProject(projectManagerProvider.get().getProject(projectPath));
+        } catch (ServerException | NotFoundException e) {
+            LOG.error("Can't launch language servers for project " + projectPath + ". " + e.getMessage(), e);
+        }
+    }
+
+    private void launchForProject(RegisteredProject project) {
+        if (project.getBaseFolder() == null) {
+            return;
+        }
+        Set<String> projectTypes = new HashSet<>(project.getMixins());
+        projectTypes.add(project.getType());
+
+        String projectPath = PROJECT_FOLDER_PATH + project.getPath();
+        for (LanguageServerLauncher launcher : launchers) {
+            if (launcher.isAbleToLaunch() && !Collections.disjoint(launcher.getProjectTypes(), projectTypes)) {
+                launch(launcher, projectPath).exceptionally(e -> {
+                    LOG.error("Can't launch language server " + launcher.getLanguageDescription().getLanguageId() +
+                              " for project " + projectPath + ". " + e.getMessage(), e);
+                    return null;
+                });
+            }
+        }
+    }
+
+    @VisibleForTesting
+    void shutdownIdleServers() {
+        long now = System.currentTimeMillis();
+        for (LanguageServer server : new ArrayList<>(lastAccessTime.keySet())) {
+            CompletableFuture<Void> stopping = new CompletableFuture<>();
+            // removal is atomic with the lookup of the server which updates its access time
+            lastAccessTime.computeIfPresent(server, (s, time) -> {
+                if (now - time < idleTimeoutMs) {
+                    return time;
+                }
+                projectToServer.values().removeIf(started -> started == server);
+                String key = launchKeys.remove(server);
+                if (key != null) {
+                    stoppingServers.put(key, stopping);
+                }
+                return null;
+            });
+            if (lastAccessTime.containsKey(server)) {
+                continue;
+            }
+            try {
+                initializer.shutdownServer(server).get(SHUTDOWN_TIMEOUT_SEC, SECONDS);
+                LOG.info("Language server {} is shut down after {} minutes of inactivity", server, MILLISECONDS.toMinutes(idleTimeoutMs));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException | RuntimeException e) {
+                LOG.error("Can't shut down idle language server. " + e.getMessage(), e);
+            } finally {
+                stopping.complete(null);
+                stoppingServers.values().remove(stopping);
+            }
+        }
+    }
 
     @Override
     public List<LanguageDescription> getSupportedLanguages() {
@@ -118,6 +367,7 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
         Map<LanguageServer, LanguageServerDescription> initializedServers = initializer.getInitializedServers();
         return projectToServer.entrySet()
                               .stream()
+                              .filter(e -> initializedServers.containsKey(e.getValue()))
                               .collect(Collectors.toMap(Map.Entry::getKey, e -> initializedServers.get(e.getValue())));
     }
 
@@ -152,6 +402,7 @@ public class LanguageServerRegistryImpl implements LanguageServerRegistry, Serve
                                     ServerCapabilities capabilities,
                                     LanguageDescription languageDescription,
                                     String projectPath) {
+        launchKeys.put(server, getLaunchKey(projectPath, languageDescription));
         for (String ext : languageDescription.getFileExtensions()) {
             projectToServer.put(createProjectKey(projectPath, ext), server);
         }
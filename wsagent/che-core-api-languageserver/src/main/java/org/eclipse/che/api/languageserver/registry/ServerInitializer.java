@@ -15,6 +15,7 @@ import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.lsp4j.services.LanguageServer;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Is responsible to start new {@link LanguageServer}.
@@ -31,4 +32,11 @@ public interface ServerInitializer extends ServerInitializerObservable {
      * Returns initialized servers.
      */
     Map<LanguageServer, LanguageServerDescription> getInitializedServers();
+
+    /**
+     * Shuts down initialized {@link LanguageServer}, does nothing if server isn't initialized by this initializer.
+     *
+     * @return future which is completed when the server has replied to the shutdown request and is asked to exit
+     */
+    CompletableFuture<Void> shutdownServer(LanguageServer server);
 }
@@ -31,13 +31,14 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import java.lang.management.ManagementFactory;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Anatoliy Bazko
@@ -49,10 +50,11 @@ public class ServerInitializerImpl implements ServerInitializer {
     private static final int    PROCESS_ID  = getProcessId();
     private static final String CLIENT_NAME = "EclipseChe";
 
-    private final List<ServerInitializerObserver> observers = new ArrayList<>();
+    private final List<ServerInitializerObserver> observers = new CopyOnWriteArrayList<>();
 
     private final ConcurrentHashMap<String, LanguageServer>                    languageIdToServers;
     private final ConcurrentHashMap<LanguageServer, LanguageServerDescription> serversToInitResult;
+    private final AtomicInteger                                                serversCounter;
 
     private LanguageClient languageClient;
 
@@ -60,6 +62,7 @@ public class ServerInitializerImpl implements ServerInitializer {
     public ServerInitializerImpl(EventService eventService) {
         this.languageIdToServers = new ConcurrentHashMap<>();
         this.serversToInitResult = new ConcurrentHashMap<>();
+        this.serversCounter = new AtomicInteger();
 
         languageClient = new LanguageClient() {
 
@@ -117,20 +120,14 @@ public class ServerInitializerImpl implements ServerInitializer {
 
     @Override
     public LanguageServer initialize(LanguageServerLauncher launcher, String projectPath) throws LanguageServerException {
+        // launches of the same language for the same project are shared by the registry,
+        // so servers of different projects and languages are initialized in parallel
         String languageId = launcher.getLanguageDescription().getLanguageId();
-
-        synchronized (launcher) {
-            LanguageServer server = languageIdToServers.get(languageId);
-            if (server != null) {
-                server = doInitialize(launcher, projectPath);
-            } else {
-                server = doInitialize(launcher, projectPath);
-                languageIdToServers.put(languageId, server);
-            }
-            onServerInitialized(server, serversToInitResult.get(server).getInitializeResult().getCapabilities(),
-                                launcher.getLanguageDescription(), projectPath);
-            return server;
-        }
+        LanguageServer server = doInitialize(launcher, projectPath);
+        languageIdToServers.putIfAbsent(languageId, server);
+        onServerInitialized(server, serversToInitResult.get(server).getInitializeResult().getCapabilities(),
+                            launcher.getLanguageDescription(), projectPath);
+        return server;
     }
 
     @Override
@@ -138,6 +135,24 @@ public class ServerInitializerImpl implements ServerInitializer {
         return Collections.unmodifiableMap(serversToInitResult);
     }
 
+    @Override
+    public CompletableFuture<Void> shutdownServer(LanguageServer server) {
+        LanguageServerDescription description = serversToInitResult.remove(server);
+        if (description == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        languageIdToServers.remove(description.getLanguageDescription().getLanguageId(), server);
+        if (server instanceof ServerInitializerObserver) {
+            removeObserver((ServerInitializerObserver)server);
+        }
+        // exit is sent even if server fails to reply to shutdown
+        return server.shutdown()
+                     .handle((result, error) -> {
+                         server.exit();
+                         return null;
+                     });
+    }
+
     protected LanguageServer doInitialize(LanguageServerLauncher launcher, String projectPath) throws LanguageServerException {
         String languageId = launcher.getLanguageDescription().getLanguageId();
         InitializeParams initializeParams = prepareInitializeParams(projectPath);
@@ -151,10 +166,13 @@ public class ServerInitializerImpl implements ServerInitializer {
         }
         registerCallbacks(server);
 
+        String serverId = languageId + '-' + serversCounter.incrementAndGet();
         CompletableFuture<InitializeResult> completableFuture = server.initialize(initializeParams);
         try {
             InitializeResult initializeResult = completableFuture.get();
-            serversToInitResult.put(server, new LanguageServerDescription(initializeResult, launcher.getLanguageDescription()));
+            serversToInitResult.put(server, new LanguageServerDescription(serverId,
+                                                                          initializeResult,
+                                                                          launcher.getLanguageDescription()));
         } catch (InterruptedException | ExecutionException e) {
             server.shutdown();
             server.exit();
@@ -162,7 +180,7 @@ public class ServerInitializerImpl implements ServerInitializer {
             throw new LanguageServerException("Error fetching server capabilities " + languageId + ". " + e.getMessage(), e);
         }
 
-        LOG.info("Initialized Language Server {} on project {}", languageId, projectPath);
+        LOG.info("Initialized Language Server {} on project {}, server id is '{}'", languageId, projectPath, serverId);
         return server;
     }
 
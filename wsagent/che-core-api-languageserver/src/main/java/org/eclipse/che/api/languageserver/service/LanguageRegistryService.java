@@ -19,6 +19,7 @@ import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.ExtendedInitializeResultDto;
+import org.eclipse.che.api.languageserver.service.LanguageServerMetrics.MethodStatistics;
 import org.eclipse.che.api.languageserver.shared.ProjectExtensionKey;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedInitializeResult;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
@@ -31,6 +32,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.stream.Collectors.toList;
 
@@ -39,10 +41,12 @@ import static java.util.stream.Collectors.toList;
 public class LanguageRegistryService {
 
     private final LanguageServerRegistry registry;
+    private final LanguageServerMetrics  metrics;
 
     @Inject
-    public LanguageRegistryService(LanguageServerRegistry registry) {
+    public LanguageRegistryService(LanguageServerRegistry registry, LanguageServerMetrics metrics) {
         this.registry = registry;
+        this.metrics = metrics;
     }
 
     @GET
@@ -75,6 +79,13 @@ public class LanguageRegistryService {
 
     }
 
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("metrics")
+    public Map<String, Map<String, MethodStatistics>> getMetrics() {
+        return metrics.getStatistics();
+    }
+
     @POST
     @Path("initialize")
     public void initialize(@QueryParam("path") String path) throws LanguageServerException {
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.inject.Singleton;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects latency of the requests forwarded to the language servers,
+ * statistics are kept per language server and per method, the servers
+ * are identified by {@link org.eclipse.che.api.languageserver.registry.LanguageServerDescription#getId()},
+ * so the servers of the same language have separate statistics.
+ */
+@Singleton
+public class LanguageServerMetrics {
+
+    public enum Outcome {
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final Map<String, Map<String, MethodStatistics>> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Records completed request.
+     *
+     * @param serverId
+     *         identifier of language server which processed the request
+     * @param method
+     *         name of the method, e.g. {@code textDocument/completion}
+     * @param durationMillis
+     *         time between the moment request is sent to the server and the moment response is received
+     * @param outcome
+     *         how the request was completed
+     */
+    public void record(String serverId, String method, long durationMillis, Outcome outcome) {
+        statistics.computeIfAbsent(serverId, id -> new ConcurrentHashMap<>())
+                  .computeIfAbsent(method, m -> new MethodStatistics())
+                  .add(durationMillis, outcome);
+    }
+
+    /**
+     * Returns copy of the collected statistics, server identifier is mapped to the statistics of its methods.
+     */
+    public Map<String, Map<String, MethodStatistics>> getStatistics() {
+        Map<String, Map<String, MethodStatistics>> copy = new TreeMap<>();
+        statistics.forEach((serverId, methods) -> {
+            Map<String, MethodStatistics> methodsCopy = new TreeMap<>();
+            methods.forEach((method, methodStatistics) -> methodsCopy.put(method, methodStatistics.copy()));
+            copy.put(serverId, methodsCopy);
+        });
+        return copy;
+    }
+
+    /** Latency statistics of the single method of the single language server. */
+    public static class MethodStatistics {
+        private long count;
+        private long failed;
+        private long cancelled;
+        private long totalMillis;
+        private long maxMillis;
+
+        /** Returns number of completed requests including failed and cancelled ones. */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized long getFailed() {
+            return failed;
+        }
+
+        public synchronized long getCancelled() {
+            return cancelled;
+        }
+
+        public synchronized long getAverageMillis() {
+            return count == 0 ? 0 : totalMillis / count;
+        }
+
+        public synchronized long getMaxMillis() {
+            return maxMillis;
+        }
+
+        synchronized void add(long durationMillis, Outcome outcome) {
+            count++;
+            totalMillis += durationMillis;
+            maxMillis = Math.max(maxMillis, durationMillis);
+            if (outcome == Outcome.FAILED) {
+                failed++;
+            } else if (outcome == Outcome.CANCELLED) {
+                cancelled++;
+            }
+        }
+
+        synchronized MethodStatistics copy() {
+            MethodStatistics copy = new MethodStatistics();
+            copy.count = count;
+            copy.failed = failed;
+            copy.cancelled = cancelled;
+            copy.totalMillis = totalMillis;
+            copy.maxMillis = maxMillis;
+            return copy;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "MethodStatistics{" +
+                   "count=" + count +
+                   ", failed=" + failed +
+                   ", cancelled=" + cancelled +
+                   ", averageMillis=" + getAverageMillis() +
+                   ", maxMillis=" + maxMillis +
+                   '}';
+        }
+    }
+}
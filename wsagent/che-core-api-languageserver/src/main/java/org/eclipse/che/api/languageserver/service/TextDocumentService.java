@@ -12,11 +12,13 @@ package org.eclipse.che.api.languageserver.service;
 
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcDeferredResult;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
-import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.registry.LanguageServerDescription;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
+import org.eclipse.che.api.languageserver.registry.ServerInitializer;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.CompletionItemDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.CompletionListDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.ExtendedCompletionItemDto;
@@ -25,6 +27,7 @@ import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.LocationDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.SignatureHelpDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.SymbolInformationDto;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.TextEditDto;
+import org.eclipse.che.api.languageserver.service.LanguageServerMetrics.Outcome;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
 import org.eclipse.lsp4j.DidOpenTextDocumentParams;
@@ -38,6 +41,7 @@ import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +50,12 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -58,18 +67,44 @@ import static org.eclipse.che.api.languageserver.service.TextDocumentServiceUtil
  * Json RPC API for the textDoc
  * <p>
  * Dispatches onto the {@link LanguageServerRegistryImpl}.
+ * <p>
+ * Requests are forwarded to the language servers asynchronously, the
+ * response is transmitted when the language server replies, so no
+ * JSON RPC thread waits for the language server. Completion and hover
+ * request cancels the previous one of the same endpoint for the same
+ * document, so the language server doesn't compute results which are
+ * not needed anymore when the user keeps typing. Requests which come
+ * while the language server is starting are sent as soon as the server
+ * is initialized.
  */
 @Singleton
 public class TextDocumentService {
     private static final Logger LOG = LoggerFactory.getLogger(TextDocumentService.class);
 
-    private final LanguageServerRegistry     languageServerRegistry;
-    private final RequestHandlerConfigurator requestHandler;
+    /** Error code of the requests which are cancelled, as defined by the language server protocol. */
+    static final int REQUEST_CANCELLED = -32800;
+
+    private static final int    ERROR_CODE        = -27000;
+    private static final String UNKNOWN_SERVER_ID = "unknown";
+
+    private final LanguageServerRegistry               languageServerRegistry;
+    private final ServerInitializer                    serverInitializer;
+    private final RequestHandlerConfigurator           requestHandler;
+    private final LanguageServerMetrics                metrics;
+    private final Map<String, CompletableFuture<?>>    pendingRequests;
+    private final Map<String, CompletableFuture<Void>> documentNotifications;
 
     @Inject
-    public TextDocumentService(LanguageServerRegistry languageServerRegistry, RequestHandlerConfigurator requestHandler) {
+    public TextDocumentService(LanguageServerRegistry languageServerRegistry,
+                               ServerInitializer serverInitializer,
+                               RequestHandlerConfigurator requestHandler,
+                               LanguageServerMetrics metrics) {
         this.languageServerRegistry = languageServerRegistry;
+        this.serverInitializer = serverInitializer;
         this.requestHandler = requestHandler;
+        this.metrics = metrics;
+        this.pendingRequests = new ConcurrentHashMap<>();
+        this.documentNotifications = new ConcurrentHashMap<>();
     }
 
     @PostConstruct
@@ -93,215 +128,219 @@ public class TextDocumentService {
         dtoToNothing("didSave", DidSaveTextDocumentParams.class, this::didSave);
     }
 
-    private CompletionListDto completion(TextDocumentPositionParams textDocumentPositionParams) {
-        try {
-            TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
-            textDocument.setUri(prefixURI(textDocument.getUri()));
-            textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
-            LanguageServer server = getServer(textDocument.getUri());
-            return server != null ? new CompletionListDto(server.getTextDocumentService().completion(textDocumentPositionParams).get())
-                                  : null;
-
-        } catch (LanguageServerException | InterruptedException | ExecutionException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcDeferredResult<CompletionListDto> completion(String endpointId, TextDocumentPositionParams textDocumentPositionParams) {
+        TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
+        textDocument.setUri(prefixURI(textDocument.getUri()));
+        textDocumentPositionParams.setUri(prefixURI(textDocumentPositionParams.getUri()));
+        return toDeferredResult(withServer(textDocument.getUri(), null, server -> cancelPrevious(
+                endpointId, "completion", textDocument.getUri(),
+                forward("completion", server, server.getTextDocumentService().completion(textDocumentPositionParams)))
+                .thenApply(CompletionListDto::new)));
     }
 
-    private List<SymbolInformationDto> documentSymbol(DocumentSymbolParams documentSymbolParams) {
-        try {
-            documentSymbolParams.getTextDocument().setUri(prefixURI(documentSymbolParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(documentSymbolParams.getTextDocument().getUri());
-            return server == null ? Collections.emptyList() : server.getTextDocumentService()
-                                                                    .documentSymbol(documentSymbolParams)
-                                                                    .get()
-                                                                    .stream()
-                                                                    .map(SymbolInformationDto::new)
-                                                                    .collect(Collectors.toList());
+    private JsonRpcDeferredResult<List<SymbolInformationDto>> documentSymbol(String endpointId,
+                                                                            DocumentSymbolParams documentSymbolParams) {
+        documentSymbolParams.getTextDocument().setUri(prefixURI(documentSymbolParams.getTextDocument().getUri()));
+        return toDeferredResult(withServer(documentSymbolParams.getTextDocument().getUri(), Collections.emptyList(), server ->
+                forward("documentSymbol", server, server.getTextDocumentService().documentSymbol(documentSymbolParams))
+                        .thenApply(symbols -> symbols.stream()
+                                                     .map(SymbolInformationDto::new)
+                                                     .collect(Collectors.toList()))));
+    }
 
-        } catch (ExecutionException | InterruptedException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
+    private JsonRpcDeferredResult<List<LocationDto>> references(String endpointId, ReferenceParams referenceParams) {
+        referenceParams.getTextDocument().setUri(prefixURI(referenceParams.getTextDocument().getUri()));
+        return toDeferredResult(withServer(referenceParams.getTextDocument().getUri(), Collections.emptyList(), server ->
+                forward("references", server, server.getTextDocumentService().references(referenceParams))
+                        .thenApply(TextDocumentService::toLocationDtos)));
+    }
 
-        }
+    private JsonRpcDeferredResult<List<LocationDto>> definition(String endpointId, TextDocumentPositionParams textDocumentPositionParams) {
+        textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
+        return toDeferredResult(withServer(textDocumentPositionParams.getTextDocument().getUri(), Collections.emptyList(), server ->
+                forward("definition", server, server.getTextDocumentService().definition(textDocumentPositionParams))
+                        .thenApply(TextDocumentService::toLocationDtos)));
     }
 
-    private List<LocationDto> references(ReferenceParams referenceParams) {
-        try {
-            referenceParams.getTextDocument().setUri(prefixURI(referenceParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(referenceParams.getTextDocument().getUri());
-            if (server == null) {
-                return Collections.emptyList();
-            }
+    private JsonRpcDeferredResult<CompletionItemDto> completionItemResolve(String endpointId, ExtendedCompletionItemDto unresolved) {
+        return toDeferredResult(withServer(prefixURI(unresolved.getTextDocumentIdentifier().getUri()), new CompletionItemDto(unresolved),
+                                           server -> forward("completionItem/resolve", server,
+                                                             server.getTextDocumentService().resolveCompletionItem(unresolved))
+                                                   .thenApply(CompletionItemDto::new)));
+    }
 
-            List<? extends Location> locations = server.getTextDocumentService().references(referenceParams).get();
-            locations.forEach(o -> o.setUri(removePrefixUri(o.getUri())));
-            return locations.stream().map(LocationDto::new).collect(Collectors.toList());
-        } catch (ExecutionException | InterruptedException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
+    private JsonRpcDeferredResult<HoverDto> hover(String endpointId, TextDocumentPositionParams positionParams) {
+        positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
+        positionParams.setUri(prefixURI(positionParams.getUri()));
+        String uri = positionParams.getTextDocument().getUri();
+        return toDeferredResult(withServer(uri, null, server -> cancelPrevious(
+                endpointId, "hover", uri, forward("hover", server, server.getTextDocumentService().hover(positionParams)))
+                .thenApply(HoverDto::new)));
+    }
 
-        }
+    private JsonRpcDeferredResult<SignatureHelpDto> signatureHelp(String endpointId, TextDocumentPositionParams positionParams) {
+        positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
+        positionParams.setUri(prefixURI(positionParams.getUri()));
+        return toDeferredResult(withServer(positionParams.getTextDocument().getUri(), null, server ->
+                forward("signatureHelp", server, server.getTextDocumentService().signatureHelp(positionParams))
+                        .thenApply(SignatureHelpDto::new)));
     }
 
-    private List<LocationDto> definition(TextDocumentPositionParams textDocumentPositionParams) {
-        try {
-            textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(textDocumentPositionParams.getTextDocument().getUri());
-            if (server == null) {
-                return Collections.emptyList();
-            }
+    private JsonRpcDeferredResult<List<TextEditDto>> formatting(String endpointId, DocumentFormattingParams documentFormattingParams) {
+        documentFormattingParams.getTextDocument().setUri(prefixURI(documentFormattingParams.getTextDocument().getUri()));
+        return toDeferredResult(withServer(documentFormattingParams.getTextDocument().getUri(), Collections.emptyList(), server ->
+                forward("formatting", server, server.getTextDocumentService().formatting(documentFormattingParams))
+                        .thenApply(TextDocumentService::toTextEditDtos)));
+    }
 
-            List<? extends Location> locations = server.getTextDocumentService().definition(textDocumentPositionParams).get();
-            locations.forEach(o -> o.setUri(removePrefixUri(o.getUri())));
-            return locations.stream().map(LocationDto::new).collect(Collectors.toList());
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcDeferredResult<List<TextEditDto>> rangeFormatting(String endpointId,
+                                                                     DocumentRangeFormattingParams documentRangeFormattingParams) {
+        documentRangeFormattingParams.getTextDocument().setUri(prefixURI(documentRangeFormattingParams.getTextDocument().getUri()));
+        return toDeferredResult(withServer(documentRangeFormattingParams.getTextDocument().getUri(), Collections.emptyList(), server ->
+                forward("rangeFormatting", server, server.getTextDocumentService().rangeFormatting(documentRangeFormattingParams))
+                        .thenApply(TextDocumentService::toTextEditDtos)));
     }
 
-    private CompletionItemDto completionItemResolve(ExtendedCompletionItemDto unresolved) {
-        try {
-            LanguageServer server = getServer(prefixURI(unresolved.getTextDocumentIdentifier().getUri()));
+    private JsonRpcDeferredResult<List<TextEditDto>> onTypeFormatting(String endpointId,
+                                                                      DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
+        documentOnTypeFormattingParams.getTextDocument().setUri(prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri()));
+        return toDeferredResult(withServer(documentOnTypeFormattingParams.getTextDocument().getUri(), Collections.emptyList(), server ->
+                forward("onTypeFormatting", server, server.getTextDocumentService().onTypeFormatting(documentOnTypeFormattingParams))
+                        .thenApply(TextDocumentService::toTextEditDtos)));
+    }
 
-            return server != null ? new CompletionItemDto(server.getTextDocumentService().resolveCompletionItem(unresolved).get())
-                                  : new CompletionItemDto(unresolved);
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private void didChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
+        didChangeTextDocumentParams.getTextDocument().setUri(prefixURI(didChangeTextDocumentParams.getTextDocument().getUri()));
+        didChangeTextDocumentParams.setUri(prefixURI(didChangeTextDocumentParams.getUri()));
+        notifyServer("didChange", didChangeTextDocumentParams.getTextDocument().getUri(),
+                     server -> server.getTextDocumentService().didChange(didChangeTextDocumentParams));
     }
 
-    private HoverDto hover(TextDocumentPositionParams positionParams) {
-        try {
-            positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
-            positionParams.setUri(prefixURI(positionParams.getUri()));
-            LanguageServer server = getServer(positionParams.getTextDocument().getUri());
-            return server != null ? new HoverDto(server.getTextDocumentService().hover(positionParams).get()) : null;
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private void didOpen(DidOpenTextDocumentParams openTextDocumentParams) {
+        openTextDocumentParams.getTextDocument().setUri(prefixURI(openTextDocumentParams.getTextDocument().getUri()));
+        notifyServer("didOpen", openTextDocumentParams.getTextDocument().getUri(),
+                     server -> server.getTextDocumentService().didOpen(openTextDocumentParams));
     }
 
-    private SignatureHelpDto signatureHelp(TextDocumentPositionParams positionParams) {
-        try {
-            positionParams.getTextDocument().setUri(prefixURI(positionParams.getTextDocument().getUri()));
-            positionParams.setUri(prefixURI(positionParams.getUri()));
-            LanguageServer server = getServer(positionParams.getTextDocument().getUri());
-            return server != null ? new SignatureHelpDto(server.getTextDocumentService().signatureHelp(positionParams).get()) : null;
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private void didClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
+        didCloseTextDocumentParams.getTextDocument().setUri(prefixURI(didCloseTextDocumentParams.getTextDocument().getUri()));
+        notifyServer("didClose", didCloseTextDocumentParams.getTextDocument().getUri(),
+                     server -> server.getTextDocumentService().didClose(didCloseTextDocumentParams));
     }
 
-    private List<TextEditDto> formatting(DocumentFormattingParams documentFormattingParams) {
-        try {
-            documentFormattingParams.getTextDocument().setUri(prefixURI(documentFormattingParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(documentFormattingParams.getTextDocument().getUri());
-            return server == null ? Collections.emptyList()
-                                  : server.getTextDocumentService()
-                                          .formatting(documentFormattingParams)
-                                          .get().stream()
-                                          .map(TextEditDto::new)
-                                          .collect(Collectors.toList());
-
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private void didSave(DidSaveTextDocumentParams didSaveTextDocumentParams) {
+        didSaveTextDocumentParams.getTextDocument().setUri(prefixURI(didSaveTextDocumentParams.getTextDocument().getUri()));
+        notifyServer("didSave", didSaveTextDocumentParams.getTextDocument().getUri(),
+                     server -> server.getTextDocumentService().didSave(didSaveTextDocumentParams));
     }
 
-    private List<TextEditDto> rangeFormatting(DocumentRangeFormattingParams documentRangeFormattingParams) {
-        try {
-            documentRangeFormattingParams.getTextDocument().setUri(prefixURI(documentRangeFormattingParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(documentRangeFormattingParams.getTextDocument().getUri());
-            return server == null ? Collections.emptyList()
-                                  : server.getTextDocumentService()
-                                          .rangeFormatting(documentRangeFormattingParams)
-                                          .get().stream()
-                                          .map(TextEditDto::new)
-                                          .collect(Collectors.toList());
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    private JsonRpcDeferredResult<DocumentHighlight> documentHighlight(String endpointId,
+                                                                       TextDocumentPositionParams textDocumentPositionParams) {
+        textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
+        return toDeferredResult(withServer(textDocumentPositionParams.getTextDocument().getUri(), null, server ->
+                forward("documentHighlight", server, server.getTextDocumentService().documentHighlight(textDocumentPositionParams))
+                        .<DocumentHighlight>thenApply(highlights -> highlights.isEmpty() ? null : highlights.get(0))));
     }
 
-    private List<TextEditDto> onTypeFormatting(DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
-        try {
-            documentOnTypeFormattingParams.getTextDocument().setUri(prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(documentOnTypeFormattingParams.getTextDocument().getUri());
-            return server == null ? Collections.emptyList() : server.getTextDocumentService()
-                                                                    .onTypeFormatting(documentOnTypeFormattingParams)
-                                                                    .get().stream()
-                                                                    .map(TextEditDto::new)
-                                                                    .collect(Collectors.toList());
-        } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
-        }
+    /**
+     * Sends notification to the language server of the document without waiting for the server to start.
+     * Notifications of the same document are chained, so they reach the server in the order they came,
+     * e.g. {@code didChange} never overtakes {@code didOpen} while the server is starting.
+     */
+    private void notifyServer(String method, String uri, Consumer<LanguageServer> notification) {
+        CompletableFuture<Void> notified = documentNotifications.compute(uri, (key, previous) -> {
+            CompletableFuture<Void> ready = previous == null ? CompletableFuture.completedFuture(null) : previous;
+            return ready.thenCompose(ignored -> languageServerRegistry.findServerAsync(uri))
+                        .thenAccept(server -> {
+                            if (server != null) {
+                                notification.accept(server);
+                            }
+                        })
+                        .exceptionally(error -> {
+                            LOG.error("Error trying to process textDocument/" + method, unwrap(error));
+                            return null;
+                        });
+        });
+        notified.whenComplete((result, error) -> documentNotifications.remove(uri, notified));
     }
 
-    private void didChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
-        try {
-            didChangeTextDocumentParams.getTextDocument().setUri(prefixURI(didChangeTextDocumentParams.getTextDocument().getUri()));
-            didChangeTextDocumentParams.setUri(prefixURI(didChangeTextDocumentParams.getUri()));
-            LanguageServer server = getServer(didChangeTextDocumentParams.getTextDocument().getUri());
-            if (server != null) {
-                server.getTextDocumentService().didChange(didChangeTextDocumentParams);
-            }
-        } catch (LanguageServerException e) {
-            LOG.error("Error trying to process textDocument/didChange", e);
-        }
+    /**
+     * Sends request to the language server of the document as soon as the server is started, the default result is
+     * used when there is no language server for the document.
+     */
+    private <R> CompletableFuture<R> withServer(String uri, R defaultResult, Function<LanguageServer, CompletableFuture<R>> request) {
+        return languageServerRegistry.findServerAsync(uri)
+                                     .thenCompose(server -> server == null ? CompletableFuture.completedFuture(defaultResult)
+                                                                           : request.apply(server));
     }
 
-    private void didOpen(DidOpenTextDocumentParams openTextDocumentParams) {
-        try {
-            openTextDocumentParams.getTextDocument().setUri(prefixURI(openTextDocumentParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(openTextDocumentParams.getTextDocument().getUri());
-            if (server != null) {
-                server.getTextDocumentService().didOpen(openTextDocumentParams);
-            }
-        } catch (LanguageServerException e) {
-            LOG.error("Error trying to process textDocument/didOpen", e);
-        }
+    /**
+     * Records latency of the request sent to the language server when its response is received.
+     */
+    private <T> CompletableFuture<T> forward(String method, LanguageServer server, CompletableFuture<T> request) {
+        String serverId = getServerId(server);
+        long start = System.currentTimeMillis();
+        request.whenComplete((result, error) -> {
+            Outcome outcome = error == null ? Outcome.SUCCEEDED
+                                            : isCancellation(error) ? Outcome.CANCELLED
+                                                                    : Outcome.FAILED;
+            metrics.record(serverId, "textDocument/" + method, System.currentTimeMillis() - start, outcome);
+        });
+        return request;
     }
 
-    private void didClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
-        try {
-            didCloseTextDocumentParams.getTextDocument().setUri(prefixURI(didCloseTextDocumentParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(didCloseTextDocumentParams.getTextDocument().getUri());
-            if (server != null) {
-                server.getTextDocumentService().didClose(didCloseTextDocumentParams);
-            }
-        } catch (LanguageServerException e) {
-            LOG.error("Error trying to process textDocument/didOpen", e);
+    /**
+     * Cancels the previous request of the same method which is sent by the endpoint for the document,
+     * its result is outdated as soon as the new request comes. Cancellation of the LSP4J request future
+     * notifies the language server with {@code $/cancelRequest}.
+     */
+    private <T> CompletableFuture<T> cancelPrevious(String endpointId, String method, String uri, CompletableFuture<T> request) {
+        String key = endpointId + '@' + method + '@' + uri;
+        CompletableFuture<?> previous = pendingRequests.put(key, request);
+        if (previous != null) {
+            previous.cancel(true);
         }
+        request.whenComplete((result, error) -> pendingRequests.remove(key, request));
+        return request;
     }
 
-    private void didSave(DidSaveTextDocumentParams didSaveTextDocumentParams) {
-        try {
-            didSaveTextDocumentParams.getTextDocument().setUri(prefixURI(didSaveTextDocumentParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(didSaveTextDocumentParams.getTextDocument().getUri());
-            if (server != null) {
-                server.getTextDocumentService().didSave(didSaveTextDocumentParams);
-            }
-        } catch (LanguageServerException e) {
-            LOG.error("Error trying to process textDocument/didSave", e);
-        }
+    private String getServerId(LanguageServer server) {
+        LanguageServerDescription description = serverInitializer.getInitializedServers().get(server);
+        return description != null ? description.getId() : UNKNOWN_SERVER_ID;
     }
 
-    private DocumentHighlight documentHighlight(TextDocumentPositionParams textDocumentPositionParams) {
-        try {
-            textDocumentPositionParams.getTextDocument().setUri(prefixURI(textDocumentPositionParams.getTextDocument().getUri()));
-            LanguageServer server = getServer(textDocumentPositionParams.getTextDocument().getUri());
-            if (server != null) {
-                return server.getTextDocumentService().documentHighlight(textDocumentPositionParams).get().get(0);
+    private static <R> JsonRpcDeferredResult<R> toDeferredResult(CompletableFuture<R> future) {
+        JsonRpcDeferredResult<R> deferredResult = new JsonRpcDeferredResult<>();
+        future.whenComplete((result, error) -> {
+            if (error == null) {
+                deferredResult.resolve(result);
+            } else if (isCancellation(error)) {
+                deferredResult.reject(new JsonRpcException(REQUEST_CANCELLED, "Request is cancelled"));
+            } else {
+                Throwable cause = unwrap(error);
+                LOG.debug(cause.getMessage(), cause);
+                deferredResult.reject(new JsonRpcException(ERROR_CODE, cause.getMessage()));
             }
-            return null;
-        } catch (LanguageServerException | InterruptedException | ExecutionException e) {
-            throw new JsonRpcException(-27000, e.getMessage());
+        });
+        return deferredResult;
+    }
 
-        }
+    private static boolean isCancellation(Throwable error) {
+        return unwrap(error) instanceof CancellationException;
     }
 
-    private LanguageServer getServer(String uri) throws LanguageServerException {
-        return languageServerRegistry.findServer(uri);
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
+    private static List<LocationDto> toLocationDtos(List<? extends Location> locations) {
+        locations.forEach(o -> o.setUri(removePrefixUri(o.getUri())));
+        return locations.stream().map(LocationDto::new).collect(Collectors.toList());
+    }
+
+    private static List<TextEditDto> toTextEditDtos(List<? extends TextEdit> edits) {
+        return edits.stream().map(TextEditDto::new).collect(Collectors.toList());
+    }
 
     private <P> void dtoToNothing(String name, Class<P> pClass, Consumer<P> consumer) {
         requestHandler.newConfiguration()
@@ -311,19 +350,20 @@ public class TextDocumentService {
                       .withConsumer(consumer);
     }
 
-    private <P, R> void dtoToDtoList(String name, Class<P> pClass, Class<R> rClass, Function<P, List<R>> function) {
+    private <P, R> void dtoToDtoList(String name, Class<P> pClass, Class<R> rClass,
+                                     BiFunction<String, P, JsonRpcDeferredResult<List<R>>> function) {
         requestHandler.newConfiguration()
                       .methodName("textDocument/" + name)
                       .paramsAsDto(pClass)
                       .resultAsListOfDto(rClass)
-                      .withFunction(function);
+                      .withDeferredBiFunction(function);
     }
 
-    private <P, R> void dtoToDto(String name, Class<P> pClass, Class<R> rClass, Function<P, R> function) {
+    private <P, R> void dtoToDto(String name, Class<P> pClass, Class<R> rClass, BiFunction<String, P, JsonRpcDeferredResult<R>> function) {
         requestHandler.newConfiguration()
                       .methodName("textDocument/" + name)
                       .paramsAsDto(pClass)
                       .resultAsDto(rClass)
-                      .withFunction(function);
+                      .withDeferredBiFunction(function);
     }
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.languageserver.registry;
 
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.languageserver.launcher.LanguageServerLauncher;
 import org.eclipse.che.api.languageserver.shared.model.LanguageDescription;
 import org.eclipse.lsp4j.InitializeParams;
@@ -25,17 +26,23 @@ import org.testng.annotations.Test;
 
 import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
 
 
 /**
@@ -62,6 +69,8 @@ public class LanguageServerRegistryImplTest {
     private ServerCapabilities                  serverCapabilities;
     @Mock
     private CompletableFuture<InitializeResult> completableFuture;
+    @Mock
+    private EventService                        eventService;
 
     private LanguageServerRegistryImpl registry;
 
@@ -81,7 +90,9 @@ public class LanguageServerRegistryImplTest {
 
         registry = spy(new LanguageServerRegistryImpl(Collections.singleton(languageServerLauncher),
                                                       null,
-                                                      initializer));
+                                                      initializer,
+                                                      eventService,
+                                                      0));
 
         when(initializer.initialize(any(LanguageServerLauncher.class), anyString())).thenAnswer(invocation -> {
             Object[] arguments = invocation.getArguments();
@@ -101,4 +112,50 @@ public class LanguageServerRegistryImplTest {
         verify(initializer).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
         verify(registry).onServerInitialized(eq(languageServer), eq(serverCapabilities), eq(languageDescription), eq(PROJECT_PATH));
     }
+
+    @Test
+    public void shouldShareLaunchingServerBetweenConcurrentRequests() throws Exception {
+        CountDownLatch initializing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            initializing.await();
+            Object[] arguments = invocation.getArguments();
+            registry.onServerInitialized(languageServer, serverCapabilities, languageDescription, (String)arguments[1]);
+            return languageServer;
+        }).when(initializer).initialize(any(LanguageServerLauncher.class), anyString());
+
+        CompletableFuture<LanguageServer> first = registry.findServerAsync(PREFIX + FILE_PATH);
+        CompletableFuture<LanguageServer> second = registry.findServerAsync(PREFIX + FILE_PATH);
+
+        assertFalse(first.isDone());
+        assertSame(first, second);
+
+        initializing.countDown();
+
+        assertEquals(first.get(), languageServer);
+        assertEquals(registry.findServerAsync(PREFIX + FILE_PATH).get(), languageServer);
+        verify(initializer, times(1)).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
+    }
+
+    @Test
+    public void shouldLaunchNewServerOnlyAfterIdleServerIsShutDown() throws Exception {
+        CompletableFuture<Void> shutdown = new CompletableFuture<>();
+        when(initializer.shutdownServer(languageServer)).thenReturn(shutdown);
+        assertEquals(registry.findServerAsync(PREFIX + FILE_PATH).get(), languageServer);
+
+        // idle timeout is zero, so the server is idle right after it is used
+        Thread idleChecker = new Thread(registry::shutdownIdleServers);
+        idleChecker.start();
+        verify(initializer, timeout(1000)).shutdownServer(languageServer);
+
+        CompletableFuture<LanguageServer> relaunched = registry.findServerAsync(PREFIX + FILE_PATH);
+        Thread.sleep(100);
+        assertFalse(relaunched.isDone());
+        verify(initializer, times(1)).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
+
+        shutdown.complete(null);
+        idleChecker.join(1000);
+
+        assertEquals(relaunched.get(), languageServer);
+        verify(initializer, times(2)).initialize(eq(languageServerLauncher), eq(PROJECT_PATH));
+    }
 }
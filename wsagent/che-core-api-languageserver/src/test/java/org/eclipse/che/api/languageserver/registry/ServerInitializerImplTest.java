@@ -77,4 +77,23 @@ public class ServerInitializerImplTest {
         assertEquals(server, languageServer);
         verify(observer).onServerInitialized(eq(server), any(ServerCapabilities.class), eq(languageDescription), eq("/path"));
     }
+
+    @Test
+    public void initializerShouldAssignDifferentIdsToServersOfTheSameLanguage() throws Exception {
+        LanguageServer otherServer = mock(LanguageServer.class);
+        when(languageDescription.getLanguageId()).thenReturn("languageId");
+        when(server.initialize(any(InitializeParams.class))).thenReturn(completableFuture);
+        when(otherServer.initialize(any(InitializeParams.class))).thenReturn(completableFuture);
+        when(completableFuture.get()).thenReturn(mock(InitializeResult.class));
+
+        when(launcher.getLanguageDescription()).thenReturn(languageDescription);
+        when(launcher.launch(anyString(), any())).thenReturn(server, otherServer);
+        doNothing().when(initializer).registerCallbacks(any());
+
+        initializer.initialize(launcher, "/path");
+        initializer.initialize(launcher, "/other-path");
+
+        assertEquals(initializer.getInitializedServers().get(server).getId(), "languageId-1");
+        assertEquals(initializer.getInitializedServers().get(otherServer).getId(), "languageId-2");
+    }
 }
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import org.eclipse.che.api.languageserver.service.LanguageServerMetrics.MethodStatistics;
+import org.eclipse.che.api.languageserver.service.LanguageServerMetrics.Outcome;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link LanguageServerMetrics}.
+ */
+public class LanguageServerMetricsTest {
+    private static final String COMPLETION = "textDocument/completion";
+    private static final String HOVER      = "textDocument/hover";
+
+    private LanguageServerMetrics metrics;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        metrics = new LanguageServerMetrics();
+    }
+
+    @Test
+    public void shouldCountRequestsByOutcome() throws Exception {
+        metrics.record("java-1", COMPLETION, 10, Outcome.SUCCEEDED);
+        metrics.record("java-1", COMPLETION, 30, Outcome.FAILED);
+        metrics.record("java-1", COMPLETION, 50, Outcome.CANCELLED);
+        metrics.record("java-1", COMPLETION, 70, Outcome.CANCELLED);
+
+        MethodStatistics statistics = metrics.getStatistics().get("java-1").get(COMPLETION);
+        assertEquals(statistics.getCount(), 4);
+        assertEquals(statistics.getFailed(), 1);
+        assertEquals(statistics.getCancelled(), 2);
+        assertEquals(statistics.getAverageMillis(), 40);
+        assertEquals(statistics.getMaxMillis(), 70);
+    }
+
+    @Test
+    public void shouldKeepStatisticsOfServersAndMethodsSeparately() throws Exception {
+        metrics.record("java-1", COMPLETION, 10, Outcome.SUCCEEDED);
+        metrics.record("java-1", HOVER, 20, Outcome.SUCCEEDED);
+        metrics.record("java-2", COMPLETION, 30, Outcome.FAILED);
+
+        Map<String, Map<String, MethodStatistics>> statistics = metrics.getStatistics();
+        assertEquals(statistics.keySet().toString(), "[java-1, java-2]");
+        assertEquals(statistics.get("java-1").keySet().toString(), "[" + COMPLETION + ", " + HOVER + "]");
+        assertEquals(statistics.get("java-1").get(COMPLETION).getMaxMillis(), 10);
+        assertEquals(statistics.get("java-1").get(HOVER).getMaxMillis(), 20);
+        assertEquals(statistics.get("java-2").get(COMPLETION).getCount(), 1);
+        assertEquals(statistics.get("java-2").get(COMPLETION).getFailed(), 1);
+    }
+
+    @Test
+    public void shouldReturnCopyOfStatistics() throws Exception {
+        metrics.record("java-1", COMPLETION, 10, Outcome.SUCCEEDED);
+        MethodStatistics before = metrics.getStatistics().get("java-1").get(COMPLETION);
+
+        metrics.record("java-1", COMPLETION, 20, Outcome.SUCCEEDED);
+
+        assertEquals(before.getCount(), 1);
+        assertEquals(metrics.getStatistics().get("java-1").get(COMPLETION).getCount(), 2);
+    }
+
+    @Test
+    public void shouldReturnNoStatisticsWhenNothingIsRecorded() throws Exception {
+        assertTrue(metrics.getStatistics().isEmpty());
+    }
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.inject.Guice;
+import com.google.inject.assistedinject.FactoryModuleBuilder;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcComposer;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerManager;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.languageserver.registry.LanguageServerDescription;
+import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
+import org.eclipse.che.api.languageserver.registry.ServerInitializer;
+import org.eclipse.che.api.languageserver.service.LanguageServerMetrics.MethodStatistics;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link TextDocumentService}, requests are handled by the JSON RPC
+ * request handler manager the same way they are handled in the workspace agent.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class TextDocumentServiceTest {
+    private static final String SERVER_ID  = "java-1";
+    private static final String ENDPOINT   = "endpoint";
+    private static final String COMPLETION = "textDocument/completion";
+    private static final String HOVER      = "textDocument/hover";
+
+    @Mock
+    private LanguageServerRegistry                         registry;
+    @Mock
+    private ServerInitializer                              initializer;
+    @Mock
+    private LanguageServer                                 server;
+    @Mock
+    private org.eclipse.lsp4j.services.TextDocumentService serverTextDocumentService;
+    @Mock
+    private WebSocketMessageTransmitter                    transmitter;
+    @Mock
+    private JsonRpcComposer                                composer;
+    @Mock
+    private JsonRpcMarshaller                              marshaller;
+
+    private RequestHandlerManager                          requestHandlerManager;
+    private LanguageServerMetrics                          metrics;
+    private Map<String, JsonRpcResponse>                   responses;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        responses = new ConcurrentHashMap<>();
+        when(marshaller.marshall(any(JsonRpcResponse.class))).thenAnswer(invocation -> {
+            JsonRpcResponse response = (JsonRpcResponse)invocation.getArguments()[0];
+            responses.put(response.getId(), response);
+            return response.getId();
+        });
+        requestHandlerManager = new RequestHandlerManager(transmitter, composer, marshaller);
+        RequestHandlerConfigurator configurator =
+                Guice.createInjector(binder -> {
+                    binder.bind(RequestHandlerManager.class).toInstance(requestHandlerManager);
+                    binder.install(new FactoryModuleBuilder().build(RequestHandlerConfigurator.class));
+                }).getInstance(RequestHandlerConfigurator.class);
+
+        when(registry.findServerAsync(anyString())).thenReturn(CompletableFuture.completedFuture(server));
+        when(server.getTextDocumentService()).thenReturn(serverTextDocumentService);
+        when(initializer.getInitializedServers()).thenReturn(
+                Collections.singletonMap(server, new LanguageServerDescription(SERVER_ID, null, null)));
+
+        metrics = new LanguageServerMetrics();
+        new TextDocumentService(registry, initializer, configurator, metrics).configureMethods();
+    }
+
+    @Test
+    public void shouldCancelPreviousCompletionOfTheSameDocument() throws Exception {
+        CompletableFuture<CompletionList> first = new CompletableFuture<>();
+        CompletableFuture<CompletionList> second = new CompletableFuture<>();
+        when(serverTextDocumentService.completion(any())).thenReturn(first, second);
+
+        request(ENDPOINT, "1", COMPLETION, "/project/Main.java");
+        request(ENDPOINT, "2", COMPLETION, "/project/Main.java");
+
+        assertTrue(first.isCancelled());
+        assertFalse(second.isDone());
+        assertEquals(responses.get("1").getError().getCode(), TextDocumentService.REQUEST_CANCELLED);
+        assertNull(responses.get("2"));
+    }
+
+    @Test
+    public void shouldNotCancelCompletionOfOtherEndpointOrOtherDocument() throws Exception {
+        CompletableFuture<CompletionList> first = new CompletableFuture<>();
+        CompletableFuture<CompletionList> otherEndpoint = new CompletableFuture<>();
+        CompletableFuture<CompletionList> otherDocument = new CompletableFuture<>();
+        when(serverTextDocumentService.completion(any())).thenReturn(first, otherEndpoint, otherDocument);
+
+        request(ENDPOINT, "1", COMPLETION, "/project/Main.java");
+        request("other-endpoint", "2", COMPLETION, "/project/Main.java");
+        request(ENDPOINT, "3", COMPLETION, "/project/Other.java");
+
+        assertFalse(first.isDone());
+        assertFalse(otherEndpoint.isDone());
+        assertFalse(otherDocument.isDone());
+        assertTrue(responses.isEmpty());
+    }
+
+    @Test
+    public void shouldNotCancelCompletionByHoverOfTheSameDocument() throws Exception {
+        CompletableFuture<CompletionList> completion = new CompletableFuture<>();
+        when(serverTextDocumentService.completion(any())).thenReturn(completion);
+        when(serverTextDocumentService.hover(any())).thenReturn(new CompletableFuture<>());
+
+        request(ENDPOINT, "1", COMPLETION, "/project/Main.java");
+        request(ENDPOINT, "2", HOVER, "/project/Main.java");
+
+        assertFalse(completion.isDone());
+    }
+
+    @Test
+    public void shouldTransmitResultWhenLanguageServerReplies() throws Exception {
+        CompletableFuture<Hover> hover = new CompletableFuture<>();
+        when(serverTextDocumentService.hover(any())).thenReturn(hover);
+
+        request(ENDPOINT, "1", HOVER, "/project/Main.java");
+        assertNull(responses.get("1"));
+        hover.complete(new Hover(Collections.singletonList("doc"), new Range(new Position(0, 1), new Position(0, 5))));
+
+        assertNull(responses.get("1").getError());
+        assertNotNull(responses.get("1").getResult().getOne());
+    }
+
+    @Test
+    public void shouldTransmitErrorWhenLanguageServerFails() throws Exception {
+        CompletableFuture<Hover> hover = new CompletableFuture<>();
+        when(serverTextDocumentService.hover(any())).thenReturn(hover);
+
+        request(ENDPOINT, "1", HOVER, "/project/Main.java");
+        hover.completeExceptionally(new IllegalStateException("server error"));
+
+        assertNull(responses.get("1").getResult());
+        assertEquals(responses.get("1").getError().getMessage(), "server error");
+    }
+
+    @Test
+    public void shouldRecordOutcomesOfRequestsForwardedToLanguageServer() throws Exception {
+        CompletableFuture<Hover> cancelled = new CompletableFuture<>();
+        CompletableFuture<Hover> failed = new CompletableFuture<>();
+        CompletableFuture<Hover> succeeded = new CompletableFuture<>();
+        when(serverTextDocumentService.hover(any())).thenReturn(cancelled, failed, succeeded);
+
+        request(ENDPOINT, "1", HOVER, "/project/Main.java");
+        request(ENDPOINT, "2", HOVER, "/project/Main.java");
+        failed.completeExceptionally(new IllegalStateException("server error"));
+        request(ENDPOINT, "3", HOVER, "/project/Main.java");
+        succeeded.complete(new Hover(Collections.singletonList("doc"), new Range(new Position(0, 1), new Position(0, 5))));
+
+        MethodStatistics statistics = metrics.getStatistics().get(SERVER_ID).get(HOVER);
+        assertEquals(statistics.getCount(), 3);
+        assertEquals(statistics.getCancelled(), 1);
+        assertEquals(statistics.getFailed(), 1);
+    }
+
+    private void request(String endpointId, String requestId, String method, String path) {
+        TextDocumentPositionParams positionParams = new TextDocumentPositionParams();
+        positionParams.setTextDocument(new TextDocumentIdentifier(path));
+        positionParams.setPosition(new Position(1, 2));
+        JsonRpcParams params = new JsonRpcParams(positionParams);
+        when(composer.composeOne(params, TextDocumentPositionParams.class)).thenReturn(positionParams);
+
+        requestHandlerManager.handle(endpointId, requestId, method, params);
+    }
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.BadRequestException;
@@ -30,6 +32,7 @@ import org.eclipse.che.api.project.server.importer.ProjectImporter;
 import org.eclipse.che.api.project.server.importer.ProjectImporterRegistry;
 import org.eclipse.che.api.project.server.type.AttributeValue;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
+import org.eclipse.che.api.project.server.type.FolderScan;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
 import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
@@ -57,8 +60,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -74,16 +79,19 @@ import static org.eclipse.che.api.core.ErrorCodes.NOT_UPDATED_PROJECT;
 public class ProjectManager {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectManager.class);
 
-    private final VirtualFileSystem              vfs;
-    private final ProjectTypeRegistry            projectTypeRegistry;
-    private final ProjectRegistry                projectRegistry;
-    private final ProjectHandlerRegistry         handlers;
-    private final ProjectImporterRegistry        importers;
-    private final FileTreeWatcher                fileWatcher;
-    private final FileWatcherNotificationHandler fileWatchNotifier;
-    private final ExecutorService                executor;
-    private final WorkspaceProjectsSyncer        workspaceProjectsHolder;
-    private final FileWatcherManager             fileWatcherManager;
+    private static final int ESTIMATIONS_CACHE_SIZE = 100;
+
+    private final VirtualFileSystem                vfs;
+    private final ProjectTypeRegistry              projectTypeRegistry;
+    private final ProjectRegistry                  projectRegistry;
+    private final ProjectHandlerRegistry           handlers;
+    private final ProjectImporterRegistry          importers;
+    private final FileTreeWatcher                  fileWatcher;
+    private final FileWatcherNotificationHandler   fileWatchNotifier;
+    private final ExecutorService                  executor;
+    private final WorkspaceProjectsSyncer          workspaceProjectsHolder;
+    private final FileWatcherManager               fileWatcherManager;
+    private final Cache<String, SourcesEstimation> estimations;
 
     @Inject
     public ProjectManager(VirtualFileSystemProvider vfsProvider,
@@ -110,6 +118,7 @@ public class ProjectManager {
                                                                           .setUncaughtExceptionHandler(
                                                                                   LoggingUncaughtExceptionHandler.getInstance())
                                                                           .setDaemon(true).build());
+        estimations = CacheBuilder.newBuilder().maximumSize(ESTIMATIONS_CACHE_SIZE).build();
     }
 
     void initWatcher() throws IOException {
@@ -543,7 +552,9 @@ public class ProjectManager {
     }
 
     /**
-     * Estimates to which project types the folder can be converted to
+     * Estimates to which project types the folder can be converted to.
+     * The folder is walked through once for all the project types which are estimated in parallel,
+     * the estimations are reused until any file of the folder is changed.
      *
      * @param path to the folder
      * @param transientOnly whether it can be estimated to the transient types of Project only
@@ -553,20 +564,54 @@ public class ProjectManager {
      * @throws NotFoundException
      */
     public List<ProjectTypeResolution> resolveSources(String path, boolean transientOnly) throws ServerException, NotFoundException {
-        final List<ProjectTypeResolution> resolutions = new ArrayList<>();
+        final FolderEntry baseFolder = asFolder(path);
+        if (baseFolder == null) {
+            throw new NotFoundException("Folder not found: " + path);
+        }
 
+        final List<ProjectTypeDef> types = new ArrayList<>();
+        long typesHash = 0;
         for (ProjectType type : projectTypeRegistry.getProjectTypes(ProjectTypeRegistry.CHILD_TO_PARENT_COMPARATOR)) {
             if (transientOnly && type.isPersisted()) {
                 continue;
             }
+            types.add(projectTypeRegistry.getProjectType(type.getId()));
+            typesHash = 31 * typesHash + type.getId().hashCode();
+        }
+
+        final FolderScan scan = FolderScan.scan(baseFolder);
+        final String key = baseFolder.getPath().toString() + (transientOnly ? "#transient" : "");
+        final long fingerprint = 31 * scan.getFingerprint() + typesHash;
+
+        final SourcesEstimation cached = estimations.getIfPresent(key);
+        if (cached != null && cached.fingerprint == fingerprint) {
+            return new ArrayList<>(cached.resolutions);
+        }
 
-            final ProjectTypeResolution resolution = estimateProject(path, type.getId());
-            if (resolution.matched()) {
-                resolutions.add(resolution);
+        final List<Future<ProjectTypeResolution>> futures = new ArrayList<>(types.size());
+        for (ProjectTypeDef type : types) {
+            futures.add(executor.submit(() -> type.resolveSources(baseFolder, scan)));
+        }
+
+        final List<ProjectTypeResolution> resolutions = new ArrayList<>();
+        try {
+            for (Future<ProjectTypeResolution> future : futures) {
+                final ProjectTypeResolution resolution = future.get();
+                if (resolution.matched()) {
+                    resolutions.add(resolution);
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Estimation of the folder sources is interrupted: " + path);
+        } catch (ExecutionException e) {
+            throw new ServerException(e.getCause().getLocalizedMessage(), e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
         }
 
-        return resolutions;
+        estimations.put(key, new SourcesEstimation(fingerprint, resolutions));
+        return new ArrayList<>(resolutions);
     }
 
     /**
@@ -747,4 +792,15 @@ public class ProjectManager {
 
         return (FileEntry)entry;
     }
+
+    /** Resolutions of the folder sources and fingerprint of the folder and of the estimated project types. */
+    private static class SourcesEstimation {
+        final long                        fingerprint;
+        final List<ProjectTypeResolution> resolutions;
+
+        SourcesEstimation(long fingerprint, List<ProjectTypeResolution> resolutions) {
+            this.fingerprint = fingerprint;
+            this.resolutions = resolutions;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.server.type.ProvidedValuesCache;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
@@ -54,6 +55,7 @@ public class ProjectRegistry {
     private final ProjectHandlerRegistry         handlers;
     private final FolderEntry                    root;
     private final EventService                   eventService;
+    private final ProvidedValuesCache            valuesCache;
 
     private boolean initialized;
 
@@ -62,8 +64,10 @@ public class ProjectRegistry {
                            VirtualFileSystemProvider vfsProvider,
                            ProjectTypeRegistry projectTypeRegistry,
                            ProjectHandlerRegistry handlers,
-                           EventService eventService) throws ServerException {
+                           EventService eventService,
+                           ProvidedValuesCache valuesCache) throws ServerException {
         this.eventService = eventService;
+        this.valuesCache = valuesCache;
         this.projects = new ConcurrentHashMap<>();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
@@ -72,6 +76,17 @@ public class ProjectRegistry {
         this.root = new FolderEntry(vfs.getRoot());
     }
 
+    /**
+     * Creates registry which doesn't cache the provided attribute values.
+     */
+    public ProjectRegistry(WorkspaceProjectsSyncer workspaceHolder,
+                           VirtualFileSystemProvider vfsProvider,
+                           ProjectTypeRegistry projectTypeRegistry,
+                           ProjectHandlerRegistry handlers,
+                           EventService eventService) throws ServerException {
+        this(workspaceHolder, vfsProvider, projectTypeRegistry, handlers, eventService, null);
+    }
+
     @PostConstruct
     public void initProjects() throws ConflictException, NotFoundException, ServerException, ForbiddenException {
 
@@ -189,7 +204,7 @@ public class ProjectRegistry {
                                  boolean updated,
                                  boolean detected) throws ServerException {
 
-        final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry);
+        final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry, valuesCache);
         projects.put(project.getPath(), project);
 
         return project;
@@ -208,6 +223,7 @@ public class ProjectRegistry {
         Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
         getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p))
                                                .ifPresent(removed::add));
+        invalidateProvidedValues(path);
 
         removed.forEach(registeredProject -> eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
     }
@@ -251,6 +267,8 @@ public class ProjectRegistry {
                                             boolean asMixin) throws ConflictException,
                                                                     NotFoundException,
                                                                     ServerException {
+        invalidateProvidedValues(absolutizePath(projectPath));
+
         final RegisteredProject project = getProject(projectPath);
         final NewProjectConfig conf;
         List<String> newMixins = new ArrayList<>();
@@ -317,6 +335,8 @@ public class ProjectRegistry {
                                                                                        ForbiddenException,
                                                                                        NotFoundException,
                                                                                        ServerException {
+        invalidateProvidedValues(absolutizePath(projectPath));
+
         final RegisteredProject project = getProject(projectPath);
 
         if (project == null) {
@@ -349,6 +369,12 @@ public class ProjectRegistry {
         return putProject(conf, project.getBaseFolder(), true, project.isDetected());
     }
 
+    private void invalidateProvidedValues(String projectPath) {
+        if (valuesCache != null) {
+            valuesCache.invalidate(projectPath);
+        }
+    }
+
     /**
      * @param path
      *         a path
@@ -18,7 +18,9 @@ import org.eclipse.che.api.core.model.project.type.Value;
 import org.eclipse.che.api.project.server.type.AttributeValue;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.server.type.ProvidedValuesCache;
 import org.eclipse.che.api.project.server.type.ValueProvider;
+import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.server.type.Variable;
 import org.eclipse.che.api.vfs.Path;
@@ -27,6 +29,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -42,8 +45,10 @@ import static org.eclipse.che.api.core.ErrorCodes.NO_PROJECT_ON_FILE_SYSTEM;
  */
 public class RegisteredProject implements ProjectConfig {
 
-    private final List<Problem>      problems;
-    private final Map<String, Value> attributes;
+    private final List<Problem>                     problems;
+    private final Map<String, Value>                attributes;
+    private final Map<String, ValueProviderFactory> cachedAttributes;
+    private final ProvidedValuesCache               valuesCache;
 
     private final FolderEntry   folder;
     private final ProjectConfig config;
@@ -64,6 +69,8 @@ public class RegisteredProject implements ProjectConfig {
      *         if this project was detected, initialized when "parent" project initialized
      * @param projectTypeRegistry
      *         project type registry
+     * @param valuesCache
+     *         cache of the provided attribute values or null if the values aren't cached
      * @throws ServerException
      *         when path for project is undefined
      */
@@ -71,9 +78,12 @@ public class RegisteredProject implements ProjectConfig {
                       ProjectConfig config,
                       boolean updated,
                       boolean detected,
-                      ProjectTypeRegistry projectTypeRegistry) throws ServerException {
+                      ProjectTypeRegistry projectTypeRegistry,
+                      ProvidedValuesCache valuesCache) throws ServerException {
         problems = new ArrayList<>();
         attributes = new HashMap<>();
+        cachedAttributes = new HashMap<>();
+        this.valuesCache = valuesCache;
 
         Path path;
         if (folder != null) {
@@ -131,14 +141,21 @@ public class RegisteredProject implements ProjectConfig {
                 // value provided
                 if (variable.isValueProvided()) {
 
-                    final ValueProvider valueProvider = variable.getValueProviderFactory().newInstance(folder);
+                    final ValueProviderFactory valueProviderFactory = variable.getValueProviderFactory();
+                    final ValueProvider valueProvider = valueProviderFactory.newInstance(folder);
 
                     if (folder != null) {
 
                         try {
                             if (!valueProvider.isSettable() || value.isEmpty()) {
-                                // get provided value
-                                value = new AttributeValue(valueProvider.getValues(name));
+                                if (valuesCache != null && valuesCache.isCached(valueProviderFactory)) {
+                                    // get cached provided value, it is refreshed when the files it depends on are changed
+                                    value = new AttributeValue(valuesCache.getValues(folder, name, valueProviderFactory));
+                                    cachedAttributes.put(name, valueProviderFactory);
+                                } else {
+                                    // get provided value
+                                    value = new AttributeValue(valueProvider.getValues(name));
+                                }
                             } else {
                                 // set provided (not empty) value
                                 valueProvider.setValues(name, value.getList());
@@ -191,10 +208,25 @@ public class RegisteredProject implements ProjectConfig {
     }
 
     /**
-     * @return attributes as name / Value Map
+     * @return attributes as name / Value Map, the cached provided values are the latest ones
      */
     public Map<String, Value> getAttributeEntries() {
-        return attributes;
+        if (cachedAttributes.isEmpty()) {
+            return attributes;
+        }
+
+        final Map<String, Value> entries = new HashMap<>(attributes);
+        for (Map.Entry<String, ValueProviderFactory> entry : cachedAttributes.entrySet()) {
+            final Optional<List<String>> values = valuesCache.getCachedValues(folder.getPath().toString(), entry.getKey(), entry.getValue());
+            if (values.isPresent()) {
+                if (values.get().isEmpty()) {
+                    entries.remove(entry.getKey());
+                } else {
+                    entries.put(entry.getKey(), new AttributeValue(values.get()));
+                }
+            }
+        }
+        return entries;
     }
 
     /**
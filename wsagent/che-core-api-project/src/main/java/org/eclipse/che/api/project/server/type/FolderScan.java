@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.VirtualFile;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Result of a single walk through the folder which is shared by all the project types
+ * when the folder sources are estimated, so the types which look for the files anywhere in the folder,
+ * e.g. for the files with '.java' extension, don't walk through the folder each.
+ *
+ * <p>The scan also has the fingerprint of the folder, it is changed when any file of the folder is
+ * created, removed or modified, so the estimations can be reused while the folder isn't changed.
+ * The metadata folders of the version control systems aren't walked through, only their modification
+ * dates are taken into account.
+ *
+ * @see ValueProviderFactory#newInstance(FolderEntry, FolderScan)
+ */
+public class FolderScan {
+    private static final Set<String> NOT_WALKED_FOLDERS = ImmutableSet.of(".git", ".svn", ".hg");
+
+    private final FolderEntry folder;
+    private final Set<String> fileNames;
+    private final Set<String> fileExtensions;
+
+    private long fingerprint;
+
+    private FolderScan(FolderEntry folder) {
+        this.folder = folder;
+        this.fileNames = new HashSet<>();
+        this.fileExtensions = new HashSet<>();
+    }
+
+    /**
+     * Walks through the folder.
+     *
+     * @throws ServerException
+     *         if the content of the folder can't be read
+     */
+    public static FolderScan scan(FolderEntry folder) throws ServerException {
+        final FolderScan scan = new FolderScan(folder);
+        scan.walk(folder.getVirtualFile(), "");
+        return scan;
+    }
+
+    /** Returns the scanned folder. */
+    public FolderEntry getFolder() {
+        return folder;
+    }
+
+    /** Returns true if the folder or any of its sub-folders contains the file with given name, e.g. 'package.json'. */
+    public boolean containsFile(String name) {
+        return fileNames.contains(name);
+    }
+
+    /** Returns true if the folder or any of its sub-folders contains the file with given extension, e.g. 'java'. */
+    public boolean containsFileWithExtension(String extension) {
+        return fileExtensions.contains(extension);
+    }
+
+    /** Returns the fingerprint of the folder content. */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    private void walk(VirtualFile folder, String relativePath) throws ServerException {
+        for (VirtualFile child : folder.getChildren()) {
+            final String name = child.getName();
+            final String childPath = relativePath + '/' + name;
+            fingerprint = 31 * fingerprint + childPath.hashCode();
+            fingerprint = 31 * fingerprint + child.getLastModificationDate();
+
+            if (child.isFolder()) {
+                if (!NOT_WALKED_FOLDERS.contains(name)) {
+                    walk(child, childPath);
+                }
+            } else {
+                fingerprint = 31 * fingerprint + child.getLength();
+                fileNames.add(name);
+                final int dot = name.lastIndexOf('.');
+                if (dot > 0) {
+                    fileExtensions.add(name.substring(dot + 1));
+                }
+            }
+        }
+    }
+}
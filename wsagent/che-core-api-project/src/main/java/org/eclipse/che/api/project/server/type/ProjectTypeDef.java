@@ -173,6 +173,18 @@ public abstract class ProjectTypeDef implements ProjectType {
     }
 
     public ProjectTypeResolution resolveSources(FolderEntry projectFolder) {
+        return resolveSources(projectFolder, null);
+    }
+
+    /**
+     * Estimates if the folder can be treated as a project of this type.
+     *
+     * @param projectFolder
+     *         estimated folder
+     * @param scan
+     *         scan of the folder shared by the estimated project types or null if the folder isn't scanned
+     */
+    public ProjectTypeResolution resolveSources(FolderEntry projectFolder, FolderScan scan) {
         Map<String, Value> matchAttrs = new HashMap<>();
         for (Map.Entry<String, Attribute> entry : attributes.entrySet()) {
             Attribute attr = entry.getValue();
@@ -185,7 +197,9 @@ public abstract class ProjectTypeDef implements ProjectType {
                     Value value;
                     String errorMessage = "";
                     try {
-                        value = new AttributeValue(factory.newInstance(projectFolder).getValues(name));
+                        final ValueProvider provider = scan == null ? factory.newInstance(projectFolder)
+                                                                    : factory.newInstance(projectFolder, scan);
+                        value = new AttributeValue(provider.getValues(name));
                     } catch (ValueStorageException e) {
                         value = null;
                         errorMessage = e.getLocalizedMessage();
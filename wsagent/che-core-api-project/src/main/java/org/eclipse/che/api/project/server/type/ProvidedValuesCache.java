@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the values of the project attributes provided by the {@link ValueProviderFactory factories}
+ * which declare their {@link ValueProviderFactory#getDependencies() dependencies}, so the values
+ * aren't read from the repositories or the build files each time the project is initialized.
+ *
+ * <p>The dependencies of the factory are watched by {@link FileWatcherManager},
+ * when one of them is changed the values of the factory are read again in background,
+ * the previous values are returned until then. If a dependency is placed in the folder which
+ * doesn't exist yet, e.g. '.git/HEAD', the values are refreshed when the folder is created.
+ */
+@Singleton
+public class ProvidedValuesCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ProvidedValuesCache.class);
+
+    private final FileWatcherManager          watcherManager;
+    private final Map<String, ProvidedValues> cache;
+    private final ExecutorService             executor;
+
+    @Inject
+    public ProvidedValuesCache(FileWatcherManager watcherManager) {
+        this.watcherManager = watcherManager;
+        this.cache = new ConcurrentHashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ProvidedValuesRefresher-%d")
+                                                                                    .setUncaughtExceptionHandler(
+                                                                                            LoggingUncaughtExceptionHandler.getInstance())
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+    }
+
+    /**
+     * Returns true if the values provided by the factory are cached.
+     */
+    public boolean isCached(ValueProviderFactory factory) {
+        return factory != null && !factory.getDependencies().isEmpty();
+    }
+
+    /**
+     * Returns the cached values of the attribute, reads the values by the factory if they aren't cached yet.
+     *
+     * @param projectFolder
+     *         folder of the project
+     * @param attributeName
+     *         name of the attribute
+     * @param factory
+     *         factory which provides the values of the attribute, must be {@link #isCached(ValueProviderFactory) cached}
+     * @throws ValueStorageException
+     *         if the values can't be read, the error is cached as well as the values
+     */
+    public List<String> getValues(FolderEntry projectFolder, String attributeName, ValueProviderFactory factory)
+            throws ValueStorageException {
+        return cache.computeIfAbsent(keyOf(projectFolder.getPath().toString(), factory), key -> new ProvidedValues(projectFolder, factory))
+                    .getValues(attributeName);
+    }
+
+    /**
+     * Returns the cached values of the attribute, the values are never read by this method.
+     *
+     * @return the values or empty optional if they aren't cached or can't be read
+     */
+    public Optional<List<String>> getCachedValues(String projectPath, String attributeName, ValueProviderFactory factory) {
+        final ProvidedValues values = cache.get(keyOf(projectPath, factory));
+        return values == null ? Optional.empty() : values.getCachedValues(attributeName);
+    }
+
+    /**
+     * Removes all the cached values of the project and of its sub-projects,
+     * e.g. when the project is removed or its types are changed.
+     */
+    public void invalidate(String projectPath) {
+        cache.entrySet().removeIf(entry -> {
+            final String path = entry.getValue().projectPath;
+            if (path.equals(projectPath) || path.startsWith(projectPath.endsWith("/") ? projectPath : projectPath + '/')) {
+                entry.getValue().unwatch();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @VisibleForTesting
+    int size() {
+        return cache.size();
+    }
+
+    private static String keyOf(String projectPath, ValueProviderFactory factory) {
+        return projectPath + '#' + factory.getClass().getName();
+    }
+
+    /**
+     * Values provided by a factory for a project.
+     */
+    private class ProvidedValues {
+        final String               projectPath;
+        final FolderEntry          projectFolder;
+        final ValueProviderFactory factory;
+        final Map<String, Object>  values;
+        final List<Integer>        watchers;
+
+        boolean refreshing;
+        boolean removed;
+
+        ProvidedValues(FolderEntry projectFolder, ValueProviderFactory factory) {
+            this.projectPath = projectFolder.getPath().toString();
+            this.projectFolder = projectFolder;
+            this.factory = factory;
+            this.values = new LinkedHashMap<>();
+            this.watchers = new ArrayList<>();
+            watch();
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized List<String> getValues(String attributeName) throws ValueStorageException {
+            Object result = values.get(attributeName);
+            if (result == null) {
+                result = read(attributeName);
+                values.put(attributeName, result);
+            }
+            if (result instanceof ValueStorageException) {
+                throw (ValueStorageException)result;
+            }
+            return (List<String>)result;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized Optional<List<String>> getCachedValues(String attributeName) {
+            final Object result = values.get(attributeName);
+            return result instanceof List ? Optional.of((List<String>)result) : Optional.empty();
+        }
+
+        /** Returns the values or the error to cache. */
+        private Object read(String attributeName) {
+            try {
+                final List<String> result = factory.newInstance(projectFolder).getValues(attributeName);
+                return result == null ? new ArrayList<>() : result;
+            } catch (ValueStorageException e) {
+                return e;
+            } catch (RuntimeException e) {
+                LOG.warn("Can't read value of attribute '{}' of project '{}': {}", attributeName, projectPath, e.getMessage());
+                return new ValueStorageException(e.getMessage());
+            }
+        }
+
+        /** Schedules the refresh of the values, the refreshes requested until it is started are coalesced. */
+        synchronized void scheduleRefresh(String changedPath) {
+            if (refreshing || removed) {
+                return;
+            }
+            LOG.debug("'{}' is changed, refreshing values of project '{}' provided by {}", changedPath, projectPath, factory);
+            refreshing = true;
+            executor.execute(this::refresh);
+        }
+
+        private void refresh() {
+            final List<String> attributes;
+            synchronized (this) {
+                refreshing = false;
+                if (removed) {
+                    return;
+                }
+                attributes = new ArrayList<>(values.keySet());
+            }
+            // watchers are replaced since the folders of the dependencies might be created
+            final List<Integer> previous;
+            synchronized (this) {
+                previous = new ArrayList<>(watchers);
+                watchers.clear();
+            }
+            watch();
+            unwatch(previous);
+
+            final Map<String, Object> refreshed = new LinkedHashMap<>();
+            for (String attributeName : attributes) {
+                refreshed.put(attributeName, read(attributeName));
+            }
+            synchronized (this) {
+                values.putAll(refreshed);
+            }
+        }
+
+        private void watch() {
+            final File ioFolder = projectFolder.getVirtualFile().toIoFile();
+            final List<Integer> ids = new ArrayList<>();
+            for (String dependency : factory.getDependencies()) {
+                if (ioFolder == null || new File(ioFolder, dependency).getParentFile().isDirectory()) {
+                    final Consumer<String> onChange = this::scheduleRefresh;
+                    ids.add(watcherManager.registerByPath(projectPath + '/' + dependency, onChange, onChange, onChange));
+                } else {
+                    // the folder of the dependency is created later, e.g. by 'git init'
+                    final String missing = projectPath + '/' + dependency.split("/")[0];
+                    final Consumer<String> onChange = path -> {
+                        if (path.equals(missing)) {
+                            scheduleRefresh(path);
+                        }
+                    };
+                    ids.add(watcherManager.registerByPath(projectPath, onChange, onChange, onChange));
+                }
+            }
+            synchronized (this) {
+                if (removed) {
+                    unwatch(ids);
+                } else {
+                    watchers.addAll(ids);
+                }
+            }
+        }
+
+        void unwatch() {
+            final List<Integer> ids;
+            synchronized (this) {
+                removed = true;
+                ids = new ArrayList<>(watchers);
+                watchers.clear();
+            }
+            unwatch(ids);
+        }
+
+        private void unwatch(List<Integer> ids) {
+            for (Integer id : ids) {
+                watcherManager.unRegisterByPath(id);
+            }
+        }
+    }
+}
@@ -12,6 +12,9 @@ package org.eclipse.che.api.project.server.type;
 
 import org.eclipse.che.api.project.server.FolderEntry;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Factory for {@link ValueProvider}.
  *
@@ -25,4 +28,26 @@ public interface ValueProviderFactory {
      * @param projectFolder
      */
     ValueProvider newInstance(FolderEntry projectFolder);
+
+    /**
+     * Create new instance of {@link ValueProvider} to estimate the folder sources.
+     * The factories which look for the files anywhere in the folder should use the scan instead of walking through the folder.
+     *
+     * @param projectFolder
+     *         estimated folder
+     * @param scan
+     *         scan of the estimated folder
+     */
+    default ValueProvider newInstance(FolderEntry projectFolder, FolderScan scan) {
+        return newInstance(projectFolder);
+    }
+
+    /**
+     * Returns paths of the files the provided values depend on, relative to the project folder, e.g. 'pom.xml'.
+     * If the paths are declared the values are cached by {@link ProvidedValuesCache} and read again
+     * only when one of the files is changed, otherwise the values are read each time the project is initialized.
+     */
+    default List<String> getDependencies() {
+        return Collections.emptyList();
+    }
 }
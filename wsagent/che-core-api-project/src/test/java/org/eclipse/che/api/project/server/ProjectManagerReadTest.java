@@ -222,6 +222,14 @@ public class ProjectManagerReadTest extends WsAgentTestBase {
     @Test
     public void testResolveSources() throws Exception {
 
+        assertTrue(pm.resolveSources("/fromFolder", false).stream().noneMatch(resolution -> resolution.getType().equals("pt3")));
+
+        // estimations are reused until the folder is changed
+        new File(root, "/fromFolder/file1").createNewFile();
+
+        assertTrue(pm.resolveSources("/fromFolder", false).stream().anyMatch(resolution -> resolution.getType().equals("pt3")));
+        assertTrue(pm.resolveSources("/fromFolder", true).isEmpty());
+
     }
 
 
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ProvidedValuesCache}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ProvidedValuesCacheTest {
+    private static final String PROJECT   = "/project";
+    private static final String ATTRIBUTE = "attribute";
+
+    @Rule
+    public TemporaryFolder projectFolder = new TemporaryFolder();
+
+    @Mock
+    FileWatcherManager watcherManager;
+    @Mock
+    FolderEntry        folder;
+    @Mock
+    VirtualFile        virtualFile;
+
+    AtomicInteger       reads;
+    ProvidedValuesCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        reads = new AtomicInteger();
+        cache = new ProvidedValuesCache(watcherManager);
+
+        when(folder.getPath()).thenReturn(Path.of(PROJECT));
+        when(folder.getVirtualFile()).thenReturn(virtualFile);
+        when(virtualFile.toIoFile()).thenReturn(projectFolder.getRoot());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.shutdown();
+    }
+
+    @Test
+    public void shouldCacheValuesOnlyIfFactoryHasDependencies() throws Exception {
+        assertTrue(cache.isCached(new CountingFactory("pom.xml")));
+        assertFalse(cache.isCached(new CountingFactory()));
+    }
+
+    @Test
+    public void shouldReadValuesOnce() throws Exception {
+        CountingFactory factory = new CountingFactory("pom.xml");
+
+        assertEquals(Collections.singletonList("1"), cache.getValues(folder, ATTRIBUTE, factory));
+        assertEquals(Collections.singletonList("1"), cache.getValues(folder, ATTRIBUTE, factory));
+
+        assertEquals(1, reads.get());
+        verify(watcherManager).registerByPath(eq(PROJECT + "/pom.xml"), any(), any(), any());
+    }
+
+    @Test
+    public void shouldRefreshValuesWhenDependencyIsChanged() throws Exception {
+        CountingFactory factory = new CountingFactory("pom.xml");
+        ArgumentCaptor<Consumer> modify = ArgumentCaptor.forClass(Consumer.class);
+        cache.getValues(folder, ATTRIBUTE, factory);
+        verify(watcherManager).registerByPath(eq(PROJECT + "/pom.xml"), any(), modify.capture(), any());
+
+        modify.getValue().accept(PROJECT + "/pom.xml");
+
+        assertEquals(Collections.singletonList("2"), awaitValues("2", factory));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void shouldWatchProjectFolderIfFolderOfDependencyDoesNotExist() throws Exception {
+        CountingFactory factory = new CountingFactory(".git/HEAD");
+        ArgumentCaptor<Consumer> create = ArgumentCaptor.forClass(Consumer.class);
+        cache.getValues(folder, ATTRIBUTE, factory);
+        verify(watcherManager).registerByPath(eq(PROJECT), create.capture(), any(), any());
+
+        create.getValue().accept(PROJECT + "/README.md");
+        projectFolder.newFolder(".git");
+        create.getValue().accept(PROJECT + "/.git");
+
+        assertEquals(Collections.singletonList("2"), awaitValues("2", factory));
+        verify(watcherManager).registerByPath(eq(PROJECT + "/.git/HEAD"), any(), any(), any());
+    }
+
+    @Test
+    public void shouldCacheReadError() throws Exception {
+        CountingFactory factory = new CountingFactory("pom.xml") {
+            @Override
+            List<String> read() throws ValueStorageException {
+                super.read();
+                throw new ValueStorageException("error");
+            }
+        };
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.getValues(folder, ATTRIBUTE, factory);
+            } catch (ValueStorageException ignored) {
+            }
+        }
+
+        assertEquals(1, reads.get());
+        assertFalse(cache.getCachedValues(PROJECT, ATTRIBUTE, factory).isPresent());
+    }
+
+    @Test
+    public void shouldUnwatchDependenciesOfInvalidatedProjects() throws Exception {
+        when(watcherManager.registerByPath(any(), any(), any(), any())).thenReturn(1, 2);
+        CountingFactory factory = new CountingFactory("pom.xml", "build.gradle");
+        cache.getValues(folder, ATTRIBUTE, factory);
+
+        cache.invalidate("/");
+
+        assertEquals(0, cache.size());
+        verify(watcherManager).unRegisterByPath(1);
+        verify(watcherManager).unRegisterByPath(2);
+        verify(watcherManager, times(2)).unRegisterByPath(anyInt());
+    }
+
+    @Test
+    public void shouldNotInvalidateOtherProjects() throws Exception {
+        cache.getValues(folder, ATTRIBUTE, new CountingFactory("pom.xml"));
+
+        cache.invalidate("/proj");
+
+        assertEquals(1, cache.size());
+    }
+
+    private List<String> awaitValues(String expected, ValueProviderFactory factory) throws InterruptedException {
+        Optional<List<String>> values = Optional.empty();
+        for (int i = 0; i < 100; i++) {
+            values = cache.getCachedValues(PROJECT, ATTRIBUTE, factory);
+            if (values.isPresent() && values.get().contains(expected)) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return values.orElse(null);
+    }
+
+    private class CountingFactory implements ValueProviderFactory {
+        private final List<String> dependencies;
+
+        CountingFactory(String... dependencies) {
+            this.dependencies = Arrays.asList(dependencies);
+        }
+
+        List<String> read() throws ValueStorageException {
+            return Collections.singletonList(String.valueOf(reads.incrementAndGet()));
+        }
+
+        @Override
+        public ValueProvider newInstance(FolderEntry projectFolder) {
+            return new ReadonlyValueProvider() {
+                @Override
+                public List<String> getValues(String attributeName) throws ValueStorageException {
+                    return read();
+                }
+            };
+        }
+
+        @Override
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+    }
+}
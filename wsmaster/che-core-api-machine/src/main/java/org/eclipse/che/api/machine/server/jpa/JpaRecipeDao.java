@@ -23,6 +23,7 @@ import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
 import org.eclipse.che.api.machine.server.spi.RecipeDao;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheManager;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -35,9 +36,11 @@ import javax.persistence.criteria.Join;
 import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -54,11 +57,15 @@ public class JpaRecipeDao implements RecipeDao {
     @Inject
     private EventService eventService;
 
+    @Inject
+    private EntityCacheManager cacheManager;
+
     @Override
     public void create(RecipeImpl recipe) throws ConflictException, ServerException {
         requireNonNull(recipe);
         try {
             doCreate(recipe);
+            cacheManager.evict(RecipeImpl.class, recipe.getId());
         } catch (DuplicateKeyException ex) {
             throw new ConflictException(format("Recipe with id %s already exists", recipe.getId()));
         } catch (IntegrityConstraintViolationException ex) {
@@ -72,7 +79,9 @@ public class JpaRecipeDao implements RecipeDao {
     public RecipeImpl update(RecipeImpl update) throws NotFoundException, ServerException {
         requireNonNull(update);
         try {
-            return doUpdate(update);
+            final RecipeImpl updated = doUpdate(update);
+            cacheManager.evict(RecipeImpl.class, update.getId());
+            return updated;
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
@@ -83,6 +92,7 @@ public class JpaRecipeDao implements RecipeDao {
         requireNonNull(id);
         try {
             doRemove(id);
+            cacheManager.evict(RecipeImpl.class, id);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -94,8 +104,7 @@ public class JpaRecipeDao implements RecipeDao {
         requireNonNull(id);
 
         try {
-            final EntityManager manager = managerProvider.get();
-            final RecipeImpl recipe = manager.find(RecipeImpl.class, id);
+            final RecipeImpl recipe = cacheManager.find(RecipeImpl.class, id);
             if (recipe == null) {
                 throw new NotFoundException(format("Recipe with id '%s' doesn't exist", id));
             }
@@ -132,10 +141,18 @@ public class JpaRecipeDao implements RecipeDao {
             } else {
                 typedQuery = manager.createQuery(query.where(checkType));
             }
-            return typedQuery.setParameter("recipeType", type)
-                             .setFirstResult(skipCount)
-                             .setMaxResults(maxItems)
-                             .getResultList();
+            final List<?> queryKey = asList("Recipe.search",
+                                            tags == null ? null : new ArrayList<>(tags),
+                                            type,
+                                            skipCount,
+                                            maxItems);
+            return cacheManager.getResultList(RecipeImpl.class,
+                                              RecipeImpl::getId,
+                                              queryKey,
+                                              () -> typedQuery.setParameter("recipeType", type)
+                                                              .setFirstResult(skipCount)
+                                                              .setMaxResults(maxItems)
+                                                              .getResultList());
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.system.shared.dto;
+
+import org.eclipse.che.api.system.shared.event.EventType;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * See {@link EventType#SERVICE_ITEM_STATUS_CHANGED} for details.
+ */
+@DTO
+public interface SystemServiceItemStatusChangedEventDto extends SystemServiceEventDto {
+
+    /**
+     * Returns an item for which this event is published(like workspace id).
+     */
+    String getItem();
+
+    void setItem(String item);
+
+    SystemServiceItemStatusChangedEventDto withItem(String item);
+
+    /**
+     * Returns the new service specific status of the item(like SNAPSHOT_CREATING).
+     */
+    String getStatus();
+
+    void setStatus(String status);
+
+    SystemServiceItemStatusChangedEventDto withStatus(String status);
+
+    /**
+     * Returns the error message if the item status is changed due to error, otherwise returns null.
+     */
+    @Nullable
+    String getError();
+
+    void setError(String error);
+
+    SystemServiceItemStatusChangedEventDto withError(String error);
+}
@@ -27,11 +27,19 @@ public enum EventType {
      * This is the first event published for a certain service.
      *
      * <pre>
-     *     STOPPING_SERVICE -> (0..N)SERVICE_ITEM_STOPPED -> SERVICE_STOPPED
+     *     STOPPING_SERVICE -> (0..N)(SERVICE_ITEM_STATUS_CHANGED|SERVICE_ITEM_STOPPED) -> SERVICE_STOPPED
      * </pre>
      */
     STOPPING_SERVICE,
 
+    /**
+     * Published when service item which is being stopped changes its status,
+     * e.g. workspace snapshot is being created before the workspace is stopped.
+     * Events of such type are published between {@link #STOPPING_SERVICE}
+     * and {@link #SERVICE_ITEM_STOPPED} events of the same item.
+     */
+    SERVICE_ITEM_STATUS_CHANGED,
+
     /**
      * Published after service item is stopped.
      * Events of such type are published between {@link #STOPPING_SERVICE}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.system.shared.event.service;
+
+import org.eclipse.che.api.system.shared.event.EventType;
+import org.eclipse.che.commons.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * See {@link EventType#SERVICE_ITEM_STATUS_CHANGED} description.
+ */
+public class SystemServiceItemStatusChangedEvent extends SystemServiceEvent {
+
+    private final String item;
+    private final String status;
+
+    private String error;
+
+    public SystemServiceItemStatusChangedEvent(String serviceName, String item, String status) {
+        super(serviceName);
+        this.item = Objects.requireNonNull(item, "Item required");
+        this.status = Objects.requireNonNull(status, "Status required");
+    }
+
+    public SystemServiceItemStatusChangedEvent(String serviceName,
+                                               String item,
+                                               String status,
+                                               @Nullable String error) {
+        this(serviceName, item, status);
+        this.error = error;
+    }
+
+    @Override
+    public EventType getType() {
+        return EventType.SERVICE_ITEM_STATUS_CHANGED;
+    }
+
+    public String getItem() {
+        return item;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    @Nullable
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SystemServiceItemStatusChangedEvent)) {
+            return false;
+        }
+        final SystemServiceItemStatusChangedEvent that = (SystemServiceItemStatusChangedEvent)obj;
+        return super.equals(that)
+               && item.equals(that.item)
+               && status.equals(that.status)
+               && Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + super.hashCode();
+        hash = 31 * hash + item.hashCode();
+        hash = 31 * hash + status.hashCode();
+        hash = 31 * hash + Objects.hashCode(error);
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "SystemServiceItemStatusChangedEvent{" +
+               "item='" + item + '\'' +
+               ", status='" + status + '\'' +
+               ", error='" + error + '\'' +
+               ", eventType='" + getType() + '\'' +
+               ", service='" + getServiceName() +
+               "\'}";
+    }
+}
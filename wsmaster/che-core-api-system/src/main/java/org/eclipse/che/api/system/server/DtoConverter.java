@@ -12,11 +12,13 @@ package org.eclipse.che.api.system.server;
 
 import org.eclipse.che.api.system.shared.dto.SystemEventDto;
 import org.eclipse.che.api.system.shared.dto.SystemServiceEventDto;
+import org.eclipse.che.api.system.shared.dto.SystemServiceItemStatusChangedEventDto;
 import org.eclipse.che.api.system.shared.dto.SystemServiceItemStoppedEventDto;
 import org.eclipse.che.api.system.shared.dto.SystemStatusChangedEventDto;
 import org.eclipse.che.api.system.shared.event.SystemEvent;
 import org.eclipse.che.api.system.shared.event.SystemStatusChangedEvent;
 import org.eclipse.che.api.system.shared.event.service.SystemServiceEvent;
+import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStatusChangedEvent;
 import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStoppedEvent;
 import org.eclipse.che.dto.server.DtoFactory;
 
@@ -61,6 +63,19 @@ public final class DtoConverter {
         return dto;
     }
 
+    /**
+     * Creates {@link SystemServiceItemStatusChangedEventDto} from event.
+     */
+    public static SystemServiceItemStatusChangedEventDto asDto(SystemServiceItemStatusChangedEvent event) {
+        SystemServiceItemStatusChangedEventDto dto = DtoFactory.newDto(SystemServiceItemStatusChangedEventDto.class);
+        dto.setService(event.getServiceName());
+        dto.setType(event.getType());
+        dto.setItem(event.getItem());
+        dto.setStatus(event.getStatus());
+        dto.setError(event.getError());
+        return dto;
+    }
+
     /**
      * Converts given event to the corresponding DTO, if event type
      * is unknown throws {@link IllegalArgumentException}.
@@ -71,6 +86,8 @@ public final class DtoConverter {
                 return asDto((SystemStatusChangedEvent)event);
             case SERVICE_ITEM_STOPPED:
                 return asDto((SystemServiceItemStoppedEvent)event);
+            case SERVICE_ITEM_STATUS_CHANGED:
+                return asDto((SystemServiceItemStatusChangedEvent)event);
             case SERVICE_STOPPED:
             case STOPPING_SERVICE:
                 return asDto((SystemServiceEvent)event);
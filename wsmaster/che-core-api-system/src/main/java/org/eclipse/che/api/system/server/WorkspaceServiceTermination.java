@@ -13,6 +13,7 @@ package org.eclipse.che.api.system.server;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStatusChangedEvent;
 import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStoppedEvent;
 import org.eclipse.che.api.system.shared.event.service.SystemServiceStoppedEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -51,7 +52,8 @@ class WorkspaceServiceTermination implements ServiceTermination {
     }
 
     /**
-     * Propagates workspace stopped events as {@link SystemServiceStoppedEvent} events.
+     * Propagates workspace stopped events as {@link SystemServiceStoppedEvent} events,
+     * and the progress of workspaces stop as {@link SystemServiceItemStatusChangedEvent} events.
      */
     private class WorkspaceStoppedEventsPropagator implements EventSubscriber<WorkspaceStatusEvent> {
 
@@ -70,6 +72,20 @@ class WorkspaceServiceTermination implements ServiceTermination {
                                                                        event.getWorkspaceId(),
                                                                        currentlyStopped.incrementAndGet(),
                                                                        totalRunning));
+            } else if (event.getEventType() != null) {
+                switch (event.getEventType()) {
+                    case STOPPING:
+                    case SNAPSHOT_CREATING:
+                    case SNAPSHOT_CREATED:
+                    case SNAPSHOT_CREATION_ERROR:
+                        eventService.publish(new SystemServiceItemStatusChangedEvent(getServiceName(),
+                                                                                     event.getWorkspaceId(),
+                                                                                     event.getEventType().name(),
+                                                                                     event.getError()));
+                        break;
+                    default:
+                        // the rest of the events are not related to the workspace stop
+                }
             }
         }
     }
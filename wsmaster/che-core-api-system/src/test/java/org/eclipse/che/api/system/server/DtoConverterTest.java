@@ -11,11 +11,13 @@
 package org.eclipse.che.api.system.server;
 
 import org.eclipse.che.api.system.shared.dto.SystemServiceEventDto;
+import org.eclipse.che.api.system.shared.dto.SystemServiceItemStatusChangedEventDto;
 import org.eclipse.che.api.system.shared.dto.SystemServiceItemStoppedEventDto;
 import org.eclipse.che.api.system.shared.dto.SystemStatusChangedEventDto;
 import org.eclipse.che.api.system.shared.event.EventType;
 import org.eclipse.che.api.system.shared.event.SystemStatusChangedEvent;
 import org.eclipse.che.api.system.shared.event.service.StoppingSystemServiceEvent;
+import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStatusChangedEvent;
 import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStoppedEvent;
 import org.eclipse.che.api.system.shared.event.service.SystemServiceStoppedEvent;
 import org.testng.annotations.Test;
@@ -77,10 +79,27 @@ public class DtoConverterTest {
         assertEquals(dto.getTotal(), event.getTotal());
     }
 
+    @Test
+    public void convertsSystemServiceItemStatusChangedEvent() {
+        SystemServiceItemStatusChangedEvent event = new SystemServiceItemStatusChangedEvent("service1",
+                                                                                            "workspace1",
+                                                                                            "SNAPSHOT_CREATION_ERROR",
+                                                                                            "error");
+
+        SystemServiceItemStatusChangedEventDto dto = DtoConverter.asDto(event);
+
+        assertEquals(dto.getType(), EventType.SERVICE_ITEM_STATUS_CHANGED);
+        assertEquals(dto.getService(), event.getServiceName());
+        assertEquals(dto.getItem(), event.getItem());
+        assertEquals(dto.getStatus(), event.getStatus());
+        assertEquals(dto.getError(), event.getError());
+    }
+
     @Test
     public void allEventTypesAreHandled() {
         EnumSet<EventType> handled = EnumSet.of(EventType.STATUS_CHANGED,
                                                 EventType.STOPPING_SERVICE,
+                                                EventType.SERVICE_ITEM_STATUS_CHANGED,
                                                 EventType.SERVICE_ITEM_STOPPED,
                                                 EventType.SERVICE_STOPPED);
         assertEquals(handled, EnumSet.allOf(EventType.class));
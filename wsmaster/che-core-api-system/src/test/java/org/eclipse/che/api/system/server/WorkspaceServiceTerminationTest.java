@@ -15,9 +15,11 @@ import com.google.common.collect.ImmutableSet;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStatusChangedEvent;
 import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStoppedEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -85,6 +87,37 @@ public class WorkspaceServiceTerminationTest {
         verify(eventService).publish(new SystemServiceItemStoppedEvent("workspace", "id3", 3, 3));
     }
 
+    @Test
+    public void publishesWorkspaceStopProgressAsServiceItemStatusChangedEvents() throws Exception {
+        when(workspaceManager.getRunningWorkspacesIds()).thenReturn(ImmutableSet.of("id1", "id2"));
+        doAnswer(inv -> {
+            @SuppressWarnings("unchecked")
+            EventSubscriber<WorkspaceStatusEvent> subscriber = (EventSubscriber<WorkspaceStatusEvent>)inv.getArguments()[0];
+
+            // id1
+            subscriber.onEvent(newWorkspaceStatusEvent(WorkspaceStatus.SNAPSHOTTING, "id1")
+                                       .withEventType(EventType.SNAPSHOT_CREATING));
+            subscriber.onEvent(newWorkspaceStatusEvent(WorkspaceStatus.RUNNING, "id1")
+                                       .withEventType(EventType.SNAPSHOT_CREATED));
+            subscriber.onEvent(newWorkspaceStatusEvent(WorkspaceStatus.STOPPING, "id1")
+                                       .withEventType(EventType.STOPPING));
+
+            // id2
+            subscriber.onEvent(newWorkspaceStatusEvent(WorkspaceStatus.RUNNING, "id2")
+                                       .withEventType(EventType.SNAPSHOT_CREATION_ERROR)
+                                       .withError("no space left"));
+
+            return null;
+        }).when(eventService).subscribe(any());
+
+        termination.terminate();
+
+        verify(eventService).publish(new SystemServiceItemStatusChangedEvent("workspace", "id1", "SNAPSHOT_CREATING"));
+        verify(eventService).publish(new SystemServiceItemStatusChangedEvent("workspace", "id1", "SNAPSHOT_CREATED"));
+        verify(eventService).publish(new SystemServiceItemStatusChangedEvent("workspace", "id1", "STOPPING"));
+        verify(eventService).publish(new SystemServiceItemStatusChangedEvent("workspace", "id2", "SNAPSHOT_CREATION_ERROR", "no space left"));
+    }
+
     private static WorkspaceStatusEvent newWorkspaceStatusEvent(WorkspaceStatus status, String workspaceId) {
         return DtoFactory.newDto(WorkspaceStatusEvent.class)
                          .withStatus(status)
@@ -14,6 +14,7 @@ import com.google.inject.persist.Transactional;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheManager;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -37,6 +38,9 @@ public class JpaPreferenceDao implements PreferenceDao {
     @Inject
     private Provider<EntityManager> managerProvider;
 
+    @Inject
+    private EntityCacheManager cacheManager;
+
     @Override
     public void setPreferences(String userId, Map<String, String> preferences) throws ServerException {
         requireNonNull(userId);
@@ -47,6 +51,7 @@ public class JpaPreferenceDao implements PreferenceDao {
         } else {
             try {
                 doSetPreference(prefs);
+                cacheManager.evict(PreferenceEntity.class, userId);
             } catch (RuntimeException ex) {
                 throw new ServerException(ex.getLocalizedMessage(), ex);
             }
@@ -58,8 +63,7 @@ public class JpaPreferenceDao implements PreferenceDao {
     public Map<String, String> getPreferences(String userId) throws ServerException {
         requireNonNull(userId);
         try {
-            final EntityManager manager = managerProvider.get();
-            final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
+            final PreferenceEntity prefs = cacheManager.find(PreferenceEntity.class, userId);
             return prefs == null ? new HashMap<>()
                                  : prefs.getPreferences();
         } catch (RuntimeException ex) {
@@ -73,8 +77,7 @@ public class JpaPreferenceDao implements PreferenceDao {
         requireNonNull(userId);
         requireNonNull(filter);
         try {
-            final EntityManager manager = managerProvider.get();
-            final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
+            final PreferenceEntity prefs = cacheManager.find(PreferenceEntity.class, userId);
             if (prefs == null) {
                 return new HashMap<>();
             }
@@ -98,6 +101,7 @@ public class JpaPreferenceDao implements PreferenceDao {
         requireNonNull(userId);
         try {
             doRemove(userId);
+            cacheManager.evict(PreferenceEntity.class, userId);
         } catch (RuntimeException ex) {
             throw new ServerException(ex);
         }
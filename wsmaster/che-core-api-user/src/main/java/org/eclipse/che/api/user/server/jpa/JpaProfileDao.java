@@ -19,6 +19,7 @@ import org.eclipse.che.api.user.server.model.impl.ProfileImpl;
 import org.eclipse.che.api.user.server.spi.ProfileDao;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheManager;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -34,11 +35,15 @@ public class JpaProfileDao implements ProfileDao {
     @Inject
     private Provider<EntityManager> managerProvider;
 
+    @Inject
+    private EntityCacheManager cacheManager;
+
     @Override
     public void create(ProfileImpl profile) throws ServerException, ConflictException {
         requireNonNull(profile, "Required non-null profile");
         try {
             doCreate(profile);
+            cacheManager.evict(ProfileImpl.class, profile.getUserId());
         } catch (DuplicateKeyException x) {
             throw new ConflictException(format("Profile for user with id '%s' already exists", profile.getUserId()));
         } catch (IntegrityConstraintViolationException x) {
@@ -53,6 +58,7 @@ public class JpaProfileDao implements ProfileDao {
         requireNonNull(profile, "Required non-null profile");
         try {
             doUpdate(profile);
+            cacheManager.evict(ProfileImpl.class, profile.getUserId());
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -63,6 +69,7 @@ public class JpaProfileDao implements ProfileDao {
         requireNonNull(id, "Required non-null id");
         try {
             doRemove(id);
+            cacheManager.evict(ProfileImpl.class, id);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -73,12 +80,12 @@ public class JpaProfileDao implements ProfileDao {
     public ProfileImpl getById(String userId) throws NotFoundException, ServerException {
         requireNonNull(userId, "Required non-null id");
         try {
-            final EntityManager manager = managerProvider.get();
-            final ProfileImpl profile = manager.find(ProfileImpl.class, userId);
+            // profile is evicted from the cache on each modification, so there is no need to refresh it,
+            // when its cache is disabled the profile is always read from the database
+            final ProfileImpl profile = cacheManager.find(ProfileImpl.class, userId);
             if (profile == null) {
                 throw new NotFoundException(format("Couldn't find profile for user with id '%s'", userId));
             }
-            manager.refresh(profile);
             return profile;
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
@@ -45,6 +45,7 @@ public final class Constants {
     public static final String LINK_REL_DELETE_ICON = "delete icon link";
 
     public static final String LINK_REL_GET_WORKSPACE_EVENTS_CHANNEL = "get workspace events channel";
+    public static final String AGENT_LAUNCH_CHANNEL_TEMPLATE         = "workspace:%s:agents_launches";
 
     public static final String WS_AGENT_PROCESS_NAME = "CheWsAgent";
 
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Describes the result of launching of the agent in the workspace machine.
+ */
+@EventOrigin("workspace")
+@DTO
+public interface AgentLaunchEvent {
+
+    /** Defines event type for agent launch events. */
+    enum EventType {
+        LAUNCHED, ERROR
+    }
+
+    EventType getEventType();
+
+    void setEventType(EventType eventType);
+
+    AgentLaunchEvent withEventType(EventType eventType);
+
+    /** The id of the workspace to which the machine belongs to. */
+    String getWorkspaceId();
+
+    void setWorkspaceId(String workspaceId);
+
+    AgentLaunchEvent withWorkspaceId(String workspaceId);
+
+    String getMachineId();
+
+    void setMachineId(String machineId);
+
+    AgentLaunchEvent withMachineId(String machineId);
+
+    String getMachineName();
+
+    void setMachineName(String machineName);
+
+    AgentLaunchEvent withMachineName(String machineName);
+
+    String getAgentId();
+
+    void setAgentId(String agentId);
+
+    AgentLaunchEvent withAgentId(String agentId);
+
+    /** Returns the time in milliseconds when launching of the agent started. */
+    long getStartTime();
+
+    void setStartTime(long startTime);
+
+    AgentLaunchEvent withStartTime(long startTime);
+
+    /** Returns how long in milliseconds it took to launch the agent, or to fail launching it. */
+    long getDuration();
+
+    void setDuration(long duration);
+
+    AgentLaunchEvent withDuration(long duration);
+
+    /**
+     * Returns an error message value if and only if the type of this event is {@link EventType#ERROR}.
+     */
+    @Nullable
+    String getError();
+
+    void setError(String error);
+
+    AgentLaunchEvent withError(String error);
+}
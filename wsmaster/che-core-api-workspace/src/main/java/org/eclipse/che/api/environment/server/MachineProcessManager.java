@@ -21,11 +21,12 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.JsonRpcEndpointIdsHolder;
 import org.eclipse.che.api.core.util.JsonRpcLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.SegmentedFileLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.SegmentedLogReader;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -43,12 +44,18 @@ import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
@@ -221,24 +228,91 @@ public class MachineProcessManager {
      */
     public Reader getProcessLogReader(String machineId, int pid) throws NotFoundException, MachineException {
         final File processLogsFile = getProcessLogsFile(machineId, pid);
-        if (processLogsFile.isFile()) {
-            try {
+        try {
+            if (processLogsFile.isFile()) {
+                // logs written before logs segmentation was introduced
                 return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
-            } catch (IOException e) {
-                throw new MachineException(
-                        String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
             }
+            final SegmentedLogReader logReader = new SegmentedLogReader(processLogsFile);
+            if (logReader.exists()) {
+                return logReader.openReader();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
         }
         throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
     }
 
+    /**
+     * Gets lines of the process logs without reading the logs from the beginning.
+     *
+     * @param machineId
+     *         machine id whose process logs will be returned
+     * @param pid
+     *         process id
+     * @param fromLine
+     *         the number of the first line to return, lines are numbered from 0,
+     *         negative value means that the last {@code count} lines should be returned
+     * @param count
+     *         the maximum number of lines to return
+     * @return lines of the process logs
+     * @throws NotFoundException
+     *         if logs of the specified process are not available
+     * @throws MachineException
+     *         if other error occur
+     */
+    public List<String> getProcessLogLines(String machineId, int pid, long fromLine, int count) throws NotFoundException,
+                                                                                                      MachineException {
+        final File processLogsFile = getProcessLogsFile(machineId, pid);
+        try {
+            if (processLogsFile.isFile()) {
+                // logs written before logs segmentation was introduced
+                return readLogLines(processLogsFile, fromLine, count);
+            }
+            final SegmentedLogReader logReader = new SegmentedLogReader(processLogsFile);
+            if (logReader.exists()) {
+                return fromLine < 0 ? logReader.tail(count) : logReader.readLines(fromLine, count);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+        throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+    }
+
+    /** Reads lines of the log file which is not segmented, the file is read from the beginning. */
+    private static List<String> readLogLines(File logFile, long fromLine, int count) throws IOException {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+        try (Stream<String> lines = Files.lines(logFile.toPath(), Charset.defaultCharset())) {
+            if (fromLine >= 0) {
+                return lines.skip(fromLine).limit(count).collect(Collectors.toList());
+            }
+            final Deque<String> tail = new ArrayDeque<>(count);
+            lines.forEach(line -> {
+                if (tail.size() == count) {
+                    tail.removeFirst();
+                }
+                tail.addLast(line);
+            });
+            return new ArrayList<>(tail);
+        }
+    }
+
     private File getProcessLogsFile(String machineId, int pid) {
         return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
     }
 
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+    private SegmentedFileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            final File processLogsDir = getProcessLogsFile(machineId, pid);
+            if (processLogsDir.isFile()) {
+                // logs of the process with the same pid, written before logs segmentation was introduced
+                Files.delete(processLogsDir.toPath());
+            }
+            return new SegmentedFileLineConsumer(processLogsDir);
         } catch (IOException e) {
             throw new MachineException(
                     String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server;
+
+import com.google.common.io.CharStreams;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.Service;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+/**
+ * Provides access to the logs of the machine processes.
+ */
+@Api(value = "/machine", description = "Machine REST API")
+@Path("/machine")
+public class MachineService extends Service {
+
+    /** The number of lines returned when only the first line is requested. */
+    static final int DEFAULT_LOG_LINES_COUNT = 1000;
+
+    private final MachineProcessManager processManager;
+
+    @Inject
+    public MachineService(MachineProcessManager processManager) {
+        this.processManager = processManager;
+    }
+
+    @GET
+    @Path("/{machineId}/process/{pid}/logs")
+    @Produces(TEXT_PLAIN)
+    @ApiOperation(value = "Get logs of the machine process",
+                  notes = "Whole logs are returned if neither 'fromLine' nor 'count' is specified, " +
+                          "the last 'count' lines are returned if only 'count' is specified")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains the logs"),
+                   @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+                   @ApiResponse(code = 404, message = "The logs of the process are not available"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public Response getProcessLogs(@ApiParam("The machine id")
+                                   @PathParam("machineId")
+                                   String machineId,
+                                   @ApiParam("The process id")
+                                   @PathParam("pid")
+                                   int pid,
+                                   @ApiParam("The number of the first line to return, lines are numbered from 0")
+                                   @QueryParam("fromLine")
+                                   Long fromLine,
+                                   @ApiParam("The maximum number of lines to return")
+                                   @QueryParam("count")
+                                   Integer count) throws NotFoundException,
+                                                         ServerException,
+                                                         BadRequestException {
+        if (fromLine == null && count == null) {
+            final Reader reader = processManager.getProcessLogReader(machineId, pid);
+            return Response.ok((StreamingOutput)output -> {
+                try (Reader logReader = reader) {
+                    final Writer writer = new OutputStreamWriter(output, Charset.defaultCharset());
+                    CharStreams.copy(logReader, writer);
+                    writer.flush();
+                }
+            }).build();
+        }
+        if (fromLine != null && fromLine < 0) {
+            throw new BadRequestException("The number of the first line must not be negative");
+        }
+        if (count != null && count <= 0) {
+            throw new BadRequestException("The number of lines must be positive");
+        }
+        final List<String> lines = processManager.getProcessLogLines(machineId,
+                                                                     pid,
+                                                                     fromLine == null ? -1 : fromLine,
+                                                                     count == null ? DEFAULT_LOG_LINES_COUNT : count);
+        final StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        return Response.ok(text.toString()).build();
+    }
+}
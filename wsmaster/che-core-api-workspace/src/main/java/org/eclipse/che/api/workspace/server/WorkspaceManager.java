@@ -34,6 +34,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -50,6 +51,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Throwables.getCausalChain;
@@ -57,6 +61,10 @@ import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.Objects.requireNonNull;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
@@ -92,6 +100,8 @@ public class WorkspaceManager {
     private final EventService        eventService;
     private final boolean             defaultAutoSnapshot;
     private final boolean             defaultAutoRestore;
+    private final int                 shutdownParallelism;
+    private final long                shutdownTimeoutSec;
 
     @Inject
     public WorkspaceManager(WorkspaceDao workspaceDao,
@@ -101,7 +111,12 @@ public class WorkspaceManager {
                             @Named("che.workspace.auto_snapshot") boolean defaultAutoSnapshot,
                             @Named("che.workspace.auto_restore") boolean defaultAutoRestore,
                             SnapshotDao snapshotDao,
-                            WorkspaceSharedPool sharedPool) {
+                            WorkspaceSharedPool sharedPool,
+                            @Named("che.workspace.shutdown.parallelism") int shutdownParallelism,
+                            @Named("che.workspace.shutdown.timeout_sec") long shutdownTimeoutSec) {
+        if (shutdownParallelism < 1 || shutdownTimeoutSec < 1) {
+            throw new IllegalArgumentException("Workspaces shutdown parallelism and timeout must be positive");
+        }
         this.workspaceDao = workspaceDao;
         this.snapshotDao = snapshotDao;
         this.runtimes = workspaceRegistry;
@@ -110,6 +125,8 @@ public class WorkspaceManager {
         this.defaultAutoSnapshot = defaultAutoSnapshot;
         this.defaultAutoRestore = defaultAutoRestore;
         this.sharedPool = sharedPool;
+        this.shutdownParallelism = shutdownParallelism;
+        this.shutdownTimeoutSec = shutdownTimeoutSec;
     }
 
     /**
@@ -317,6 +334,48 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets summaries of workspaces which user can read.
+     *
+     * <p>Workspace configurations are not fetched, so this method is much cheaper
+     * than {@link #getWorkspaces(String, boolean)} and should be preferred for listings.
+     * Returned summaries have either {@link WorkspaceStatus#STOPPED} status
+     * or status defined by their runtime instances(if those exist).
+     *
+     * @param user
+     *         the id of the user
+     * @return the list of workspace summaries or empty list if user can't read any workspace
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws ServerException
+     *         when any server error occurs while getting summaries with {@link WorkspaceDao#getSummaries(String)}
+     */
+    public List<WorkspaceSummaryImpl> getWorkspaceSummaries(String user) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final List<WorkspaceSummaryImpl> summaries = workspaceDao.getSummaries(user);
+        injectStatus(summaries);
+        return summaries;
+    }
+
+    /**
+     * Gets summaries of workspaces which have given namespace.
+     *
+     * @param namespace
+     *         the namespace to find workspaces
+     * @return the list of workspace summaries or empty list if no matches
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws ServerException
+     *         when any server error occurs while getting summaries with {@link WorkspaceDao#getSummariesByNamespace(String)}
+     * @see #getWorkspaceSummaries(String)
+     */
+    public List<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        final List<WorkspaceSummaryImpl> summaries = workspaceDao.getSummariesByNamespace(namespace);
+        injectStatus(summaries);
+        return summaries;
+    }
+
     /**
      * Updates an existing workspace with a new configuration.
      *
@@ -670,6 +729,10 @@ public class WorkspaceManager {
      * Shuts down workspace service and waits for it to finish, so currently
      * starting and running workspaces are stopped and it becomes unavailable to start new workspaces.
      *
+     * <p>The shutdown timeout is a deadline for the whole shutdown. Workspaces are stopped normally
+     * (snapshotting them before if needed) during the first three quarters of the timeout,
+     * workspaces which are not stopped by that time are terminated in the rest of it.
+     *
      * @throws InterruptedException
      *         if it's interrupted while waiting for running workspaces to stop
      * @throws IllegalStateException
@@ -679,8 +742,10 @@ public class WorkspaceManager {
         if (!runtimes.refuseWorkspacesStart()) {
             throw new IllegalStateException("Workspace service shutdown has been already called");
         }
-        stopRunningWorkspacesNormally();
-        runtimes.shutdown();
+        final long timeoutMs = SECONDS.toMillis(shutdownTimeoutSec);
+        final long deadline = currentTimeMillis() + timeoutMs;
+        stopRunningWorkspacesNormally(deadline - timeoutMs / 4, deadline);
+        runtimes.shutdown(Math.max(0, deadline - currentTimeMillis()));
         sharedPool.shutdown();
     }
 
@@ -694,9 +759,18 @@ public class WorkspaceManager {
     /**
      * Stops all the running and starting workspaces - snapshotting them before if needed.
      * Workspace stop operations executed asynchronously while the method waits
-     * for async task to finish.
+     * for async task to finish or for the normal stop deadline to be reached.
+     *
+     * <p>At most {@code shutdownParallelism} workspaces are stopped at the same time.
+     * Workspaces which are snapshotted before stop go first, the most recently active ones
+     * at the head of the line, so if the deadline is reached it's the least active
+     * workspaces which are terminated without snapshot.
+     *
+     * <p>Workspaces which are not being stopped by the normal stop deadline are left for
+     * the termination, while the ones which are being stopped are awaited until the shutdown
+     * deadline, so they are never terminated concurrently with their normal stop.
      */
-    private void stopRunningWorkspacesNormally() throws InterruptedException {
+    private void stopRunningWorkspacesNormally(long normalStopDeadline, long deadline) throws InterruptedException {
         if (runtimes.isAnyRunning()) {
 
             // getting all the running or starting workspaces
@@ -717,12 +791,27 @@ public class WorkspaceManager {
                 }
             }
 
+            runningOrStarting.sort(comparing((WorkspaceImpl ws) -> !isSnapshotBeforeStop(ws, null))
+                                           .thenComparing(comparingLong(WorkspaceManager::getLastActivityTime).reversed()));
+
             // stopping them asynchronously
+            AtomicBoolean timedOut = new AtomicBoolean();
+            Semaphore permits = new Semaphore(shutdownParallelism);
             CountDownLatch stopLatch = new CountDownLatch(runningOrStarting.size());
             for (WorkspaceImpl workspace : runningOrStarting) {
+                if (timedOut.get() || !permits.tryAcquire(normalStopDeadline - currentTimeMillis(), MILLISECONDS)) {
+                    // left for the termination
+                    timedOut.set(true);
+                    stopLatch.countDown();
+                    continue;
+                }
                 try {
-                    stopAsync(workspace, null).whenComplete((res, ex) -> stopLatch.countDown());
+                    stopAsync(workspace, null, timedOut::get).whenComplete((res, ex) -> {
+                        permits.release();
+                        stopLatch.countDown();
+                    });
                 } catch (Exception x) {
+                    permits.release();
                     stopLatch.countDown();
                     if (runtimes.hasRuntime(workspace.getId())) {
                         LOG.warn("Couldn't stop the workspace '{}' normally, due to error: {}", workspace.getId(), x.getMessage());
@@ -731,7 +820,29 @@ public class WorkspaceManager {
             }
 
             // wait for stopping workspaces to complete
-            stopLatch.await();
+            if (!stopLatch.await(normalStopDeadline - currentTimeMillis(), MILLISECONDS)) {
+                // stops which are not started yet are skipped, the ones in progress are awaited
+                timedOut.set(true);
+                LOG.warn("Workspaces are not stopped normally in time, workspaces left to stop: '{}'. " +
+                         "The ones which are not being stopped will be terminated",
+                         stopLatch.getCount());
+                if (!stopLatch.await(deadline - currentTimeMillis(), MILLISECONDS)) {
+                    LOG.error("Workspaces are still being stopped after '{}' seconds of shutdown, workspaces left to stop: '{}'",
+                              shutdownTimeoutSec,
+                              stopLatch.getCount());
+                }
+            }
+        }
+    }
+
+    /** Returns the time of the latest workspace update(e.g. start), or its creation time. */
+    private static long getLastActivityTime(WorkspaceImpl workspace) {
+        final String time = firstNonNull(workspace.getAttributes().get(UPDATED_ATTRIBUTE_NAME),
+                                         firstNonNull(workspace.getAttributes().get(CREATED_ATTRIBUTE_NAME), "0"));
+        try {
+            return Long.parseLong(time);
+        } catch (NumberFormatException x) {
+            return 0;
         }
     }
 
@@ -787,11 +898,24 @@ public class WorkspaceManager {
                                               @Nullable Boolean createSnapshot) throws ConflictException,
                                                                                        NotFoundException,
                                                                                        ServerException {
+        return stopAsync(workspace, createSnapshot, () -> false);
+    }
+
+    /** Asynchronously stops the workspace unless the stop is cancelled before it is started. */
+    private CompletableFuture<Void> stopAsync(WorkspaceImpl workspace,
+                                              @Nullable Boolean createSnapshot,
+                                              BooleanSupplier isCancelled) throws ConflictException,
+                                                                                  NotFoundException,
+                                                                                  ServerException {
         if (!workspace.isTemporary()) {
             workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
             workspaceDao.update(workspace);
         }
         return sharedPool.runAsync(() -> {
+            if (isCancelled.getAsBoolean()) {
+                LOG.warn("Stop of the workspace '{}' is cancelled", workspace.getId());
+                return;
+            }
             final String stoppedBy = sessionUserNameOr(workspace.getAttributes().get(WORKSPACE_STOPPED_BY));
             LOG.info("Workspace '{}/{}' with id '{}' is being stopped by user '{}'",
                      workspace.getNamespace(),
@@ -799,18 +923,7 @@ public class WorkspaceManager {
                      workspace.getId(),
                      firstNonNull(stoppedBy, "undefined"));
 
-            final boolean snapshotBeforeStop;
-            if (workspace.isTemporary() || workspace.getStatus() == WorkspaceStatus.STARTING) {
-                snapshotBeforeStop = false;
-            } else if (createSnapshot != null) {
-                snapshotBeforeStop = createSnapshot;
-            } else if (workspace.getAttributes().containsKey(AUTO_CREATE_SNAPSHOT)) {
-                snapshotBeforeStop = parseBoolean(workspace.getAttributes().get(AUTO_CREATE_SNAPSHOT));
-            } else {
-                snapshotBeforeStop = defaultAutoSnapshot;
-            }
-
-            if (snapshotBeforeStop) {
+            if (isSnapshotBeforeStop(workspace, createSnapshot)) {
                 try {
                     runtimes.snapshot(workspace.getId());
                 } catch (ConflictException | NotFoundException | ServerException x) {
@@ -839,6 +952,19 @@ public class WorkspaceManager {
         });
     }
 
+    private boolean isSnapshotBeforeStop(WorkspaceImpl workspace, @Nullable Boolean createSnapshot) {
+        if (workspace.isTemporary() || workspace.getStatus() == WorkspaceStatus.STARTING) {
+            return false;
+        }
+        if (createSnapshot != null) {
+            return createSnapshot;
+        }
+        if (workspace.getAttributes().containsKey(AUTO_CREATE_SNAPSHOT)) {
+            return parseBoolean(workspace.getAttributes().get(AUTO_CREATE_SNAPSHOT));
+        }
+        return defaultAutoSnapshot;
+    }
+
     private void startAsync(MachineConfig machineConfig, String workspaceId) {
         sharedPool.execute(() -> {
             try {
@@ -943,6 +1069,13 @@ public class WorkspaceManager {
         }
     }
 
+    /** Sets the status defined by the runtime to each of the given summaries. */
+    private void injectStatus(List<WorkspaceSummaryImpl> summaries) {
+        for (WorkspaceSummaryImpl summary : summaries) {
+            summary.setStatus(runtimes.getStatus(summary.getId()));
+        }
+    }
+
     /** Adds attributes that are not originally stored in workspace but should be published. */
     private void addExtraAttributes(WorkspaceImpl workspace) throws SnapshotException {
         // snapshotted_at
@@ -44,30 +44,37 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.AgentLaunchEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -116,6 +123,9 @@ public class WorkspaceRuntimes {
     private final AgentRegistry                       agentRegistry;
     private final SnapshotDao                         snapshotDao;
     private final WorkspaceSharedPool                 sharedPool;
+    private final ExecutorService                     agentsLauncherPool;
+    private final int                                 agentsLaunchParallelism;
+    private final int                                 shutdownParallelism;
 
     private final AtomicBoolean         isShutdown            = new AtomicBoolean(false);
     private final AtomicBoolean         isStartRefused        = new AtomicBoolean(false);
@@ -128,7 +138,9 @@ public class WorkspaceRuntimes {
                              AgentLauncherFactory launcherFactory,
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
-                             WorkspaceSharedPool sharedPool) {
+                             WorkspaceSharedPool sharedPool,
+                             @Named("che.workspace.agent.launch_parallelism") int agentsLaunchParallelism,
+                             @Named("che.workspace.shutdown.parallelism") int shutdownParallelism) {
         this(eventsService,
              envEngine,
              agentSorter,
@@ -136,6 +148,8 @@ public class WorkspaceRuntimes {
              agentRegistry,
              snapshotDao,
              sharedPool,
+             agentsLaunchParallelism,
+             shutdownParallelism,
              new ConcurrentHashMap<>());
     }
 
@@ -146,6 +160,8 @@ public class WorkspaceRuntimes {
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
                              WorkspaceSharedPool sharedPool,
+                             int agentsLaunchParallelism,
+                             int shutdownParallelism,
                              ConcurrentMap<String, RuntimeState> states) {
         this.eventsService = eventsService;
         this.envEngine = envEngine;
@@ -157,6 +173,11 @@ public class WorkspaceRuntimes {
         this.locks = new StripedLocks(16);
         this.sharedPool = sharedPool;
         this.states = states;
+        this.agentsLaunchParallelism = agentsLaunchParallelism;
+        this.shutdownParallelism = shutdownParallelism;
+        this.agentsLauncherPool = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentsLauncher-%d")
+                                                                                          .setDaemon(true)
+                                                                                          .build());
     }
 
     /**
@@ -610,10 +631,13 @@ public class WorkspaceRuntimes {
      * or to be stopped directly, all the running workspaces are going to be stopped,
      * all the starting tasks will be eventually interrupted.
      *
+     * @param timeoutMs
+     *         the maximum time to wait for the running environments to stop,
+     *         environments which are not stopped by that time are interrupted
      * @throws IllegalStateException
      *         if component shutdown is already called
      */
-    public void shutdown() throws InterruptedException {
+    public void shutdown(long timeoutMs) throws InterruptedException {
         if (!isShutdown.compareAndSet(false, true)) {
             throw new IllegalStateException("Workspace runtimes service shutdown has been already called");
         }
@@ -631,7 +655,7 @@ public class WorkspaceRuntimes {
         if (!idsToStop.isEmpty()) {
             LOG.info("Shutdown running environments, environments to stop: '{}'", idsToStop.size());
             ExecutorService executor =
-                    Executors.newFixedThreadPool(2 * Runtime.getRuntime().availableProcessors(),
+                    Executors.newFixedThreadPool(Math.min(shutdownParallelism, idsToStop.size()),
                                                  new ThreadFactoryBuilder().setNameFormat("StopEnvironmentsPool-%d")
                                                                            .setDaemon(false)
                                                                            .build());
@@ -649,17 +673,18 @@ public class WorkspaceRuntimes {
 
             executor.shutdown();
             try {
-                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                if (!executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    LOG.error("Environments are not stopped in '{}' ms, stopping of the rest of them is interrupted", timeoutMs);
                     executor.shutdownNow();
-                    if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
-                        LOG.error("Unable to stop runtimes termination pool");
-                    }
                 }
             } catch (InterruptedException e) {
                 executor.shutdownNow();
                 Thread.currentThread().interrupt();
             }
         }
+
+        // environments are stopped, so launching agents is pointless
+        agentsLauncherPool.shutdownNow();
     }
 
     private void checkIsNotTerminated(String operation) throws ServerException {
@@ -686,17 +711,109 @@ public class WorkspaceRuntimes {
         return state;
     }
 
+    /**
+     * Launches agents of the machine respecting dependencies between them.
+     *
+     * <p>Agents are launched layer by layer as defined by {@link AgentSorter#sortInLayers(List)},
+     * the agents of the same layer don't depend on each other so they are launched concurrently,
+     * but no more than {@code che.workspace.agent.launch_parallelism} agents at the same time.
+     * Launching of the next layer starts when all the agents of the current layer are launched.
+     * The result of each agent launch is published as {@link AgentLaunchEvent}.
+     */
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException, AgentException {
-        for (AgentKey agentKey : agentSorter.sort(agents)) {
-            if (!Thread.currentThread().isInterrupted()) {
-                LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-                Agent agent = agentRegistry.getAgent(agentKey);
-                AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-                launcher.launch(instance, agent);
+        for (List<AgentKey> layer : agentSorter.sortInLayers(agents)) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (layer.size() == 1 || agentsLaunchParallelism <= 1) {
+                for (AgentKey agentKey : layer) {
+                    if (!Thread.currentThread().isInterrupted()) {
+                        launchAgent(instance, agentKey);
+                    }
+                }
+            } else {
+                launchAgentsConcurrently(instance, layer);
             }
         }
     }
 
+    private void launchAgentsConcurrently(Instance instance, List<AgentKey> agentKeys) throws ServerException,
+                                                                                             AgentException {
+        CompletionService<AgentKey> completionService = new ExecutorCompletionService<>(agentsLauncherPool);
+        List<Future<AgentKey>> futures = new ArrayList<>(agentKeys.size());
+        Iterator<AgentKey> it = agentKeys.iterator();
+        try {
+            while (futures.size() < agentsLaunchParallelism && it.hasNext()) {
+                futures.add(submitLaunch(completionService, instance, it.next()));
+            }
+            for (int launched = 0; launched < agentKeys.size(); launched++) {
+                completionService.take().get();
+                if (it.hasNext()) {
+                    futures.add(submitLaunch(completionService, instance, it.next()));
+                }
+            }
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException x) {
+            Throwable cause = x.getCause();
+            if (cause instanceof AgentException) {
+                throw (AgentException)cause;
+            } else if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            } else {
+                throw new ServerException(cause.getMessage(), cause);
+            }
+        } finally {
+            // either all the agents are launched or launch is interrupted or failed,
+            // in the last two cases the rest of the agents must not be launched
+            for (Future<AgentKey> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private Future<AgentKey> submitLaunch(CompletionService<AgentKey> completionService,
+                                          Instance instance,
+                                          AgentKey agentKey) {
+        return completionService.submit(ThreadLocalPropagateContext.wrap(() -> {
+            launchAgent(instance, agentKey);
+            return agentKey;
+        }));
+    }
+
+    private void launchAgent(Instance instance, AgentKey agentKey) throws ServerException, AgentException {
+        LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
+        Agent agent = agentRegistry.getAgent(agentKey);
+        AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
+        long startTime = System.currentTimeMillis();
+        try {
+            launcher.launch(instance, agent);
+        } catch (ServerException | AgentException | RuntimeException x) {
+            publishAgentLaunchEvent(instance, agentKey, startTime, x.getMessage());
+            throw x;
+        }
+        publishAgentLaunchEvent(instance, agentKey, startTime, null);
+    }
+
+    private void publishAgentLaunchEvent(Instance instance, AgentKey agentKey, long startTime, String error) {
+        long duration = System.currentTimeMillis() - startTime;
+        LOG.info("Launching of '{}' agent at workspace {} {} in {}ms",
+                 agentKey.getId(),
+                 instance.getWorkspaceId(),
+                 error == null ? "finished" : "failed",
+                 duration);
+        eventsService.publish(DtoFactory.newDto(AgentLaunchEvent.class)
+                                        .withEventType(error == null ? AgentLaunchEvent.EventType.LAUNCHED
+                                                                     : AgentLaunchEvent.EventType.ERROR)
+                                        .withWorkspaceId(instance.getWorkspaceId())
+                                        .withMachineId(instance.getId())
+                                        .withMachineName(instance.getConfig().getName())
+                                        .withAgentId(agentKey.getId())
+                                        .withStartTime(startTime)
+                                        .withDuration(duration)
+                                        .withError(error));
+    }
+
     /**
      * Starts the environment publishing all the necessary events.
      * Respects task interruption & stops the workspace if starting task is cancelled.
@@ -37,11 +37,13 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -246,6 +248,35 @@ public class WorkspaceService extends Service {
                                .collect(toList());
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of the workspaces",
+                  notes = "Summaries contain neither workspace configuration nor runtime, " +
+                          "so this operation is much cheaper than getting workspaces. " +
+                          "If namespace is not specified summaries of workspaces which user can read are returned",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")})
+    public List<WorkspaceSummaryDto> getSummaries(@ApiParam("Workspace status")
+                                                  @QueryParam("status")
+                                                  String status,
+                                                  @ApiParam("The namespace")
+                                                  @QueryParam("namespace")
+                                                  String namespace) throws ServerException {
+        final List<WorkspaceSummaryImpl> summaries;
+        if (namespace == null) {
+            summaries = workspaceManager.getWorkspaceSummaries(EnvironmentContext.getCurrent().getSubject().getUserId());
+        } else {
+            summaries = workspaceManager.getSummariesByNamespace(namespace);
+        }
+        return summaries.stream()
+                        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+                        .map(DtoConverter::asDto)
+                        .collect(toList());
+    }
+
     @PUT
     @Path("/{id}")
     @Consumes(APPLICATION_JSON)
@@ -24,16 +24,19 @@ import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheManager;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -50,11 +53,15 @@ public class JpaStackDao implements StackDao {
     @Inject
     private EventService eventService;
 
+    @Inject
+    private EntityCacheManager cacheManager;
+
     @Override
     public void create(StackImpl stack) throws ConflictException, ServerException {
         requireNonNull(stack, "Required non-null stack");
         try {
             doCreate(stack);
+            cacheManager.evict(StackImpl.class, stack.getId());
         } catch (DuplicateKeyException x) {
             throw new ConflictException(format("Stack with id '%s' or name '%s' already exists", stack.getId(), stack.getName()));
         } catch (RuntimeException x) {
@@ -67,7 +74,7 @@ public class JpaStackDao implements StackDao {
     public StackImpl getById(String id) throws NotFoundException, ServerException {
         requireNonNull(id, "Required non-null id");
         try {
-            final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
+            final StackImpl stack = cacheManager.find(StackImpl.class, id);
             if (stack == null) {
                 throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
             }
@@ -82,6 +89,7 @@ public class JpaStackDao implements StackDao {
         requireNonNull(id, "Required non-null id");
         try {
             doRemove(id);
+            cacheManager.evict(StackImpl.class, id);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -91,7 +99,9 @@ public class JpaStackDao implements StackDao {
     public StackImpl update(StackImpl update) throws NotFoundException, ServerException, ConflictException {
         requireNonNull(update, "Required non-null update");
         try {
-            return new StackImpl(doUpdate(update));
+            final StackImpl updated = new StackImpl(doUpdate(update));
+            cacheManager.evict(StackImpl.class, update.getId());
+            return updated;
         } catch (DuplicateKeyException x) {
             throw new ConflictException(format("Stack with name '%s' already exists", update.getName()));
         } catch (RuntimeException x) {
@@ -106,21 +116,27 @@ public class JpaStackDao implements StackDao {
                                         int skipCount,
                                         int maxItems) throws ServerException {
         final TypedQuery<StackImpl> query;
+        final List<?> queryKey;
         if (tags == null || tags.isEmpty()) {
             query = managerProvider.get().createNamedQuery("Stack.getAll", StackImpl.class);
+            queryKey = asList("Stack.getAll", skipCount, maxItems);
         } else {
             query = managerProvider.get()
                                    .createNamedQuery("Stack.getByTags", StackImpl.class)
                                    .setParameter("tags", tags)
                                    .setParameter("tagsSize", tags.size());
+            queryKey = asList("Stack.getByTags", new ArrayList<>(tags), skipCount, maxItems);
         }
         try {
-            return query.setMaxResults(maxItems)
-                        .setFirstResult(skipCount)
-                        .getResultList()
-                        .stream()
-                        .map(StackImpl::new)
-                        .collect(Collectors.toList());
+            return cacheManager.getResultList(StackImpl.class,
+                                              StackImpl::getId,
+                                              queryKey,
+                                              () -> query.setMaxResults(maxItems)
+                                                         .setFirstResult(skipCount)
+                                                         .getResultList())
+                               .stream()
+                               .map(StackImpl::new)
+                               .collect(Collectors.toList());
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
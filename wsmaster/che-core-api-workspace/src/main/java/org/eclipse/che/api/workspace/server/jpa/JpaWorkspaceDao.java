@@ -22,6 +22,7 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -33,7 +34,9 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -163,6 +166,37 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public List<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        try {
+            final EntityManager manager = managerProvider.get();
+            return withAttributes(manager.createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummaryImpl.class)
+                                         .setParameter("namespace", namespace)
+                                         .getResultList(),
+                                  manager.createNamedQuery("Workspace.getAttributesByNamespace", Object[].class)
+                                         .setParameter("namespace", namespace)
+                                         .getResultList());
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<WorkspaceSummaryImpl> getSummaries(String userId) throws ServerException {
+        try {
+            final EntityManager manager = managerProvider.get();
+            return withAttributes(manager.createNamedQuery("Workspace.getAllSummaries", WorkspaceSummaryImpl.class)
+                                         .getResultList(),
+                                  manager.createNamedQuery("Workspace.getAllAttributes", Object[].class)
+                                         .getResultList());
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     @Transactional
     public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException {
@@ -183,6 +217,30 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    /**
+     * Fills summaries with attributes, so workspace summaries and their attributes
+     * are fetched with 2 queries regardless of the number of workspaces.
+     *
+     * @param summaries
+     *         summaries fetched by constructor expression
+     * @param attributes
+     *         rows of (workspace id, attribute name, attribute value)
+     */
+    private static List<WorkspaceSummaryImpl> withAttributes(List<WorkspaceSummaryImpl> summaries,
+                                                             List<Object[]> attributes) {
+        final Map<String, WorkspaceSummaryImpl> byId = new LinkedHashMap<>();
+        for (WorkspaceSummaryImpl summary : summaries) {
+            byId.put(summary.getId(), summary);
+        }
+        for (Object[] row : attributes) {
+            final WorkspaceSummaryImpl summary = byId.get((String)row[0]);
+            if (summary != null) {
+                summary.getAttributes().put((String)row[1], (String)row[2]);
+            }
+        }
+        return summaries;
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
@@ -61,7 +61,23 @@ import java.util.Objects;
                 @NamedQuery(name = "Workspace.getAll",
                             query = "SELECT w FROM Workspace w"),
                 @NamedQuery(name = "Workspace.getByTemporary",
-                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary")
+                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"),
+                @NamedQuery(name = "Workspace.getSummariesByNamespace",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(" +
+                                    "w.id, w.name, w.account.name, w.isTemporary) " +
+                                    "FROM Workspace w " +
+                                    "WHERE w.account.name = :namespace"),
+                @NamedQuery(name = "Workspace.getAllSummaries",
+                            query = "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl(" +
+                                    "w.id, w.name, w.account.name, w.isTemporary) " +
+                                    "FROM Workspace w"),
+                @NamedQuery(name = "Workspace.getAttributesByNamespace",
+                            query = "SELECT w.id, KEY(a), VALUE(a) " +
+                                    "FROM Workspace w JOIN w.attributes a " +
+                                    "WHERE w.account.name = :namespace"),
+                @NamedQuery(name = "Workspace.getAllAttributes",
+                            query = "SELECT w.id, KEY(a), VALUE(a) " +
+                                    "FROM Workspace w JOIN w.attributes a")
 
         }
 )
@@ -14,6 +14,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 
 import java.util.List;
 
@@ -141,6 +142,37 @@ public interface WorkspaceDao {
      */
     List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+    /**
+     * Gets summaries of workspaces in given namespace.
+     *
+     * <p>Unlike {@link #getByNamespace(String)} doesn't fetch workspace
+     * configurations, returned summaries don't have status set.
+     *
+     * @param namespace
+     *         workspace namespace
+     * @return list of workspace summaries in given namespace.
+     * Always returns list(even when there are no workspace in given namespace), never null
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    List<WorkspaceSummaryImpl> getSummariesByNamespace(String namespace) throws ServerException;
+
+    /**
+     * Gets summaries of workspaces which user can read.
+     *
+     * <p>Unlike {@link #getWorkspaces(String)} doesn't fetch workspace
+     * configurations, returned summaries don't have status set.
+     *
+     * @param userId
+     *         id of user
+     * @return list of summaries of workspaces which user can read
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    List<WorkspaceSummaryImpl> getSummaries(String userId) throws ServerException;
+
 
     /**
      * Gets workspaces by temporary attribute.
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.environment.server;
 
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
@@ -28,17 +29,22 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.Reader;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.concurrent.ThreadPoolExecutor;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
 /**
@@ -73,13 +79,14 @@ public class MachineProcessManagerTest {
     JsonRpcEndpointIdsHolder endpointIdsHolder;
 
     private MachineProcessManager manager;
+    private File                  machineLogsDir;
 
     @BeforeMethod
     public void setUp() throws Exception {
         final EventService eventService = mock(EventService.class);
-        final String machineLogsDir = targetDir().resolve("logs-dir").toString();
-        IoUtil.deleteRecursive(new File(machineLogsDir));
-        manager = spy(new MachineProcessManager(machineLogsDir,
+        machineLogsDir = targetDir().resolve("logs-dir").toFile();
+        IoUtil.deleteRecursive(machineLogsDir);
+        manager = spy(new MachineProcessManager(machineLogsDir.getPath(),
                                                 eventService,
                                                 environmentEngine,
                                                 transmitter,
@@ -126,6 +133,34 @@ public class MachineProcessManagerTest {
         verify(logConsumer).close();
     }
 
+    @Test
+    public void shouldReturnEmptyLogOfProcessWithoutOutput() throws Exception {
+        manager.getProcessLogger(MACHINE_ID, 222, null).close();
+
+        assertEquals(manager.getProcessLogLines(MACHINE_ID, 222, 0, 10), emptyList());
+        assertEquals(manager.getProcessLogLines(MACHINE_ID, 222, -1, 10), emptyList());
+        try (Reader reader = manager.getProcessLogReader(MACHINE_ID, 222)) {
+            assertEquals(reader.read(), -1);
+        }
+    }
+
+    @Test
+    public void shouldReadLinesOfLogWrittenBeforeLogsSegmentation() throws Exception {
+        final File processLogsFile = new File(new File(machineLogsDir, MACHINE_ID), "333");
+        Files.createDirectories(processLogsFile.getParentFile().toPath());
+        Files.write(processLogsFile.toPath(), asList("line-0", "line-1", "line-2", "line-3"));
+
+        assertEquals(manager.getProcessLogLines(MACHINE_ID, 333, 1, 2), asList("line-1", "line-2"));
+        assertEquals(manager.getProcessLogLines(MACHINE_ID, 333, 3, 10), asList("line-3"));
+        assertEquals(manager.getProcessLogLines(MACHINE_ID, 333, -1, 3), asList("line-1", "line-2", "line-3"));
+        assertEquals(manager.getProcessLogLines(MACHINE_ID, 333, -1, 10), asList("line-0", "line-1", "line-2", "line-3"));
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldThrowNotFoundExceptionWhenProcessHasNoLogs() throws Exception {
+        manager.getProcessLogLines(MACHINE_ID, 444, 0, 10);
+    }
+
     private void waitForExecutorIsCompletedTask() throws Exception {
         for (int i = 0; ((ThreadPoolExecutor)manager.executor).getCompletedTaskCount() == 0 && i < 10; i++) {
             Thread.sleep(300);
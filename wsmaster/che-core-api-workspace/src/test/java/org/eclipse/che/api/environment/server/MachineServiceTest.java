@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server;
+
+import com.jayway.restassured.response.Response;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.everrest.assured.EverrestJetty;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.StringReader;
+
+import static com.jayway.restassured.RestAssured.given;
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.environment.server.MachineService.DEFAULT_LOG_LINES_COUNT;
+import static org.everrest.assured.JettyHttpServer.ADMIN_USER_NAME;
+import static org.everrest.assured.JettyHttpServer.ADMIN_USER_PASSWORD;
+import static org.everrest.assured.JettyHttpServer.SECURE_PATH;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link MachineService}.
+ */
+@Listeners(value = {EverrestJetty.class, MockitoTestNGListener.class})
+public class MachineServiceTest {
+
+    @SuppressWarnings("unused")
+    private static final ApiExceptionMapper MAPPER     = new ApiExceptionMapper();
+    private static final String             MACHINE_ID = "machine123";
+    private static final String             LOGS_PATH  = SECURE_PATH + "/machine/" + MACHINE_ID + "/process/7/logs";
+
+    @Mock
+    private MachineProcessManager processManager;
+
+    @SuppressWarnings("unused")
+    private MachineService service;
+
+    @BeforeMethod
+    public void setUp() {
+        service = new MachineService(processManager);
+    }
+
+    @Test
+    public void shouldReturnWholeLogsWhenNoLinesAreRequested() throws Exception {
+        when(processManager.getProcessLogReader(MACHINE_ID, 7)).thenReturn(new StringReader("line 1\nline 2\n"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(LOGS_PATH);
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(response.asString(), "line 1\nline 2\n");
+        verify(processManager, never()).getProcessLogLines(anyString(), anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void shouldReturnRequestedRangeOfLines() throws Exception {
+        when(processManager.getProcessLogLines(MACHINE_ID, 7, 100, 2)).thenReturn(asList("line 100", "line 101"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(LOGS_PATH + "?fromLine=100&count=2");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(response.asString(), "line 100\nline 101\n");
+    }
+
+    @Test
+    public void shouldReturnLastLinesWhenOnlyCountIsSpecified() throws Exception {
+        when(processManager.getProcessLogLines(MACHINE_ID, 7, -1, 2)).thenReturn(asList("line 8", "line 9"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(LOGS_PATH + "?count=2");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(response.asString(), "line 8\nline 9\n");
+    }
+
+    @Test
+    public void shouldReturnDefaultNumberOfLinesWhenOnlyFirstLineIsSpecified() throws Exception {
+        when(processManager.getProcessLogLines(MACHINE_ID, 7, 10, DEFAULT_LOG_LINES_COUNT)).thenReturn(asList("line 10"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(LOGS_PATH + "?fromLine=10");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(response.asString(), "line 10\n");
+    }
+
+    @Test
+    public void shouldRespondWithBadRequestWhenLinesAreNotValid() throws Exception {
+        final Response negativeFromLine = given().auth()
+                                                 .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                                 .when()
+                                                 .get(LOGS_PATH + "?fromLine=-1&count=2");
+        final Response zeroCount = given().auth()
+                                          .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                          .when()
+                                          .get(LOGS_PATH + "?count=0");
+
+        assertEquals(negativeFromLine.getStatusCode(), 400);
+        assertEquals(zeroCount.getStatusCode(), 400);
+        verify(processManager, never()).getProcessLogLines(anyString(), anyInt(), anyLong(), anyInt());
+    }
+
+    @Test
+    public void shouldRespondWithNotFoundWhenLogsAreNotAvailable() throws Exception {
+        when(processManager.getProcessLogLines(MACHINE_ID, 7, 0, 5)).thenThrow(new NotFoundException("no logs"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(LOGS_PATH + "?fromLine=0&count=5");
+
+        assertEquals(response.getStatusCode(), 404);
+    }
+}
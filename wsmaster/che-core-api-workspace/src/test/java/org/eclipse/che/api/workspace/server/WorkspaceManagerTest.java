@@ -57,8 +57,14 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -76,6 +82,7 @@ import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHO
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -134,7 +141,9 @@ public class WorkspaceManagerTest {
                                                 false,
                                                 false,
                                                 snapshotDao,
-                                                sharedPool);
+                                                sharedPool,
+                                                2,
+                                                60);
         when(accountManager.getByName(NAMESPACE)).thenReturn(new AccountImpl("accountId", NAMESPACE, "test"));
         when(accountManager.getByName(NAMESPACE_2)).thenReturn(new AccountImpl("accountId2", NAMESPACE_2, "test"));
         when(workspaceDao.create(any(WorkspaceImpl.class))).thenAnswer(invocation -> invocation.getArguments()[0]);
@@ -629,7 +638,9 @@ public class WorkspaceManagerTest {
                                                 true,
                                                 false,
                                                 snapshotDao,
-                                                sharedPool);
+                                                sharedPool,
+                                                2,
+                                                60);
 
         final WorkspaceImpl workspace = createAndMockWorkspace();
         mockRuntime(workspace, RUNNING);
@@ -658,7 +669,9 @@ public class WorkspaceManagerTest {
                                                 false,
                                                 true,
                                                 snapshotDao,
-                                                sharedPool);
+                                                sharedPool,
+                                                2,
+                                                60);
         WorkspaceImpl workspace = createAndMockWorkspace();
         mockStart(workspace);
         mockSnapshots(workspace, 12345L);
@@ -891,10 +904,137 @@ public class WorkspaceManagerTest {
         verify(runtimes).stop(running.getId());
         verify(runtimes).stop(starting.getId());
         verify(runtimes, never()).stop(stopped.getId());
-        verify(runtimes).shutdown();
+        verify(runtimes).shutdown(anyLong());
         verify(sharedPool).shutdown();
     }
 
+    @Test
+    public void stopsSnapshottedWorkspacesFirstOrderedByActivityOnShutdown() throws Exception {
+        when(runtimes.refuseWorkspacesStart()).thenReturn(true);
+
+        WorkspaceImpl notSnapshotted = createAndMockWorkspace();
+        notSnapshotted.getAttributes().put(AUTO_CREATE_SNAPSHOT, "false");
+        notSnapshotted.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "300");
+        mockRuntime(notSnapshotted, RUNNING);
+
+        WorkspaceImpl lessActive = createAndMockWorkspace();
+        lessActive.getAttributes().put(AUTO_CREATE_SNAPSHOT, "true");
+        lessActive.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "100");
+        mockRuntime(lessActive, RUNNING);
+
+        WorkspaceImpl moreActive = createAndMockWorkspace();
+        moreActive.getAttributes().put(AUTO_CREATE_SNAPSHOT, "true");
+        moreActive.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "200");
+        mockRuntime(moreActive, RUNNING);
+
+        when(runtimes.getRuntimesIds()).thenReturn(new HashSet<>(asList(notSnapshotted.getId(),
+                                                                        lessActive.getId(),
+                                                                        moreActive.getId())));
+        when(sharedPool.runAsync(any())).thenAnswer(invocation -> {
+            ((Runnable)invocation.getArguments()[0]).run();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // action
+        workspaceManager.shutdown();
+
+        InOrder inOrder = inOrder(runtimes);
+        inOrder.verify(runtimes).snapshot(moreActive.getId());
+        inOrder.verify(runtimes).stop(moreActive.getId());
+        inOrder.verify(runtimes).snapshot(lessActive.getId());
+        inOrder.verify(runtimes).stop(lessActive.getId());
+        inOrder.verify(runtimes).stop(notSnapshotted.getId());
+        inOrder.verify(runtimes).shutdown(anyLong());
+        verify(runtimes, never()).snapshot(notSnapshotted.getId());
+    }
+
+    @Test
+    public void stopsAtMostShutdownParallelismWorkspacesAtTheSameTime() throws Exception {
+        when(runtimes.refuseWorkspacesStart()).thenReturn(true);
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            WorkspaceImpl workspace = createAndMockWorkspace();
+            mockRuntime(workspace, RUNNING);
+            ids.add(workspace.getId());
+        }
+        when(runtimes.getRuntimesIds()).thenReturn(ids);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        when(sharedPool.runAsync(any())).thenAnswer(invocation -> CompletableFuture.runAsync((Runnable)invocation.getArguments()[0],
+                                                                                             executor));
+        AtomicInteger stopping = new AtomicInteger();
+        AtomicInteger maxStopping = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxStopping.accumulateAndGet(stopping.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            stopping.decrementAndGet();
+            return null;
+        }).when(runtimes).stop(anyString());
+
+        try {
+            workspaceManager.shutdown();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String id : ids) {
+            verify(runtimes).stop(id);
+        }
+        assertEquals(maxStopping.get(), 2);
+        verify(runtimes).shutdown(anyLong());
+    }
+
+    @Test
+    public void leavesWorkspacesForTerminationAndAwaitsStopsInProgressWhenShutdownTimeoutIsReached() throws Exception {
+        workspaceManager = new WorkspaceManager(workspaceDao,
+                                                runtimes,
+                                                eventService,
+                                                accountManager,
+                                                false,
+                                                false,
+                                                snapshotDao,
+                                                sharedPool,
+                                                1,
+                                                2);
+        when(runtimes.refuseWorkspacesStart()).thenReturn(true);
+        WorkspaceImpl stoppedNormally = createAndMockWorkspace();
+        stoppedNormally.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "200");
+        mockRuntime(stoppedNormally, RUNNING);
+        WorkspaceImpl terminated = createAndMockWorkspace();
+        terminated.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "100");
+        mockRuntime(terminated, RUNNING);
+        when(runtimes.getRuntimesIds()).thenReturn(new HashSet<>(asList(stoppedNormally.getId(), terminated.getId())));
+        ExecutorService executor = Executors.newCachedThreadPool();
+        when(sharedPool.runAsync(any())).thenAnswer(invocation -> CompletableFuture.runAsync((Runnable)invocation.getArguments()[0],
+                                                                                             executor));
+        // outlasts the time given to the normal stops, but not the shutdown timeout
+        AtomicBoolean stopFinished = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Thread.sleep(1700);
+            stopFinished.set(true);
+            return null;
+        }).when(runtimes).stop(stoppedNormally.getId());
+        AtomicBoolean terminatedAfterStop = new AtomicBoolean();
+        AtomicLong terminationTimeout = new AtomicLong();
+        doAnswer(invocation -> {
+            terminatedAfterStop.set(stopFinished.get());
+            terminationTimeout.set((Long)invocation.getArguments()[0]);
+            return null;
+        }).when(runtimes).shutdown(anyLong());
+
+        long start = System.currentTimeMillis();
+        try {
+            workspaceManager.shutdown();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(runtimes).stop(stoppedNormally.getId());
+        verify(runtimes, never()).stop(terminated.getId());
+        assertTrue(terminatedAfterStop.get());
+        assertTrue(terminationTimeout.get() <= 2000 - 1700, "termination timeout " + terminationTimeout.get());
+        assertTrue(System.currentTimeMillis() - start < 3000);
+    }
+
     @Test
     public void getsRunningWorkspacesIds() {
         ImmutableSet<String> ids = ImmutableSet.of("id1", "id2", "id3");
@@ -130,7 +130,9 @@ public class WorkspaceRuntimeIntegrationTest {
                                          launcherFactory,
                                          agentRegistry,
                                          snapshotDao,
-                                         sharedPool);
+                                         sharedPool,
+                                         1,
+                                         1);
 
         executor = Executors.newFixedThreadPool(
                 1, new ThreadFactoryBuilder().setNameFormat(this.getClass().toString() + "-%d").build());
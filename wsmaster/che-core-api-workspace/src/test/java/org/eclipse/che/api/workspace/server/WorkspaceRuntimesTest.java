@@ -15,8 +15,13 @@ import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
+import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -47,6 +52,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.AgentLaunchEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -79,6 +85,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
@@ -87,6 +94,7 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -146,6 +154,8 @@ public class WorkspaceRuntimesTest {
                                          agentRegistry,
                                          snapshotDao,
                                          sharedPool,
+                                         1,
+                                         1,
                                          runtimeStates = new ConcurrentHashMap<>());
     }
 
@@ -575,7 +585,7 @@ public class WorkspaceRuntimesTest {
     public void shutdown() throws Exception {
         setRuntime("workspace", WorkspaceStatus.RUNNING, "env-name");
 
-        runtimes.shutdown();
+        runtimes.shutdown(30_000);
 
         assertFalse(runtimes.hasRuntime("workspace"));
         verify(envEngine).stop("workspace");
@@ -584,8 +594,8 @@ public class WorkspaceRuntimesTest {
     @Test(expectedExceptions = IllegalStateException.class,
           expectedExceptionsMessageRegExp = "Workspace runtimes service shutdown has been already called")
     public void throwsExceptionWhenShutdownCalledTwice() throws Exception {
-        runtimes.shutdown();
-        runtimes.shutdown();
+        runtimes.shutdown(30_000);
+        runtimes.shutdown(30_000);
     }
 
     @Test
@@ -823,6 +833,92 @@ public class WorkspaceRuntimesTest {
         runtimes.startAsync(newWorkspace("workspace1", "env-name"), "env-name", false);
     }
 
+    @Test
+    public void launchesAgentsOfTheSameLayerConcurrentlyAndLayersOneAfterAnother() throws Exception {
+        List<String> launched = Collections.synchronizedList(new ArrayList<>());
+        CyclicBarrier firstLayer = new CyclicBarrier(2);
+        AgentLauncher launcher = prepareAgents(Arrays.asList(Arrays.asList("a", "b"), singletonList("c")));
+        doAnswer(invocation -> {
+            String agentId = ((Agent)invocation.getArguments()[1]).getId();
+            if (!agentId.equals("c")) {
+                // times out if the agents of the first layer are not launched at the same time
+                firstLayer.await(10, TimeUnit.SECONDS);
+            }
+            launched.add(agentId);
+            return null;
+        }).when(launcher).launch(any(), any());
+
+        launchAgents(2, Arrays.asList("a", "b", "c"));
+
+        assertEquals(launched.size(), 3);
+        assertEquals(Sets.newHashSet(launched.subList(0, 2)), Sets.newHashSet("a", "b"));
+        assertEquals(launched.get(2), "c");
+    }
+
+    @Test
+    public void launchesNoMoreAgentsAtTheSameTimeThanParallelismAllows() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AgentLauncher launcher = prepareAgents(singletonList(Arrays.asList("a", "b", "c", "d", "e")));
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            running.decrementAndGet();
+            return null;
+        }).when(launcher).launch(any(), any());
+
+        launchAgents(2, Arrays.asList("a", "b", "c", "d", "e"));
+
+        verify(launcher, times(5)).launch(any(), any());
+        assertEquals(maxRunning.get(), 2);
+    }
+
+    @Test
+    public void stopsLaunchingAgentsWhenAgentOfTheLayerFailsToLaunch() throws Exception {
+        List<String> launched = Collections.synchronizedList(new ArrayList<>());
+        AgentLauncher launcher = prepareAgents(Arrays.asList(Arrays.asList("a", "b", "c"), singletonList("d")));
+        doAnswer(invocation -> {
+            String agentId = ((Agent)invocation.getArguments()[1]).getId();
+            launched.add(agentId);
+            if (agentId.equals("a")) {
+                throw new AgentException("Agent 'a' is not launched");
+            }
+            return null;
+        }).when(launcher).launch(any(), any());
+
+        try {
+            launchAgents(2, Arrays.asList("a", "b", "c", "d"));
+            fail("AgentException expected");
+        } catch (AgentException x) {
+            assertEquals(x.getMessage(), "Agent 'a' is not launched");
+        }
+
+        assertFalse(launched.contains("d"));
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventService, atLeastOnce()).publish(events.capture());
+        assertTrue(events.getAllValues()
+                         .stream()
+                         .filter(event -> event instanceof AgentLaunchEvent)
+                         .map(event -> (AgentLaunchEvent)event)
+                         .anyMatch(event -> event.getAgentId().equals("a")
+                                            && event.getEventType() == AgentLaunchEvent.EventType.ERROR
+                                            && event.getError().equals("Agent 'a' is not launched")));
+    }
+
+    @Test
+    public void wrapsUnexpectedAgentLaunchFailureIntoServerException() throws Exception {
+        AgentLauncher launcher = prepareAgents(singletonList(Arrays.asList("a", "b")));
+        doThrow(new IllegalStateException("unexpected")).when(launcher).launch(any(), any());
+
+        try {
+            launchAgents(2, Arrays.asList("a", "b"));
+            fail("ServerException expected");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "unexpected");
+            assertTrue(x.getCause() instanceof IllegalStateException);
+        }
+    }
+
     private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
         verify(sharedPool).submit(taskCaptor.capture());
         taskCaptor.getValue().call();
@@ -1020,6 +1116,43 @@ public class WorkspaceRuntimesTest {
                             .build();
     }
 
+    private AgentLauncher prepareAgents(List<List<String>> layers) throws Exception {
+        List<List<AgentKey>> keysLayers = new ArrayList<>(layers.size());
+        for (List<String> layer : layers) {
+            List<AgentKey> keys = new ArrayList<>(layer.size());
+            for (String agentId : layer) {
+                AgentKey key = new AgentKeyImpl(agentId);
+                Agent agent = mock(Agent.class);
+                when(agent.getId()).thenReturn(agentId);
+                when(agentRegistry.getAgent(key)).thenReturn(agent);
+                keys.add(key);
+            }
+            keysLayers.add(keys);
+        }
+        when(agentSorter.sortInLayers(any())).thenReturn(keysLayers);
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+        return launcher;
+    }
+
+    private void launchAgents(int parallelism, List<String> agents) throws Exception {
+        WorkspaceRuntimes runtimes = new WorkspaceRuntimes(eventService,
+                                                           envEngine,
+                                                           agentSorter,
+                                                           launcherFactory,
+                                                           agentRegistry,
+                                                           snapshotDao,
+                                                           sharedPool,
+                                                           parallelism,
+                                                           1,
+                                                           new ConcurrentHashMap<>());
+        try {
+            runtimes.launchAgents(newMachine("workspace", "env-name", "dev", true), agents);
+        } finally {
+            runtimes.shutdown(0);
+        }
+    }
+
     private void shutdownAndWaitPool(ExecutorService pool) throws InterruptedException {
         pool.shutdownNow();
         if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
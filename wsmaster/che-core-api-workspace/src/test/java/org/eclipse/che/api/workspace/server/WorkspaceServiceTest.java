@@ -46,11 +46,13 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -359,6 +361,45 @@ public class WorkspaceServiceTest {
                      asList(workspace1, workspace2));
     }
 
+    @Test
+    public void shouldGetWorkspaceSummaries() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl(createWorkspace(createConfigDto()));
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl(createWorkspace(createConfigDto(), STARTING));
+        when(wsManager.getWorkspaceSummaries(USER_ID)).thenReturn(asList(summary1, summary2));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary");
+
+        assertEquals(response.getStatusCode(), 200);
+        assertEquals(unwrapDtoList(response, WorkspaceSummaryDto.class).stream()
+                                                                       .map(WorkspaceSummaryDto::getId)
+                                                                       .collect(toList()),
+                     asList(summary1.getId(), summary2.getId()));
+        verify(wsManager, never()).getWorkspaces(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void shouldGetWorkspaceSummariesByNamespaceAndStatus() throws Exception {
+        final WorkspaceSummaryImpl summary1 = new WorkspaceSummaryImpl(createWorkspace(createConfigDto()));
+        final WorkspaceSummaryImpl summary2 = new WorkspaceSummaryImpl(createWorkspace(createConfigDto(), STARTING));
+        when(wsManager.getSummariesByNamespace(NAMESPACE)).thenReturn(asList(summary1, summary2));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary?status=starting&namespace=" + NAMESPACE);
+
+        assertEquals(response.getStatusCode(), 200);
+        final List<WorkspaceSummaryDto> summaries = unwrapDtoList(response, WorkspaceSummaryDto.class);
+        assertEquals(summaries.size(), 1);
+        assertEquals(summaries.get(0).getId(), summary2.getId());
+        assertEquals(summaries.get(0).getName(), summary2.getName());
+        assertEquals(summaries.get(0).getNamespace(), summary2.getNamespace());
+        assertEquals(summaries.get(0).getStatus(), STARTING);
+    }
+
     @Test
     public void shouldGetWorkspacesByStatus() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
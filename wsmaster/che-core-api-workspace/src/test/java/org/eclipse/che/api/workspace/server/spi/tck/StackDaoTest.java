@@ -38,16 +38,19 @@ import org.testng.annotations.Test;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspaceConfig;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -272,6 +275,26 @@ public class StackDaoTest {
         assertEquals(new HashSet<>(found), new HashSet<>(asList(stacks)));
     }
 
+    @Test(dependsOnMethods = "shouldReturnAllStacksWhenSearchingWithoutTags")
+    public void shouldReflectStackChangesInSubsequentSearches() throws Exception {
+        assertEquals(stackDao.searchStacks(null, null, 0, 0).size(), STACKS_SIZE);
+
+        final StackImpl newStack = createStack("new-stack", "new-stack-name");
+        stackDao.create(newStack);
+        stackDao.remove(stacks[0].getId());
+        stacks[1].setName("updated-name");
+        stackDao.update(stacks[1]);
+
+        final Set<String> names = stackDao.searchStacks(null, null, 0, 0)
+                                          .stream()
+                                          .map(StackImpl::getName)
+                                          .collect(toSet());
+        assertEquals(names.size(), STACKS_SIZE);
+        assertTrue(names.contains(newStack.getName()));
+        assertTrue(names.contains("updated-name"));
+        assertFalse(names.contains(stacks[0].getName()));
+    }
+
     @Test
     public void shouldPublishStackPersistedEventAfterStackIsPersisted() throws Exception {
         final boolean[] isNotified = new boolean[] {false};
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.spi.tck;
+
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.test.tck.TckListener;
+import org.eclipse.che.commons.test.tck.repository.TckRepository;
+import org.eclipse.che.commons.test.tck.repository.TckRepositoryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Compares fetching of full workspaces with fetching of workspace summaries.
+ * The benchmark runs over the database configured by the tck module,
+ * so it is executed against H2 with unit tests and against PostgreSQL with integration tests.
+ *
+ * <p>Benchmark is skipped unless {@value #ENABLED_PROPERTY} system property is set to true,
+ * the number of workspaces is configured with {@value #WORKSPACES_PROPERTY} system property:
+ * <pre>
+ *     mvn test -Dtest=WorkspaceDaoBenchmark -Dche.tck.benchmark=true -Dche.tck.benchmark.workspaces=5000
+ * </pre>
+ */
+@Listeners(TckListener.class)
+@Test(suiteName = WorkspaceDaoBenchmark.SUITE_NAME)
+public class WorkspaceDaoBenchmark {
+
+    public static final String SUITE_NAME = "WorkspaceDaoBenchmark";
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkspaceDaoBenchmark.class);
+
+    private static final String ENABLED_PROPERTY    = "che.tck.benchmark";
+    private static final String WORKSPACES_PROPERTY = "che.tck.benchmark.workspaces";
+
+    private static final int COUNT_OF_ACCOUNTS = 10;
+    private static final int ITERATIONS        = 5;
+
+    @Inject
+    private TckRepository<WorkspaceImpl> workspaceRepo;
+
+    @Inject
+    private TckRepository<AccountImpl> accountRepo;
+
+    @Inject
+    private WorkspaceDao workspaceDao;
+
+    private int           countOfWorkspaces;
+    private AccountImpl[] accounts;
+
+    @BeforeClass
+    public void createEntities() throws TckRepositoryException {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            throw new SkipException("Workspace dao benchmark is disabled, set '" + ENABLED_PROPERTY + "' to enable it");
+        }
+        countOfWorkspaces = Integer.getInteger(WORKSPACES_PROPERTY, 2000);
+
+        accounts = new AccountImpl[COUNT_OF_ACCOUNTS];
+        for (int i = 0; i < COUNT_OF_ACCOUNTS; i++) {
+            accounts[i] = new AccountImpl("accountId" + i, "accountName" + i, "test");
+        }
+        accountRepo.createAll(Arrays.asList(accounts));
+
+        final List<WorkspaceImpl> workspaces = new ArrayList<>(countOfWorkspaces);
+        for (int i = 0; i < countOfWorkspaces; i++) {
+            workspaces.add(WorkspaceDaoTest.createWorkspace("workspace-" + i,
+                                                            accounts[i % COUNT_OF_ACCOUNTS],
+                                                            "name-" + i));
+        }
+        workspaceRepo.createAll(workspaces);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void removeEntities() throws TckRepositoryException {
+        if (accounts != null) {
+            workspaceRepo.removeAll();
+            accountRepo.removeAll();
+        }
+    }
+
+    @Test
+    public void compareGettingOfWorkspacesAndSummaries() throws Exception {
+        final long workspacesNanos = measure("WorkspaceDao#getWorkspaces",
+                                             countOfWorkspaces,
+                                             () -> workspaceDao.getWorkspaces("user123").size());
+        final long summariesNanos = measure("WorkspaceDao#getSummaries",
+                                            countOfWorkspaces,
+                                            () -> workspaceDao.getSummaries("user123").size());
+
+        LOG.info("Summaries of {} workspaces are fetched {} times faster than workspaces",
+                 countOfWorkspaces,
+                 String.format("%.1f", (double)workspacesNanos / summariesNanos));
+    }
+
+    @Test
+    public void compareGettingOfWorkspacesAndSummariesByNamespace() throws Exception {
+        final String namespace = accounts[0].getName();
+        // workspaces are distributed between accounts evenly, the first account gets the remainder
+        final int countInNamespace = (countOfWorkspaces + COUNT_OF_ACCOUNTS - 1) / COUNT_OF_ACCOUNTS;
+
+        final long workspacesNanos = measure("WorkspaceDao#getByNamespace",
+                                             countInNamespace,
+                                             () -> workspaceDao.getByNamespace(namespace).size());
+        final long summariesNanos = measure("WorkspaceDao#getSummariesByNamespace",
+                                            countInNamespace,
+                                            () -> workspaceDao.getSummariesByNamespace(namespace).size());
+
+        LOG.info("Summaries of {} workspaces in a namespace are fetched {} times faster than workspaces",
+                 countInNamespace,
+                 String.format("%.1f", (double)workspacesNanos / summariesNanos));
+    }
+
+    /**
+     * Runs the operation a few times after warm up, and returns the best time in nanoseconds.
+     * Operation returns the number of fetched workspaces which is checked to be the same as expected.
+     */
+    private long measure(String operation, int expectedCount, Callable<Integer> fetcher) throws Exception {
+        assertEquals((int)fetcher.call(), expectedCount);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.nanoTime();
+            fetcher.call();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        LOG.info("{} takes {}ms at best of {} iterations", operation, NANOSECONDS.toMillis(best), ITERATIONS);
+        return best;
+    }
+}
@@ -29,6 +29,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -54,6 +55,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
@@ -151,6 +153,37 @@ public class WorkspaceDaoTest {
         workspaceDao.getByNamespace(null);
     }
 
+    @Test
+    public void shouldGetWorkspaceSummariesByNamespace() throws Exception {
+        final WorkspaceImpl workspace1 = workspaces[0];
+        final WorkspaceImpl workspace2 = workspaces[1];
+        assertEquals(workspace1.getNamespace(), workspace2.getNamespace(), "Namespaces must be the same");
+
+        final List<WorkspaceSummaryImpl> found = workspaceDao.getSummariesByNamespace(workspace1.getNamespace());
+
+        assertEquals(new HashSet<>(found), new HashSet<>(asList(new WorkspaceSummaryImpl(workspace1),
+                                                                new WorkspaceSummaryImpl(workspace2))));
+    }
+
+    @Test
+    public void emptyListOfSummariesShouldBeReturnedWhenThereAreNoWorkspacesInGivenNamespace() throws Exception {
+        assertTrue(workspaceDao.getSummariesByNamespace("non-existing-namespace").isEmpty());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenGettingWorkspaceSummariesByNullNamespace() throws Exception {
+        workspaceDao.getSummariesByNamespace(null);
+    }
+
+    @Test
+    public void shouldGetWorkspaceSummaries() throws Exception {
+        final List<WorkspaceSummaryImpl> found = workspaceDao.getSummaries("userId");
+
+        assertEquals(new HashSet<>(found), Stream.of(workspaces)
+                                                 .map(WorkspaceSummaryImpl::new)
+                                                 .collect(toSet()));
+    }
+
     @Test
     public void shouldGetWorkspaceByNameAndNamespace() throws Exception {
         final WorkspaceImpl workspace = workspaces[0];